@@ -0,0 +1,36 @@
+package com.github.firststraw.guice;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures heap allocation by the current thread, where the JVM supports it.
+ */
+final class Allocations {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Prevents instantiation.
+     */
+    private Allocations() {
+    }
+
+    /**
+     * Returns the number of bytes allocated on the heap by the current thread so far.
+     *
+     * @return the number of bytes allocated by the current thread, or -1 if the JVM cannot
+     * measure allocation
+     */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported()
+                    && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1L;
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.spi.ElementSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Suite-wide record of which {@link Binding}s the tests have verified. While coverage is enabled,
+ * every {@link InjectorTester} registers the explicit {@link Binding}s of its {@link Injector},
+ * and every {@link Key} passed to {@link InjectorTester#verifyBindingFor(Key)} and every
+ * successful binding type or scoping assertion is recorded in a concurrent bit set indexed by the
+ * {@link Key}'s ID. A {@link BindingCoverageReport} then lists the {@link Binding}s that were
+ * never verified, grouped by the {@link com.google.inject.Module} that bound them.
+ * <p>
+ * Coverage is enabled by calling {@link #enable()} or by setting the system property
+ * {@value #REPORT_PROPERTY} to a file, to which the report is written when the JVM exits. While
+ * coverage is disabled, recording costs a single volatile read.
+ */
+@ThreadSafe
+public final class BindingCoverage {
+
+    /**
+     * The system property naming the file to write the coverage report to when the JVM exits.
+     * Setting it enables coverage.
+     */
+    public static final String REPORT_PROPERTY = "guice-test-helper.coverage.report";
+
+    private static final KeyIndex INDEX = new KeyIndex();
+    private static final ChunkedArray<Registration> REGISTRATIONS =
+            new ChunkedArray<>(id -> new Registration());
+    private static final ConcurrentBitSet LOOKED_UP = new ConcurrentBitSet();
+    private static final ConcurrentBitSet ASSERTED = new ConcurrentBitSet();
+
+    private static volatile boolean enabled;
+
+    static {
+        final String report = System.getProperty(REPORT_PROPERTY);
+        if (report != null && !report.isEmpty()) {
+            enabled = true;
+            final Path file = Paths.get(report);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(file),
+                    "binding-coverage-report"));
+        }
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private BindingCoverage() {
+    }
+
+    /**
+     * Enables coverage recording.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Disables coverage recording. The coverage recorded so far is kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Indicates whether coverage is being recorded.
+     *
+     * @return {@code true} if coverage is being recorded, otherwise {@code false}
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a {@link BindingCoverageReport} of the coverage recorded so far.
+     *
+     * @return the {@link BindingCoverageReport}
+     */
+    public static BindingCoverageReport getReport() {
+        final List<BindingCoverageReport.Entry> entries = new ArrayList<>();
+        final int size = INDEX.size();
+        for (int id = 0; id < size; id++) {
+            final Registration registration = REGISTRATIONS.getIfPresent(id);
+            if (registration != null && registration.key != null) {
+                entries.add(new BindingCoverageReport.Entry(registration.key, registration.source,
+                        LOOKED_UP.get(id), ASSERTED.get(id)));
+            }
+        }
+        return new BindingCoverageReport(entries);
+    }
+
+    /**
+     * Registers the explicit {@link Binding}s of the {@link Injector} as bindings the suite is
+     * expected to verify.
+     *
+     * @param injector the {@link Injector}
+     */
+    static void register(final Injector injector) {
+        if (!enabled) {
+            return;
+        }
+
+        for (final Binding<?> binding : injector.getBindings().values()) {
+            final Key<?> key = binding.getKey();
+            if (!Bindings.isBuiltIn(key)) {
+                final Registration registration = REGISTRATIONS.get(INDEX.idOf(key));
+                if (registration.key == null) {
+                    registration.source = describeSource(binding.getSource());
+                    registration.key = key;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records that a {@link Binding} was looked up for verification.
+     *
+     * @param key the {@link Key} of the {@link Binding}
+     */
+    static void recordLookup(final Key<?> key) {
+        if (enabled) {
+            LOOKED_UP.set(INDEX.idOf(key));
+        }
+    }
+
+    /**
+     * Records that an assertion about a {@link Binding} succeeded.
+     *
+     * @param binding the {@link Binding}
+     */
+    static void recordAssertion(final Binding<?> binding) {
+        if (enabled) {
+            ASSERTED.set(INDEX.idOf(binding.getKey()));
+        }
+    }
+
+    /**
+     * Describes the {@link com.google.inject.Module} that created a {@link Binding}.
+     *
+     * @param source the source of the {@link Binding}
+     * @return the class name of the innermost {@link com.google.inject.Module}, or a description
+     * of the source if it is unknown
+     */
+    static String describeSource(final Object source) {
+        if (source instanceof ElementSource) {
+            final List<String> modules = ((ElementSource) source).getModuleClassNames();
+            if (!modules.isEmpty()) {
+                return modules.get(0);
+            }
+        }
+        return String.valueOf(source);
+    }
+
+    /**
+     * Writes the {@link BindingCoverageReport} to the file.
+     *
+     * @param file the file
+     */
+    private static void writeReport(final Path file) {
+        try {
+            Files.write(file, getReport().toString().getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * A registered {@link Binding}. The {@link Key} is published last, so a non-{@code null}
+     * {@link Key} implies a complete registration.
+     */
+    private static class Registration {
+
+        private volatile String source;
+        private volatile Key<?> key;
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The {@link Binding}s registered with {@link BindingCoverage} that the tests never verified,
+ * grouped by the {@link com.google.inject.Module} that bound them. A {@link Binding} counts as
+ * verified once a binding type or scoping assertion about it has succeeded; {@link Binding}s
+ * that were only looked up are reported separately.
+ */
+@Immutable
+public class BindingCoverageReport {
+
+    private final int bindingCount;
+    private final int verifiedCount;
+    private final Map<String, List<Key<?>>> neverLookedUp;
+    private final Map<String, List<Key<?>>> lookedUpOnly;
+
+    /**
+     * @param entries the coverage of every registered {@link Binding}
+     */
+    BindingCoverageReport(final Collection<Entry> entries) {
+        Objects.requireNonNull(entries, "Entries must not be null.");
+
+        final Map<String, List<Key<?>>> neverLookedUpBySource = new TreeMap<>();
+        final Map<String, List<Key<?>>> lookedUpOnlyBySource = new TreeMap<>();
+        int verified = 0;
+        for (final Entry entry : entries) {
+            if (entry.asserted) {
+                verified++;
+            } else {
+                final Map<String, List<Key<?>>> bySource =
+                        entry.lookedUp ? lookedUpOnlyBySource : neverLookedUpBySource;
+                bySource.computeIfAbsent(entry.source, source -> new ArrayList<>()).add(entry.key);
+            }
+        }
+
+        this.bindingCount = entries.size();
+        this.verifiedCount = verified;
+        this.neverLookedUp = sorted(neverLookedUpBySource);
+        this.lookedUpOnly = sorted(lookedUpOnlyBySource);
+    }
+
+    /**
+     * Sorts the {@link Key}s of every source and makes the result unmodifiable.
+     *
+     * @param bySource the {@link Key}s per source
+     * @return the unmodifiable, sorted {@link Key}s per source
+     */
+    private static Map<String, List<Key<?>>> sorted(final Map<String, List<Key<?>>> bySource) {
+        for (final Map.Entry<String, List<Key<?>>> entry : bySource.entrySet()) {
+            entry.getValue().sort((left, right) -> left.toString().compareTo(right.toString()));
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(bySource);
+    }
+
+    /**
+     * Returns the number of registered {@link Binding}s.
+     *
+     * @return the number of registered {@link Binding}s
+     */
+    public int getBindingCount() {
+        return bindingCount;
+    }
+
+    /**
+     * Returns the number of verified {@link Binding}s.
+     *
+     * @return the number of verified {@link Binding}s
+     */
+    public int getVerifiedCount() {
+        return verifiedCount;
+    }
+
+    /**
+     * Returns the {@link Key}s of the {@link Binding}s that were never looked up, per
+     * {@link com.google.inject.Module}.
+     *
+     * @return the {@link Key}s of the {@link Binding}s that were never looked up
+     */
+    public Map<String, List<Key<?>>> getNeverLookedUp() {
+        return neverLookedUp;
+    }
+
+    /**
+     * Returns the {@link Key}s of the {@link Binding}s that were looked up but never asserted
+     * on, per {@link com.google.inject.Module}.
+     *
+     * @return the {@link Key}s of the {@link Binding}s that were looked up but never asserted on
+     */
+    public Map<String, List<Key<?>>> getLookedUpOnly() {
+        return lookedUpOnly;
+    }
+
+    /**
+     * Returns a human-readable report.
+     *
+     * @return a human-readable report
+     */
+    @Override
+    public String toString() {
+        final String newLine = System.lineSeparator();
+        final StringBuilder report = new StringBuilder()
+                .append(verifiedCount).append(" of ").append(bindingCount)
+                .append(" binding(s) verified").append(newLine);
+        append(report, "Never looked up", neverLookedUp);
+        append(report, "Looked up but never asserted on", lookedUpOnly);
+        return report.toString();
+    }
+
+    /**
+     * Appends a section of {@link Key}s per source to the report.
+     *
+     * @param report the report
+     * @param title the title of the section
+     * @param bySource the {@link Key}s per source
+     */
+    private static void append(final StringBuilder report, final String title,
+            final Map<String, List<Key<?>>> bySource) {
+        final String newLine = System.lineSeparator();
+        for (final Map.Entry<String, List<Key<?>>> entry : bySource.entrySet()) {
+            report.append(title).append(" in ").append(entry.getKey()).append(':')
+                    .append(newLine);
+            for (final Key<?> key : entry.getValue()) {
+                report.append("    ").append(key).append(newLine);
+            }
+        }
+    }
+
+    /**
+     * The coverage of a single registered {@link Binding}.
+     */
+    static final class Entry {
+
+        private final Key<?> key;
+        private final String source;
+        private final boolean lookedUp;
+        private final boolean asserted;
+
+        /**
+         * @param key the {@link Key} of the {@link Binding}
+         * @param source the {@link com.google.inject.Module} that bound the {@link Binding}
+         * @param lookedUp {@code true} if the {@link Binding} was looked up for verification
+         * @param asserted {@code true} if an assertion about the {@link Binding} succeeded
+         */
+        Entry(final Key<?> key, final String source, final boolean lookedUp,
+                final boolean asserted) {
+            this.key = key;
+            this.source = source;
+            this.lookedUp = lookedUp;
+            this.asserted = asserted;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.MembersInjector;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.HasDependencies;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Utility methods for following the dependency edges of {@link Binding}s.
+ */
+final class BindingDependencies {
+
+    /**
+     * Prevents instantiation.
+     */
+    private BindingDependencies() {
+    }
+
+    /**
+     * Returns the {@link Key}s that must be provisioned before the {@link Binding} can be
+     * provisioned. Dependencies on {@link javax.inject.Provider}s and {@link MembersInjector}s are
+     * excluded because they do not force their targets to be provisioned.
+     *
+     * @param binding the {@link Binding}
+     * @return the {@link Key}s that must be provisioned before the {@link Binding}
+     */
+    static Set<Key<?>> eagerDependencies(final Binding<?> binding) {
+        final Set<Key<?>> dependencies = new LinkedHashSet<>();
+        if (binding instanceof LinkedKeyBinding) {
+            dependencies.add(((LinkedKeyBinding<?>) binding).getLinkedKey());
+        } else if (binding instanceof ProviderKeyBinding) {
+            dependencies.add(((ProviderKeyBinding<?>) binding).getProviderKey());
+        }
+
+        if (binding instanceof HasDependencies) {
+            for (final Dependency<?> dependency : ((HasDependencies) binding).getDependencies()) {
+                if (!isLazy(dependency.getKey())) {
+                    dependencies.add(dependency.getKey());
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Indicates whether injecting the {@link Key} defers provisioning of its target.
+     *
+     * @param key the {@link Key}
+     * @return {@code true} if injecting the {@link Key} does not provision its target
+     */
+    private static boolean isLazy(final Key<?> key) {
+        final Class<?> rawType = key.getTypeLiteral().getRawType();
+        return javax.inject.Provider.class.equals(rawType)
+                || com.google.inject.Provider.class.equals(rawType)
+                || MembersInjector.class.equals(rawType);
+    }
+}
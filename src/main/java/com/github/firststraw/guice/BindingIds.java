@@ -0,0 +1,143 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Caches the {@link KeyIndex} ID of the {@link com.google.inject.Key} of each {@link Binding} by
+ * {@link Binding} identity. Guice passes the same {@link Binding} object to every provision of a
+ * {@link Binding}, so after the first provision the ID is found by an identity comparison in an
+ * open-addressed table, without hashing or comparing the {@link com.google.inject.Key}. Reads
+ * never lock; registering a new {@link Binding} does.
+ * <p>
+ * The {@link Binding}s are strongly referenced, so an instance must not outlive the
+ * {@link com.google.inject.Injector}s whose {@link Binding}s it caches.
+ */
+@ThreadSafe
+final class BindingIds {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final KeyIndex index;
+    private volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param index the {@link KeyIndex} assigning the IDs
+     */
+    BindingIds(final KeyIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Returns the {@link KeyIndex} ID of the {@link com.google.inject.Key} of the {@link Binding}.
+     *
+     * @param binding the {@link Binding}
+     * @return the ID of its {@link com.google.inject.Key}
+     */
+    int idOf(final Binding<?> binding) {
+        final Entry[] entries = table;
+        final int mask = entries.length - 1;
+        for (int slot = hash(binding) & mask;; slot = (slot + 1) & mask) {
+            final Entry entry = entries[slot];
+            if (entry == null) {
+                return register(binding);
+            } else if (entry.binding == binding) {
+                return entry.id;
+            }
+        }
+    }
+
+    /**
+     * Assigns the {@link Binding} the ID of its {@link com.google.inject.Key} and caches it,
+     * doubling the table once it is half full so that every probe ends at an empty slot.
+     *
+     * @param binding the {@link Binding}
+     * @return the ID of its {@link com.google.inject.Key}
+     */
+    private synchronized int register(final Binding<?> binding) {
+        Entry[] entries = table;
+        final int existing = find(entries, binding);
+        if (existing >= 0) {
+            return existing;
+        }
+
+        final int id = index.idOf(binding.getKey());
+        if (2 * (size + 1) > entries.length) {
+            final Entry[] grown = new Entry[2 * entries.length];
+            for (final Entry entry : entries) {
+                if (entry != null) {
+                    insert(grown, entry);
+                }
+            }
+            insert(grown, new Entry(binding, id));
+            table = grown;
+        } else {
+            insert(entries, new Entry(binding, id));
+        }
+        size++;
+        return id;
+    }
+
+    /**
+     * Looks up the {@link Binding} in the table.
+     *
+     * @param entries the table
+     * @param binding the {@link Binding}
+     * @return the cached ID, or -1 if the {@link Binding} is not in the table
+     */
+    private static int find(final Entry[] entries, final Binding<?> binding) {
+        final int mask = entries.length - 1;
+        for (int slot = hash(binding) & mask; entries[slot] != null; slot = (slot + 1) & mask) {
+            if (entries[slot].binding == binding) {
+                return entries[slot].id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the {@link Entry} in the first free slot of its probe sequence.
+     *
+     * @param entries the table
+     * @param entry the {@link Entry}
+     */
+    private static void insert(final Entry[] entries, final Entry entry) {
+        final int mask = entries.length - 1;
+        int slot = hash(entry.binding) & mask;
+        while (entries[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        entries[slot] = entry;
+    }
+
+    /**
+     * Spreads the identity hash code of the {@link Binding} over the table.
+     *
+     * @param binding the {@link Binding}
+     * @return the hash
+     */
+    private static int hash(final Binding<?> binding) {
+        final int hash = System.identityHashCode(binding);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A cached {@link Binding} and its ID. Entries are immutable, so readers that race with
+     * {@link #register(Binding)} see either no {@link Entry} or a complete one.
+     */
+    private static final class Entry {
+
+        private final Binding<?> binding;
+        private final int id;
+
+        /**
+         * @param binding the {@link Binding}
+         * @param id the ID of its {@link com.google.inject.Key}
+         */
+        Entry(final Binding<?> binding, final int id) {
+            this.binding = binding;
+            this.id = id;
+        }
+    }
+}
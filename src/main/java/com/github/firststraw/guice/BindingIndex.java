@@ -0,0 +1,164 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Indexes of the {@link Binding}s of an {@link Injector} by the package of the bound raw type,
+ * binding annotation, {@link BindingKind} and {@link Scoping}, built in a single pass so that
+ * queries never rescan every {@link Binding}.
+ */
+@Immutable
+final class BindingIndex {
+
+    private static final ScopingRecorder SCOPING_RECORDER = new ScopingRecorder();
+
+    private final List<Binding<?>> bindings;
+    private final Map<String, List<Binding<?>>> byPackage = new HashMap<>();
+    private final Map<Class<? extends Annotation>, List<Binding<?>>> byAnnotation =
+            new HashMap<>();
+    private final Map<BindingKind, List<Binding<?>>> byKind = new EnumMap<>(BindingKind.class);
+    private final Map<Scoping, List<Binding<?>>> byScoping = new HashMap<>();
+
+    /**
+     * @param bindings the {@link Binding}s to index
+     */
+    BindingIndex(final Iterable<? extends Binding<?>> bindings) {
+        final List<Binding<?>> all = new ArrayList<>();
+        for (final Binding<?> binding : bindings) {
+            all.add(binding);
+            final Key<?> key = binding.getKey();
+            add(byPackage, packageOf(key.getTypeLiteral().getRawType()), binding);
+            if (key.getAnnotationType() != null) {
+                add(byAnnotation, key.getAnnotationType(), binding);
+            }
+            add(byKind, BindingKind.of(binding), binding);
+            add(byScoping, binding.acceptScopingVisitor(SCOPING_RECORDER), binding);
+        }
+        this.bindings = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Indexes every {@link Binding} of the {@link Injector} and its parent {@link Injector}s,
+     * including just-in-time {@link Binding}s created so far. Where an {@link Injector} and a
+     * parent both have a {@link Binding} for a {@link Key}, such as the built-in ones, only the
+     * {@link Injector}'s own is indexed.
+     *
+     * @param injector the {@link Injector}
+     * @return the {@link BindingIndex}
+     */
+    static BindingIndex of(final Injector injector) {
+        if (injector.getParent() == null) {
+            return new BindingIndex(injector.getAllBindings().values());
+        }
+
+        final Map<Key<?>, Binding<?>> bindings = new LinkedHashMap<>();
+        for (Injector current = injector; current != null; current = current.getParent()) {
+            for (final Binding<?> binding : current.getAllBindings().values()) {
+                bindings.putIfAbsent(binding.getKey(), binding);
+            }
+        }
+        return new BindingIndex(bindings.values());
+    }
+
+    /**
+     * Adds the {@link Binding} to the index under the value.
+     *
+     * @param <V> the type of the indexed value
+     * @param index the index
+     * @param value the indexed value
+     * @param binding the {@link Binding}
+     */
+    private static <V> void add(final Map<V, List<Binding<?>>> index, final V value,
+            final Binding<?> binding) {
+        index.computeIfAbsent(value, indexed -> new ArrayList<>()).add(binding);
+    }
+
+    /**
+     * Returns the name of the package of the type, or of its component type for arrays.
+     *
+     * @param type the type
+     * @return the name of the package, or an empty string for the default package and primitives
+     */
+    static String packageOf(final Class<?> type) {
+        Class<?> component = type;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        final String name = component.getName();
+        final int lastDot = name.lastIndexOf('.');
+        return lastDot < 0 ? "" : name.substring(0, lastDot);
+    }
+
+    /**
+     * Returns every {@link Binding}.
+     *
+     * @return every {@link Binding}
+     */
+    List<Binding<?>> all() {
+        return bindings;
+    }
+
+    /**
+     * Returns the {@link Binding}s whose raw type is in the package or, optionally, one of its
+     * subpackages.
+     *
+     * @param packageName the name of the package
+     * @param subpackages {@code true} to include subpackages
+     * @return the {@link Binding}s in the package
+     */
+    List<Binding<?>> inPackage(final String packageName, final boolean subpackages) {
+        if (!subpackages) {
+            return byPackage.getOrDefault(packageName, Collections.emptyList());
+        }
+
+        final String prefix = packageName + ".";
+        final List<Binding<?>> matches = new ArrayList<>();
+        for (final Map.Entry<String, List<Binding<?>>> entry : byPackage.entrySet()) {
+            if (entry.getKey().equals(packageName) || entry.getKey().startsWith(prefix)) {
+                matches.addAll(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the {@link Binding}s whose {@link Key} has the binding annotation type.
+     *
+     * @param annotationType the binding annotation type
+     * @return the {@link Binding}s with the binding annotation type
+     */
+    List<Binding<?>> annotatedWith(final Class<? extends Annotation> annotationType) {
+        return byAnnotation.getOrDefault(annotationType, Collections.emptyList());
+    }
+
+    /**
+     * Returns the {@link Binding}s of the {@link BindingKind}.
+     *
+     * @param kind the {@link BindingKind}
+     * @return the {@link Binding}s of the {@link BindingKind}
+     */
+    List<Binding<?>> ofKind(final BindingKind kind) {
+        return byKind.getOrDefault(kind, Collections.emptyList());
+    }
+
+    /**
+     * Returns the {@link Binding}s with the {@link Scoping}.
+     *
+     * @param scoping the {@link Scoping}
+     * @return the {@link Binding}s with the {@link Scoping}
+     */
+    List<Binding<?>> withScoping(final Scoping scoping) {
+        return byScoping.getOrDefault(scoping, Collections.emptyList());
+    }
+}
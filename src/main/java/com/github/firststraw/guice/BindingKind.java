@@ -0,0 +1,76 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import java.util.Objects;
+
+/**
+ * The kinds of {@link Binding} that can be verified by a {@link BindingTypeVerifier}.
+ */
+public enum BindingKind {
+
+    /**
+     * A {@link LinkedKeyBinding}.
+     */
+    LINKED_KEY(LinkedKeyBinding.class),
+    /**
+     * A {@link ConstructorBinding}.
+     */
+    CONSTRUCTOR(ConstructorBinding.class),
+    /**
+     * An {@link InstanceBinding}.
+     */
+    INSTANCE(InstanceBinding.class),
+    /**
+     * A {@link ProviderInstanceBinding}.
+     */
+    PROVIDER_INSTANCE(ProviderInstanceBinding.class),
+    /**
+     * A {@link ProviderKeyBinding}.
+     */
+    PROVIDER_KEY(ProviderKeyBinding.class),
+    /**
+     * Any other {@link Binding}, such as an untargetted or converted constant binding.
+     */
+    OTHER(Binding.class);
+
+    private final Class<?> bindingType;
+
+    /**
+     * @param bindingType the {@link Binding} interface corresponding to the kind
+     */
+    BindingKind(final Class<?> bindingType) {
+        this.bindingType = bindingType;
+    }
+
+    /**
+     * Returns the kind of the {@link Binding}.
+     *
+     * @param binding the {@link Binding}
+     * @return the kind of the {@link Binding}
+     * @throws NullPointerException if the {@link Binding} is {@code null}
+     */
+    public static BindingKind of(final Binding<?> binding) {
+        Objects.requireNonNull(binding, "Binding must not be null.");
+
+        for (final BindingKind kind : values()) {
+            if (kind != OTHER && kind.bindingType.isInstance(binding)) {
+                return kind;
+            }
+        }
+        return OTHER;
+    }
+
+    /**
+     * Returns the {@link Binding} interface corresponding to the kind.
+     *
+     * @return the {@link Binding} interface corresponding to the kind
+     */
+    public Class<?> getBindingType() {
+        return bindingType;
+    }
+}
@@ -0,0 +1,272 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Lazy, composable query over the {@link Binding}s of an {@link InjectorTester}. Every filter
+ * returns a new {@link BindingQuery}; nothing is evaluated until {@link #stream()},
+ * {@link #count()} or {@link #verifyEach(Consumer)} is called. Evaluation starts from the
+ * smallest prebuilt index matching one of the filters and applies the remaining filters to those
+ * {@link Binding}s only.
+ */
+@Immutable
+public class BindingQuery {
+
+    private final BindingIndex index;
+    private final List<Criterion> criteria;
+    private final boolean parallel;
+
+    /**
+     * @param index the {@link BindingIndex} to query
+     */
+    BindingQuery(final BindingIndex index) {
+        this(index, Collections.emptyList(), false);
+    }
+
+    /**
+     * @param index the {@link BindingIndex} to query
+     * @param criteria the filters every matching {@link Binding} satisfies
+     * @param parallel {@code true} to evaluate in parallel
+     */
+    private BindingQuery(final BindingIndex index, final List<Criterion> criteria,
+            final boolean parallel) {
+        this.index = index;
+        this.criteria = criteria;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Restricts the query to {@link Binding}s whose raw type is in the package, excluding
+     * subpackages.
+     *
+     * @param packageName the name of the package
+     * @return the restricted {@link BindingQuery}
+     * @throws NullPointerException if the package name is {@code null}
+     */
+    public BindingQuery inPackage(final String packageName) {
+        Objects.requireNonNull(packageName, "Package name must not be null.");
+
+        return with(new Criterion(bindings -> bindings.inPackage(packageName, false),
+                binding -> packageOf(binding).equals(packageName)));
+    }
+
+    /**
+     * Restricts the query to {@link Binding}s whose raw type is in the package or one of its
+     * subpackages.
+     *
+     * @param packageName the name of the package
+     * @return the restricted {@link BindingQuery}
+     * @throws NullPointerException if the package name is {@code null}
+     */
+    public BindingQuery inPackageTree(final String packageName) {
+        Objects.requireNonNull(packageName, "Package name must not be null.");
+
+        final String prefix = packageName + ".";
+        return with(new Criterion(bindings -> bindings.inPackage(packageName, true), binding -> {
+            final String bindingPackage = packageOf(binding);
+            return bindingPackage.equals(packageName) || bindingPackage.startsWith(prefix);
+        }));
+    }
+
+    /**
+     * Restricts the query to {@link Binding}s whose {@link Key} has the binding annotation type.
+     *
+     * @param annotationType the binding annotation type
+     * @return the restricted {@link BindingQuery}
+     * @throws NullPointerException if the binding annotation type is {@code null}
+     */
+    public BindingQuery annotatedWith(final Class<? extends Annotation> annotationType) {
+        Objects.requireNonNull(annotationType, "Annotation type must not be null.");
+
+        return with(new Criterion(bindings -> bindings.annotatedWith(annotationType),
+                binding -> annotationType.equals(binding.getKey().getAnnotationType())));
+    }
+
+    /**
+     * Restricts the query to {@link Binding}s of the {@link BindingKind}.
+     *
+     * @param kind the {@link BindingKind}
+     * @return the restricted {@link BindingQuery}
+     * @throws NullPointerException if the {@link BindingKind} is {@code null}
+     */
+    public BindingQuery ofKind(final BindingKind kind) {
+        Objects.requireNonNull(kind, "Kind must not be null.");
+
+        return with(new Criterion(bindings -> bindings.ofKind(kind),
+                binding -> BindingKind.of(binding) == kind));
+    }
+
+    /**
+     * Restricts the query to {@link Binding}s with the {@link Scoping}.
+     *
+     * @param scoping the {@link Scoping}
+     * @return the restricted {@link BindingQuery}
+     * @throws NullPointerException if the {@link Scoping} is {@code null}
+     */
+    public BindingQuery withScoping(final Scoping scoping) {
+        Objects.requireNonNull(scoping, "Scoping must not be null.");
+
+        return with(new Criterion(bindings -> bindings.withScoping(scoping),
+                binding -> scoping.equals(binding.acceptScopingVisitor(new ScopingRecorder()))));
+    }
+
+    /**
+     * Restricts the query to {@link Binding}s matching the {@link Predicate}. The
+     * {@link Predicate} must be thread-safe if the query is evaluated in parallel.
+     *
+     * @param predicate the {@link Predicate}
+     * @return the restricted {@link BindingQuery}
+     * @throws NullPointerException if the {@link Predicate} is {@code null}
+     */
+    public BindingQuery matching(final Predicate<? super Binding<?>> predicate) {
+        Objects.requireNonNull(predicate, "Predicate must not be null.");
+
+        return with(new Criterion(null, predicate::test));
+    }
+
+    /**
+     * Evaluates the query in parallel, which benefits bulk assertions over many
+     * {@link Binding}s.
+     *
+     * @return the parallel {@link BindingQuery}
+     */
+    public BindingQuery parallel() {
+        return new BindingQuery(index, criteria, true);
+    }
+
+    /**
+     * Returns a {@link BindingTypeVerifier} for every matching {@link Binding}.
+     *
+     * @return a {@link Stream} of {@link BindingTypeVerifier}s
+     */
+    public Stream<BindingTypeVerifier<?>> stream() {
+        return bindings().map(BindingQuery::verifierFor);
+    }
+
+    /**
+     * Returns the number of matching {@link Binding}s.
+     *
+     * @return the number of matching {@link Binding}s
+     */
+    public long count() {
+        return bindings().count();
+    }
+
+    /**
+     * Runs the verification against a {@link BindingTypeVerifier} for every matching
+     * {@link Binding}, reporting every failure at once instead of stopping at the first.
+     *
+     * @param verification the verification, which must be thread-safe if the query is evaluated
+     * in parallel
+     * @throws NullPointerException if the verification is {@code null}
+     * @throws BindingVerificationException if the verification failed for any {@link Binding}
+     */
+    public void verifyEach(final Consumer<? super BindingTypeVerifier<?>> verification) {
+        Objects.requireNonNull(verification, "Verification must not be null.");
+
+        final List<Throwable> failures = stream().map(verifier -> {
+            try {
+                verification.accept(verifier);
+                return null;
+            } catch (final RuntimeException | AssertionError ex) {
+                return ex;
+            }
+        }).filter(Objects::nonNull).collect(Collectors.toList());
+
+        if (!failures.isEmpty()) {
+            throw new BindingVerificationException(failures);
+        }
+    }
+
+    /**
+     * Returns the matching {@link Binding}s.
+     *
+     * @return a {@link Stream} of the matching {@link Binding}s
+     */
+    private Stream<Binding<?>> bindings() {
+        List<Binding<?>> candidates = null;
+        for (final Criterion criterion : criteria) {
+            if (criterion.lookup != null) {
+                final List<Binding<?>> indexed = criterion.lookup.apply(index);
+                if (candidates == null || indexed.size() < candidates.size()) {
+                    candidates = indexed;
+                }
+            }
+        }
+        if (candidates == null) {
+            candidates = index.all();
+        }
+
+        Stream<Binding<?>> stream = parallel ? candidates.parallelStream() : candidates.stream();
+        for (final Criterion criterion : criteria) {
+            stream = stream.filter(criterion.predicate);
+        }
+        return stream;
+    }
+
+    /**
+     * Returns a {@link BindingQuery} additionally restricted by the {@link Criterion}.
+     *
+     * @param criterion the {@link Criterion}
+     * @return the restricted {@link BindingQuery}
+     */
+    private BindingQuery with(final Criterion criterion) {
+        final List<Criterion> restricted = new ArrayList<>(criteria);
+        restricted.add(criterion);
+        return new BindingQuery(index, Collections.unmodifiableList(restricted), parallel);
+    }
+
+    /**
+     * Returns the package of the {@link Binding}'s raw type.
+     *
+     * @param binding the {@link Binding}
+     * @return the name of the package
+     */
+    private static String packageOf(final Binding<?> binding) {
+        return BindingIndex.packageOf(binding.getKey().getTypeLiteral().getRawType());
+    }
+
+    /**
+     * Returns a {@link BindingTypeVerifier} for the {@link Binding}.
+     *
+     * @param <T> the bound type
+     * @param binding the {@link Binding}
+     * @return the {@link BindingTypeVerifier}
+     */
+    private static <T> BindingTypeVerifier<?> verifierFor(final Binding<T> binding) {
+        return new BindingTypeVerifier<>(binding);
+    }
+
+    /**
+     * A filter of a {@link BindingQuery}.
+     */
+    private static final class Criterion {
+
+        private final Function<BindingIndex, List<Binding<?>>> lookup;
+        private final Predicate<Binding<?>> predicate;
+
+        /**
+         * @param lookup looks up the {@link Binding}s matching the filter in a
+         * {@link BindingIndex}, or {@code null} if the filter is not indexed
+         * @param predicate tests whether a {@link Binding} matches the filter
+         */
+        Criterion(@Nullable final Function<BindingIndex, List<Binding<?>>> lookup,
+                final Predicate<Binding<?>> predicate) {
+            this.lookup = lookup;
+            this.predicate = predicate;
+        }
+    }
+}
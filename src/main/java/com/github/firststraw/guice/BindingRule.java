@@ -0,0 +1,315 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A named binding convention, such as "DAOs must be singletons". A {@link BindingRule} selects
+ * {@link Binding}s by the package, type and binding annotation of their {@link Key}s and states
+ * requirements on the selected {@link Binding}s in terms of {@link BindingTypeVerifier}. Every
+ * method returns a new {@link BindingRule}; rules are evaluated together by {@link BindingRules}.
+ */
+@Immutable
+public class BindingRule {
+
+    private final String name;
+    private final String packageName;
+    private final boolean subpackages;
+    private final Class<? extends Annotation> annotationType;
+    private final List<Predicate<Binding<?>>> matchers;
+    private final List<Consumer<? super BindingTypeVerifier<?>>> requirements;
+
+    /**
+     * @param name the name of the rule
+     * @param packageName the package the rule is restricted to, or {@code null} for any package
+     * @param subpackages {@code true} if the rule also applies to subpackages of the package
+     * @param annotationType the binding annotation type the rule is restricted to, or
+     * {@code null} for any
+     * @param matchers the remaining filters every selected {@link Binding} satisfies
+     * @param requirements the requirements on every selected {@link Binding}
+     */
+    private BindingRule(final String name, @Nullable final String packageName,
+            final boolean subpackages, @Nullable final Class<? extends Annotation> annotationType,
+            final List<Predicate<Binding<?>>> matchers,
+            final List<Consumer<? super BindingTypeVerifier<?>>> requirements) {
+        this.name = name;
+        this.packageName = packageName;
+        this.subpackages = subpackages;
+        this.annotationType = annotationType;
+        this.matchers = matchers;
+        this.requirements = requirements;
+    }
+
+    /**
+     * Returns a {@link BindingRule} that applies to every {@link Binding} and has no
+     * requirements yet.
+     *
+     * @param name the name of the rule, used when reporting violations
+     * @return the {@link BindingRule}
+     * @throws NullPointerException if the name is {@code null}
+     */
+    public static BindingRule named(final String name) {
+        Objects.requireNonNull(name, "Name must not be null.");
+
+        return new BindingRule(name, null, false, null, Collections.emptyList(),
+                Collections.emptyList());
+    }
+
+    /**
+     * Restricts the rule to {@link Binding}s whose raw type is in the package, excluding
+     * subpackages. Replaces any previous package restriction.
+     *
+     * @param packageName the name of the package
+     * @return the restricted {@link BindingRule}
+     * @throws NullPointerException if the package name is {@code null}
+     */
+    public BindingRule inPackage(final String packageName) {
+        Objects.requireNonNull(packageName, "Package name must not be null.");
+
+        return new BindingRule(name, packageName, false, annotationType, matchers, requirements);
+    }
+
+    /**
+     * Restricts the rule to {@link Binding}s whose raw type is in the package or one of its
+     * subpackages. Replaces any previous package restriction.
+     *
+     * @param packageName the name of the package
+     * @return the restricted {@link BindingRule}
+     * @throws NullPointerException if the package name is {@code null}
+     */
+    public BindingRule inPackageTree(final String packageName) {
+        Objects.requireNonNull(packageName, "Package name must not be null.");
+
+        return new BindingRule(name, packageName, true, annotationType, matchers, requirements);
+    }
+
+    /**
+     * Restricts the rule to {@link Binding}s whose {@link Key} has the binding annotation type.
+     * Replaces any previous binding annotation restriction.
+     *
+     * @param annotationType the binding annotation type
+     * @return the restricted {@link BindingRule}
+     * @throws NullPointerException if the binding annotation type is {@code null}
+     */
+    public BindingRule annotatedWith(final Class<? extends Annotation> annotationType) {
+        Objects.requireNonNull(annotationType, "Annotation type must not be null.");
+
+        return new BindingRule(name, packageName, subpackages, annotationType, matchers,
+                requirements);
+    }
+
+    /**
+     * Restricts the rule to {@link Binding}s whose raw type is assignable to the type.
+     *
+     * @param type the type
+     * @return the restricted {@link BindingRule}
+     * @throws NullPointerException if the type is {@code null}
+     */
+    public BindingRule assignableTo(final Class<?> type) {
+        Objects.requireNonNull(type, "Type must not be null.");
+
+        return matching(binding -> type.isAssignableFrom(rawTypeOf(binding)));
+    }
+
+    /**
+     * Restricts the rule to {@link Binding}s whose raw type has a simple name matching the
+     * regular expression, such as {@code ".*Dao"}.
+     *
+     * @param regex the regular expression
+     * @return the restricted {@link BindingRule}
+     * @throws NullPointerException if the regular expression is {@code null}
+     * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+     */
+    public BindingRule simpleNameMatching(final String regex) {
+        Objects.requireNonNull(regex, "Regex must not be null.");
+
+        final Pattern pattern = Pattern.compile(regex);
+        return matching(binding -> pattern.matcher(rawTypeOf(binding).getSimpleName()).matches());
+    }
+
+    /**
+     * Restricts the rule to {@link Binding}s matching the {@link Predicate}. The
+     * {@link Predicate} must be thread-safe if the rules are evaluated in parallel.
+     *
+     * @param predicate the {@link Predicate}
+     * @return the restricted {@link BindingRule}
+     * @throws NullPointerException if the {@link Predicate} is {@code null}
+     */
+    public BindingRule matching(final Predicate<? super Binding<?>> predicate) {
+        Objects.requireNonNull(predicate, "Predicate must not be null.");
+
+        final List<Predicate<Binding<?>>> restricted = new ArrayList<>(matchers);
+        restricted.add(predicate::test);
+        return new BindingRule(name, packageName, subpackages, annotationType,
+                Collections.unmodifiableList(restricted), requirements);
+    }
+
+    /**
+     * Adds a requirement on every selected {@link Binding}. The requirement fails by throwing,
+     * like the verifiers do, and must be thread-safe if the rules are evaluated in parallel.
+     *
+     * @param requirement the requirement
+     * @return the {@link BindingRule} with the requirement
+     * @throws NullPointerException if the requirement is {@code null}
+     */
+    public BindingRule requireThat(final Consumer<? super BindingTypeVerifier<?>> requirement) {
+        Objects.requireNonNull(requirement, "Requirement must not be null.");
+
+        final List<Consumer<? super BindingTypeVerifier<?>>> required =
+                new ArrayList<>(requirements);
+        required.add(requirement);
+        return new BindingRule(name, packageName, subpackages, annotationType, matchers,
+                Collections.unmodifiableList(required));
+    }
+
+    /**
+     * Requires every selected {@link Binding} to be a singleton.
+     *
+     * @return the {@link BindingRule} with the requirement
+     */
+    public BindingRule requireSingleton() {
+        return requireThat(verifier -> verifier.withScoping().singleton());
+    }
+
+    /**
+     * Requires every selected {@link Binding} to be an eager singleton.
+     *
+     * @return the {@link BindingRule} with the requirement
+     */
+    public BindingRule requireEagerSingleton() {
+        return requireThat(verifier -> verifier.withScoping().eagerSingleton());
+    }
+
+    /**
+     * Requires every selected {@link Binding} not to be of the {@link BindingKind}.
+     *
+     * @param kind the forbidden {@link BindingKind}
+     * @return the {@link BindingRule} with the requirement
+     * @throws NullPointerException if the {@link BindingKind} is {@code null}
+     */
+    public BindingRule forbidKind(final BindingKind kind) {
+        Objects.requireNonNull(kind, "Kind must not be null.");
+
+        return requireThat(verifier -> verifier.notOfKind(kind));
+    }
+
+    /**
+     * Returns the name of the rule.
+     *
+     * @return the name of the rule
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the package the rule is restricted to.
+     *
+     * @return the name of the package, or {@code null} if the rule applies to any package
+     */
+    @Nullable
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Returns whether the rule also applies to subpackages of its package.
+     *
+     * @return {@code true} if the rule also applies to subpackages
+     */
+    boolean isSubpackages() {
+        return subpackages;
+    }
+
+    /**
+     * Returns the binding annotation type the rule is restricted to.
+     *
+     * @return the binding annotation type, or {@code null} if the rule applies to any
+     */
+    @Nullable
+    Class<? extends Annotation> getAnnotationType() {
+        return annotationType;
+    }
+
+    /**
+     * Returns whether the rule applies to the {@link Binding}.
+     *
+     * @param binding the {@link Binding}
+     * @param bindingPackage the name of the package of the {@link Binding}'s raw type
+     * @return {@code true} if the rule applies to the {@link Binding}
+     */
+    boolean appliesTo(final Binding<?> binding, final String bindingPackage) {
+        if (packageName != null && !bindingPackage.equals(packageName)
+                && !(subpackages && bindingPackage.startsWith(packageName + "."))) {
+            return false;
+        }
+        if (annotationType != null
+                && !annotationType.equals(binding.getKey().getAnnotationType())) {
+            return false;
+        }
+        for (final Predicate<Binding<?>> matcher : matchers) {
+            if (!matcher.test(binding)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks every requirement against the {@link Binding}.
+     *
+     * @param binding the {@link Binding}
+     * @param violations receives a {@link BindingRuleViolation} for every failed requirement
+     */
+    void check(final Binding<?> binding, final List<BindingRuleViolation> violations) {
+        final BindingTypeVerifier<?> verifier = verifierFor(binding);
+        for (final Consumer<? super BindingTypeVerifier<?>> requirement : requirements) {
+            try {
+                requirement.accept(verifier);
+            } catch (final RuntimeException | AssertionError ex) {
+                violations.add(new BindingRuleViolation(name, binding.getKey(), ex));
+            }
+        }
+    }
+
+    /**
+     * Returns the raw type of the {@link Binding}'s {@link Key}.
+     *
+     * @param binding the {@link Binding}
+     * @return the raw type
+     */
+    private static Class<?> rawTypeOf(final Binding<?> binding) {
+        return binding.getKey().getTypeLiteral().getRawType();
+    }
+
+    /**
+     * Returns a {@link BindingTypeVerifier} for the {@link Binding}.
+     *
+     * @param <T> the bound type
+     * @param binding the {@link Binding}
+     * @return the {@link BindingTypeVerifier}
+     */
+    private static <T> BindingTypeVerifier<?> verifierFor(final Binding<T> binding) {
+        return new BindingTypeVerifier<>(binding);
+    }
+
+    /**
+     * Returns the name of the rule.
+     *
+     * @return the name of the rule
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+
+/**
+ * Thrown when a {@link Binding} does not satisfy a requirement of a {@link BindingRule}. The
+ * failed requirement is available as the cause.
+ */
+public class BindingRuleViolation extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String ruleName;
+    private final Key<?> key;
+
+    /**
+     * @param ruleName the name of the violated {@link BindingRule}
+     * @param key the {@link Key} of the violating {@link Binding}
+     * @param cause the failed requirement
+     */
+    BindingRuleViolation(final String ruleName, final Key<?> key, final Throwable cause) {
+        super("Rule \"" + ruleName + "\" violated by " + key + ": " + cause.getMessage(), cause);
+        this.ruleName = ruleName;
+        this.key = key;
+    }
+
+    /**
+     * Returns the name of the violated {@link BindingRule}.
+     *
+     * @return the name of the violated {@link BindingRule}
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Returns the {@link Key} of the violating {@link Binding}.
+     *
+     * @return the {@link Key} of the violating {@link Binding}
+     */
+    public Key<?> getKey() {
+        return key;
+    }
+}
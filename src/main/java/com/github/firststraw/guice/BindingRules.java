@@ -0,0 +1,206 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A set of {@link BindingRule}s evaluated together in a single pass over the {@link Binding}s of
+ * an {@link InjectorTester}. The rules are indexed by package and binding annotation up front,
+ * so each {@link Binding} is only checked against the rules that can apply to it and the cost of
+ * checking many rules stays close to that of one traversal. Every violation of every rule is
+ * reported at once.
+ */
+@Immutable
+public class BindingRules {
+
+    private final List<BindingRule> rules;
+    private final boolean parallel;
+    private final Map<String, List<BindingRule>> byPackage = new HashMap<>();
+    private final Map<String, List<BindingRule>> byPackageTree = new HashMap<>();
+    private final Map<Class<? extends Annotation>, List<BindingRule>> byAnnotation =
+            new HashMap<>();
+    private final List<BindingRule> unindexed = new ArrayList<>();
+
+    /**
+     * @param rules the {@link BindingRule}s
+     * @param parallel {@code true} to evaluate in parallel
+     */
+    private BindingRules(final List<BindingRule> rules, final boolean parallel) {
+        this.rules = rules;
+        this.parallel = parallel;
+        for (final BindingRule rule : rules) {
+            if (rule.getPackageName() != null) {
+                add(rule.isSubpackages() ? byPackageTree : byPackage, rule.getPackageName(),
+                        rule);
+            } else if (rule.getAnnotationType() != null) {
+                add(byAnnotation, rule.getAnnotationType(), rule);
+            } else {
+                unindexed.add(rule);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link BindingRules} consisting of the {@link BindingRule}s.
+     *
+     * @param rules the {@link BindingRule}s
+     * @return the {@link BindingRules}
+     * @throws NullPointerException if the array or any {@link BindingRule} is {@code null}
+     */
+    public static BindingRules of(final BindingRule... rules) {
+        Objects.requireNonNull(rules, "Rules must not be null.");
+
+        return of(Arrays.asList(rules));
+    }
+
+    /**
+     * Returns the {@link BindingRules} consisting of the {@link BindingRule}s.
+     *
+     * @param rules the {@link BindingRule}s
+     * @return the {@link BindingRules}
+     * @throws NullPointerException if the {@link Iterable} or any {@link BindingRule} is
+     * {@code null}
+     */
+    public static BindingRules of(final Iterable<BindingRule> rules) {
+        Objects.requireNonNull(rules, "Rules must not be null.");
+
+        final List<BindingRule> copy = new ArrayList<>();
+        for (final BindingRule rule : rules) {
+            copy.add(Objects.requireNonNull(rule, "Rule must not be null."));
+        }
+        return new BindingRules(Collections.unmodifiableList(copy), false);
+    }
+
+    /**
+     * Evaluates the {@link BindingRules} in parallel, which benefits large injectors. The
+     * requirements and filters of every {@link BindingRule} must be thread-safe.
+     *
+     * @return the parallel {@link BindingRules}
+     */
+    public BindingRules parallel() {
+        return new BindingRules(rules, true);
+    }
+
+    /**
+     * Returns the {@link BindingRule}s.
+     *
+     * @return the {@link BindingRule}s
+     */
+    public List<BindingRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Returns every violation of the {@link BindingRules} by the {@link Binding}s of the
+     * {@link InjectorTester}.
+     *
+     * @param tester the {@link InjectorTester}
+     * @return a {@link BindingRuleViolation} for every failed requirement
+     * @throws NullPointerException if the {@link InjectorTester} is {@code null}
+     */
+    public List<BindingRuleViolation> check(final InjectorTester tester) {
+        Objects.requireNonNull(tester, "Tester must not be null.");
+
+        return check(tester.getBindingIndex());
+    }
+
+    /**
+     * Verifies that the {@link Binding}s of the {@link InjectorTester} satisfy every
+     * {@link BindingRule}.
+     *
+     * @param tester the {@link InjectorTester}
+     * @throws NullPointerException if the {@link InjectorTester} is {@code null}
+     * @throws BindingVerificationException if any {@link BindingRule} is violated, with a
+     * {@link BindingRuleViolation} for every failed requirement
+     */
+    public void verify(final InjectorTester tester) {
+        final List<BindingRuleViolation> violations = check(tester);
+        if (!violations.isEmpty()) {
+            throw new BindingVerificationException(new ArrayList<>(violations));
+        }
+    }
+
+    /**
+     * Returns every violation of the {@link BindingRules} by the indexed {@link Binding}s.
+     *
+     * @param index the {@link BindingIndex}
+     * @return a {@link BindingRuleViolation} for every failed requirement
+     */
+    List<BindingRuleViolation> check(final BindingIndex index) {
+        final List<Binding<?>> bindings = index.all();
+        final Stream<Binding<?>> stream = parallel ? bindings.parallelStream() : bindings.stream();
+        return stream.flatMap(binding -> check(binding).stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * Checks the {@link Binding} against every {@link BindingRule} that can apply to it.
+     *
+     * @param binding the {@link Binding}
+     * @return the violations by the {@link Binding}
+     */
+    private List<BindingRuleViolation> check(final Binding<?> binding) {
+        final String bindingPackage =
+                BindingIndex.packageOf(binding.getKey().getTypeLiteral().getRawType());
+        final List<BindingRuleViolation> violations = new ArrayList<>(0);
+
+        check(binding, bindingPackage, byPackage.get(bindingPackage), violations);
+        if (!byPackageTree.isEmpty()) {
+            String enclosing = bindingPackage;
+            while (!enclosing.isEmpty()) {
+                check(binding, bindingPackage, byPackageTree.get(enclosing), violations);
+                final int lastDot = enclosing.lastIndexOf('.');
+                enclosing = lastDot < 0 ? "" : enclosing.substring(0, lastDot);
+            }
+        }
+        final Class<? extends Annotation> annotationType = binding.getKey().getAnnotationType();
+        if (annotationType != null) {
+            check(binding, bindingPackage, byAnnotation.get(annotationType), violations);
+        }
+        check(binding, bindingPackage, unindexed, violations);
+        return violations;
+    }
+
+    /**
+     * Checks the {@link Binding} against the candidate {@link BindingRule}s that apply to it.
+     *
+     * @param binding the {@link Binding}
+     * @param bindingPackage the name of the package of the {@link Binding}'s raw type
+     * @param candidates the candidate {@link BindingRule}s, or {@code null} if there are none
+     * @param violations receives the violations by the {@link Binding}
+     */
+    private static void check(final Binding<?> binding, final String bindingPackage,
+            @Nullable final List<BindingRule> candidates,
+            final List<BindingRuleViolation> violations) {
+        if (candidates != null) {
+            for (final BindingRule rule : candidates) {
+                if (rule.appliesTo(binding, bindingPackage)) {
+                    rule.check(binding, violations);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the {@link BindingRule} to the index under the value.
+     *
+     * @param <V> the type of the indexed value
+     * @param index the index
+     * @param value the indexed value
+     * @param rule the {@link BindingRule}
+     */
+    private static <V> void add(final Map<V, List<BindingRule>> index, final V value,
+            final BindingRule rule) {
+        index.computeIfAbsent(value, indexed -> new ArrayList<>()).add(rule);
+    }
+}
@@ -2,6 +2,7 @@ package com.github.firststraw.guice;
 
 import com.google.inject.Binding;
 import com.google.inject.Scope;
+import com.google.inject.Scopes;
 import java.lang.annotation.Annotation;
 import java.util.Objects;
 import javax.annotation.concurrent.Immutable;
@@ -34,6 +35,21 @@ public class BindingScopingVerifier {
         if (!scoping.isEagerSingleton()) {
             throw new IncorrectScopingException(Scoping.eagerSingleton(), scoping);
         }
+        BindingCoverage.recordAssertion(binding);
+    }
+
+    /**
+     * Verifies that the {@link Binding} has any form of singleton scoping: eager singleton,
+     * {@link Scopes#SINGLETON} or a singleton scope annotation.
+     *
+     * @throws IncorrectScopingException if the {@link Binding} does not have singleton scoping
+     */
+    public void singleton() {
+        final Scoping scoping = getScoping();
+        if (!scoping.isSingleton()) {
+            throw new IncorrectScopingException(Scoping.scope(Scopes.SINGLETON), scoping);
+        }
+        BindingCoverage.recordAssertion(binding);
     }
 
     /**
@@ -51,6 +67,7 @@ public class BindingScopingVerifier {
         if (!scope.equals(scoping.getScope())) {
             throw new IncorrectScopingException(Scoping.scope(scope), scoping);
         }
+        BindingCoverage.recordAssertion(binding);
     }
 
     /**
@@ -68,6 +85,7 @@ public class BindingScopingVerifier {
         if (!scopeAnnotation.equals(scoping.getScopeAnnotation())) {
             throw new IncorrectScopingException(Scoping.scopeAnnotation(scopeAnnotation), scoping);
         }
+        BindingCoverage.recordAssertion(binding);
     }
 
     /**
@@ -80,6 +98,7 @@ public class BindingScopingVerifier {
         if (!scoping.isNoScoping()) {
             throw new IncorrectScopingException(Scoping.noScoping(), scoping);
         }
+        BindingCoverage.recordAssertion(binding);
     }
 
     /**
@@ -0,0 +1,56 @@
+package com.github.firststraw.guice;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Collects the failures of a binding specification verification, retaining only the first ones
+ * so that memory stays bounded however many lines fail. Used by
+ * {@link InjectorTester#verifySpec(java.io.Reader, int)} and by the verifiers that
+ * {@link BindingSpecGenerator} generates.
+ */
+@NotThreadSafe
+public final class BindingSpecFailures {
+
+    private final int maxReportedFailures;
+    private final List<Throwable> reported = new ArrayList<>();
+    private long failureCount;
+
+    /**
+     * @param maxReportedFailures the maximum number of failures to retain
+     * @throws IllegalArgumentException if the maximum number of failures is not positive
+     */
+    public BindingSpecFailures(final int maxReportedFailures) {
+        if (maxReportedFailures <= 0) {
+            throw new IllegalArgumentException("Max reported failures must be positive.");
+        }
+
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    /**
+     * Records the failure of a line of the specification.
+     *
+     * @param lineNumber the number of the line, starting at 1
+     * @param failure the failure
+     */
+    public void add(final long lineNumber, final Throwable failure) {
+        failureCount++;
+        if (reported.size() < maxReportedFailures) {
+            reported.add(new BindingSpecViolation(lineNumber, failure));
+        }
+    }
+
+    /**
+     * Throws if any failure was recorded.
+     *
+     * @throws BindingVerificationException if any failure was recorded, with a
+     * {@link BindingSpecViolation} for each retained failure
+     */
+    public void verify() {
+        if (failureCount > 0) {
+            throw new BindingVerificationException(reported, failureCount);
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.Scopes;
+import com.google.inject.name.Named;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.lang.model.SourceVersion;
+
+/**
+ * Generates Java source that verifies the bindings of a binding specification, so that large
+ * specifications are checked without parsing text or loading classes by name at test time.
+ * Every {@link Key} and type is a constant built once, and each line becomes a direct call to
+ * {@link BindingTypeVerifier} and its companions. Failures are collected like
+ * {@link InjectorTester#verifySpec(Reader, int)} does and report the same line numbers.
+ * <p>
+ * Run it at build time, for example from the {@code generate-test-sources} phase:
+ * <pre>
+ * java com.github.firststraw.guice.BindingSpecGenerator bindings.tsv com.acme.AcmeBindings \
+ *     target/generated-test-sources/bindings
+ * </pre>
+ * and call {@code AcmeBindings.verify(tester)} from a test. The specification is streamed and
+ * lines are grouped into nested classes of {@value #RECORDS_PER_CHUNK}, keeping every method and
+ * constant pool within the limits of the class file format. Types named by the specification
+ * must be accessible from the package of the generated class.
+ */
+public final class BindingSpecGenerator {
+
+    static final int RECORDS_PER_CHUNK = 500;
+
+    private static final String INDENT = "    ";
+
+    /**
+     * Prevents instantiation.
+     */
+    private BindingSpecGenerator() {
+    }
+
+    /**
+     * Generates a verifier from the command line.
+     *
+     * @param args the specification file, the fully qualified name of the class to generate and
+     * the source root to write it to
+     * @throws IOException if the specification could not be read or the source written
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: BindingSpecGenerator <spec file> "
+                    + "<fully qualified class name> <source root>");
+        }
+        generate(Paths.get(args[0]), args[1], Paths.get(args[2]));
+    }
+
+    /**
+     * Generates a verifier for the specification file into the source root, creating the package
+     * directories as needed.
+     *
+     * @param spec the UTF-8 encoded specification file
+     * @param className the fully qualified name of the class to generate
+     * @param sourceRoot the source root to write the class to
+     * @return the generated source file
+     * @throws NullPointerException if any argument is {@code null}
+     * @throws IllegalArgumentException if the class name is not a valid name
+     * @throws BindingSpecViolation if a line is malformed or names an inaccessible type
+     * @throws IOException if the specification could not be read or the source written
+     */
+    public static Path generate(final Path spec, final String className, final Path sourceRoot)
+            throws IOException {
+        Objects.requireNonNull(spec, "Spec must not be null.");
+        Objects.requireNonNull(className, "Class name must not be null.");
+        Objects.requireNonNull(sourceRoot, "Source root must not be null.");
+
+        final Path source = sourceRoot.resolve(className.replace('.', '/') + ".java");
+        if (source.getParent() != null) {
+            Files.createDirectories(source.getParent());
+        }
+        try (Reader reader = Files.newBufferedReader(spec, StandardCharsets.UTF_8);
+                Writer writer = Files.newBufferedWriter(source, StandardCharsets.UTF_8)) {
+            generate(reader, className, writer);
+        }
+        return source;
+    }
+
+    /**
+     * Generates the source of a verifier for the specification. The generated class has the
+     * methods {@code verify(InjectorTester)} and {@code verify(InjectorTester, int)}, which
+     * behave like {@link InjectorTester#verifySpec(Reader, int)}.
+     *
+     * @param spec the specification, which is read but not closed
+     * @param className the fully qualified name of the class to generate
+     * @param out receives the source, and is flushed but not closed
+     * @return the number of lines of the specification that were compiled into checks
+     * @throws NullPointerException if any argument is {@code null}
+     * @throws IllegalArgumentException if the class name is not a valid name
+     * @throws BindingSpecViolation if a line is malformed or names an inaccessible type
+     * @throws IOException if the specification could not be read or the source written
+     */
+    public static int generate(final Reader spec, final String className, final Writer out)
+            throws IOException {
+        Objects.requireNonNull(spec, "Spec must not be null.");
+        Objects.requireNonNull(className, "Class name must not be null.");
+        Objects.requireNonNull(out, "Out must not be null.");
+        if (!SourceVersion.isName(className)) {
+            throw new IllegalArgumentException(className + " is not a valid class name.");
+        }
+
+        final int lastDot = className.lastIndexOf('.');
+        writeHeader(out, lastDot < 0 ? null : className.substring(0, lastDot),
+                className.substring(lastDot + 1));
+
+        final ClassLoader classLoader = BindingSpecs.classLoader();
+        final BufferedReader lines =
+                spec instanceof BufferedReader ? (BufferedReader) spec : new BufferedReader(spec);
+        Chunk chunk = new Chunk(0);
+        int records = 0;
+        long lineNumber = 0;
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (!BindingSpecs.isRecord(line)) {
+                continue;
+            }
+            try {
+                chunk.add(BindingSpecRecord.parse(line), lineNumber, classLoader);
+            } catch (final IllegalArgumentException ex) {
+                throw new BindingSpecViolation(lineNumber, ex);
+            }
+            records++;
+            if (chunk.size == RECORDS_PER_CHUNK) {
+                chunk.writeTo(out);
+                chunk = new Chunk(chunk.index + 1);
+            }
+        }
+        if (chunk.size > 0 || chunk.index == 0) {
+            chunk.writeTo(out);
+            chunk = new Chunk(chunk.index + 1);
+        }
+
+        writeFooter(out, chunk.index);
+        out.flush();
+        return records;
+    }
+
+    /**
+     * Writes the package, imports and opening of the generated class.
+     *
+     * @param out receives the source
+     * @param packageName the package of the class, or {@code null} for the default package
+     * @param simpleName the simple name of the class
+     * @throws IOException if the source could not be written
+     */
+    private static void writeHeader(final Writer out, final String packageName,
+            final String simpleName) throws IOException {
+        if (packageName != null) {
+            out.write("package " + packageName + ";\n\n");
+        }
+        for (final Class<?> imported : new Class<?>[]{BindingKind.class,
+            BindingSpecFailures.class, BindingTypeVerifier.class, InjectorTester.class,
+            Key.class, Scopes.class, com.google.inject.TypeLiteral.class,
+            com.google.inject.name.Names.class, com.google.inject.util.Types.class}) {
+            out.write("import " + imported.getName() + ";\n");
+        }
+        out.write("\n/**\n * Verifies the bindings of a binding specification. Generated by "
+                + BindingSpecGenerator.class.getSimpleName() + "; do not edit.\n */\n"
+                + "@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n"
+                + "public final class " + simpleName + " {\n\n"
+                + INDENT + "/**\n" + INDENT + " * Prevents instantiation.\n" + INDENT + " */\n"
+                + INDENT + "private " + simpleName + "() {\n" + INDENT + "}\n");
+    }
+
+    /**
+     * Writes the {@code verify} methods and the closing of the generated class.
+     *
+     * @param out receives the source
+     * @param chunkCount the number of chunks written
+     * @throws IOException if the source could not be written
+     */
+    private static void writeFooter(final Writer out, final int chunkCount) throws IOException {
+        out.write("\n" + INDENT + "/**\n"
+                + INDENT + " * Verifies the bindings, reporting at most "
+                + BindingSpecs.DEFAULT_MAX_REPORTED_FAILURES + " failures.\n"
+                + INDENT + " *\n"
+                + INDENT + " * @param tester the {@link InjectorTester}\n"
+                + INDENT + " */\n"
+                + INDENT + "public static void verify(final InjectorTester tester) {\n"
+                + INDENT + INDENT + "verify(tester, " + BindingSpecs.DEFAULT_MAX_REPORTED_FAILURES
+                + ");\n"
+                + INDENT + "}\n\n"
+                + INDENT + "/**\n"
+                + INDENT + " * Verifies the bindings.\n"
+                + INDENT + " *\n"
+                + INDENT + " * @param tester the {@link InjectorTester}\n"
+                + INDENT + " * @param maxReportedFailures the maximum number of failures to "
+                + "report\n"
+                + INDENT + " */\n"
+                + INDENT + "public static void verify(final InjectorTester tester, "
+                + "final int maxReportedFailures) {\n"
+                + INDENT + INDENT + "final BindingSpecFailures failures = "
+                + "new BindingSpecFailures(maxReportedFailures);\n");
+        for (int index = 0; index < chunkCount; index++) {
+            out.write(INDENT + INDENT + "Chunk" + index + ".verify(tester, failures);\n");
+        }
+        out.write(INDENT + INDENT + "failures.verify();\n" + INDENT + "}\n}\n");
+    }
+
+    /**
+     * Returns a Java expression evaluating to the {@link Key}.
+     *
+     * @param key the {@link Key}
+     * @return the Java expression
+     * @throws IllegalArgumentException if a type of the {@link Key} cannot be referenced
+     */
+    static String keyExpression(final Key<?> key) {
+        final String type = typeExpression(key.getTypeLiteral().getType());
+        if (key.getAnnotation() instanceof Named) {
+            return "Key.get(" + type + ", Names.named("
+                    + stringLiteral(((Named) key.getAnnotation()).value()) + "))";
+        } else if (key.getAnnotationType() != null) {
+            return "Key.get(" + type + ", " + classLiteral(key.getAnnotationType()) + ")";
+        }
+        return "Key.get(" + type + ")";
+    }
+
+    /**
+     * Returns a Java expression evaluating to the {@link Type}.
+     *
+     * @param type the {@link Type}
+     * @return the Java expression
+     * @throws IllegalArgumentException if the {@link Type} cannot be referenced
+     */
+    static String typeExpression(final Type type) {
+        if (type instanceof Class) {
+            return classLiteral((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            final StringBuilder expression = new StringBuilder();
+            if (parameterized.getOwnerType() == null) {
+                expression.append("Types.newParameterizedType(");
+            } else {
+                expression.append("Types.newParameterizedTypeWithOwner(")
+                        .append(typeExpression(parameterized.getOwnerType())).append(", ");
+            }
+            expression.append(typeExpression(parameterized.getRawType()));
+            for (final Type argument : parameterized.getActualTypeArguments()) {
+                expression.append(", ").append(typeExpression(argument));
+            }
+            return expression.append(')').toString();
+        } else if (type instanceof GenericArrayType) {
+            return "Types.arrayOf("
+                    + typeExpression(((GenericArrayType) type).getGenericComponentType()) + ")";
+        } else if (type instanceof WildcardType) {
+            final WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getLowerBounds().length > 0) {
+                return "Types.supertypeOf(" + typeExpression(wildcard.getLowerBounds()[0]) + ")";
+            }
+            return "Types.subtypeOf(" + typeExpression(wildcard.getUpperBounds()[0]) + ")";
+        }
+        throw new IllegalArgumentException("Cannot reference type " + type + ".");
+    }
+
+    /**
+     * Returns a class literal for the class.
+     *
+     * @param type the class
+     * @return the class literal
+     * @throws IllegalArgumentException if the class is anonymous, local or private
+     */
+    static String classLiteral(final Class<?> type) {
+        Class<?> component = type;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        for (Class<?> enclosing = component; enclosing != null;
+                enclosing = enclosing.getEnclosingClass()) {
+            if (Modifier.isPrivate(enclosing.getModifiers())) {
+                throw new IllegalArgumentException("Cannot reference private " + type + ".");
+            }
+        }
+        final String name = type.getCanonicalName();
+        if (name == null) {
+            throw new IllegalArgumentException("Cannot reference " + type + " by name.");
+        }
+        return name + ".class";
+    }
+
+    /**
+     * Returns a Java string literal for the value.
+     *
+     * @param value the value
+     * @return the string literal
+     */
+    static String stringLiteral(final String value) {
+        final StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int index = 0; index < value.length(); index++) {
+            final char c = value.charAt(index);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c >= ' ' && c < 0x7f) {
+                literal.append(c);
+            } else {
+                literal.append(String.format("\\u%04x", (int) c));
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * A nested class of the generated source holding the checks of up to
+     * {@value #RECORDS_PER_CHUNK} lines and the constants they use.
+     */
+    private static final class Chunk {
+
+        private final int index;
+        private final Map<String, String> constants = new HashMap<>();
+        private final StringBuilder fields = new StringBuilder();
+        private final StringBuilder checks = new StringBuilder();
+        private int size;
+
+        /**
+         * @param index the index of the chunk
+         */
+        Chunk(final int index) {
+            this.index = index;
+        }
+
+        /**
+         * Adds the checks of a {@link BindingSpecRecord}.
+         *
+         * @param record the {@link BindingSpecRecord}
+         * @param lineNumber the number of its line
+         * @param classLoader the {@link ClassLoader} to load the classes it names with
+         * @throws IllegalArgumentException if the record is malformed or names a type that
+         * cannot be referenced
+         */
+        void add(final BindingSpecRecord record, final long lineNumber,
+                final ClassLoader classLoader) {
+            final String indent = INDENT + INDENT + INDENT + INDENT;
+            final StringBuilder check = new StringBuilder()
+                    .append(indent).append("final BindingTypeVerifier verifier = tester")
+                    .append(".verifyBindingFor(")
+                    .append(constant("Key", keyExpression(KeySpecs.parse(record.getKey(),
+                            classLoader))))
+                    .append(");\n");
+            appendTarget(check, indent, record, classLoader);
+            appendScoping(check, indent, record.getScoping(), classLoader);
+
+            checks.append(INDENT).append(INDENT).append(INDENT).append("try {\n")
+                    .append(check)
+                    .append(INDENT).append(INDENT).append(INDENT)
+                    .append("} catch (final RuntimeException | AssertionError ex) {\n")
+                    .append(indent).append("failures.add(").append(lineNumber)
+                    .append("L, ex);\n")
+                    .append(INDENT).append(INDENT).append(INDENT).append("}\n");
+            size++;
+        }
+
+        /**
+         * Appends the check of the {@link BindingKind} and target.
+         *
+         * @param check receives the check
+         * @param indent the indentation
+         * @param record the {@link BindingSpecRecord}
+         * @param classLoader the {@link ClassLoader} to load classes with
+         */
+        private void appendTarget(final StringBuilder check, final String indent,
+                final BindingSpecRecord record, final ClassLoader classLoader) {
+            final String target = record.getTarget();
+            final boolean checked = !BindingSpecRecord.UNCHECKED.equals(target);
+            if (BindingSpecRecord.UNCHECKED.equals(record.getKind())) {
+                if (checked) {
+                    throw new IllegalArgumentException("A target requires a binding kind.");
+                }
+                return;
+            }
+
+            check.append(indent).append("verifier");
+            final BindingKind kind = BindingKind.valueOf(record.getKind());
+            switch (kind) {
+                case CONSTRUCTOR:
+                    check.append(".asConstructorBinding()");
+                    if (checked) {
+                        check.append(".withDeclaringType(").append(constant("TypeLiteral",
+                                "TypeLiteral.get(" + typeExpression(
+                                        KeySpecs.parseType(target, classLoader)) + ")"))
+                                .append(')');
+                    }
+                    break;
+                case INSTANCE:
+                    check.append(".asInstanceBinding()");
+                    if (checked) {
+                        check.append(".withInstanceOfType(")
+                                .append(classLiteral(KeySpecs.load(target, classLoader)))
+                                .append(')');
+                    }
+                    break;
+                case LINKED_KEY:
+                case PROVIDER_KEY:
+                    check.append(kind == BindingKind.LINKED_KEY
+                            ? ".asLinkedKeyBinding()" : ".asProviderKeyBinding()");
+                    if (checked) {
+                        check.append(".withKey(").append(constant("Key",
+                                keyExpression(KeySpecs.parse(target, classLoader))))
+                                .append(')');
+                    }
+                    break;
+                case PROVIDER_INSTANCE:
+                    check.append(".asProviderInstanceBinding()");
+                    final int hash = target.indexOf('#');
+                    if (checked && hash >= 0) {
+                        check.append(".withProviderMethod(")
+                                .append(classLiteral(
+                                        KeySpecs.load(target.substring(0, hash), classLoader)))
+                                .append(", ").append(stringLiteral(target.substring(hash + 1)))
+                                .append(')');
+                    } else if (checked) {
+                        check.append(".withProviderOfType(")
+                                .append(classLiteral(KeySpecs.load(target, classLoader)))
+                                .append(')');
+                    }
+                    break;
+                default:
+                    if (checked) {
+                        throw new IllegalArgumentException(
+                                "A target cannot be verified for " + kind + ".");
+                    }
+                    check.append(".ofKind(BindingKind.").append(kind.name()).append(')');
+            }
+            check.append(";\n");
+        }
+
+        /**
+         * Appends the check of the scoping.
+         *
+         * @param check receives the check
+         * @param indent the indentation
+         * @param scoping the textual form of the scoping
+         * @param classLoader the {@link ClassLoader} to load scope annotations with
+         */
+        private static void appendScoping(final StringBuilder check, final String indent,
+                final String scoping, final ClassLoader classLoader) {
+            final String call;
+            if (BindingSpecRecord.UNCHECKED.equals(scoping)) {
+                return;
+            } else if (BindingSpecRecord.SINGLETON.equals(scoping)) {
+                call = "singleton()";
+            } else if (BindingSpecRecord.EAGER_SINGLETON.equals(scoping)) {
+                call = "eagerSingleton()";
+            } else if (BindingSpecRecord.NO_SCOPING.equals(scoping)) {
+                call = "noScoping()";
+            } else if (Scopes.SINGLETON.toString().equals(scoping)
+                    || Scopes.NO_SCOPE.toString().equals(scoping)) {
+                call = "scope(" + scoping + ")";
+            } else if (scoping.startsWith("@")) {
+                final Class<?> annotation = KeySpecs.load(scoping.substring(1), classLoader);
+                if (!annotation.isAnnotation()) {
+                    throw new IllegalArgumentException(annotation + " is not an annotation.");
+                }
+                call = "scopeAnnotation(" + classLiteral(annotation) + ")";
+            } else {
+                throw new IllegalArgumentException("Unknown scoping \"" + scoping + "\".");
+            }
+            check.append(indent).append("verifier.withScoping().").append(call).append(";\n");
+        }
+
+        /**
+         * Returns the name of the constant holding the value of the expression, declaring it if
+         * this is its first use in the chunk.
+         *
+         * @param type the declared type of the constant
+         * @param expression the Java expression
+         * @return the name of the constant
+         */
+        private String constant(final String type, final String expression) {
+            return constants.computeIfAbsent(expression, key -> {
+                final String name = "C" + constants.size();
+                fields.append(INDENT).append(INDENT).append("private static final ")
+                        .append(type).append(' ').append(name).append(" = ")
+                        .append(expression).append(";\n");
+                return name;
+            });
+        }
+
+        /**
+         * Writes the chunk as a nested class.
+         *
+         * @param out receives the source
+         * @throws IOException if the source could not be written
+         */
+        void writeTo(final Writer out) throws IOException {
+            out.write("\n" + INDENT + "/**\n" + INDENT + " * Checks of part of the "
+                    + "specification.\n" + INDENT + " */\n"
+                    + INDENT + "private static final class Chunk" + index + " {\n\n");
+            out.write(fields.toString());
+            out.write("\n" + INDENT + INDENT + "/**\n"
+                    + INDENT + INDENT + " * Verifies the bindings of this part.\n"
+                    + INDENT + INDENT + " *\n"
+                    + INDENT + INDENT + " * @param tester the {@link InjectorTester}\n"
+                    + INDENT + INDENT + " * @param failures collects the failures\n"
+                    + INDENT + INDENT + " */\n"
+                    + INDENT + INDENT + "static void verify(final InjectorTester tester, "
+                    + "final BindingSpecFailures failures) {\n");
+            out.write(checks.toString());
+            out.write(INDENT + INDENT + "}\n" + INDENT + "}\n");
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.Scopes;
+import com.google.inject.TypeLiteral;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.ProvidesMethodBinding;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Provider;
+
+/**
+ * A single expectation of a binding specification: the {@link Key} of a {@link Binding}, its
+ * {@link BindingKind}, its target and its scoping, written as one line of four tab-separated
+ * fields. A field containing {@value #UNCHECKED} is not verified.
+ * <p>
+ * The target depends on the {@link BindingKind}: the declaring type of the constructor for
+ * {@link BindingKind#CONSTRUCTOR}, the {@link Key} linked to for {@link BindingKind#LINKED_KEY},
+ * the {@link Key} of the provider for {@link BindingKind#PROVIDER_KEY}, the class of the instance
+ * for {@link BindingKind#INSTANCE}, and either the class of the provider or the
+ * {@link Provides} method as {@code declaringClass#methodName} for
+ * {@link BindingKind#PROVIDER_INSTANCE}. The scoping is one of {@value #SINGLETON} (any
+ * singleton), {@value #EAGER_SINGLETON}, {@value #NO_SCOPING}, {@code Scopes.SINGLETON},
+ * {@code Scopes.NO_SCOPE} or {@code @} followed by the name of a scope annotation.
+ */
+@Immutable
+final class BindingSpecRecord {
+
+    static final String UNCHECKED = "-";
+    static final String SINGLETON = "singleton";
+    static final String EAGER_SINGLETON = "eager-singleton";
+    static final String NO_SCOPING = "none";
+
+    private static final int FIELD_COUNT = 4;
+    private static final ScopingRecorder SCOPING_RECORDER = new ScopingRecorder();
+
+    private final String key;
+    private final String kind;
+    private final String target;
+    private final String scoping;
+
+    /**
+     * @param key the textual form of the {@link Key}
+     * @param kind the name of the {@link BindingKind}, or {@value #UNCHECKED}
+     * @param target the textual form of the target, or {@value #UNCHECKED}
+     * @param scoping the textual form of the scoping, or {@value #UNCHECKED}
+     */
+    BindingSpecRecord(final String key, final String kind, final String target,
+            final String scoping) {
+        this.key = Objects.requireNonNull(key, "Key must not be null.");
+        this.kind = Objects.requireNonNull(kind, "Kind must not be null.");
+        this.target = Objects.requireNonNull(target, "Target must not be null.");
+        this.scoping = Objects.requireNonNull(scoping, "Scoping must not be null.");
+    }
+
+    /**
+     * Records the {@link BindingKind}, target and scoping of the {@link Binding}. Targets that
+     * cannot be named reproducibly, such as lambdas, overloaded {@link Provides} methods and
+     * custom {@link com.google.inject.Scope} instances, are recorded as {@value #UNCHECKED}.
+     *
+     * @param binding the {@link Binding}
+     * @return the {@link BindingSpecRecord}
+     * @throws IllegalArgumentException if the {@link Key} of the {@link Binding} cannot be
+     * represented
+     */
+    static BindingSpecRecord of(final Binding<?> binding) {
+        final BindingKind kind = BindingKind.of(binding);
+        final Scoping scoping = binding.acceptScopingVisitor(SCOPING_RECORDER);
+        return new BindingSpecRecord(KeySpecs.format(binding.getKey()), kind.name(),
+                targetOf(binding, kind), scopingOf(scoping));
+    }
+
+    /**
+     * Returns the textual form of the target of the {@link Binding}.
+     *
+     * @param binding the {@link Binding}
+     * @param kind the {@link BindingKind} of the {@link Binding}
+     * @return the textual form of the target, or {@value #UNCHECKED}
+     */
+    private static String targetOf(final Binding<?> binding, final BindingKind kind) {
+        switch (kind) {
+            case CONSTRUCTOR:
+                return KeySpecs.formatType(((ConstructorBinding<?>) binding).getConstructor()
+                        .getDeclaringType().getType());
+            case INSTANCE:
+                return nameOf(((InstanceBinding<?>) binding).getInstance().getClass());
+            case LINKED_KEY:
+                return KeySpecs.format(((LinkedKeyBinding<?>) binding).getLinkedKey());
+            case PROVIDER_INSTANCE:
+                final Object provider =
+                        ((ProviderInstanceBinding<?>) binding).getUserSuppliedProvider();
+                if (provider instanceof ProvidesMethodBinding) {
+                    return nameOf(((ProvidesMethodBinding<?>) provider).getMethod());
+                }
+                return nameOf(provider.getClass());
+            case PROVIDER_KEY:
+                return KeySpecs.format(((ProviderKeyBinding<?>) binding).getProviderKey());
+            default:
+                return UNCHECKED;
+        }
+    }
+
+    /**
+     * Returns the binary name of the class, unless it cannot be loaded by name.
+     *
+     * @param type the class
+     * @return the binary name of the class, or {@value #UNCHECKED} for synthetic classes
+     */
+    private static String nameOf(final Class<?> type) {
+        return type.isSynthetic() || type.getName().contains("$$Lambda$")
+                ? UNCHECKED : type.getName();
+    }
+
+    /**
+     * Returns the {@code declaringClass#methodName} form of the {@link Provides} method, unless
+     * the name is ambiguous.
+     *
+     * @param method the {@link Provides} method
+     * @return the textual form of the method, or {@value #UNCHECKED} if it is overloaded
+     */
+    private static String nameOf(final Method method) {
+        for (final Method other : method.getDeclaringClass().getDeclaredMethods()) {
+            if (other.getName().equals(method.getName()) && !other.equals(method)
+                    && !other.isSynthetic()) {
+                return UNCHECKED;
+            }
+        }
+        final String declaringClass = nameOf(method.getDeclaringClass());
+        return UNCHECKED.equals(declaringClass)
+                ? UNCHECKED : declaringClass + "#" + method.getName();
+    }
+
+    /**
+     * Returns the textual form of the {@link Scoping}.
+     *
+     * @param scoping the {@link Scoping}
+     * @return the textual form of the {@link Scoping}, or {@value #UNCHECKED} for custom
+     * {@link com.google.inject.Scope} instances
+     */
+    static String scopingOf(final Scoping scoping) {
+        if (scoping.isEagerSingleton()) {
+            return EAGER_SINGLETON;
+        } else if (scoping.isNoScoping()) {
+            return NO_SCOPING;
+        } else if (scoping.getScopeAnnotation() != null) {
+            return "@" + scoping.getScopeAnnotation().getName();
+        } else if (Scopes.SINGLETON.equals(scoping.getScope())
+                || Scopes.NO_SCOPE.equals(scoping.getScope())) {
+            return scoping.getScope().toString();
+        }
+        return UNCHECKED;
+    }
+
+    /**
+     * Parses a line of a binding specification.
+     *
+     * @param line the line
+     * @return the {@link BindingSpecRecord}
+     * @throws IllegalArgumentException if the line does not consist of four tab-separated fields
+     */
+    static BindingSpecRecord parse(final String line) {
+        final List<String> fields = new ArrayList<>(FIELD_COUNT);
+        final StringBuilder field = new StringBuilder();
+        for (int index = 0; index < line.length(); index++) {
+            final char c = line.charAt(index);
+            if (c == '\t') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\\' && index + 1 < line.length()) {
+                final char escaped = line.charAt(++index);
+                field.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n'
+                        : escaped == 'r' ? '\r' : escaped);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        if (fields.size() != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT
+                    + " tab-separated fields, but found " + fields.size() + ".");
+        }
+        return new BindingSpecRecord(fields.get(0), fields.get(1), fields.get(2), fields.get(3));
+    }
+
+    /**
+     * Returns the {@link BindingSpecRecord} as a line of a binding specification, without a line
+     * separator.
+     *
+     * @return the line
+     */
+    String format() {
+        return escape(key) + '\t' + escape(kind) + '\t' + escape(target) + '\t' + escape(scoping);
+    }
+
+    /**
+     * Escapes backslashes, tabs and line breaks in the field.
+     *
+     * @param field the field
+     * @return the escaped field
+     */
+    private static String escape(final String field) {
+        final StringBuilder escaped = new StringBuilder(field.length());
+        for (int index = 0; index < field.length(); index++) {
+            final char c = field.charAt(index);
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Verifies that the {@link InjectorTester} has a {@link Binding} matching the
+     * {@link BindingSpecRecord}.
+     *
+     * @param tester the {@link InjectorTester}
+     * @param classLoader the {@link ClassLoader} to load the classes named by the record with
+     * @throws IllegalArgumentException if the record is malformed
+     * @throws RuntimeException if the {@link Binding} does not match the record
+     */
+    void verify(final InjectorTester tester, final ClassLoader classLoader) {
+        final BindingTypeVerifier<?> verifier =
+                tester.verifyBindingFor(KeySpecs.parse(key, classLoader));
+        if (!UNCHECKED.equals(kind)) {
+            verifyTarget(verifier, BindingKind.valueOf(kind), classLoader);
+        } else if (!UNCHECKED.equals(target)) {
+            throw new IllegalArgumentException("A target requires a binding kind.");
+        }
+        if (!UNCHECKED.equals(scoping)) {
+            verifyScoping(verifier.withScoping(), classLoader);
+        }
+    }
+
+    /**
+     * Verifies the {@link BindingKind} and, unless unchecked, the target of the {@link Binding}.
+     *
+     * @param <T> the bound type
+     * @param verifier the {@link BindingTypeVerifier} for the {@link Binding}
+     * @param expectedKind the expected {@link BindingKind}
+     * @param classLoader the {@link ClassLoader} to load classes with
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void verifyTarget(final BindingTypeVerifier<T> verifier,
+            final BindingKind expectedKind, final ClassLoader classLoader) {
+        final boolean checked = !UNCHECKED.equals(target);
+        switch (expectedKind) {
+            case CONSTRUCTOR:
+                final ConstructorBindingVerifier<T> constructor = verifier.asConstructorBinding();
+                if (checked) {
+                    constructor.withDeclaringType(
+                            TypeLiteral.get(KeySpecs.parseType(target, classLoader)));
+                }
+                break;
+            case INSTANCE:
+                final InstanceBindingVerifier<T> instance = verifier.asInstanceBinding();
+                if (checked) {
+                    instance.withInstanceOfType(KeySpecs.load(target, classLoader));
+                }
+                break;
+            case LINKED_KEY:
+                final LinkedKeyBindingVerifier<T> linked = verifier.asLinkedKeyBinding();
+                if (checked) {
+                    linked.withKey((Key<? extends T>) KeySpecs.parse(target, classLoader));
+                }
+                break;
+            case PROVIDER_INSTANCE:
+                final ProviderInstanceBindingVerifier<T> provider =
+                        verifier.asProviderInstanceBinding();
+                final int hash = target.indexOf('#');
+                if (checked && hash >= 0) {
+                    provider.withProviderMethod(
+                            KeySpecs.load(target.substring(0, hash), classLoader),
+                            target.substring(hash + 1));
+                } else if (checked) {
+                    provider.withProviderOfType(KeySpecs.load(target, classLoader));
+                }
+                break;
+            case PROVIDER_KEY:
+                final ProviderKeyBindingVerifier<T> providerKey = verifier.asProviderKeyBinding();
+                if (checked) {
+                    providerKey.withKey((Key<? extends Provider<? extends T>>)
+                            KeySpecs.parse(target, classLoader));
+                }
+                break;
+            default:
+                verifier.ofKind(expectedKind);
+                if (checked) {
+                    throw new IllegalArgumentException(
+                            "A target cannot be verified for " + expectedKind + ".");
+                }
+        }
+    }
+
+    /**
+     * Verifies the scoping of the {@link Binding}.
+     *
+     * @param verifier the {@link BindingScopingVerifier} for the {@link Binding}
+     * @param classLoader the {@link ClassLoader} to load scope annotations with
+     */
+    @SuppressWarnings("unchecked")
+    private void verifyScoping(final BindingScopingVerifier verifier,
+            final ClassLoader classLoader) {
+        if (SINGLETON.equals(scoping)) {
+            verifier.singleton();
+        } else if (EAGER_SINGLETON.equals(scoping)) {
+            verifier.eagerSingleton();
+        } else if (NO_SCOPING.equals(scoping)) {
+            verifier.noScoping();
+        } else if (Scopes.SINGLETON.toString().equals(scoping)) {
+            verifier.scope(Scopes.SINGLETON);
+        } else if (Scopes.NO_SCOPE.toString().equals(scoping)) {
+            verifier.scope(Scopes.NO_SCOPE);
+        } else if (scoping.startsWith("@")) {
+            final Class<?> annotation = KeySpecs.load(scoping.substring(1), classLoader);
+            if (!annotation.isAnnotation()) {
+                throw new IllegalArgumentException(annotation + " is not an annotation.");
+            }
+            verifier.scopeAnnotation((Class<? extends Annotation>) annotation);
+        } else {
+            throw new IllegalArgumentException("Unknown scoping \"" + scoping + "\".");
+        }
+    }
+
+    /**
+     * Returns the textual form of the {@link Key}.
+     *
+     * @return the textual form of the {@link Key}
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the name of the {@link BindingKind}, or {@value #UNCHECKED}.
+     *
+     * @return the name of the {@link BindingKind}
+     */
+    String getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the textual form of the target, or {@value #UNCHECKED}.
+     *
+     * @return the textual form of the target
+     */
+    String getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the textual form of the scoping, or {@value #UNCHECKED}.
+     *
+     * @return the textual form of the scoping
+     */
+    String getScoping() {
+        return scoping;
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.firststraw.guice;
+
+/**
+ * Thrown when a line of a binding specification is malformed or does not match the
+ * {@link com.google.inject.Binding} it describes. The underlying failure is available as the
+ * cause.
+ */
+public class BindingSpecViolation extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long lineNumber;
+
+    /**
+     * @param lineNumber the number of the line, starting at 1
+     * @param cause the underlying failure
+     */
+    BindingSpecViolation(final long lineNumber, final Throwable cause) {
+        super("Line " + lineNumber + ": " + cause.getMessage(), cause);
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Returns the number of the line, starting at 1.
+     *
+     * @return the number of the line
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records binding specifications and streams them back, verifying each
+ * {@link BindingSpecRecord} as soon as it is read. Only one line is held at a time and at most a
+ * bounded number of failures are retained, so specifications of any length verify in constant
+ * memory. Blank lines and lines starting with {@code #} are ignored.
+ */
+final class BindingSpecs {
+
+    static final int DEFAULT_MAX_REPORTED_FAILURES = 100;
+
+    private static final String HEADER = "# key\tkind\ttarget\tscoping";
+
+    /**
+     * Prevents instantiation.
+     */
+    private BindingSpecs() {
+    }
+
+    /**
+     * Verifies every {@link BindingSpecRecord} of the specification against the
+     * {@link InjectorTester}.
+     *
+     * @param tester the {@link InjectorTester}
+     * @param spec the specification
+     * @param maxReportedFailures the maximum number of failures to retain
+     * @throws IOException if the specification could not be read
+     * @throws BindingVerificationException if any line is malformed or does not match, with a
+     * {@link BindingSpecViolation} for each of the first {@code maxReportedFailures} failures
+     */
+    static void verify(final InjectorTester tester, final Reader spec,
+            final int maxReportedFailures) throws IOException {
+        final ClassLoader classLoader = classLoader();
+        final BufferedReader lines =
+                spec instanceof BufferedReader ? (BufferedReader) spec : new BufferedReader(spec);
+        final BindingSpecFailures failures = new BindingSpecFailures(maxReportedFailures);
+        long lineNumber = 0;
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (isRecord(line)) {
+                try {
+                    BindingSpecRecord.parse(line).verify(tester, classLoader);
+                } catch (final RuntimeException | AssertionError ex) {
+                    failures.add(lineNumber, ex);
+                }
+            }
+        }
+        failures.verify();
+    }
+
+    /**
+     * Writes a specification of the explicit {@link Binding}s of the {@link Injector}, excluding
+     * the {@link Binding}s every {@link Injector} has. Lines are sorted, so recording the same
+     * bindings always produces the same output. {@link Binding}s whose {@link Key} cannot be
+     * represented are listed as comments at the end.
+     *
+     * @param injector the {@link Injector}
+     * @param out receives the specification
+     * @return the number of {@link Binding}s recorded
+     * @throws IOException if the specification could not be written
+     */
+    static int record(final Injector injector, final Writer out) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        final List<String> skipped = new ArrayList<>();
+        for (final Binding<?> binding : injector.getBindings().values()) {
+            if (Bindings.isBuiltIn(binding.getKey())) {
+                continue;
+            }
+            try {
+                lines.add(BindingSpecRecord.of(binding).format());
+            } catch (final IllegalArgumentException ex) {
+                skipped.add("# skipped " + binding.getKey() + ": " + ex.getMessage());
+            }
+        }
+        Collections.sort(lines);
+        Collections.sort(skipped);
+
+        out.write(HEADER);
+        out.write('\n');
+        for (final String line : lines) {
+            out.write(line);
+            out.write('\n');
+        }
+        for (final String line : skipped) {
+            out.write(line.replace('\n', ' ').replace('\r', ' '));
+            out.write('\n');
+        }
+        out.flush();
+        return lines.size();
+    }
+
+    /**
+     * Returns whether the line of a specification holds a {@link BindingSpecRecord}, rather
+     * than being blank or a comment.
+     *
+     * @param line the line
+     * @return {@code true} if the line holds a {@link BindingSpecRecord}
+     */
+    static boolean isRecord(final String line) {
+        return !line.trim().isEmpty() && !line.startsWith("#");
+    }
+
+    /**
+     * Returns the {@link ClassLoader} to load the classes named by specifications with.
+     *
+     * @return the context {@link ClassLoader} of the current thread, or the one that loaded
+     * {@link BindingSpecs}
+     */
+    static ClassLoader classLoader() {
+        final ClassLoader context = Thread.currentThread().getContextClassLoader();
+        return context != null ? context : BindingSpecs.class.getClassLoader();
+    }
+}
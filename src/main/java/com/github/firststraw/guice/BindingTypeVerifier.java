@@ -40,6 +40,7 @@ public class BindingTypeVerifier<T> {
      */
     public ConstructorBindingVerifier<T> asConstructorBinding() {
         if (binding instanceof ConstructorBinding) {
+            BindingCoverage.recordAssertion(binding);
             return new ConstructorBindingVerifier<>((ConstructorBinding<T>) binding);
         } else {
             throw new IncorrectBindingTypeException(ConstructorBinding.class, binding);
@@ -55,6 +56,7 @@ public class BindingTypeVerifier<T> {
      */
     public InstanceBindingVerifier<T> asInstanceBinding() {
         if (binding instanceof InstanceBinding) {
+            BindingCoverage.recordAssertion(binding);
             return new InstanceBindingVerifier<>((InstanceBinding<T>) binding);
         } else {
             throw new IncorrectBindingTypeException(InstanceBinding.class, binding);
@@ -70,6 +72,7 @@ public class BindingTypeVerifier<T> {
      */
     public LinkedKeyBindingVerifier<T> asLinkedKeyBinding() {
         if (binding instanceof LinkedKeyBinding) {
+            BindingCoverage.recordAssertion(binding);
             return new LinkedKeyBindingVerifier<>((LinkedKeyBinding<T>) binding);
         } else {
             throw new IncorrectBindingTypeException(LinkedKeyBinding.class, binding);
@@ -85,6 +88,7 @@ public class BindingTypeVerifier<T> {
      */
     public ProviderInstanceBindingVerifier<T> asProviderInstanceBinding() {
         if (binding instanceof ProviderInstanceBinding) {
+            BindingCoverage.recordAssertion(binding);
             return new ProviderInstanceBindingVerifier<>((ProviderInstanceBinding<T>) binding);
         } else {
             throw new IncorrectBindingTypeException(ProviderInstanceBinding.class, binding);
@@ -100,12 +104,59 @@ public class BindingTypeVerifier<T> {
      */
     public ProviderKeyBindingVerifier<T> asProviderKeyBinding() {
         if (binding instanceof ProviderKeyBinding) {
+            BindingCoverage.recordAssertion(binding);
             return new ProviderKeyBindingVerifier<>((ProviderKeyBinding<T>) binding);
         } else {
             throw new IncorrectBindingTypeException(ProviderKeyBinding.class, binding);
         }
     }
 
+    /**
+     * Verifies that the {@link Binding} is of the {@link BindingKind}.
+     *
+     * @param kind the expected {@link BindingKind}
+     * @return "this" {@link BindingTypeVerifier}
+     * @throws NullPointerException if the {@link BindingKind} is {@code null}
+     * @throws IncorrectBindingTypeException if the {@link Binding} is of another
+     * {@link BindingKind}
+     */
+    public BindingTypeVerifier<T> ofKind(final BindingKind kind) {
+        Objects.requireNonNull(kind, "Kind must not be null.");
+
+        if (BindingKind.of(binding) != kind) {
+            throw new IncorrectBindingTypeException(kind.getBindingType(), binding);
+        }
+        BindingCoverage.recordAssertion(binding);
+        return this;
+    }
+
+    /**
+     * Verifies that the {@link Binding} is not of the {@link BindingKind}.
+     *
+     * @param kind the forbidden {@link BindingKind}
+     * @return "this" {@link BindingTypeVerifier}
+     * @throws NullPointerException if the {@link BindingKind} is {@code null}
+     * @throws IncorrectBindingTypeException if the {@link Binding} is of the {@link BindingKind}
+     */
+    public BindingTypeVerifier<T> notOfKind(final BindingKind kind) {
+        Objects.requireNonNull(kind, "Kind must not be null.");
+
+        if (BindingKind.of(binding) == kind) {
+            throw new IncorrectBindingTypeException(kind, binding);
+        }
+        BindingCoverage.recordAssertion(binding);
+        return this;
+    }
+
+    /**
+     * Returns a {@link BindingScopingVerifier} for the {@link Binding}, regardless of its type.
+     *
+     * @return a {@link BindingScopingVerifier} for the {@link Binding}
+     */
+    public BindingScopingVerifier withScoping() {
+        return new BindingScopingVerifier(binding);
+    }
+
     /**
      * Returns the {@link Binding} for which to verify the type.
      *
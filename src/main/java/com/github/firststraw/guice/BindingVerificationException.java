@@ -0,0 +1,65 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a bulk verification failed for one or more {@link Binding}s. Every individual
+ * failure is available through {@link #getFailures()} and as a suppressed exception.
+ */
+public class BindingVerificationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Throwable> failures;
+
+    /**
+     * @param failures the individual failures
+     */
+    BindingVerificationException(final List<Throwable> failures) {
+        this(failures, failures.size());
+    }
+
+    /**
+     * @param failures the individual failures that are reported
+     * @param failureCount the total number of failures, which may exceed the number reported
+     */
+    BindingVerificationException(final List<Throwable> failures, final long failureCount) {
+        super(describe(failures, failureCount));
+        this.failures = Collections.unmodifiableList(new ArrayList<>(failures));
+        for (final Throwable failure : failures) {
+            addSuppressed(failure);
+        }
+    }
+
+    /**
+     * Describes the failures.
+     *
+     * @param failures the individual failures that are reported
+     * @param failureCount the total number of failures
+     * @return a description of the failures
+     */
+    private static String describe(final List<Throwable> failures, final long failureCount) {
+        final StringBuilder message = new StringBuilder()
+                .append(failureCount).append(" binding(s) failed verification");
+        if (failureCount > failures.size()) {
+            message.append(", showing the first ").append(failures.size());
+        }
+        message.append(':');
+        for (final Throwable failure : failures) {
+            message.append(System.lineSeparator()).append(failure.getMessage());
+        }
+        return message.toString();
+    }
+
+    /**
+     * Returns the individual failures.
+     *
+     * @return the individual failures
+     */
+    public List<Throwable> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Stage;
+import java.util.logging.Logger;
+
+/**
+ * Utility methods for classifying {@link Binding}s.
+ */
+final class Bindings {
+
+    /**
+     * Prevents instantiation.
+     */
+    private Bindings() {
+    }
+
+    /**
+     * Indicates whether the {@link Key} is bound by every {@link Injector}.
+     *
+     * @param key the {@link Key}
+     * @return {@code true} if the {@link Key} is built in, otherwise {@code false}
+     */
+    static boolean isBuiltIn(final Key<?> key) {
+        final Class<?> type = key.getTypeLiteral().getRawType();
+        return key.getAnnotationType() == null
+                && (type == Injector.class || type == Stage.class || type == Logger.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.firststraw.guice;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A concurrent cache holding at most a fixed number of entries, evicting the oldest entries
+ * first. Values are computed outside of any lock, so concurrent misses on the same key may
+ * compute the value more than once, but every caller receives the value that was cached first.
+ * Values that fail to compute are not cached.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+@ThreadSafe
+final class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param maxSize the maximum number of entries
+     * @throws IllegalArgumentException if the maximum number of entries is not positive
+     */
+    BoundedCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be positive.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached value of the key, computing and caching it on a miss.
+     *
+     * @param key the key
+     * @param loader computes the value of a key
+     * @return the value
+     * @throws NullPointerException if the key or the computed value is {@code null}
+     */
+    V get(final K key, final Function<? super K, ? extends V> loader) {
+        final V cached = entries.get(Objects.requireNonNull(key, "Key must not be null."));
+        if (cached != null) {
+            return cached;
+        }
+
+        final V loaded = Objects.requireNonNull(loader.apply(key), "Value must not be null.");
+        final V raced = entries.putIfAbsent(key, loaded);
+        if (raced != null) {
+            return raced;
+        }
+        insertionOrder.add(key);
+        while (entries.size() > maxSize) {
+            final K eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            entries.remove(eldest);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of cached entries
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+}
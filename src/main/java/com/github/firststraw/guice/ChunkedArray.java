@@ -0,0 +1,82 @@
+package com.github.firststraw.guice;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Lock-free array of lazily created elements indexed by a {@link KeyIndex} ID. Storage grows in
+ * fixed-size chunks, so existing elements are never copied or moved and readers never lock.
+ *
+ * @param <E> the element type
+ */
+@ThreadSafe
+final class ChunkedArray<E> {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << 16;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<E>> chunks =
+            new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final IntFunction<E> factory;
+
+    /**
+     * @param factory creates the element for an index on first use
+     */
+    ChunkedArray(final IntFunction<E> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the element at the index, creating it on first use.
+     *
+     * @param index the index
+     * @return the element at the index
+     * @throws IndexOutOfBoundsException if the index is negative or exceeds the capacity
+     */
+    E get(final int index) {
+        final AtomicReferenceArray<E> chunk = chunk(index >>> CHUNK_BITS);
+        final int offset = index & (CHUNK_SIZE - 1);
+        final E element = chunk.get(offset);
+        if (element != null) {
+            return element;
+        }
+
+        final E created = factory.apply(index);
+        return chunk.compareAndSet(offset, null, created) ? created : chunk.get(offset);
+    }
+
+    /**
+     * Returns the element at the index, or {@code null} if it has not been created.
+     *
+     * @param index the index
+     * @return the element at the index, or {@code null}
+     */
+    @Nullable
+    E getIfPresent(final int index) {
+        final int chunkIndex = index >>> CHUNK_BITS;
+        if (chunkIndex >= MAX_CHUNKS) {
+            return null;
+        }
+        final AtomicReferenceArray<E> chunk = chunks.get(chunkIndex);
+        return chunk == null ? null : chunk.get(index & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Returns the chunk, creating it on first use.
+     *
+     * @param chunkIndex the index of the chunk
+     * @return the chunk
+     */
+    private AtomicReferenceArray<E> chunk(final int chunkIndex) {
+        final AtomicReferenceArray<E> chunk = chunks.get(chunkIndex);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        final AtomicReferenceArray<E> created = new AtomicReferenceArray<>(CHUNK_SIZE);
+        return chunks.compareAndSet(chunkIndex, null, created) ? created : chunks.get(chunkIndex);
+    }
+}
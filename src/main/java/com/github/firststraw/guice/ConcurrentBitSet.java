@@ -0,0 +1,41 @@
+package com.github.firststraw.guice;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Lock-free, growable set of non-negative integers, such as {@link KeyIndex} IDs. Setting a bit
+ * that is already set only reads memory, so repeatedly recording the same ID stays cheap.
+ */
+@ThreadSafe
+final class ConcurrentBitSet {
+
+    private static final int WORD_BITS = 6;
+
+    private final ChunkedArray<AtomicLong> words = new ChunkedArray<>(index -> new AtomicLong());
+
+    /**
+     * Sets the bit.
+     *
+     * @param bit the index of the bit
+     */
+    void set(final int bit) {
+        final AtomicLong word = words.get(bit >>> WORD_BITS);
+        final long mask = 1L << bit;
+        long current = word.get();
+        while ((current & mask) == 0L && !word.compareAndSet(current, current | mask)) {
+            current = word.get();
+        }
+    }
+
+    /**
+     * Indicates whether the bit is set.
+     *
+     * @param bit the index of the bit
+     * @return {@code true} if the bit is set, otherwise {@code false}
+     */
+    boolean get(final int bit) {
+        final AtomicLong word = words.getIfPresent(bit >>> WORD_BITS);
+        return word != null && (word.get() & (1L << bit)) != 0L;
+    }
+}
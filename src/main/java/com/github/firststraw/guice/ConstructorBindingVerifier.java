@@ -1,5 +1,6 @@
 package com.github.firststraw.guice;
 
+import com.google.inject.TypeLiteral;
 import com.google.inject.spi.ConstructorBinding;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.reflect.Constructor;
@@ -48,13 +49,33 @@ public class ConstructorBindingVerifier<T> implements BindingVerifier<T> {
         Objects.requireNonNull(expectedConstructor, "Expected constructor must not be null.");
 
         final InjectionPoint constructor = binding.getConstructor();
-        if (constructor.equals(InjectionPoint.forConstructor(expectedConstructor))) {
+        if (constructor.equals(ReflectionCache.forConstructor(expectedConstructor))) {
             return this;
         } else {
             throw new IncorrectBindingTargetException(expectedConstructor, constructor.getMember());
         }
     }
 
+    /**
+     * Verifies that the {@link ConstructorBinding} is bound to a constructor of the expected
+     * type.
+     *
+     * @param expectedType the expected declaring type of the constructor
+     * @return "this" {@link ConstructorBindingVerifier}
+     * @throws NullPointerException if the expected type is {@code null}
+     * @throws IncorrectBindingTargetException if the constructor is declared by another type
+     */
+    public ConstructorBindingVerifier<T> withDeclaringType(final TypeLiteral<?> expectedType) {
+        Objects.requireNonNull(expectedType, "Expected type must not be null.");
+
+        final TypeLiteral<?> type = binding.getConstructor().getDeclaringType();
+        if (expectedType.equals(type)) {
+            return this;
+        } else {
+            throw new IncorrectBindingTargetException(expectedType, type);
+        }
+    }
+
     /**
      * Returns the {@link ConstructorBinding} to verify.
      *
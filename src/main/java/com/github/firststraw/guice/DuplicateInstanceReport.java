@@ -0,0 +1,162 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.spi.InstanceBinding;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The {@link InstanceBinding}s of an injector that bind the same object, or equal objects,
+ * under several {@link Key}s, most wasted memory first. Duplicated configuration objects and
+ * caches show up here.
+ */
+@Immutable
+public class DuplicateInstanceReport {
+
+    private static final Comparator<DuplicateInstances> MOST_WASTEFUL_FIRST =
+            Comparator.comparingLong(DuplicateInstances::getWastedBytes)
+                    .thenComparingLong(DuplicateInstances::getRetainedBytes).reversed()
+                    .thenComparing(duplicates -> duplicates.getKeys().toString());
+
+    private final List<DuplicateInstances> duplicates;
+    private final long wastedBytes;
+
+    /**
+     * @param duplicates the {@link DuplicateInstances}
+     */
+    DuplicateInstanceReport(final Collection<DuplicateInstances> duplicates) {
+        Objects.requireNonNull(duplicates, "Duplicates must not be null.");
+
+        final List<DuplicateInstances> ranked = new ArrayList<>(duplicates);
+        ranked.sort(MOST_WASTEFUL_FIRST);
+        long wasted = 0L;
+        for (final DuplicateInstances duplicate : ranked) {
+            wasted += duplicate.getWastedBytes();
+        }
+        this.duplicates = Collections.unmodifiableList(ranked);
+        this.wastedBytes = wasted;
+    }
+
+    /**
+     * Finds the {@link InstanceBinding}s that bind the same or equal objects. Instances are first
+     * grouped by identity, and the distinct objects are then compared with
+     * {@link Object#equals(Object)} only within buckets of equal hash codes, so thousands of
+     * {@link InstanceBinding}s are analyzed in linear time. Objects whose {@code hashCode()} or
+     * {@code equals(Object)} throw are compared by identity only. Retained sizes are estimated
+     * for duplicates only, and duplicates whose estimate is a lower bound are filtered by that
+     * lower bound.
+     *
+     * @param bindings the {@link InstanceBinding}s
+     * @param minRetainedBytes the minimum retained size of reported instances in bytes, which
+     * keeps small values such as shared constants out of the report
+     * @return the {@link DuplicateInstanceReport}
+     */
+    static DuplicateInstanceReport of(final Iterable<? extends InstanceBinding<?>> bindings,
+            final long minRetainedBytes) {
+        final Map<Object, List<Key<?>>> byIdentity = new IdentityHashMap<>();
+        for (final InstanceBinding<?> binding : bindings) {
+            byIdentity.computeIfAbsent(binding.getInstance(), instance -> new ArrayList<>())
+                    .add(binding.getKey());
+        }
+
+        final Map<Integer, List<EqualInstances>> byHashCode = new HashMap<>();
+        final List<EqualInstances> groups = new ArrayList<>();
+        for (final Map.Entry<Object, List<Key<?>>> identical : byIdentity.entrySet()) {
+            final Object instance = identical.getKey();
+            EqualInstances group = null;
+            try {
+                final List<EqualInstances> bucket =
+                        byHashCode.computeIfAbsent(instance.hashCode(), hash -> new ArrayList<>());
+                for (final EqualInstances candidate : bucket) {
+                    if (candidate.representative.equals(instance)) {
+                        group = candidate;
+                        break;
+                    }
+                }
+                if (group == null) {
+                    group = new EqualInstances(instance);
+                    bucket.add(group);
+                    groups.add(group);
+                }
+            } catch (final RuntimeException ex) {
+                group = new EqualInstances(instance);
+                groups.add(group);
+            }
+            group.keys.addAll(identical.getValue());
+            group.distinctInstanceCount++;
+        }
+
+        final List<DuplicateInstances> duplicates = new ArrayList<>();
+        for (final EqualInstances group : groups) {
+            if (group.keys.size() > 1) {
+                final RetainedSizeEstimator.Estimate estimate =
+                        RetainedSizeEstimator.estimate(group.representative);
+                if (estimate.getBytes() >= minRetainedBytes) {
+                    duplicates.add(new DuplicateInstances(group.keys,
+                            group.distinctInstanceCount, estimate.getBytes(),
+                            estimate.isLowerBound()));
+                }
+            }
+        }
+        return new DuplicateInstanceReport(duplicates);
+    }
+
+    /**
+     * Returns every {@link DuplicateInstances}, most wasted memory first.
+     *
+     * @return every {@link DuplicateInstances}, most wasted memory first
+     */
+    public List<DuplicateInstances> getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the memory that binding a single object per group of equal instances would save.
+     *
+     * @return the estimated wasted memory in bytes
+     */
+    public long getWastedBytes() {
+        return wastedBytes;
+    }
+
+    /**
+     * Returns the duplicates as one line per {@link DuplicateInstances}, most wasted memory
+     * first.
+     *
+     * @return the duplicates as one line per {@link DuplicateInstances}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        for (int rank = 0; rank < duplicates.size(); rank++) {
+            report.append(rank + 1).append(". ").append(duplicates.get(rank))
+                    .append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * The {@link Key}s bound to objects equal to a representative.
+     */
+    private static final class EqualInstances {
+
+        private final Object representative;
+        private final List<Key<?>> keys = new ArrayList<>();
+        private int distinctInstanceCount;
+
+        /**
+         * @param representative the first of the equal objects
+         */
+        EqualInstances(final Object representative) {
+            this.representative = representative;
+        }
+    }
+}
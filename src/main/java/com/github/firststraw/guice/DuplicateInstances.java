@@ -0,0 +1,110 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.spi.InstanceBinding;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * {@link Key}s whose {@link InstanceBinding}s are bound to the same object or to equal objects.
+ */
+@Immutable
+public class DuplicateInstances {
+
+    private final List<Key<?>> keys;
+    private final int distinctInstanceCount;
+    private final long retainedBytes;
+    private final boolean lowerBound;
+
+    /**
+     * @param keys the {@link Key}s bound to the same or equal objects
+     * @param distinctInstanceCount the number of distinct objects among the instances
+     * @param retainedBytes the estimated retained size of one of the instances in bytes
+     * @param lowerBound {@code true} if parts of the instance could not be sized
+     */
+    DuplicateInstances(final Collection<Key<?>> keys, final int distinctInstanceCount,
+            final long retainedBytes, final boolean lowerBound) {
+        final List<Key<?>> sorted =
+                new ArrayList<>(Objects.requireNonNull(keys, "Keys must not be null."));
+        sorted.sort((left, right) -> left.toString().compareTo(right.toString()));
+        this.keys = Collections.unmodifiableList(sorted);
+        this.distinctInstanceCount = distinctInstanceCount;
+        this.retainedBytes = retainedBytes;
+        this.lowerBound = lowerBound;
+    }
+
+    /**
+     * Returns the {@link Key}s bound to the same or equal objects.
+     *
+     * @return the {@link Key}s, sorted by their string representation
+     */
+    public List<Key<?>> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Indicates whether every {@link Key} is bound to the very same object. Such sharing is often
+     * intended, whereas equal copies usually waste memory.
+     *
+     * @return {@code true} if every {@link Key} is bound to the same object, otherwise
+     * {@code false}
+     */
+    public boolean isIdentical() {
+        return distinctInstanceCount == 1;
+    }
+
+    /**
+     * Returns the number of distinct, but equal, objects the {@link Key}s are bound to.
+     *
+     * @return the number of distinct objects
+     */
+    public int getDistinctInstanceCount() {
+        return distinctInstanceCount;
+    }
+
+    /**
+     * Returns the estimated retained size of one of the instances.
+     *
+     * @return the estimated retained size in bytes
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Indicates whether parts of the instances could not be sized, for example fields of JDK
+     * classes that cannot be read reflectively, so that the retained and wasted sizes are lower
+     * bounds.
+     *
+     * @return {@code true} if the sizes are lower bounds, otherwise {@code false}
+     */
+    public boolean isLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Returns the memory that binding a single object to every {@link Key} would save, estimated
+     * as the retained size of every distinct object but one.
+     *
+     * @return the estimated wasted memory in bytes
+     */
+    public long getWastedBytes() {
+        return (distinctInstanceCount - 1) * retainedBytes;
+    }
+
+    /**
+     * Returns a human-readable summary of the duplicates.
+     *
+     * @return a human-readable summary of the duplicates
+     */
+    @Override
+    public String toString() {
+        return (isIdentical() ? "same instance" : distinctInstanceCount + " equal instances")
+                + " of " + (lowerBound ? "at least " : "") + retainedBytes + " bytes bound to "
+                + keys;
+    }
+}
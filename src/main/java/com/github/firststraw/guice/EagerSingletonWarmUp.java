@@ -0,0 +1,451 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Scopes;
+import com.google.inject.Stage;
+import com.google.inject.TypeLiteral;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.DefaultBindingTargetVisitor;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.UntargettedBinding;
+import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Experimental mode that instantiates independent singletons concurrently on a
+ * {@link ForkJoinPool} instead of relying on Guice's sequential eager initialization.
+ * <p>
+ * For every {@link Injector} the {@link Module}s are recorded, every eager singleton is rebound as
+ * a lazy singleton and the {@link Injector} is created in {@link Stage#DEVELOPMENT}. Each
+ * singleton is then provisioned as soon as all of the singletons it depends on have been
+ * provisioned, following the dependency edges in topological order. Dependencies on
+ * {@link javax.inject.Provider}s are not treated as edges since they do not force provisioning.
+ * Eager singletons bound inside private modules are still initialized sequentially by Guice.
+ */
+public class EagerSingletonWarmUp {
+
+    private static final String NULL_MODULES_ERROR = "Modules must not be null.";
+    private static final String NULL_MODULE_ERROR = "All modules must be non-null.";
+
+    private static final ScopingRecorder SCOPING_RECORDER = new ScopingRecorder();
+
+    private final List<Module> modules;
+    private final ForkJoinPool pool;
+    private final ProvisionWatchdog watchdog;
+
+    /**
+     * @param modules {@link Module}s with which to initialize the {@link Injector}s
+     * @throws NullPointerException if the {@link Module}s or any of its elements are {@code null}
+     */
+    public EagerSingletonWarmUp(final Iterable<? extends Module> modules) {
+        this(modules, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param modules {@link Module}s with which to initialize the {@link Injector}s
+     * @param pool the {@link ForkJoinPool} on which to provision the singletons
+     * @throws NullPointerException if the {@link Module}s, any of its elements or the
+     * {@link ForkJoinPool} are {@code null}
+     */
+    public EagerSingletonWarmUp(final Iterable<? extends Module> modules,
+            final ForkJoinPool pool) {
+        this(modules, pool, null);
+    }
+
+    /**
+     * @param modules {@link Module}s with which to initialize the {@link Injector}s
+     * @param pool the {@link ForkJoinPool} on which to provision the singletons
+     * @param watchdog the {@link ProvisionWatchdog} supervising every {@link Injector} creation,
+     * or {@code null} to run unsupervised
+     * @throws NullPointerException if the {@link Module}s, any of its elements or the
+     * {@link ForkJoinPool} are {@code null}
+     */
+    public EagerSingletonWarmUp(final Iterable<? extends Module> modules,
+            final ForkJoinPool pool, @Nullable final ProvisionWatchdog watchdog) {
+        Objects.requireNonNull(modules, NULL_MODULES_ERROR);
+        final List<Module> copy = new ArrayList<>();
+        for (final Module module : modules) {
+            copy.add(Objects.requireNonNull(module, NULL_MODULE_ERROR));
+        }
+        if (watchdog != null) {
+            copy.add(watchdog);
+        }
+        copy.add(new FlightRecorderModule());
+
+        this.modules = Collections.unmodifiableList(copy);
+        this.pool = Objects.requireNonNull(pool, "Pool must not be null.");
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * Creates an {@link Injector} whose singletons have all been provisioned in parallel.
+     *
+     * @return the {@link Injector}
+     * @throws ProvisioningHangException if a {@link ProvisionWatchdog} is configured and
+     * provisioning deadlocks or a provision exceeds its time limit
+     */
+    public Injector createInjector() {
+        return supervise(() -> {
+            final Injector injector = FlightRecorderEvents.createInjector(Stage.DEVELOPMENT,
+                    Collections.singletonList(lazySingletons()));
+            warmUp(injector);
+            return injector;
+        });
+    }
+
+    /**
+     * Measures the wall-clock time of Guice's sequential eager initialization against the parallel
+     * warm-up. Each round creates one {@link Injector} with each approach; the median of the rounds
+     * is reported. The first round includes class loading and is usually slower, so several
+     * rounds give more representative numbers.
+     *
+     * @param rounds the number of rounds to measure
+     * @return the {@link WarmUpComparison}
+     * @throws IllegalArgumentException if the number of rounds is not positive
+     * @throws ProvisioningHangException if a {@link ProvisionWatchdog} is configured and
+     * provisioning deadlocks or a provision exceeds its time limit
+     */
+    public WarmUpComparison compare(final int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Rounds must be positive.");
+        }
+
+        final long[] sequentialNanos = new long[rounds];
+        final long[] parallelNanos = new long[rounds];
+        int singletonCount = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            supervise(() -> FlightRecorderEvents.createInjector(Stage.PRODUCTION, modules));
+            sequentialNanos[round] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            singletonCount = supervise(() -> warmUp(
+                    FlightRecorderEvents.createInjector(Stage.DEVELOPMENT,
+                            Collections.singletonList(lazySingletons()))));
+            parallelNanos[round] = System.nanoTime() - start;
+        }
+
+        return new WarmUpComparison(singletonCount, Statistics.median(sequentialNanos),
+                Statistics.median(parallelNanos));
+    }
+
+    /**
+     * Runs the work under the {@link ProvisionWatchdog}, if one is configured.
+     *
+     * @param <V> the type of the result
+     * @param work the work
+     * @return the result of the work
+     */
+    private <V> V supervise(final Supplier<V> work) {
+        return watchdog == null ? work.get() : watchdog.watch(work);
+    }
+
+    /**
+     * Returns a {@link Module} replaying the recorded {@link Element}s, with every eager singleton
+     * rebound as a lazy singleton.
+     *
+     * @return the {@link Module}
+     */
+    private Module lazySingletons() {
+        final List<Element> elements = Elements.getElements(Stage.DEVELOPMENT, modules);
+        return binder -> {
+            for (final Element element : elements) {
+                if (element instanceof Binding && ((Binding<?>) element)
+                        .acceptScopingVisitor(SCOPING_RECORDER).isEagerSingleton()) {
+                    ((Binding<?>) element).acceptTargetVisitor(new LazySingletonBinder<>(binder));
+                } else {
+                    element.applyTo(binder);
+                }
+            }
+        };
+    }
+
+    /**
+     * Provisions every singleton of the {@link Injector} on the {@link ForkJoinPool}, starting
+     * each one once the singletons it depends on have been provisioned.
+     *
+     * @param injector the {@link Injector}
+     * @return the number of singletons provisioned
+     */
+    private int warmUp(final Injector injector) {
+        final Map<Key<?>, Set<Key<?>>> edges = singletonDependencyGraph(injector);
+
+        final Map<Key<?>, CompletableFuture<Void>> tasks = new HashMap<>();
+        for (final Key<?> key : topologicalOrder(edges)) {
+            final List<CompletableFuture<Void>> prerequisites = new ArrayList<>();
+            for (final Key<?> dependency : edges.get(key)) {
+                final CompletableFuture<Void> task = tasks.get(dependency);
+                if (task != null) {
+                    prerequisites.add(task);
+                }
+            }
+
+            tasks.put(key, CompletableFuture
+                    .allOf(prerequisites.toArray(new CompletableFuture<?>[0]))
+                    .thenRunAsync(() -> injector.getInstance(key), pool));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+        return edges.size();
+    }
+
+    /**
+     * Maps each singleton of the {@link Injector} to the singletons it depends on, either directly
+     * or through unscoped {@link Binding}s. {@link InstanceBinding}s are left out since their
+     * instances already exist.
+     *
+     * @param injector the {@link Injector}
+     * @return the singleton dependency graph
+     */
+    private static Map<Key<?>, Set<Key<?>>> singletonDependencyGraph(final Injector injector) {
+        final Map<Key<?>, Binding<?>> singletons = new LinkedHashMap<>();
+        for (final Binding<?> binding : injector.getAllBindings().values()) {
+            if (!(binding instanceof InstanceBinding)
+                    && binding.acceptScopingVisitor(SCOPING_RECORDER).isSingleton()) {
+                singletons.put(binding.getKey(), binding);
+            }
+        }
+
+        final Map<Key<?>, Set<Key<?>>> edges = new LinkedHashMap<>();
+        for (final Binding<?> singleton : singletons.values()) {
+            final Set<Key<?>> dependencies = new LinkedHashSet<>();
+            final Set<Key<?>> visited = new HashSet<>();
+            final Deque<Key<?>> pending =
+                    new ArrayDeque<>(BindingDependencies.eagerDependencies(singleton));
+            while (!pending.isEmpty()) {
+                final Key<?> key = pending.pop();
+                if (!visited.add(key)) {
+                    continue;
+                }
+
+                if (singletons.containsKey(key)) {
+                    dependencies.add(key);
+                } else {
+                    final Binding<?> binding = injector.getExistingBinding(key);
+                    if (binding != null) {
+                        pending.addAll(BindingDependencies.eagerDependencies(binding));
+                    }
+                }
+            }
+            edges.put(singleton.getKey(), dependencies);
+        }
+        return edges;
+    }
+
+    /**
+     * Orders the graph's nodes so that every node follows the nodes it depends on. Edges closing a
+     * cycle are ignored.
+     *
+     * @param edges the dependency graph
+     * @return the nodes in topological order
+     */
+    private static List<Key<?>> topologicalOrder(final Map<Key<?>, Set<Key<?>>> edges) {
+        final List<Key<?>> order = new ArrayList<>(edges.size());
+        final Set<Key<?>> visited = new HashSet<>();
+        final Deque<Key<?>> path = new ArrayDeque<>();
+        final Deque<Iterator<Key<?>>> children = new ArrayDeque<>();
+        for (final Key<?> root : edges.keySet()) {
+            if (!visited.add(root)) {
+                continue;
+            }
+
+            path.push(root);
+            children.push(edges.get(root).iterator());
+            while (!children.isEmpty()) {
+                final Iterator<Key<?>> iterator = children.peek();
+                if (iterator.hasNext()) {
+                    final Key<?> next = iterator.next();
+                    if (visited.add(next)) {
+                        path.push(next);
+                        children.push(edges.get(next).iterator());
+                    }
+                } else {
+                    children.pop();
+                    order.add(path.pop());
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Rebinds an eager singleton {@link Binding} as a lazy {@link Scopes#SINGLETON}.
+     *
+     * @param <T> the bound type
+     */
+    private static class LazySingletonBinder<T> extends DefaultBindingTargetVisitor<T, Void> {
+
+        private final Binder binder;
+
+        /**
+         * @param binder the {@link Binder} with which to rebind
+         */
+        LazySingletonBinder(final Binder binder) {
+            this.binder = binder;
+        }
+
+        /**
+         * Rebinds an {@link UntargettedBinding} as a lazy singleton.
+         *
+         * @param binding the {@link Binding}
+         * @return {@code null}
+         */
+        @Override
+        public Void visit(final UntargettedBinding<? extends T> binding) {
+            binderFor(binding).bind(binding.getKey()).in(Scopes.SINGLETON);
+            return null;
+        }
+
+        /**
+         * Rebinds a {@link LinkedKeyBinding} as a lazy singleton.
+         *
+         * @param binding the {@link Binding}
+         * @return {@code null}
+         */
+        @Override
+        public Void visit(final LinkedKeyBinding<? extends T> binding) {
+            rebind(binding);
+            return null;
+        }
+
+        /**
+         * Rebinds a {@link ProviderKeyBinding} as a lazy singleton.
+         *
+         * @param binding the {@link Binding}
+         * @return {@code null}
+         */
+        @Override
+        public Void visit(final ProviderKeyBinding<? extends T> binding) {
+            rebind(binding);
+            return null;
+        }
+
+        /**
+         * Rebinds a {@link ProviderInstanceBinding} as a lazy singleton.
+         *
+         * @param binding the {@link Binding}
+         * @return {@code null}
+         */
+        @Override
+        public Void visit(final ProviderInstanceBinding<? extends T> binding) {
+            rebind(binding);
+            return null;
+        }
+
+        /**
+         * Rebinds a {@link ConstructorBinding} as a lazy singleton.
+         *
+         * @param binding the {@link Binding}
+         * @return {@code null}
+         */
+        @Override
+        public Void visit(final ConstructorBinding<? extends T> binding) {
+            rebind(binding);
+            return null;
+        }
+
+        /**
+         * Replays any other {@link Binding} unchanged.
+         *
+         * @param binding the {@link Binding}
+         * @return {@code null}
+         */
+        @Override
+        public Void visitOther(final Binding<? extends T> binding) {
+            binding.applyTo(binder);
+            return null;
+        }
+
+        /**
+         * Rebinds a {@link LinkedKeyBinding}.
+         *
+         * @param <S> the bound type
+         * @param binding the {@link LinkedKeyBinding}
+         */
+        private <S> void rebind(final LinkedKeyBinding<S> binding) {
+            binderFor(binding).bind(binding.getKey()).to(binding.getLinkedKey())
+                    .in(Scopes.SINGLETON);
+        }
+
+        /**
+         * Rebinds a {@link ProviderKeyBinding}.
+         *
+         * @param <S> the bound type
+         * @param binding the {@link ProviderKeyBinding}
+         */
+        private <S> void rebind(final ProviderKeyBinding<S> binding) {
+            binderFor(binding).bind(binding.getKey()).toProvider(binding.getProviderKey())
+                    .in(Scopes.SINGLETON);
+        }
+
+        /**
+         * Rebinds a {@link ProviderInstanceBinding}.
+         *
+         * @param <S> the bound type
+         * @param binding the {@link ProviderInstanceBinding}
+         */
+        private <S> void rebind(final ProviderInstanceBinding<S> binding) {
+            binderFor(binding).bind(binding.getKey())
+                    .toProvider(binding.getUserSuppliedProvider()).in(Scopes.SINGLETON);
+        }
+
+        /**
+         * Rebinds a {@link ConstructorBinding}.
+         *
+         * @param <S> the bound type
+         * @param binding the {@link ConstructorBinding}
+         */
+        @SuppressWarnings("unchecked")
+        private <S> void rebind(final ConstructorBinding<S> binding) {
+            final Constructor<S> constructor =
+                    (Constructor<S>) binding.getConstructor().getMember();
+            final TypeLiteral<S> type =
+                    (TypeLiteral<S>) binding.getConstructor().getDeclaringType();
+            binderFor(binding).bind(binding.getKey()).toConstructor(constructor, type)
+                    .in(Scopes.SINGLETON);
+        }
+
+        /**
+         * Returns a {@link Binder} that attributes new bindings to the original source.
+         *
+         * @param binding the original {@link Binding}
+         * @return the {@link Binder}
+         */
+        private Binder binderFor(final Binding<?> binding) {
+            return binder.withSource(binding.getSource());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.PrivateBinder;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.InjectionRequest;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.MembersInjectorLookup;
+import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderLookup;
+import com.google.inject.spi.ScopeBinding;
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies recorded {@link Element}s to the {@link Binder}s of new {@link Injector}s.
+ */
+final class ElementReplay {
+
+    /**
+     * Prevents instantiation.
+     */
+    private ElementReplay() {
+    }
+
+    /**
+     * Returns whether the {@link Element}s can be applied to more than one {@link Injector}
+     * without sharing state between them. Lookups hold on to the provider or members injector of
+     * the {@link Injector} they were first applied to. Injection requests, and instances bound
+     * with injectable fields or methods, would inject the same object with the dependencies of
+     * every {@link Injector}. Provider instances other than
+     * {@code @Provides} methods are injected by, and may cache state of, the first
+     * {@link Injector}; these include the providers of multibinders, map binders and optional
+     * binders, which initialize their elements only once.
+     *
+     * @param elements the {@link Element}s
+     * @return {@code false} if any {@link Element} is a provider or members injector lookup, an
+     * injection request, an {@link InstanceBinding} with injection points or a
+     * {@link ProviderInstanceBinding} of anything but a {@code @Provides} method
+     */
+    static boolean isReplayable(final List<Element> elements) {
+        for (final Element element : elements) {
+            if (element instanceof ProviderLookup || element instanceof MembersInjectorLookup
+                    || element instanceof InjectionRequest) {
+                return false;
+            } else if (element instanceof InstanceBinding
+                    && !((InstanceBinding<?>) element).getInjectionPoints().isEmpty()) {
+                return false;
+            } else if (element instanceof ProviderInstanceBinding
+                    && !ReplayedProviderMethod.isProviderMethod(element)) {
+                return false;
+            } else if (element instanceof PrivateElements
+                    && !isReplayable(((PrivateElements) element).getElements())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies the recorded {@link Element}s to the {@link Binder}, giving {@code @Provides}
+     * methods new providers.
+     *
+     * @param elements the {@link Element}s
+     * @param binder the {@link Binder}
+     */
+    static void replay(final List<Element> elements, final Binder binder) {
+        replay(elements, binder, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Applies the recorded {@link Element}s to the {@link Binder}, giving {@code @Provides}
+     * methods new providers and leaving out what is overridden: {@link Binding}s of the
+     * overridden {@link Key}s, including exposed ones inside private modules, and bindings of the
+     * overridden scope annotations.
+     *
+     * @param elements the {@link Element}s
+     * @param binder the {@link Binder}
+     * @param overriddenKeys the overridden {@link Key}s
+     * @param overriddenScopes the overridden scope annotations
+     */
+    static void replay(final List<Element> elements, final Binder binder,
+            final Set<Key<?>> overriddenKeys,
+            final Set<Class<? extends Annotation>> overriddenScopes) {
+        for (final Element element : elements) {
+            if (element instanceof Binding
+                    && overriddenKeys.contains(((Binding<?>) element).getKey())) {
+                continue;
+            } else if (element instanceof ScopeBinding
+                    && overriddenScopes.contains(((ScopeBinding) element).getAnnotationType())) {
+                continue;
+            } else if (element instanceof PrivateElements) {
+                final PrivateElements privateElements = (PrivateElements) element;
+                final PrivateBinder privateBinder =
+                        binder.withSource(privateElements.getSource()).newPrivateBinder();
+                final Set<Key<?>> overriddenExposures = new HashSet<>();
+                for (final Key<?> exposed : privateElements.getExposedKeys()) {
+                    if (overriddenKeys.contains(exposed)) {
+                        overriddenExposures.add(exposed);
+                    } else {
+                        privateBinder.withSource(privateElements.getExposedSource(exposed))
+                                .expose(exposed);
+                    }
+                }
+                replay(privateElements.getElements(), privateBinder, overriddenExposures,
+                        Collections.emptySet());
+            } else if (ReplayedProviderMethod.isProviderMethod(element)) {
+                ReplayedProviderMethod.bind((ProviderInstanceBinding<?>) element, binder);
+            } else {
+                element.applyTo(binder);
+            }
+        }
+    }
+}
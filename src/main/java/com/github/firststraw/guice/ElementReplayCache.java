@@ -0,0 +1,190 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Creates a fresh {@link InjectorTester} for every test without running the {@code configure()}
+ * methods of its {@link Module}s again. The {@link Element}s of each set of {@link Module}s are
+ * recorded once, and new {@link Injector}s are created by replaying them, so tests that need
+ * their own singletons no longer pay for expensive configuration, such as configuration derived
+ * from the classpath, every time.
+ * <p>
+ * Sets of {@link Module}s are told apart by {@link Object#equals(Object)}, so reuse the same
+ * {@link Module} instances or give the {@link Module}s value equality. Objects that
+ * {@code configure()} binds with {@code toInstance()} are shared by every replayed
+ * {@link Injector}; {@code @Provides} methods get a new provider for each. Sets of
+ * {@link Module}s whose state would otherwise be shared are configured normally every time:
+ * those that look up providers or members injectors while configuring, request injection, bind
+ * instances with injectable fields or methods, bind provider instances with
+ * {@code toProvider()}, or use multibinders, map binders or optional binders, whose providers are
+ * initialized by the first {@link Injector} only.
+ */
+@ThreadSafe
+public class ElementReplayCache {
+
+    private final Map<List<Object>, Recording> recordings = new ConcurrentHashMap<>();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder recordingNanos = new LongAdder();
+    private final LongAdder skippedNanos = new LongAdder();
+
+    /**
+     * Creates a {@link Stage#TOOL} {@link InjectorTester}, like
+     * {@link InjectorTester#InjectorTester(Module...)}, from the cached {@link Element}s of the
+     * {@link Module}s.
+     *
+     * @param modules the {@link Module}s
+     * @return the new {@link InjectorTester}
+     * @throws NullPointerException if the array or any {@link Module} is {@code null}
+     */
+    public InjectorTester createTester(final Module... modules) {
+        Objects.requireNonNull(modules, "Modules must not be null.");
+
+        return createTester(Stage.TOOL, Arrays.asList(modules));
+    }
+
+    /**
+     * Creates an {@link InjectorTester} in the {@link Stage} from the cached {@link Element}s of
+     * the {@link Module}s, recording them on first use.
+     *
+     * @param stage the {@link Stage} of the {@link Injector}
+     * @param modules the {@link Module}s
+     * @return the new {@link InjectorTester}
+     * @throws NullPointerException if the {@link Stage}, the {@link Iterable} or any
+     * {@link Module} is {@code null}
+     */
+    public InjectorTester createTester(final Stage stage,
+            final Iterable<? extends Module> modules) {
+        Objects.requireNonNull(stage, "Stage must not be null.");
+        Objects.requireNonNull(modules, "Modules must not be null.");
+
+        final List<Object> key = new ArrayList<>();
+        key.add(stage);
+        for (final Module module : modules) {
+            key.add(Objects.requireNonNull(module, "All modules must be non-null."));
+        }
+
+        Recording recording = recordings.get(key);
+        if (recording == null) {
+            recording = recordings.computeIfAbsent(key, recorded -> record(stage, modules));
+        } else if (recording.replayable) {
+            replays.increment();
+            skippedNanos.add(recording.nanos);
+        }
+
+        if (!recording.replayable) {
+            bypasses.increment();
+            return new InjectorTester(stage, modules);
+        }
+        final List<Element> elements = recording.elements;
+        return new InjectorTester(stage,
+                Collections.singletonList(binder -> ElementReplay.replay(elements, binder)));
+    }
+
+    /**
+     * Returns how many {@link Injector}s were created by replaying recorded {@link Element}s.
+     *
+     * @return the number of replays
+     */
+    public long getReplayCount() {
+        return replays.sum();
+    }
+
+    /**
+     * Returns how many sets of {@link Module}s were recorded.
+     *
+     * @return the number of recordings
+     */
+    public int getRecordingCount() {
+        return recordings.size();
+    }
+
+    /**
+     * Returns how many {@link Injector}s were created from a set of {@link Module}s that cannot be
+     * replayed, configuring the {@link Module}s again.
+     *
+     * @return the number of {@link Injector}s created without replaying
+     */
+    public long getBypassCount() {
+        return bypasses.sum();
+    }
+
+    /**
+     * Returns the total time spent recording {@link Element}s, that is running the
+     * {@code configure()} methods once per set of {@link Module}s.
+     *
+     * @return the recording time in nanoseconds
+     */
+    public long getRecordingNanos() {
+        return recordingNanos.sum();
+    }
+
+    /**
+     * Returns the time saved by replaying compared to creating every {@link InjectorTester}
+     * directly from its {@link Module}s, estimated as the recording time of each set of
+     * {@link Module}s summed over its replays.
+     *
+     * @return the saved time in nanoseconds
+     */
+    public long getSavedNanos() {
+        return skippedNanos.sum();
+    }
+
+    /**
+     * Discards every recording, for example after the configuration of the {@link Module}s
+     * changed.
+     */
+    public void clear() {
+        recordings.clear();
+    }
+
+    /**
+     * Records the {@link Element}s of the {@link Module}s.
+     *
+     * @param stage the {@link Stage} to record in
+     * @param modules the {@link Module}s
+     * @return the {@link Recording}
+     */
+    private Recording record(final Stage stage, final Iterable<? extends Module> modules) {
+        final long start = System.nanoTime();
+        final List<Element> elements = Elements.getElements(stage, modules);
+        final long nanos = System.nanoTime() - start;
+        recordingNanos.add(nanos);
+        return new Recording(Collections.unmodifiableList(new ArrayList<>(elements)), nanos,
+                ElementReplay.isReplayable(elements));
+    }
+
+    /**
+     * The recorded {@link Element}s of a set of {@link Module}s.
+     */
+    private static final class Recording {
+
+        private final List<Element> elements;
+        private final long nanos;
+        private final boolean replayable;
+
+        /**
+         * @param elements the {@link Element}s
+         * @param nanos the time taken to record the {@link Element}s
+         * @param replayable {@code true} if the {@link Element}s can be replayed
+         */
+        Recording(final List<Element> elements, final long nanos, final boolean replayable) {
+            this.elements = elements;
+            this.nanos = nanos;
+            this.replayable = replayable;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+
+/**
+ * Thrown when the instance of a {@link com.google.inject.Binding} retains more memory than
+ * allowed.
+ */
+public class ExcessiveRetainedSizeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param key the {@link Key} of the {@link com.google.inject.Binding}
+     * @param maxBytes the maximum allowed retained size in bytes
+     * @param bytes the estimated retained size in bytes
+     * @param lowerBound {@code true} if the estimated retained size is a lower bound
+     */
+    ExcessiveRetainedSizeException(final Key<?> key, final long maxBytes, final long bytes,
+            final boolean lowerBound) {
+        super("Expected the instance bound to " + key + " to retain at most " + maxBytes
+                + " bytes, but it retains " + (lowerBound ? "at least " : "about ") + bytes
+                + " bytes");
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.spi.ProvisionListener.ProvisionInvocation;
+import java.util.Collection;
+
+/**
+ * Emits Java Flight Recorder events when the running JVM supports them. The event classes are
+ * only loaded once {@code jdk.jfr} is known to be present, so the library keeps working on JVMs
+ * without Flight Recorder. Disabled events cost a single check each, so the events can stay on
+ * permanently and show up in ordinary recordings next to GC and lock events.
+ */
+final class FlightRecorderEvents {
+
+    private static final boolean AVAILABLE = isFlightRecorderPresent();
+
+    /**
+     * Prevents instantiation.
+     */
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Checks whether the Flight Recorder event API is present.
+     *
+     * @return {@code true} if the event API is present, otherwise {@code false}
+     */
+    private static boolean isFlightRecorderPresent() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Indicates whether Flight Recorder events can be emitted.
+     *
+     * @return {@code true} if Flight Recorder events can be emitted, otherwise {@code false}
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Creates an {@link Injector}, emitting an {@code InjectorCreated} event.
+     *
+     * @param stage the {@link Stage} of the {@link Injector}
+     * @param modules the {@link Module}s of the {@link Injector}
+     * @return the {@link Injector}
+     */
+    static Injector createInjector(final Stage stage, final Collection<? extends Module> modules) {
+        if (!AVAILABLE) {
+            return Guice.createInjector(stage, modules);
+        }
+        return JfrEvents.createInjector(stage, modules);
+    }
+
+    /**
+     * Emits a {@code BindingVerified} event.
+     *
+     * @param binding the {@link Binding} being verified
+     */
+    static void bindingVerified(final Binding<?> binding) {
+        if (AVAILABLE) {
+            JfrEvents.bindingVerified(binding);
+        }
+    }
+
+    /**
+     * Performs the provision, emitting a {@code BindingProvisioned} event.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision to perform
+     */
+    static <T> void provision(final ProvisionInvocation<T> provision) {
+        if (AVAILABLE) {
+            JfrEvents.provision(provision);
+        } else {
+            provision.provision();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Emits a Java Flight Recorder {@code BindingProvisioned} event, with the key, scope and duration,
+ * for every provision of the injector it is installed into. When the running JVM has no Flight
+ * Recorder the {@link FlightRecorderModule} installs nothing.
+ */
+@ThreadSafe
+public class FlightRecorderModule extends AbstractModule implements ProvisionListener {
+
+    /**
+     * Registers "this" {@link FlightRecorderModule} for every binding, if Flight Recorder is
+     * available.
+     */
+    @Override
+    protected void configure() {
+        if (FlightRecorderEvents.isAvailable()) {
+            bindListener(Matchers.any(), this);
+        }
+    }
+
+    /**
+     * Performs the provision, emitting a {@code BindingProvisioned} event.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision in progress
+     */
+    @Override
+    public <T> void onProvision(final ProvisionInvocation<T> provision) {
+        FlightRecorderEvents.provision(provision);
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.spi.ProvisionListener.ProvisionInvocation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the chain of {@link Key}s each thread is currently provisioning, so that other threads
+ * can observe provisioning while it is in progress.
+ */
+@ThreadSafe
+final class InFlightProvisions {
+
+    private final Map<Thread, Deque<InFlight>> provisioning = new ConcurrentHashMap<>();
+
+    /**
+     * Performs the provision, tracking its {@link Key} for the duration of the provision.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision to perform
+     */
+    <T> void provision(final ProvisionInvocation<T> provision) {
+        final Thread thread = Thread.currentThread();
+        final Deque<InFlight> chain =
+                provisioning.computeIfAbsent(thread, key -> new ConcurrentLinkedDeque<>());
+        chain.addLast(new InFlight(provision.getBinding().getKey(), System.nanoTime()));
+        try {
+            provision.provision();
+        } finally {
+            chain.removeLast();
+            if (chain.isEmpty()) {
+                provisioning.remove(thread);
+            }
+        }
+    }
+
+    /**
+     * Returns the chains of provisions in progress per thread, outermost provision first.
+     *
+     * @return the chains of provisions in progress per thread
+     */
+    Map<Thread, List<InFlight>> snapshot() {
+        final Map<Thread, List<InFlight>> snapshot = new LinkedHashMap<>();
+        for (final Map.Entry<Thread, Deque<InFlight>> entry : provisioning.entrySet()) {
+            final List<InFlight> chain = new ArrayList<>(entry.getValue());
+            if (!chain.isEmpty()) {
+                snapshot.put(entry.getKey(), Collections.unmodifiableList(chain));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * A provision in progress.
+     */
+    static final class InFlight {
+
+        private final Key<?> key;
+        private final long startNanos;
+
+        /**
+         * @param key the {@link Key} being provisioned
+         * @param startNanos when the provision started, from {@link System#nanoTime()}
+         */
+        InFlight(final Key<?> key, final long startNanos) {
+            this.key = key;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Returns the {@link Key} being provisioned.
+         *
+         * @return the {@link Key} being provisioned
+         */
+        Key<?> getKey() {
+            return key;
+        }
+
+        /**
+         * Returns when the provision started, from {@link System#nanoTime()}.
+         *
+         * @return when the provision started
+         */
+        long getStartNanos() {
+            return startNanos;
+        }
+    }
+}
@@ -16,4 +16,12 @@ public class IncorrectBindingTargetException extends RuntimeException {
     IncorrectBindingTargetException(final Object expectedTarget, final Object actualTarget) {
         super("Expected " + expectedTarget + ", but found " + actualTarget);
     }
+
+    /**
+     * @param difference the path to and description of the first structural difference between
+     * the expected and the actual target
+     */
+    IncorrectBindingTargetException(final String difference) {
+        super("Expected a structurally equal target, but found a difference at " + difference);
+    }
 }
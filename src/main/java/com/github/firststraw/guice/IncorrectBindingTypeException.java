@@ -10,13 +10,20 @@ public class IncorrectBindingTypeException extends RuntimeException {
     private static final long serialVersionUID = 1L;
 
     /**
-     * @param <T> the expected {@link Binding} type
      * @param expectedType the expected {@link Binding} type
      * @param foundBinding the {@link Binding} actually found
      */
-    <T extends Binding<?>> IncorrectBindingTypeException(final Class<T> expectedType,
-            final Binding<?> foundBinding) {
+    IncorrectBindingTypeException(final Class<?> expectedType, final Binding<?> foundBinding) {
         super("Expected a binding of type " + expectedType + ", but found binding of type "
                 + foundBinding.getClass());
     }
+
+    /**
+     * @param forbiddenKind the {@link BindingKind} the {@link Binding} must not have
+     * @param foundBinding the {@link Binding} actually found
+     */
+    IncorrectBindingTypeException(final BindingKind forbiddenKind, final Binding<?> foundBinding) {
+        super("Expected a binding other than " + forbiddenKind + ", but found binding of type "
+                + foundBinding.getClass());
+    }
 }
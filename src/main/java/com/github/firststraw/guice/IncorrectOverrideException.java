@@ -0,0 +1,30 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Set;
+
+/**
+ * Thrown when the overrides of an {@link InjectorTester} do not replace the expected
+ * {@link com.google.inject.Binding}s.
+ */
+public class IncorrectOverrideException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param expected the {@link Key} expected to be overridden
+     * @param overridden the overridden {@link Key}s
+     */
+    IncorrectOverrideException(final Key<?> expected, final Set<Key<?>> overridden) {
+        super("Expected " + expected + " to be overridden, but only " + overridden
+                + " were overridden");
+    }
+
+    /**
+     * @param expected the {@link Key}s expected to be overridden
+     * @param overridden the overridden {@link Key}s
+     */
+    IncorrectOverrideException(final Set<Key<?>> expected, final Set<Key<?>> overridden) {
+        super("Expected exactly " + expected + " to be overridden, but found " + overridden);
+    }
+}
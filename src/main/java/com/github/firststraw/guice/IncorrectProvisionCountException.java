@@ -0,0 +1,21 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+
+/**
+ * Thrown when a {@link Key} was not provisioned the expected number of times.
+ */
+public class IncorrectProvisionCountException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param key the {@link Key}
+     * @param expected the expected number of provisions
+     * @param actual the actual number of provisions
+     */
+    IncorrectProvisionCountException(final Key<?> key, final long expected, final long actual) {
+        super("Expected " + key + " to be provisioned " + expected + " time(s), but it was"
+                + " provisioned " + actual + " time(s)");
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.spi.ElementSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Suite-wide detection of {@link Injector}s that tests keep reachable, for example through a
+ * static {@link InjectorTester}, and that slowly exhaust the heap of long-running test JVMs.
+ * While detection is enabled, every {@link InjectorTester} tracks its {@link Injector} through a
+ * {@link WeakReference}. {@link #check()} forces garbage collection and reports the
+ * {@link Injector}s that are still reachable, with the {@link com.google.inject.Module}s that
+ * configured them, the code that created them and their estimated retained size.
+ * <p>
+ * Detection is enabled by calling {@link #enable()} or by setting the system property
+ * {@value #REPORT_PROPERTY} to a file, to which the report is written when the JVM exits. While
+ * detection is disabled, tracking costs a single volatile read.
+ */
+@ThreadSafe
+public final class InjectorLeakDetector {
+
+    /**
+     * The system property naming the file to write the leak report to when the JVM exits.
+     * Setting it enables detection.
+     */
+    public static final String REPORT_PROPERTY = "guice-test-helper.leaks.report";
+
+    /**
+     * The maximum number of {@link System#gc()} calls made while waiting for a garbage
+     * collection to happen.
+     */
+    static final int MAX_GC_ATTEMPTS = 10;
+
+    private static final Set<String> LIBRARY_CLASSES = new TreeSet<>(Arrays.asList(
+            InjectorLeakDetector.class.getName(), InjectorTester.class.getName(),
+            SharedParentInjector.class.getName(), ElementReplayCache.class.getName(),
+            OverridableModules.class.getName()));
+
+    private static final ReferenceQueue<Injector> COLLECTED = new ReferenceQueue<>();
+    private static final Set<TrackedInjector> TRACKED = ConcurrentHashMap.newKeySet();
+    private static final LongAdder TRACKED_COUNT = new LongAdder();
+
+    private static volatile boolean enabled;
+
+    static {
+        final String report = System.getProperty(REPORT_PROPERTY);
+        if (report != null && !report.isEmpty()) {
+            enabled = true;
+            final Path file = Paths.get(report);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(file),
+                    "injector-leak-report"));
+        }
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private InjectorLeakDetector() {
+    }
+
+    /**
+     * Enables tracking of new {@link Injector}s.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Disables tracking of new {@link Injector}s. The {@link Injector}s tracked so far are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Indicates whether new {@link Injector}s are being tracked.
+     *
+     * @return {@code true} if new {@link Injector}s are being tracked, otherwise {@code false}
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stops tracking every {@link Injector} tracked so far, for example to exclude
+     * {@link Injector}s that are meant to live for the whole suite from later checks.
+     */
+    public static void reset() {
+        TRACKED.clear();
+        TRACKED_COUNT.reset();
+        expungeCollected();
+    }
+
+    /**
+     * Forces garbage collection and reports the tracked {@link Injector}s that are still
+     * reachable. Estimating their retained size walks their object graphs, so a check takes
+     * time proportional to the leaked memory.
+     *
+     * @return the {@link InjectorLeakReport}
+     */
+    public static InjectorLeakReport check() {
+        forceGarbageCollection();
+        expungeCollected();
+
+        final List<InjectorLeakReport.Leak> leaks = new ArrayList<>();
+        for (final TrackedInjector tracked : TRACKED) {
+            final Injector injector = tracked.get();
+            if (injector == null) {
+                TRACKED.remove(tracked);
+            } else {
+                final RetainedSizeEstimator.Estimate estimate =
+                        RetainedSizeEstimator.estimate(injector);
+                leaks.add(new InjectorLeakReport.Leak(describeModules(injector),
+                        tracked.creationSite, estimate.getBytes(), estimate.isLowerBound()));
+            }
+        }
+        return new InjectorLeakReport(TRACKED_COUNT.sum(), leaks);
+    }
+
+    /**
+     * Tracks the {@link Injector} of an {@link InjectorTester}.
+     *
+     * @param injector the {@link Injector}
+     */
+    static void track(final Injector injector) {
+        if (!enabled) {
+            return;
+        }
+
+        expungeCollected();
+        TRACKED.add(new TrackedInjector(injector, describeCreationSite(
+                Thread.currentThread().getStackTrace())));
+        TRACKED_COUNT.increment();
+    }
+
+    /**
+     * Describes the code that created an {@link Injector}: the first frame of the stack trace
+     * outside this library and {@link Thread#getStackTrace()}.
+     *
+     * @param stackTrace the stack trace of the creating {@link Thread}
+     * @return the description of the first frame outside this library, or {@code "unknown"}
+     */
+    static String describeCreationSite(final StackTraceElement[] stackTrace) {
+        for (final StackTraceElement frame : stackTrace) {
+            if (!LIBRARY_CLASSES.contains(frame.getClassName())
+                    && !Thread.class.getName().equals(frame.getClassName())) {
+                return frame.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * Describes the {@link com.google.inject.Module}s that configured an {@link Injector}: the
+     * outermost {@link com.google.inject.Module} of each of its explicit {@link Binding}s.
+     * {@link com.google.inject.Module}s replayed by {@link ElementReplayCache} or
+     * {@link OverridableModules} are reported as the {@link com.google.inject.Module}s that were
+     * originally recorded.
+     *
+     * @param injector the {@link Injector}
+     * @return the sorted class names of the {@link com.google.inject.Module}s
+     */
+    static List<String> describeModules(final Injector injector) {
+        final Set<String> modules = new TreeSet<>();
+        for (final Binding<?> binding : injector.getBindings().values()) {
+            if (binding.getSource() instanceof ElementSource) {
+                ElementSource source = (ElementSource) binding.getSource();
+                while (source.getOriginalElementSource() != null) {
+                    source = source.getOriginalElementSource();
+                }
+                final List<String> names = source.getModuleClassNames();
+                if (!names.isEmpty()) {
+                    modules.add(names.get(names.size() - 1));
+                }
+            }
+        }
+        return new ArrayList<>(modules);
+    }
+
+    /**
+     * Calls {@link System#gc()} until a garbage collection has verifiably happened, and once
+     * more so that objects that were promoted before becoming unreachable are collected too.
+     */
+    static void forceGarbageCollection() {
+        final WeakReference<Object> sentinel = new WeakReference<>(new Object());
+        for (int attempt = 0; attempt < MAX_GC_ATTEMPTS && sentinel.get() != null; attempt++) {
+            System.gc();
+        }
+        System.gc();
+    }
+
+    /**
+     * Stops tracking the {@link Injector}s that were garbage collected.
+     */
+    private static void expungeCollected() {
+        for (Reference<? extends Injector> collected = COLLECTED.poll(); collected != null;
+                collected = COLLECTED.poll()) {
+            TRACKED.remove(collected);
+        }
+    }
+
+    /**
+     * Writes the {@link InjectorLeakReport} to the file.
+     *
+     * @param file the file
+     */
+    private static void writeReport(final Path file) {
+        try {
+            Files.write(file, check().toString().getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * A tracked {@link Injector} and the code that created it.
+     */
+    private static final class TrackedInjector extends WeakReference<Injector> {
+
+        private final String creationSite;
+
+        /**
+         * @param injector the {@link Injector}
+         * @param creationSite the description of the code that created the {@link Injector}
+         */
+        TrackedInjector(final Injector injector, final String creationSite) {
+            super(injector, COLLECTED);
+            this.creationSite = creationSite;
+        }
+    }
+}
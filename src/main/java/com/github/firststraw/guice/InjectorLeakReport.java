@@ -0,0 +1,168 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Injector;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The {@link Injector}s tracked by {@link InjectorLeakDetector} that were still reachable after
+ * a forced garbage collection, largest estimated retained size first. Retained sizes are
+ * estimated per {@link Injector}, so memory shared by several leaked {@link Injector}s, such as
+ * a common parent {@link Injector}, is counted for each of them.
+ */
+@Immutable
+public class InjectorLeakReport {
+
+    private final long trackedCount;
+    private final List<Leak> leaks;
+    private final long totalRetainedBytes;
+
+    /**
+     * @param trackedCount the number of {@link Injector}s tracked since the last reset
+     * @param leaks the {@link Injector}s that are still reachable
+     */
+    InjectorLeakReport(final long trackedCount, final Collection<Leak> leaks) {
+        Objects.requireNonNull(leaks, "Leaks must not be null.");
+
+        final List<Leak> sorted = new ArrayList<>(leaks);
+        sorted.sort(Comparator.comparingLong(Leak::getEstimatedRetainedBytes).reversed());
+        long total = 0L;
+        for (final Leak leak : sorted) {
+            total += leak.getEstimatedRetainedBytes();
+        }
+
+        this.trackedCount = trackedCount;
+        this.leaks = Collections.unmodifiableList(sorted);
+        this.totalRetainedBytes = total;
+    }
+
+    /**
+     * Returns the number of {@link Injector}s tracked since the last
+     * {@link InjectorLeakDetector#reset()}.
+     *
+     * @return the number of tracked {@link Injector}s
+     */
+    public long getTrackedCount() {
+        return trackedCount;
+    }
+
+    /**
+     * Returns the {@link Injector}s that are still reachable, largest first.
+     *
+     * @return the {@link Leak}s
+     */
+    public List<Leak> getLeaks() {
+        return leaks;
+    }
+
+    /**
+     * Returns the sum of the estimated retained sizes of the {@link Leak}s.
+     *
+     * @return the estimated retained size in bytes
+     */
+    public long getTotalRetainedBytes() {
+        return totalRetainedBytes;
+    }
+
+    /**
+     * Returns a human-readable report.
+     *
+     * @return a human-readable report
+     */
+    @Override
+    public String toString() {
+        final String newLine = System.lineSeparator();
+        final StringBuilder report = new StringBuilder()
+                .append(leaks.size()).append(" of ").append(trackedCount)
+                .append(" tracked injector(s) still reachable, retaining about ")
+                .append(totalRetainedBytes).append(" bytes").append(newLine);
+        for (final Leak leak : leaks) {
+            report.append("    ").append(leak).append(newLine);
+        }
+        return report.toString();
+    }
+
+    /**
+     * An {@link Injector} that was still reachable.
+     */
+    @Immutable
+    public static final class Leak {
+
+        private final List<String> modules;
+        private final String creationSite;
+        private final long estimatedRetainedBytes;
+        private final boolean lowerBound;
+
+        /**
+         * @param modules the class names of the {@link com.google.inject.Module}s that
+         * configured the {@link Injector}
+         * @param creationSite the description of the code that created the {@link Injector}
+         * @param estimatedRetainedBytes the estimated retained size of the {@link Injector}
+         * @param lowerBound {@code true} if parts of the {@link Injector} could not be sized
+         */
+        Leak(final List<String> modules, final String creationSite,
+                final long estimatedRetainedBytes, final boolean lowerBound) {
+            this.modules = Collections.unmodifiableList(new ArrayList<>(
+                    Objects.requireNonNull(modules, "Modules must not be null.")));
+            this.creationSite = Objects.requireNonNull(creationSite,
+                    "Creation site must not be null.");
+            this.estimatedRetainedBytes = estimatedRetainedBytes;
+            this.lowerBound = lowerBound;
+        }
+
+        /**
+         * Returns the class names of the {@link com.google.inject.Module}s that configured the
+         * {@link Injector}.
+         *
+         * @return the sorted class names of the {@link com.google.inject.Module}s
+         */
+        public List<String> getModules() {
+            return modules;
+        }
+
+        /**
+         * Returns the stack frame of the code that created the {@link Injector}.
+         *
+         * @return the description of the creation site
+         */
+        public String getCreationSite() {
+            return creationSite;
+        }
+
+        /**
+         * Returns the estimated number of bytes reachable from the {@link Injector}.
+         *
+         * @return the estimated retained size in bytes
+         */
+        public long getEstimatedRetainedBytes() {
+            return estimatedRetainedBytes;
+        }
+
+        /**
+         * Indicates whether parts of the {@link Injector} could not be sized, for example fields
+         * of JDK classes that cannot be read reflectively, so that the retained size is a lower
+         * bound.
+         *
+         * @return {@code true} if the retained size is a lower bound, otherwise {@code false}
+         */
+        public boolean isLowerBound() {
+            return lowerBound;
+        }
+
+        /**
+         * Returns a human-readable description of the leak.
+         *
+         * @return a human-readable description of the leak
+         */
+        @Override
+        public String toString() {
+            return (lowerBound ? "at least " : "") + estimatedRetainedBytes + " bytes " + modules
+                    + " created at " + creationSite;
+        }
+    }
+}
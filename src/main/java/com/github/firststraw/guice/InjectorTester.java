@@ -2,14 +2,26 @@ package com.github.firststraw.guice;
 
 import com.google.inject.Binding;
 import com.google.inject.ConfigurationException;
-import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import com.google.inject.Stage;
 import com.google.inject.TypeLiteral;
+import com.google.inject.spi.InstanceBinding;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -23,14 +35,30 @@ public class InjectorTester {
     private static final String NULL_MODULE_ERROR = "All modules must be non-null.";
     private static final String NULL_TYPE_ERROR = "Type must not be null.";
     private static final String NULL_KEY_ERROR = "Key must not be null.";
+    private static final String NO_MODULES_ERROR =
+            "This operation requires an InjectorTester created from modules.";
+    private static final String NO_OVERRIDES_ERROR =
+            "This operation requires an InjectorTester created by OverridableModules.";
+    private static final String NO_METRICS_ERROR =
+            "This operation requires a ProvisionMetricsRecorder installed in the injector.";
+
+    private static final ScopingRecorder SCOPING_RECORDER = new ScopingRecorder();
+    private static final LatencyHistogram INJECTOR_CREATION_LATENCIES = new LatencyHistogram();
 
     private final Injector injector;
+    private final List<Module> modules;
+    private final OverriddenBindingsVerifier overrides;
+    private volatile BindingIndex bindingIndex;
 
     /**
      * @param injector the {@link Injector} to test
      */
     public InjectorTester(final Injector injector) {
         this.injector = Objects.requireNonNull(injector, NULL_INJECTOR_ERROR);
+        this.modules = null;
+        this.overrides = null;
+        BindingCoverage.register(injector);
+        InjectorLeakDetector.track(injector);
     }
 
     /**
@@ -44,12 +72,44 @@ public class InjectorTester {
      * @param modules {@link Module}s with which to initialize an {@link Injector}
      */
     public InjectorTester(Iterable<? extends Module> modules) {
+        this(Stage.TOOL, modules);
+    }
+
+    /**
+     * Creates the {@link Injector} in the {@link Stage}. {@link Stage#TOOL} {@link Injector}s only
+     * expose their {@link Binding}s; use another {@link Stage} to also obtain instances.
+     *
+     * @param stage the {@link Stage} of the {@link Injector}
+     * @param modules {@link Module}s with which to initialize an {@link Injector}
+     */
+    public InjectorTester(final Stage stage, final Iterable<? extends Module> modules) {
+        Objects.requireNonNull(stage, "Stage must not be null.");
         Objects.requireNonNull(modules, NULL_MODULES_ERROR);
+        final List<Module> copy = new ArrayList<>();
         for (final Module module : modules) {
-            Objects.requireNonNull(module, NULL_MODULE_ERROR);
+            copy.add(Objects.requireNonNull(module, NULL_MODULE_ERROR));
         }
 
-        this.injector = Guice.createInjector(Stage.TOOL, modules);
+        this.modules = Collections.unmodifiableList(copy);
+        this.overrides = null;
+        this.injector = createInjector(stage, this.modules);
+        BindingCoverage.register(this.injector);
+        InjectorLeakDetector.track(this.injector);
+    }
+
+    /**
+     * @param modules the {@link Module}s from which an equivalent {@link Injector} can be created
+     * @param injector the {@link Injector} to test
+     * @param overrides the {@link OverriddenBindingsVerifier}, or {@code null} if the
+     * {@link Injector} was not created with overrides
+     */
+    private InjectorTester(final List<Module> modules, final Injector injector,
+            @Nullable final OverriddenBindingsVerifier overrides) {
+        this.injector = injector;
+        this.modules = Collections.unmodifiableList(modules);
+        this.overrides = overrides;
+        BindingCoverage.register(injector);
+        InjectorLeakDetector.track(injector);
     }
 
     /**
@@ -65,7 +125,7 @@ public class InjectorTester {
     public <T> BindingTypeVerifier<T> verifyBindingFor(final Class<T> type) {
         Objects.requireNonNull(type, NULL_TYPE_ERROR);
 
-        return verifyBindingFor(Key.get(type));
+        return verifyBindingFor(ReflectionCache.key(type));
     }
 
     /**
@@ -81,7 +141,7 @@ public class InjectorTester {
     public <T> BindingTypeVerifier<T> verifyBindingFor(final TypeLiteral<T> type) {
         Objects.requireNonNull(type, NULL_TYPE_ERROR);
 
-        return verifyBindingFor(Key.get(type));
+        return verifyBindingFor(ReflectionCache.key(type));
     }
 
     /**
@@ -97,9 +157,437 @@ public class InjectorTester {
         Objects.requireNonNull(key, NULL_KEY_ERROR);
 
         final Binding<T> binding = injector.getBinding(key);
+        FlightRecorderEvents.bindingVerified(binding);
+        BindingCoverage.recordLookup(key);
         return new BindingTypeVerifier<>(binding);
     }
 
+    /**
+     * Returns a {@link BindingQuery} over every {@link Binding} of the {@link Injector}, for
+     * filtering {@link Binding}s and verifying them in bulk. The {@link Binding}s are indexed on
+     * the first query; just-in-time {@link Binding}s created afterwards are not included.
+     *
+     * @return a {@link BindingQuery} over every {@link Binding}
+     */
+    public BindingQuery queryBindings() {
+        return new BindingQuery(getBindingIndex());
+    }
+
+    /**
+     * Verifies that every {@link Binding} of the {@link Injector} satisfies the
+     * {@link BindingRule}s, evaluating all of them in a single pass.
+     *
+     * @param rules the {@link BindingRule}s
+     * @throws NullPointerException if the array or any {@link BindingRule} is {@code null}
+     * @throws BindingVerificationException if any {@link BindingRule} is violated
+     * @see BindingRules
+     */
+    public void verifyRules(final BindingRule... rules) {
+        BindingRules.of(rules).verify(this);
+    }
+
+    /**
+     * Verifies the {@link Injector} against a binding specification file, reporting at most 100
+     * failures.
+     *
+     * @param spec the UTF-8 encoded specification file
+     * @throws NullPointerException if the file is {@code null}
+     * @throws IOException if the specification could not be read
+     * @throws BindingVerificationException if any line is malformed or does not match
+     * @see #verifySpec(Reader, int)
+     */
+    public void verifySpec(final Path spec) throws IOException {
+        Objects.requireNonNull(spec, "Spec must not be null.");
+
+        try (Reader reader = Files.newBufferedReader(spec, StandardCharsets.UTF_8)) {
+            verifySpec(reader, BindingSpecs.DEFAULT_MAX_REPORTED_FAILURES);
+        }
+    }
+
+    /**
+     * Verifies the {@link Injector} against a binding specification, streaming it line by line
+     * so that specifications of any length verify in constant memory. Each non-blank line not
+     * starting with {@code #} holds four tab-separated fields: the {@link Key}, such as
+     * {@code java.util.List<java.lang.String>@com.google.inject.name.Named(names)}, the
+     * {@link BindingKind}, the target and the scoping, any of which but the {@link Key} may be
+     * {@code -} to leave it unchecked. For example, with the fields separated by tabs:
+     * <pre>
+     * com.acme.Dao    LINKED_KEY    com.acme.JdbcDao    Scopes.SINGLETON
+     * com.acme.JdbcDao    CONSTRUCTOR    com.acme.JdbcDao    none
+     * java.lang.String@com.google.inject.name.Named(url)    INSTANCE    java.lang.String    -
+     * </pre>
+     *
+     * @param spec the specification, which is read but not closed
+     * @param maxReportedFailures the maximum number of failures to include in the exception
+     * @throws NullPointerException if the specification is {@code null}
+     * @throws IllegalArgumentException if the maximum number of failures is not positive
+     * @throws IOException if the specification could not be read
+     * @throws BindingVerificationException if any line is malformed or does not match, with a
+     * {@link BindingSpecViolation} for each reported failure
+     */
+    public void verifySpec(final Reader spec, final int maxReportedFailures) throws IOException {
+        Objects.requireNonNull(spec, "Spec must not be null.");
+        if (maxReportedFailures <= 0) {
+            throw new IllegalArgumentException("Max reported failures must be positive.");
+        }
+
+        BindingSpecs.verify(this, spec, maxReportedFailures);
+    }
+
+    /**
+     * Records the explicit {@link Binding}s of the {@link Injector} as a specification file that
+     * {@link #verifySpec(Path)} accepts, replacing any existing file.
+     *
+     * @param spec the specification file to write, UTF-8 encoded
+     * @return the number of {@link Binding}s recorded
+     * @throws NullPointerException if the file is {@code null}
+     * @throws IOException if the specification could not be written
+     * @see #recordSpec(Writer)
+     */
+    public int recordSpec(final Path spec) throws IOException {
+        Objects.requireNonNull(spec, "Spec must not be null.");
+
+        try (Writer writer = Files.newBufferedWriter(spec, StandardCharsets.UTF_8)) {
+            return recordSpec(writer);
+        }
+    }
+
+    /**
+     * Records the explicit {@link Binding}s of the {@link Injector} as a specification that
+     * {@link #verifySpec(Reader, int)} accepts: the {@link Key}, {@link BindingKind}, target and
+     * {@link Scoping} of every {@link Binding}, one per line and sorted, so that recording the
+     * same bindings always produces the same output. Targets that cannot be named reproducibly,
+     * such as lambdas, are recorded as unchecked, and {@link Binding}s whose {@link Key} cannot
+     * be written are listed as comments.
+     *
+     * @param spec receives the specification, and is flushed but not closed
+     * @return the number of {@link Binding}s recorded
+     * @throws NullPointerException if the {@link Writer} is {@code null}
+     * @throws IOException if the specification could not be written
+     */
+    public int recordSpec(final Writer spec) throws IOException {
+        Objects.requireNonNull(spec, "Spec must not be null.");
+
+        return BindingSpecs.record(injector, spec);
+    }
+
+    /**
+     * Returns the {@link BindingIndex} of the {@link Injector}, building it on first use.
+     *
+     * @return the {@link BindingIndex} of the {@link Injector}
+     */
+    BindingIndex getBindingIndex() {
+        BindingIndex index = bindingIndex;
+        if (index == null) {
+            index = BindingIndex.of(injector);
+            bindingIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns an {@link OverriddenBindingsVerifier} for the {@link Binding}s that the overrides
+     * of the {@link InjectorTester} replaced.
+     *
+     * @return the {@link OverriddenBindingsVerifier}
+     * @throws IllegalStateException if the {@link InjectorTester} was not created by
+     * {@link OverridableModules}
+     */
+    public OverriddenBindingsVerifier verifyOverrides() {
+        if (overrides == null) {
+            throw new IllegalStateException(NO_OVERRIDES_ERROR);
+        }
+        return overrides;
+    }
+
+    /**
+     * Instantiates every explicit {@link Binding} once in a fresh {@link Stage#PRODUCTION}
+     * {@link Injector} created from the same {@link Module}s, and ranks the constructors and
+     * providers by the time spent in them, excluding the time spent provisioning their
+     * dependencies.
+     * <p>
+     * Instrumentation {@link Module}s, such as a {@link ProvisionSamplingProfiler}, are installed
+     * into the fresh {@link Injector} alongside the tested {@link Module}s. If one of them is a
+     * {@link ProvisionWatchdog}, provisioning runs under its supervision so that deadlocks and
+     * hanging provisions fail fast instead of blocking the test.
+     *
+     * @param instrumentation additional {@link Module}s to install into the fresh {@link Injector}
+     * @return the {@link ProvisioningReport}
+     * @throws NullPointerException if the instrumentation or any of its elements are {@code null}
+     * @throws IllegalStateException if the {@link InjectorTester} was not created from
+     * {@link Module}s
+     * @throws ProvisioningHangException if provisioning deadlocks or a provision exceeds a
+     * {@link ProvisionWatchdog}'s time limit
+     */
+    public ProvisioningReport provisionAllBindings(final Module... instrumentation) {
+        Objects.requireNonNull(instrumentation, NULL_MODULES_ERROR);
+        final List<Module> instrumented = new ArrayList<>(requireModules());
+        ProvisionWatchdog watchdog = null;
+        for (final Module module : instrumentation) {
+            instrumented.add(Objects.requireNonNull(module, NULL_MODULE_ERROR));
+            if (module instanceof ProvisionWatchdog) {
+                watchdog = (ProvisionWatchdog) module;
+            }
+        }
+
+        final ProvisionTimer timer = new ProvisionTimer();
+        instrumented.add(timer);
+        instrumented.add(new FlightRecorderModule());
+        final Runnable provisioning =
+                () -> provisionAll(createInjector(Stage.PRODUCTION, instrumented));
+
+        if (watchdog == null) {
+            provisioning.run();
+        } else {
+            watchdog.watch(provisioning);
+        }
+        return timer.getReport();
+    }
+
+    /**
+     * Measures the {@link Module}s for a {@link PerformanceHistory}. Each run creates a fresh
+     * {@link Stage#PRODUCTION} {@link Injector} and provisions every explicit {@link Binding}
+     * once, recording the creation time, the bytes allocated and the time spent in each
+     * constructor and provider. The median of each metric over the runs is reported, which
+     * filters out outliers such as the class loading of the first run.
+     *
+     * @param runs the number of runs to take the median of
+     * @return the {@link PerformanceRun}
+     * @throws IllegalArgumentException if the number of runs is not positive
+     * @throws IllegalStateException if the {@link InjectorTester} was not created from
+     * {@link Module}s
+     */
+    public PerformanceRun measurePerformance(final int runs) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("Runs must be positive.");
+        }
+        final List<Module> tested = requireModules();
+
+        final Map<String, long[]> samples = new HashMap<>();
+        for (int run = 0; run < runs; run++) {
+            final List<Module> instrumented = new ArrayList<>(tested);
+            final ProvisionTimer timer = new ProvisionTimer();
+            instrumented.add(timer);
+
+            final long allocatedBefore = Allocations.allocatedBytes();
+            final long start = System.nanoTime();
+            final Injector production = createInjector(Stage.PRODUCTION, instrumented);
+            final long creationNanos = System.nanoTime() - start;
+            provisionAll(production);
+            final long allocatedAfter = Allocations.allocatedBytes();
+
+            sample(samples, PerformanceRun.INJECTOR_CREATION_NANOS, run, runs, creationNanos);
+            if (allocatedBefore >= 0L) {
+                sample(samples, PerformanceRun.ALLOCATED_BYTES, run, runs,
+                        allocatedAfter - allocatedBefore);
+            }
+            for (final ProvisionTiming timing : timer.getReport().getRanking()) {
+                sample(samples, PerformanceRun.provisionNanos(timing.getKey()), run, runs,
+                        timing.getSelfNanos());
+            }
+        }
+
+        final Map<String, Long> medians = new HashMap<>();
+        for (final Map.Entry<String, long[]> metric : samples.entrySet()) {
+            medians.put(metric.getKey(), Statistics.median(metric.getValue()));
+        }
+        return new PerformanceRun(ModuleFingerprint.of(tested), medians);
+    }
+
+    /**
+     * Estimates the retained size of the instance of every explicit {@link Binding} made with
+     * {@code toInstance()} and, unless the {@link Injector} is in {@link Stage#TOOL}, of every
+     * singleton, and ranks them. Singletons that were not provisioned yet are provisioned.
+     * {@link Injector}s are not counted, so singletons holding injected
+     * {@link com.google.inject.Provider}s are sized without the whole {@link Injector}, as by
+     * {@link InstanceBindingVerifier#withMaxRetainedSize(long)}.
+     *
+     * @return the {@link RetainedSizeReport}
+     */
+    public RetainedSizeReport estimateRetainedSizes() {
+        final Binding<Stage> stage = injector.getBinding(Stage.class);
+        final boolean provisionable = !(stage instanceof InstanceBinding)
+                || ((InstanceBinding<?>) stage).getInstance() != Stage.TOOL;
+
+        final List<RetainedSize> sizes = new ArrayList<>();
+        for (final Binding<?> binding : injector.getBindings().values()) {
+            final Object instance;
+            if (Bindings.isBuiltIn(binding.getKey())) {
+                continue;
+            } else if (binding instanceof InstanceBinding) {
+                instance = ((InstanceBinding<?>) binding).getInstance();
+            } else if (provisionable
+                    && binding.acceptScopingVisitor(SCOPING_RECORDER).isSingleton()) {
+                instance = binding.getProvider().get();
+            } else {
+                continue;
+            }
+            final RetainedSizeEstimator.Estimate estimate =
+                    RetainedSizeEstimator.estimateInstance(instance);
+            sizes.add(new RetainedSize(binding.getKey(), BindingKind.of(binding),
+                    estimate.getBytes(), estimate.isLowerBound()));
+        }
+        return new RetainedSizeReport(sizes);
+    }
+
+    /**
+     * Finds the {@link InstanceBinding}s of the {@link Injector} and its parents that bind the
+     * same object, or equal objects, under several {@link Key}s.
+     *
+     * @param minRetainedBytes the minimum estimated retained size of reported instances in bytes
+     * @return the {@link DuplicateInstanceReport}
+     * @throws IllegalArgumentException if the minimum retained size is negative
+     */
+    public DuplicateInstanceReport findDuplicateInstances(final long minRetainedBytes) {
+        if (minRetainedBytes < 0L) {
+            throw new IllegalArgumentException("Min retained bytes must not be negative.");
+        }
+
+        final List<InstanceBinding<?>> bindings = new ArrayList<>();
+        for (final Binding<?> binding : getBindingIndex().ofKind(BindingKind.INSTANCE)) {
+            if (!Bindings.isBuiltIn(binding.getKey())) {
+                bindings.add((InstanceBinding<?>) binding);
+            }
+        }
+        return DuplicateInstanceReport.of(bindings, minRetainedBytes);
+    }
+
+    /**
+     * Returns a snapshot of the provisioning counters recorded by the
+     * {@link ProvisionMetricsRecorder} installed in the {@link Injector}. This is intended for
+     * {@link InjectorTester}s wrapping an {@link Injector} used by an integration test, so that the
+     * test can assert on how often each {@link Key} was provisioned.
+     *
+     * @return the {@link ProvisionMetrics}
+     * @throws IllegalStateException if no {@link ProvisionMetricsRecorder} is installed in the
+     * {@link Injector}
+     */
+    public ProvisionMetrics getProvisionMetrics() {
+        final ProvisionMetrics metrics = findProvisionMetrics();
+        if (metrics == null) {
+            throw new IllegalStateException(NO_METRICS_ERROR);
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Returns a snapshot of the provisioning counters recorded by the
+     * {@link ProvisionMetricsRecorder} installed in the {@link Injector}, if any.
+     *
+     * @return the {@link ProvisionMetrics}, or {@code null} if no
+     * {@link ProvisionMetricsRecorder} is installed
+     */
+    @Nullable
+    ProvisionMetrics findProvisionMetrics() {
+        final Binding<ProvisionMetricsRecorder> binding =
+                injector.getExistingBinding(Key.get(ProvisionMetricsRecorder.class));
+        if (!(binding instanceof InstanceBinding)) {
+            return null;
+        }
+
+        return ((InstanceBinding<ProvisionMetricsRecorder>) binding).getInstance().getMetrics();
+    }
+
+    /**
+     * Returns the {@link LatencyDistribution} of every {@link Injector} created by
+     * {@link InjectorTester}s from {@link Module}s so far, including the fresh {@link Injector}s
+     * created by {@link #provisionAllBindings(Module...)}.
+     *
+     * @return the {@link LatencyDistribution} of {@link Injector} creation
+     */
+    public static LatencyDistribution getInjectorCreationLatencies() {
+        return INJECTOR_CREATION_LATENCIES.getDistribution();
+    }
+
+    /**
+     * Creates an {@link Injector}, recording how long the creation took.
+     *
+     * @param stage the {@link Stage} of the {@link Injector}
+     * @param modules the {@link Module}s of the {@link Injector}
+     * @return the {@link Injector}
+     */
+    private static Injector createInjector(final Stage stage, final List<Module> modules) {
+        final long start = System.nanoTime();
+        final Injector created = FlightRecorderEvents.createInjector(stage, modules);
+        INJECTOR_CREATION_LATENCIES.record(System.nanoTime() - start);
+        return created;
+    }
+
+    /**
+     * Creates an {@link InjectorTester} for a new child {@link Injector}, recording how long the
+     * creation took.
+     *
+     * @param parent the parent {@link Injector}
+     * @param parentModules the {@link Module}s of the parent {@link Injector}
+     * @param childModules the {@link Module}s of the child {@link Injector}
+     * @return the {@link InjectorTester} for the child {@link Injector}
+     */
+    static InjectorTester ofChild(final Injector parent, final List<Module> parentModules,
+            final List<Module> childModules) {
+        final long start = System.nanoTime();
+        final Injector child = parent.createChildInjector(childModules);
+        INJECTOR_CREATION_LATENCIES.record(System.nanoTime() - start);
+
+        final List<Module> all = new ArrayList<>(parentModules);
+        all.addAll(childModules);
+        return new InjectorTester(all, child, null);
+    }
+
+    /**
+     * Creates an {@link InjectorTester} for base {@link Module}s with overrides.
+     *
+     * @param stage the {@link Stage} of the {@link Injector}
+     * @param module the {@link Module} to create the {@link Injector} from
+     * @param equivalent a {@link Module} from which equivalent {@link Injector}s can be created
+     * @param overrides the {@link OverriddenBindingsVerifier} describing the overrides
+     * @return the {@link InjectorTester}
+     */
+    static InjectorTester ofOverrides(final Stage stage, final Module module,
+            final Module equivalent, final OverriddenBindingsVerifier overrides) {
+        return new InjectorTester(Collections.singletonList(equivalent),
+                createInjector(stage, Collections.singletonList(module)), overrides);
+    }
+
+    /**
+     * Provisions every explicit {@link Binding} of the {@link Injector} once.
+     *
+     * @param injector the {@link Injector}
+     */
+    private static void provisionAll(final Injector injector) {
+        for (final Key<?> key : injector.getBindings().keySet()) {
+            injector.getInstance(key);
+        }
+    }
+
+    /**
+     * Stores a sample of a metric taken in a run.
+     *
+     * @param samples the samples of every metric, one per run
+     * @param metric the name of the metric
+     * @param run the index of the run
+     * @param runs the number of runs
+     * @param value the value of the metric
+     */
+    private static void sample(final Map<String, long[]> samples, final String metric,
+            final int run, final int runs, final long value) {
+        samples.computeIfAbsent(metric, name -> new long[runs])[run] = value;
+    }
+
+    /**
+     * Returns the {@link Module}s from which the {@link Injector} was created.
+     *
+     * @return the {@link Module}s
+     * @throws IllegalStateException if the {@link InjectorTester} was not created from
+     * {@link Module}s
+     */
+    List<Module> requireModules() {
+        if (modules == null) {
+            throw new IllegalStateException(NO_MODULES_ERROR);
+        }
+        return modules;
+    }
+
     /**
      * Returns the {@link Injector} being tested.
      *
@@ -109,6 +597,17 @@ public class InjectorTester {
         return injector;
     }
 
+    /**
+     * Returns the {@link Module}s from which the {@link Injector} was created, or {@code null} if
+     * the {@link InjectorTester} was created from an existing {@link Injector}.
+     *
+     * @return the {@link Module}s, or {@code null}
+     */
+    @Nullable
+    List<Module> getModules() {
+        return modules;
+    }
+
     /**
      * Indicates whether the {@link Object} can potentially be equal to "this".
      *
@@ -134,6 +633,7 @@ public class InjectorTester {
             final InjectorTester rhs = (InjectorTester) obj;
             return rhs.canEqual(this) && new EqualsBuilder()
                     .append(getInjector(), rhs.getInjector())
+                    .append(getModules(), rhs.getModules())
                     .isEquals();
         } else {
             return false;
@@ -147,6 +647,6 @@ public class InjectorTester {
      */
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(getInjector()).toHashCode();
+        return new HashCodeBuilder().append(getInjector()).append(getModules()).toHashCode();
     }
 }
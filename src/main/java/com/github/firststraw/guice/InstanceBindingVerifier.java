@@ -65,6 +65,79 @@ public class InstanceBindingVerifier<T> implements BindingVerifier<T> {
         }
     }
 
+    /**
+     * Verifies that the {@link InstanceBinding} is bound to an instance that is structurally
+     * equal to the expected instance: of the same class, with structurally equal fields, and
+     * with collections of structurally equal elements. Unlike
+     * {@link #withEqualInstance(Object)}, this does not depend on {@code equals()}, which many
+     * configuration objects lack or implement slowly.
+     *
+     * @param expectedInstance the expected instance
+     * @return "this" {@link InstanceBindingVerifier}
+     * @throws IncorrectBindingTargetException if the instance is not structurally equal to the
+     * expected instance, naming the path to the first difference
+     */
+    public InstanceBindingVerifier<T> withStructurallyEqualInstance(final T expectedInstance) {
+        Objects.requireNonNull(expectedInstance, NULL_EXPECTED_INSTANCE_ERROR);
+
+        final String difference = StructuralEquality.findDifference("instance", expectedInstance,
+                binding.getInstance());
+        if (difference == null) {
+            return this;
+        } else {
+            throw new IncorrectBindingTargetException(difference);
+        }
+    }
+
+    /**
+     * Verifies that the {@link InstanceBinding} is bound to an instance of exactly the expected
+     * class.
+     *
+     * @param expectedType the expected class of the instance
+     * @return "this" {@link InstanceBindingVerifier}
+     * @throws NullPointerException if the expected class is {@code null}
+     * @throws IncorrectBindingTargetException if the instance is of another class
+     */
+    public InstanceBindingVerifier<T> withInstanceOfType(final Class<?> expectedType) {
+        Objects.requireNonNull(expectedType, "Expected type must not be null.");
+
+        final Class<?> type = binding.getInstance().getClass();
+        if (expectedType.equals(type)) {
+            return this;
+        } else {
+            throw new IncorrectBindingTargetException(expectedType, type);
+        }
+    }
+
+    /**
+     * Verifies that the instance of the {@link InstanceBinding} retains at most the given number of
+     * bytes, as estimated by walking its object graph. This catches large objects, such as lookup
+     * tables, that were bound as instances by accident. If parts of the object graph cannot be
+     * sized, the estimate is a lower bound, which is still checked against the maximum.
+     * {@link com.google.inject.Injector}s referenced by the instance, for example through
+     * injected {@link com.google.inject.Provider}s, are not counted, as in
+     * {@link InjectorTester#estimateRetainedSizes()}.
+     *
+     * @param maxBytes the maximum retained size in bytes
+     * @return "this" {@link InstanceBindingVerifier}
+     * @throws IllegalArgumentException if the maximum retained size is negative
+     * @throws ExcessiveRetainedSizeException if the instance retains more than the maximum
+     */
+    public InstanceBindingVerifier<T> withMaxRetainedSize(final long maxBytes) {
+        if (maxBytes < 0L) {
+            throw new IllegalArgumentException("Max bytes must not be negative.");
+        }
+
+        final RetainedSizeEstimator.Estimate estimate =
+                RetainedSizeEstimator.estimateInstance(binding.getInstance());
+        if (estimate.getBytes() <= maxBytes) {
+            return this;
+        } else {
+            throw new ExcessiveRetainedSizeException(binding.getKey(), maxBytes,
+                    estimate.getBytes(), estimate.isLowerBound());
+        }
+    }
+
     /**
      * Returns the {@link InstanceBinding} to verify.
      *
@@ -0,0 +1,147 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.spi.ProvisionListener.ProvisionInvocation;
+import java.util.Collection;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Flight Recorder event types. Only referenced through {@link FlightRecorderEvents}, which
+ * guards against JVMs without {@code jdk.jfr}.
+ */
+final class JfrEvents {
+
+    private static final String CATEGORY = "Guice Test Helper";
+    private static final ScopingRecorder SCOPING_RECORDER = new ScopingRecorder();
+
+    /**
+     * Prevents instantiation.
+     */
+    private JfrEvents() {
+    }
+
+    /**
+     * Creates an {@link Injector}, emitting an {@link InjectorCreated} event.
+     *
+     * @param stage the {@link Stage} of the {@link Injector}
+     * @param modules the {@link Module}s of the {@link Injector}
+     * @return the {@link Injector}
+     */
+    static Injector createInjector(final Stage stage, final Collection<? extends Module> modules) {
+        final InjectorCreated event = new InjectorCreated();
+        event.begin();
+        final Injector injector = Guice.createInjector(stage, modules);
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = stage.name();
+            event.moduleCount = modules.size();
+            event.bindingCount = injector.getAllBindings().size();
+            event.commit();
+        }
+        return injector;
+    }
+
+    /**
+     * Emits a {@link BindingVerified} event.
+     *
+     * @param binding the {@link Binding} being verified
+     */
+    static void bindingVerified(final Binding<?> binding) {
+        final BindingVerified event = new BindingVerified();
+        if (event.isEnabled()) {
+            event.key = binding.getKey().toString();
+            event.kind = BindingKind.of(binding).name();
+            event.commit();
+        }
+    }
+
+    /**
+     * Performs the provision, emitting a {@link BindingProvisioned} event.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision to perform
+     */
+    static <T> void provision(final ProvisionInvocation<T> provision) {
+        final BindingProvisioned event = new BindingProvisioned();
+        if (!event.isEnabled()) {
+            provision.provision();
+            return;
+        }
+
+        event.begin();
+        try {
+            provision.provision();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                final Binding<T> binding = provision.getBinding();
+                event.key = binding.getKey().toString();
+                event.scope = binding.acceptScopingVisitor(SCOPING_RECORDER).getDescription();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * An {@link Injector} was created.
+     */
+    @Name("com.github.firststraw.guice.InjectorCreated")
+    @Label("Injector Created")
+    @Description("Creation of a Guice injector")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class InjectorCreated extends Event {
+
+        @Label("Stage")
+        String stage;
+
+        @Label("Module Count")
+        int moduleCount;
+
+        @Label("Binding Count")
+        int bindingCount;
+    }
+
+    /**
+     * A {@link Binding} was looked up for verification.
+     */
+    @Name("com.github.firststraw.guice.BindingVerified")
+    @Label("Binding Verified")
+    @Description("Lookup of a binding by InjectorTester for verification")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class BindingVerified extends Event {
+
+        @Label("Key")
+        String key;
+
+        @Label("Kind")
+        String kind;
+    }
+
+    /**
+     * A {@link Binding} was provisioned.
+     */
+    @Name("com.github.firststraw.guice.BindingProvisioned")
+    @Label("Binding Provisioned")
+    @Description("Provisioning of a single binding, including its dependencies")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class BindingProvisioned extends Event {
+
+        @Label("Key")
+        String key;
+
+        @Label("Scope")
+        String scope;
+    }
+}
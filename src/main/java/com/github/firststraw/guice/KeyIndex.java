@@ -0,0 +1,41 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Assigns every {@link Key} a compact, stable, non-negative ID so that per-{@link Key} state can
+ * be kept in arrays indexed by ID instead of in maps keyed by {@link Key}.
+ */
+@ThreadSafe
+final class KeyIndex {
+
+    private final Map<Key<?>, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Returns the ID of the {@link Key}, assigning the next free ID on first use.
+     *
+     * @param key the {@link Key}
+     * @return the ID of the {@link Key}
+     */
+    int idOf(final Key<?> key) {
+        final Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(key, newKey -> nextId.getAndIncrement());
+    }
+
+    /**
+     * Returns the number of IDs assigned so far. Every assigned ID is less than this number.
+     *
+     * @return the number of IDs assigned so far
+     */
+    int size() {
+        return nextId.get();
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Weak pools of canonical {@link Key}s and {@link TypeLiteral}s. Suites driven by specifications
+ * parse millions of equal {@link Key}s from their records, so {@link Key}s are interned where
+ * this library creates them: when parsing binding specifications, and when
+ * {@link InjectorTester#verifyBindingFor(Class)}, the linked and provider key verifiers and
+ * {@link OverriddenBindingsVerifier} derive a {@link Key} from a class or {@link TypeLiteral}.
+ * {@link Key}s passed in by the caller are only compared and are not interned, since a lookup in
+ * the pool costs as much as the comparison it would save.
+ * <p>
+ * Canonical instances are held weakly and dropped once nothing else references them. The hit
+ * and miss counts show how much duplication the pools removed.
+ */
+@ThreadSafe
+public final class KeyInterner {
+
+    private static final WeakInterner<Key<?>> KEYS = new WeakInterner<>();
+    private static final WeakInterner<TypeLiteral<?>> TYPE_LITERALS = new WeakInterner<>();
+
+    /**
+     * Prevents instantiation.
+     */
+    private KeyInterner() {
+    }
+
+    /**
+     * Returns the canonical {@link Key} equal to the {@link Key}.
+     *
+     * @param <T> the type of the {@link Key}
+     * @param key the {@link Key}
+     * @return the canonical {@link Key}
+     * @throws NullPointerException if the {@link Key} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Key<T> intern(final Key<T> key) {
+        return (Key<T>) KEYS.intern(key);
+    }
+
+    /**
+     * Returns the canonical {@link TypeLiteral} equal to the {@link TypeLiteral}.
+     *
+     * @param <T> the type
+     * @param type the {@link TypeLiteral}
+     * @return the canonical {@link TypeLiteral}
+     * @throws NullPointerException if the {@link TypeLiteral} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TypeLiteral<T> intern(final TypeLiteral<T> type) {
+        return (TypeLiteral<T>) TYPE_LITERALS.intern(type);
+    }
+
+    /**
+     * Returns how many {@link Key}s and {@link TypeLiteral}s were replaced by an existing
+     * canonical instance.
+     *
+     * @return the number of hits
+     */
+    public static long getHitCount() {
+        return KEYS.getHitCount() + TYPE_LITERALS.getHitCount();
+    }
+
+    /**
+     * Returns how many {@link Key}s and {@link TypeLiteral}s became canonical instances.
+     *
+     * @return the number of misses
+     */
+    public static long getMissCount() {
+        return KEYS.getMissCount() + TYPE_LITERALS.getMissCount();
+    }
+
+    /**
+     * Returns the number of canonical {@link Key}s and {@link TypeLiteral}s that have not been
+     * garbage collected yet.
+     *
+     * @return the number of canonical instances
+     */
+    public static int size() {
+        return KEYS.size() + TYPE_LITERALS.size();
+    }
+}
@@ -0,0 +1,352 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.util.Types;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Converts {@link Key}s to and from a compact textual form, such as
+ * {@code java.util.Map<java.lang.String, java.util.List<?>>@com.google.inject.name.Named(db)}.
+ * Types use binary class names, so nested classes are written with {@code $}. A key may carry a
+ * marker binding annotation type or a {@link Named} annotation; other annotation instances with
+ * attributes cannot be represented.
+ */
+final class KeySpecs {
+
+    private static final String NAMED_PREFIX = "@" + Named.class.getName() + "(";
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (final Class<?> primitive : new Class<?>[]{boolean.class, byte.class, char.class,
+            short.class, int.class, long.class, float.class, double.class, void.class}) {
+            PRIMITIVES.put(primitive.getName(), primitive);
+        }
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private KeySpecs() {
+    }
+
+    /**
+     * Returns the textual form of the {@link Key}.
+     *
+     * @param key the {@link Key}
+     * @return the textual form of the {@link Key}
+     * @throws IllegalArgumentException if the {@link Key} cannot be represented
+     */
+    static String format(final Key<?> key) {
+        final StringBuilder spec = new StringBuilder();
+        formatType(key.getTypeLiteral().getType(), spec);
+
+        final Annotation annotation = key.getAnnotation();
+        if (annotation instanceof Named) {
+            spec.append(NAMED_PREFIX).append(((Named) annotation).value()).append(')');
+        } else if (annotation != null && key.hasAttributes()) {
+            throw new IllegalArgumentException("Cannot represent binding annotation " + annotation
+                    + " of " + key + "; only marker annotations and @Named are supported.");
+        } else if (key.getAnnotationType() != null) {
+            spec.append('@').append(key.getAnnotationType().getName());
+        }
+        return spec.toString();
+    }
+
+    /**
+     * Returns the textual form of the {@link Type}.
+     *
+     * @param type the {@link Type}
+     * @return the textual form of the {@link Type}
+     * @throws IllegalArgumentException if the {@link Type} cannot be represented
+     */
+    static String formatType(final Type type) {
+        final StringBuilder spec = new StringBuilder();
+        formatType(type, spec);
+        return spec.toString();
+    }
+
+    /**
+     * Appends the textual form of the {@link Type}.
+     *
+     * @param type the {@link Type}
+     * @param spec receives the textual form
+     * @throws IllegalArgumentException if the {@link Type} cannot be represented
+     */
+    private static void formatType(final Type type, final StringBuilder spec) {
+        if (type instanceof Class) {
+            final Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray()) {
+                formatType(clazz.getComponentType(), spec);
+                spec.append("[]");
+            } else {
+                spec.append(clazz.getName());
+            }
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            formatType(parameterized.getRawType(), spec);
+            String separator = "<";
+            for (final Type argument : parameterized.getActualTypeArguments()) {
+                spec.append(separator);
+                formatType(argument, spec);
+                separator = ", ";
+            }
+            spec.append('>');
+        } else if (type instanceof GenericArrayType) {
+            formatType(((GenericArrayType) type).getGenericComponentType(), spec);
+            spec.append("[]");
+        } else if (type instanceof WildcardType) {
+            final WildcardType wildcard = (WildcardType) type;
+            spec.append('?');
+            if (wildcard.getLowerBounds().length > 0) {
+                spec.append(" super ");
+                formatType(wildcard.getLowerBounds()[0], spec);
+            } else if (!Object.class.equals(wildcard.getUpperBounds()[0])) {
+                spec.append(" extends ");
+                formatType(wildcard.getUpperBounds()[0], spec);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot represent type " + type + ".");
+        }
+    }
+
+    /**
+     * Parses the textual form of a {@link Key}. Specifications name the same {@link Key}s in
+     * every record that binds or targets them, so the parsed {@link Key} is the canonical
+     * instance of the {@link KeyInterner}.
+     *
+     * @param spec the textual form
+     * @param classLoader the {@link ClassLoader} to load classes with
+     * @return the canonical {@link Key}
+     * @throws IllegalArgumentException if the textual form is malformed or names a class that
+     * cannot be loaded
+     */
+    static Key<?> parse(final String spec, final ClassLoader classLoader) {
+        return KeyInterner.intern(parseKey(spec, classLoader));
+    }
+
+    /**
+     * Parses the textual form of a {@link Key} into a new {@link Key}.
+     *
+     * @param spec the textual form
+     * @param classLoader the {@link ClassLoader} to load classes with
+     * @return the {@link Key}
+     * @throws IllegalArgumentException if the textual form is malformed or names a class that
+     * cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    private static Key<?> parseKey(final String spec, final ClassLoader classLoader) {
+        final int at = spec.indexOf('@');
+        final Type type = parseType(at < 0 ? spec : spec.substring(0, at), classLoader);
+        if (at < 0) {
+            return Key.get(type);
+        }
+
+        final String annotation = spec.substring(at);
+        if (annotation.startsWith(NAMED_PREFIX) && annotation.endsWith(")")) {
+            return Key.get(type, Names.named(
+                    annotation.substring(NAMED_PREFIX.length(), annotation.length() - 1)));
+        }
+        final Class<?> annotationType = load(annotation.substring(1).trim(), classLoader);
+        if (!annotationType.isAnnotation()) {
+            throw new IllegalArgumentException(annotationType + " is not an annotation.");
+        }
+        return Key.get(type, (Class<? extends Annotation>) annotationType);
+    }
+
+    /**
+     * Parses the textual form of a {@link Type}.
+     *
+     * @param spec the textual form
+     * @param classLoader the {@link ClassLoader} to load classes with
+     * @return the {@link Type}
+     * @throws IllegalArgumentException if the textual form is malformed or names a class that
+     * cannot be loaded
+     */
+    static Type parseType(final String spec, final ClassLoader classLoader) {
+        final TypeParser parser = new TypeParser(spec, classLoader);
+        final Type type = parser.type();
+        parser.skipSpaces();
+        if (!parser.atEnd()) {
+            throw parser.malformed();
+        }
+        return type;
+    }
+
+    /**
+     * Loads the class with the binary name or primitive type name.
+     *
+     * @param name the name
+     * @param classLoader the {@link ClassLoader} to load the class with
+     * @return the class
+     * @throws IllegalArgumentException if the class cannot be loaded
+     */
+    static Class<?> load(final String name, final ClassLoader classLoader) {
+        final Class<?> primitive = PRIMITIVES.get(name);
+        if (primitive != null) {
+            return primitive;
+        }
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (final ClassNotFoundException | LinkageError ex) {
+            throw new IllegalArgumentException("Cannot load class " + name + ".", ex);
+        }
+    }
+
+    /**
+     * Recursive descent parser for the textual form of a {@link Type}.
+     */
+    private static final class TypeParser {
+
+        private final String spec;
+        private final ClassLoader classLoader;
+        private int position;
+
+        /**
+         * @param spec the textual form
+         * @param classLoader the {@link ClassLoader} to load classes with
+         */
+        TypeParser(final String spec, final ClassLoader classLoader) {
+            this.spec = Objects.requireNonNull(spec, "Spec must not be null.");
+            this.classLoader = classLoader;
+        }
+
+        /**
+         * Parses a type, including type arguments and array dimensions.
+         *
+         * @return the {@link Type}
+         */
+        Type type() {
+            skipSpaces();
+            final int start = position;
+            while (!atEnd() && (Character.isJavaIdentifierPart(peek()) || peek() == '.')) {
+                position++;
+            }
+            if (start == position) {
+                throw malformed();
+            }
+            final Class<?> raw = load(spec.substring(start, position), classLoader);
+
+            Type type = raw;
+            skipSpaces();
+            if (!atEnd() && peek() == '<') {
+                position++;
+                final List<Type> arguments = new ArrayList<>();
+                do {
+                    arguments.add(argument());
+                    skipSpaces();
+                } while (consume(','));
+                expect('>');
+                final Type[] array = arguments.toArray(new Type[0]);
+                type = raw.getEnclosingClass() == null
+                        ? Types.newParameterizedType(raw, array)
+                        : Types.newParameterizedTypeWithOwner(raw.getEnclosingClass(), raw, array);
+            }
+
+            skipSpaces();
+            while (consume('[')) {
+                expect(']');
+                type = type instanceof Class
+                        ? Array.newInstance((Class<?>) type, 0).getClass()
+                        : Types.arrayOf(type);
+                skipSpaces();
+            }
+            return type;
+        }
+
+        /**
+         * Parses a type argument, which may be a wildcard.
+         *
+         * @return the {@link Type}
+         */
+        private Type argument() {
+            skipSpaces();
+            if (!consume('?')) {
+                return type();
+            }
+            skipSpaces();
+            if (spec.startsWith("extends", position)) {
+                position += "extends".length();
+                return Types.subtypeOf(type());
+            } else if (spec.startsWith("super", position)) {
+                position += "super".length();
+                return Types.supertypeOf(type());
+            }
+            return Types.subtypeOf(Object.class);
+        }
+
+        /**
+         * Skips whitespace.
+         */
+        void skipSpaces() {
+            while (!atEnd() && peek() == ' ') {
+                position++;
+            }
+        }
+
+        /**
+         * Returns whether the whole textual form was parsed.
+         *
+         * @return {@code true} if the whole textual form was parsed
+         */
+        boolean atEnd() {
+            return position >= spec.length();
+        }
+
+        /**
+         * Returns the current character.
+         *
+         * @return the current character
+         */
+        private char peek() {
+            return spec.charAt(position);
+        }
+
+        /**
+         * Consumes the character if it is the current one.
+         *
+         * @param expected the character
+         * @return {@code true} if the character was consumed
+         */
+        private boolean consume(final char expected) {
+            if (!atEnd() && peek() == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Consumes the character, which must be the current one.
+         *
+         * @param expected the character
+         * @throws IllegalArgumentException if the character is not the current one
+         */
+        private void expect(final char expected) {
+            if (!consume(expected)) {
+                throw malformed();
+            }
+        }
+
+        /**
+         * Returns an exception describing where the textual form is malformed.
+         *
+         * @return the exception
+         */
+        IllegalArgumentException malformed() {
+            return new IllegalArgumentException(
+                    "Malformed type \"" + spec + "\" at position " + position + ".");
+        }
+    }
+}
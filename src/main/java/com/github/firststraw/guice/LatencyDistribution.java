@@ -0,0 +1,154 @@
+package com.github.firststraw.guice;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Immutable snapshot of a {@link LatencyHistogram}, answering percentile queries.
+ */
+@Immutable
+public class LatencyDistribution {
+
+    private final long[] counts;
+    private final int firstBucket;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    /**
+     * @param counts the number of latencies per bucket, starting at the first bucket, which is not
+     * copied; the buckets it does not cover are empty
+     * @param firstBucket the index of the bucket of the first count
+     * @param sum the sum of the latencies recorded, in nanoseconds
+     * @param max the largest latency recorded, in nanoseconds
+     */
+    LatencyDistribution(final long[] counts, final int firstBucket, final long sum,
+            final long max) {
+        this.counts = counts;
+        this.firstBucket = firstBucket;
+        long total = 0L;
+        for (final long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * Returns an empty {@link LatencyDistribution}.
+     *
+     * @return an empty {@link LatencyDistribution}
+     */
+    static LatencyDistribution empty() {
+        return new LatencyDistribution(new long[0], 0, 0L, 0L);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the number of latencies recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the latencies recorded, in nanoseconds.
+     *
+     * @return the sum of the latencies recorded, in nanoseconds
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the largest latency recorded, in nanoseconds.
+     *
+     * @return the largest latency recorded, in nanoseconds, or zero if none were recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the latency at or below which the percentage of recorded latencies falls, accurate
+     * to the resolution of the {@link LatencyHistogram}.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency at the percentile, in nanoseconds, or zero if none were recorded
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (count == 0L) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0L;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueIn(firstBucket + bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the median latency, in nanoseconds.
+     *
+     * @return the median latency, in nanoseconds
+     */
+    public long getP50() {
+        return getValueAtPercentile(50.0);
+    }
+
+    /**
+     * Returns the 90th percentile latency, in nanoseconds.
+     *
+     * @return the 90th percentile latency, in nanoseconds
+     */
+    public long getP90() {
+        return getValueAtPercentile(90.0);
+    }
+
+    /**
+     * Returns the 99th percentile latency, in nanoseconds.
+     *
+     * @return the 99th percentile latency, in nanoseconds
+     */
+    public long getP99() {
+        return getValueAtPercentile(99.0);
+    }
+
+    /**
+     * Returns the number of latencies recorded in buckets whose values are all at most the
+     * bound, which are the latencies at most the bound to the resolution of the
+     * {@link LatencyHistogram}.
+     *
+     * @param nanos the bound, in nanoseconds
+     * @return the number of latencies at most the bound
+     */
+    long getCountAtOrBelow(final long nanos) {
+        long seen = 0L;
+        for (int bucket = 0; bucket < counts.length
+                && LatencyHistogram.highestValueIn(firstBucket + bucket) <= nanos; bucket++) {
+            seen += counts[bucket];
+        }
+        return seen;
+    }
+
+    /**
+     * Returns a human-readable summary of the distribution.
+     *
+     * @return a human-readable summary of the distribution
+     */
+    @Override
+    public String toString() {
+        return String.format("p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms, count %d",
+                getP50() / 1e6, getP90() / 1e6, getP99() / 1e6, max / 1e6, count);
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.firststraw.guice;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Compact latency histogram with log-linear buckets. Every power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so every recorded value is reported within about 6%
+ * of its true value. The sub-buckets of a power of two are allocated when it first records a
+ * value, so a histogram costs a few hundred bytes plus about 150 bytes per power of two its
+ * latencies span. Recording takes constant time and never locks, so a single
+ * {@link LatencyHistogram} can be shared by every recording thread. Values above 2<sup>44</sup>
+ * nanoseconds, about 4.9 hours, are clamped to the last bucket, while the maximum is tracked
+ * exactly.
+ */
+@ThreadSafe
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 43;
+    private static final int GROUP_COUNT = MAX_EXPONENT - SUB_BUCKET_BITS + 2;
+    static final int BUCKET_COUNT = GROUP_COUNT * SUB_BUCKETS;
+    private static final long MAX_TRACKABLE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    /**
+     * The counts of the buckets, in groups of {@value #SUB_BUCKETS} per power of two, each
+     * allocated on first use.
+     */
+    private final AtomicReferenceArray<AtomicLongArray> groups =
+            new AtomicReferenceArray<>(GROUP_COUNT);
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Records a latency. Negative latencies are recorded as zero.
+     *
+     * @param nanos the latency, in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+        final int bucket = bucketOf(Math.min(value, MAX_TRACKABLE));
+        group(bucket / SUB_BUCKETS).incrementAndGet(bucket % SUB_BUCKETS);
+        sum.addAndGet(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Adds every latency recorded by the other {@link LatencyHistogram} to "this"
+     * {@link LatencyHistogram}.
+     *
+     * @param other the other {@link LatencyHistogram}
+     * @throws NullPointerException if the other {@link LatencyHistogram} is {@code null}
+     */
+    public void merge(final LatencyHistogram other) {
+        Objects.requireNonNull(other, "Other histogram must not be null.");
+
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            final AtomicLongArray otherCounts = other.groups.get(group);
+            if (otherCounts == null) {
+                continue;
+            }
+            for (int subBucket = 0; subBucket < SUB_BUCKETS; subBucket++) {
+                final long count = otherCounts.get(subBucket);
+                if (count != 0L) {
+                    group(group).addAndGet(subBucket, count);
+                }
+            }
+        }
+        sum.addAndGet(other.sum.get());
+        final long otherMax = other.max.get();
+        long current = max.get();
+        while (otherMax > current && !max.compareAndSet(current, otherMax)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Returns an immutable {@link LatencyDistribution} of the latencies recorded so far. Only the
+     * buckets from the lowest to the highest allocated power of two are copied.
+     *
+     * @return the {@link LatencyDistribution}
+     */
+    public LatencyDistribution getDistribution() {
+        int lowest = 0;
+        while (lowest < GROUP_COUNT && groups.get(lowest) == null) {
+            lowest++;
+        }
+        int highest = GROUP_COUNT - 1;
+        while (highest >= lowest && groups.get(highest) == null) {
+            highest--;
+        }
+
+        final long[] snapshot = new long[Math.max(0, highest - lowest + 1) * SUB_BUCKETS];
+        for (int group = lowest; group <= highest; group++) {
+            final AtomicLongArray counts = groups.get(group);
+            if (counts != null) {
+                for (int subBucket = 0; subBucket < SUB_BUCKETS; subBucket++) {
+                    snapshot[(group - lowest) * SUB_BUCKETS + subBucket] = counts.get(subBucket);
+                }
+            }
+        }
+        return new LatencyDistribution(snapshot, lowest * SUB_BUCKETS, sum.get(), max.get());
+    }
+
+    /**
+     * Returns the counts of a power of two, allocating them on first use.
+     *
+     * @param group the index of the power of two
+     * @return the counts of its sub-buckets
+     */
+    private AtomicLongArray group(final int group) {
+        final AtomicLongArray counts = groups.get(group);
+        if (counts != null) {
+            return counts;
+        }
+        groups.compareAndSet(group, null, new AtomicLongArray(SUB_BUCKETS));
+        return groups.get(group);
+    }
+
+    /**
+     * Returns the index of the bucket containing the value.
+     *
+     * @param value the non-negative value, at most the maximum trackable value
+     * @return the index of the bucket
+     */
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value contained in the bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the largest value contained in the bucket
+     */
+    static long highestValueIn(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = SUB_BUCKETS + bucket % SUB_BUCKETS;
+        return ((subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -40,7 +40,7 @@ public class LinkedKeyBindingVerifier<T> implements BindingVerifier<T> {
     public LinkedKeyBindingVerifier<T> withClass(final Class<? extends T> expectedType) {
         Objects.requireNonNull(expectedType, NULL_EXPECTED_TYPE_ERROR);
 
-        return withKey(Key.get(expectedType));
+        return withKey(ReflectionCache.key(expectedType));
     }
 
     /**
@@ -55,7 +55,7 @@ public class LinkedKeyBindingVerifier<T> implements BindingVerifier<T> {
             final TypeLiteral<? extends T> expectedType) {
         Objects.requireNonNull(expectedType, NULL_EXPECTED_TYPE_ERROR);
 
-        return withKey(Key.get(expectedType));
+        return withKey(ReflectionCache.key(expectedType));
     }
 
     /**
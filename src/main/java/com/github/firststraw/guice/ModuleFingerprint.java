@@ -0,0 +1,65 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identifies a set of {@link Module}s by their {@link Binding}s rather than by source control
+ * revision, so that measurements stay comparable across commits that do not change the bindings.
+ */
+final class ModuleFingerprint {
+
+    private static final ScopingRecorder SCOPING_RECORDER = new ScopingRecorder();
+
+    /**
+     * Prevents instantiation.
+     */
+    private ModuleFingerprint() {
+    }
+
+    /**
+     * Returns the SHA-256 hash, in hexadecimal, of the sorted descriptions of the
+     * {@link Binding}s of the {@link Module}s. Each description consists of the {@link Binding}'s
+     * key, {@link BindingKind} and {@link Scoping}.
+     *
+     * @param modules the {@link Module}s
+     * @return the fingerprint of the {@link Module}s
+     */
+    static String of(final Iterable<? extends Module> modules) {
+        final List<String> descriptions = new ArrayList<>();
+        for (final Element element : Elements.getElements(Stage.TOOL, modules)) {
+            if (element instanceof Binding) {
+                final Binding<?> binding = (Binding<?>) element;
+                descriptions.add(binding.getKey() + " " + BindingKind.of(binding) + " "
+                        + binding.acceptScopingVisitor(SCOPING_RECORDER).getDescription());
+            }
+        }
+        Collections.sort(descriptions);
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported.", ex);
+        }
+        for (final String description : descriptions) {
+            digest.update(description.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+
+        final StringBuilder hex = new StringBuilder();
+        for (final byte hashByte : digest.digest()) {
+            hex.append(String.format("%02x", hashByte));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the binding statistics of an {@link InjectorTester} in the OpenMetrics text exposition
+ * format, for CI dashboards that archive metric files. The following metric families are written:
+ * <ul>
+ * <li>{@code guice_bindings_by_scoping}: the number of {@link Binding}s per {@link Scoping}</li>
+ * <li>{@code guice_bindings_by_kind}: the number of {@link Binding}s per {@link BindingKind}</li>
+ * <li>{@code guice_injector_creation_seconds}: a histogram of the time taken to create
+ * {@link Injector}s, see {@link InjectorTester#getInjectorCreationLatencies()}</li>
+ * <li>{@code guice_provision_seconds} and {@code guice_provision_instances}: per-key provisioning
+ * histograms and instance counts, if a {@link ProvisionMetricsRecorder} is installed</li>
+ * </ul>
+ * The provisioning families are written from a single snapshot of the
+ * {@link ProvisionMetricsRecorder}, so both families describe the same provisions. The binding
+ * counts and that snapshot are held in memory while the text is written to the {@link Writer}.
+ */
+public class OpenMetricsExporter {
+
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+        TimeUnit.MICROSECONDS.toNanos(1L),
+        TimeUnit.MICROSECONDS.toNanos(10L),
+        TimeUnit.MICROSECONDS.toNanos(100L),
+        TimeUnit.MILLISECONDS.toNanos(1L),
+        TimeUnit.MILLISECONDS.toNanos(10L),
+        TimeUnit.MILLISECONDS.toNanos(100L),
+        TimeUnit.SECONDS.toNanos(1L),
+        TimeUnit.SECONDS.toNanos(10L)
+    };
+    private static final String[] BUCKET_LABELS = {
+        "0.000001", "0.00001", "0.0001", "0.001", "0.01", "0.1", "1.0", "10.0"
+    };
+    private static final ScopingRecorder SCOPING_RECORDER = new ScopingRecorder();
+
+    private final InjectorTester tester;
+
+    /**
+     * @param tester the {@link InjectorTester} whose statistics to export
+     * @throws NullPointerException if the {@link InjectorTester} is {@code null}
+     */
+    public OpenMetricsExporter(final InjectorTester tester) {
+        this.tester = Objects.requireNonNull(tester, "Tester must not be null.");
+    }
+
+    /**
+     * Writes the metrics to the file, replacing its contents.
+     *
+     * @param file the file
+     * @throws NullPointerException if the file is {@code null}
+     * @throws IOException if the file could not be written
+     */
+    public void writeTo(final Path file) throws IOException {
+        Objects.requireNonNull(file, "File must not be null.");
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeTo(writer);
+        }
+    }
+
+    /**
+     * Writes the metrics to the {@link Writer}, which is flushed but not closed.
+     *
+     * @param writer the {@link Writer}
+     * @throws NullPointerException if the {@link Writer} is {@code null}
+     * @throws IOException if the metrics could not be written
+     */
+    public void writeTo(final Writer writer) throws IOException {
+        Objects.requireNonNull(writer, "Writer must not be null.");
+
+        final Writer out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        writeBindingCounts(out);
+
+        family(out, "guice_injector_creation_seconds", "histogram",
+                "Time taken to create injectors.");
+        writeHistogram(out, "guice_injector_creation_seconds", "",
+                InjectorTester.getInjectorCreationLatencies());
+
+        final ProvisionMetrics metrics = tester.findProvisionMetrics();
+        if (metrics != null) {
+            final Collection<ProvisionCounts> allCounts = metrics.getAllCounts();
+            family(out, "guice_provision_seconds", "histogram",
+                    "Time taken to provision each key, including its dependencies.");
+            for (final ProvisionCounts counts : allCounts) {
+                writeHistogram(out, "guice_provision_seconds", keyLabel(counts),
+                        counts.getLatencies());
+            }
+
+            family(out, "guice_provision_instances", "counter",
+                    "Number of provisions of each key that produced an instance.");
+            for (final ProvisionCounts counts : allCounts) {
+                out.append("guice_provision_instances_total{").append(keyLabel(counts))
+                        .append("} ").append(Long.toString(counts.getInstanceCount())).append('\n');
+            }
+        }
+
+        out.append("# EOF\n");
+        out.flush();
+    }
+
+    /**
+     * Writes the number of {@link Binding}s per {@link Scoping} and per {@link BindingKind}.
+     *
+     * @param out the {@link Writer}
+     * @throws IOException if the metrics could not be written
+     */
+    private void writeBindingCounts(final Writer out) throws IOException {
+        final Map<String, Long> byScoping = new TreeMap<>();
+        final Map<BindingKind, Long> byKind = new EnumMap<>(BindingKind.class);
+        for (final Binding<?> binding : tester.getInjector().getAllBindings().values()) {
+            byScoping.merge(binding.acceptScopingVisitor(SCOPING_RECORDER).getDescription(), 1L,
+                    Long::sum);
+            byKind.merge(BindingKind.of(binding), 1L, Long::sum);
+        }
+
+        family(out, "guice_bindings_by_scoping", "gauge", "Number of bindings per scoping.");
+        for (final Map.Entry<String, Long> entry : byScoping.entrySet()) {
+            out.append("guice_bindings_by_scoping{scoping=\"").append(escape(entry.getKey()))
+                    .append("\"} ").append(entry.getValue().toString()).append('\n');
+        }
+
+        family(out, "guice_bindings_by_kind", "gauge", "Number of bindings per binding kind.");
+        for (final Map.Entry<BindingKind, Long> entry : byKind.entrySet()) {
+            out.append("guice_bindings_by_kind{kind=\"").append(entry.getKey().name())
+                    .append("\"} ").append(entry.getValue().toString()).append('\n');
+        }
+    }
+
+    /**
+     * Writes the metadata of a metric family.
+     *
+     * @param out the {@link Writer}
+     * @param name the name of the metric family
+     * @param type the OpenMetrics type of the metric family
+     * @param help the description of the metric family
+     * @throws IOException if the metadata could not be written
+     */
+    private static void family(final Writer out, final String name, final String type,
+            final String help) throws IOException {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    /**
+     * Writes a {@link LatencyDistribution} as an OpenMetrics histogram in seconds.
+     *
+     * @param out the {@link Writer}
+     * @param name the name of the metric family
+     * @param labels the labels of the histogram, without braces, or an empty string
+     * @param latencies the {@link LatencyDistribution}
+     * @throws IOException if the histogram could not be written
+     */
+    private static void writeHistogram(final Writer out, final String name, final String labels,
+            final LatencyDistribution latencies) throws IOException {
+        final String prefix = labels.isEmpty() ? "" : labels + ",";
+        for (int bound = 0; bound < BUCKET_BOUNDS_NANOS.length; bound++) {
+            out.append(name).append("_bucket{").append(prefix).append("le=\"")
+                    .append(BUCKET_LABELS[bound]).append("\"} ")
+                    .append(Long.toString(latencies.getCountAtOrBelow(BUCKET_BOUNDS_NANOS[bound])))
+                    .append('\n');
+        }
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ")
+                .append(Long.toString(latencies.getCount())).append('\n');
+
+        final String braced = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_count").append(braced).append(' ')
+                .append(Long.toString(latencies.getCount())).append('\n');
+        out.append(name).append("_sum").append(braced).append(' ')
+                .append(Double.toString(latencies.getSum() / 1e9)).append('\n');
+    }
+
+    /**
+     * Returns the {@code key} label of the {@link ProvisionCounts}.
+     *
+     * @param counts the {@link ProvisionCounts}
+     * @return the {@code key} label
+     */
+    private static String keyLabel(final ProvisionCounts counts) {
+        return "key=\"" + escape(counts.getKey().toString()) + "\"";
+    }
+
+    /**
+     * Escapes a label value.
+     *
+     * @param value the label value
+     * @return the escaped label value
+     */
+    static String escape(final String value) {
+        final StringBuilder escaped = new StringBuilder(value.length());
+        for (int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            if (character == '\\' || character == '"') {
+                escaped.append('\\').append(character);
+            } else if (character == '\n') {
+                escaped.append("\\n");
+            } else {
+                escaped.append(character);
+            }
+        }
+        return escaped.toString();
+    }
+}
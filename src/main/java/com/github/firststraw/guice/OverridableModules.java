@@ -0,0 +1,166 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ScopeBinding;
+import com.google.inject.util.Modules;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Production {@link Module}s that tests override, as with
+ * {@code Modules.override(baseModules).with(testModules)}, without recording the production
+ * {@link Module}s again for every test. Their {@link Element}s are recorded once; each
+ * {@link InjectorTester} replays them, leaving out the {@link Binding}s whose {@link Key}s the
+ * test {@link Module}s bind, and {@link InjectorTester#verifyOverrides()} reports which
+ * {@link Binding}s were replaced.
+ * <p>
+ * Like {@link ElementReplayCache}, objects bound with {@code toInstance()} are shared by every
+ * {@link InjectorTester}. Base {@link Module}s whose state cannot be shared between
+ * {@link com.google.inject.Injector}s are merged with {@link Modules#override(Iterable)} for every
+ * test instead: those that look up providers, request injection, bind instances with injectable
+ * fields or methods, bind provider instances or use multibinders, map binders or optional
+ * binders.
+ */
+@ThreadSafe
+public class OverridableModules {
+
+    private static final String NULL_MODULES_ERROR = "Modules must not be null.";
+    private static final String NULL_MODULE_ERROR = "All modules must be non-null.";
+
+    private final Stage stage;
+    private final List<Module> baseModules;
+    private final List<Element> elements;
+    private final boolean replayable;
+    private final Set<Key<?>> baseKeys;
+
+    /**
+     * Records the base {@link Module}s for {@link Stage#TOOL} {@link InjectorTester}s, like
+     * {@link InjectorTester#InjectorTester(Module...)}.
+     *
+     * @param baseModules the base {@link Module}s
+     * @throws NullPointerException if the array or any {@link Module} is {@code null}
+     */
+    public OverridableModules(final Module... baseModules) {
+        this(Stage.TOOL, Arrays.asList(Objects.requireNonNull(baseModules, NULL_MODULES_ERROR)));
+    }
+
+    /**
+     * Records the base {@link Module}s for {@link InjectorTester}s in the {@link Stage}.
+     *
+     * @param stage the {@link Stage} of the {@link com.google.inject.Injector}s
+     * @param baseModules the base {@link Module}s
+     * @throws NullPointerException if the {@link Stage}, the {@link Iterable} or any
+     * {@link Module} is {@code null}
+     */
+    public OverridableModules(final Stage stage, final Iterable<? extends Module> baseModules) {
+        this.stage = Objects.requireNonNull(stage, "Stage must not be null.");
+        this.baseModules = copy(baseModules);
+        this.elements = Collections.unmodifiableList(
+                new ArrayList<>(Elements.getElements(stage, this.baseModules)));
+        this.replayable = ElementReplay.isReplayable(elements);
+        this.baseKeys = Collections.unmodifiableSet(boundKeys(elements));
+    }
+
+    /**
+     * Creates an {@link InjectorTester} for the base {@link Module}s overridden by the
+     * {@link Module}s.
+     *
+     * @param overrides the overriding {@link Module}s
+     * @return the {@link InjectorTester}
+     * @throws NullPointerException if the array or any {@link Module} is {@code null}
+     */
+    public InjectorTester override(final Module... overrides) {
+        Objects.requireNonNull(overrides, NULL_MODULES_ERROR);
+
+        return override(Arrays.asList(overrides));
+    }
+
+    /**
+     * Creates an {@link InjectorTester} for the base {@link Module}s overridden by the
+     * {@link Module}s. Operations that create fresh {@link com.google.inject.Injector}s, such as
+     * {@link InjectorTester#provisionAllBindings(Module...)}, use the equivalent
+     * {@link Modules#override(Iterable)}.
+     *
+     * @param overrides the overriding {@link Module}s
+     * @return the {@link InjectorTester}
+     * @throws NullPointerException if the {@link Iterable} or any {@link Module} is {@code null}
+     */
+    public InjectorTester override(final Iterable<? extends Module> overrides) {
+        final List<Module> overriding = copy(overrides);
+        final Module merged = Modules.override(baseModules).with(overriding);
+
+        final List<Element> overrideElements = Elements.getElements(stage, overriding);
+        final Set<Key<?>> overrideKeys = boundKeys(overrideElements);
+        final Set<Key<?>> overridden = new LinkedHashSet<>();
+        final Set<Key<?>> added = new LinkedHashSet<>();
+        for (final Key<?> key : overrideKeys) {
+            (baseKeys.contains(key) ? overridden : added).add(key);
+        }
+        final OverriddenBindingsVerifier verifier = new OverriddenBindingsVerifier(
+                Collections.unmodifiableSet(overridden), Collections.unmodifiableSet(added));
+
+        if (!replayable) {
+            return InjectorTester.ofOverrides(stage, merged, merged, verifier);
+        }
+        final Set<Class<? extends Annotation>> overriddenScopes = new HashSet<>();
+        for (final Element element : overrideElements) {
+            if (element instanceof ScopeBinding) {
+                overriddenScopes.add(((ScopeBinding) element).getAnnotationType());
+            }
+        }
+        final Module replay = binder -> {
+            ElementReplay.replay(elements, binder, overridden, overriddenScopes);
+            for (final Element element : overrideElements) {
+                element.applyTo(binder);
+            }
+        };
+        return InjectorTester.ofOverrides(stage, replay, merged, verifier);
+    }
+
+    /**
+     * Returns the {@link Key}s bound or exposed by the {@link Element}s.
+     *
+     * @param elements the {@link Element}s
+     * @return the {@link Key}s
+     */
+    private static Set<Key<?>> boundKeys(final List<Element> elements) {
+        final Set<Key<?>> keys = new HashSet<>();
+        for (final Element element : elements) {
+            if (element instanceof Binding) {
+                keys.add(((Binding<?>) element).getKey());
+            } else if (element instanceof PrivateElements) {
+                keys.addAll(((PrivateElements) element).getExposedKeys());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Copies the {@link Module}s, rejecting {@code null}s.
+     *
+     * @param modules the {@link Module}s
+     * @return the copy
+     */
+    private static List<Module> copy(final Iterable<? extends Module> modules) {
+        Objects.requireNonNull(modules, NULL_MODULES_ERROR);
+        final List<Module> copy = new ArrayList<>();
+        for (final Module module : modules) {
+            copy.add(Objects.requireNonNull(module, NULL_MODULE_ERROR));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.concurrent.Immutable;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Verifies which {@link Binding}s of the base {@link com.google.inject.Module}s the overrides of
+ * an {@link InjectorTester} replaced.
+ */
+@Immutable
+public class OverriddenBindingsVerifier {
+
+    private final Set<Key<?>> overriddenKeys;
+    private final Set<Key<?>> addedKeys;
+
+    /**
+     * @param overriddenKeys the {@link Key}s of the replaced {@link Binding}s
+     * @param addedKeys the {@link Key}s the overrides bound without replacing a {@link Binding}
+     */
+    OverriddenBindingsVerifier(final Set<Key<?>> overriddenKeys, final Set<Key<?>> addedKeys) {
+        this.overriddenKeys = Objects.requireNonNull(overriddenKeys,
+                "Overridden keys must not be null.");
+        this.addedKeys = Objects.requireNonNull(addedKeys, "Added keys must not be null.");
+    }
+
+    /**
+     * Verifies that the {@link Binding} for the type with no annotation was overridden.
+     *
+     * @param type the type
+     * @return "this" {@link OverriddenBindingsVerifier}
+     * @throws NullPointerException if the type is {@code null}
+     * @throws IncorrectOverrideException if the {@link Binding} was not overridden
+     */
+    public OverriddenBindingsVerifier overrides(final Class<?> type) {
+        Objects.requireNonNull(type, "Type must not be null.");
+
+        return overrides(ReflectionCache.key(type));
+    }
+
+    /**
+     * Verifies that the {@link Binding} for the {@link Key} was overridden.
+     *
+     * @param key the {@link Key}
+     * @return "this" {@link OverriddenBindingsVerifier}
+     * @throws NullPointerException if the {@link Key} is {@code null}
+     * @throws IncorrectOverrideException if the {@link Binding} was not overridden
+     */
+    public OverriddenBindingsVerifier overrides(final Key<?> key) {
+        Objects.requireNonNull(key, "Key must not be null.");
+
+        if (!overriddenKeys.contains(key)) {
+            throw new IncorrectOverrideException(key, overriddenKeys);
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that exactly the {@link Binding}s for the {@link Key}s were overridden, catching
+     * overrides that unintentionally replace production {@link Binding}s.
+     *
+     * @param keys the {@link Key}s
+     * @return "this" {@link OverriddenBindingsVerifier}
+     * @throws NullPointerException if the array or any {@link Key} is {@code null}
+     * @throws IncorrectOverrideException if other {@link Binding}s were overridden
+     */
+    public OverriddenBindingsVerifier overridesOnly(final Key<?>... keys) {
+        Objects.requireNonNull(keys, "Keys must not be null.");
+        final Set<Key<?>> expected = new HashSet<>(Arrays.asList(keys));
+        if (expected.contains(null)) {
+            throw new NullPointerException("All keys must be non-null.");
+        }
+
+        if (!expected.equals(overriddenKeys)) {
+            throw new IncorrectOverrideException(expected, overriddenKeys);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the {@link Key}s of the {@link Binding}s the overrides replaced.
+     *
+     * @return the overridden {@link Key}s
+     */
+    public Set<Key<?>> getOverriddenKeys() {
+        return overriddenKeys;
+    }
+
+    /**
+     * Returns the {@link Key}s the overrides bound that the base {@link com.google.inject.Module}s
+     * did not.
+     *
+     * @return the added {@link Key}s
+     */
+    public Set<Key<?>> getAddedKeys() {
+        return addedKeys;
+    }
+
+    /**
+     * Indicates whether the {@link Object} can potentially be equal to "this".
+     *
+     * @param obj the {@link Object}
+     * @return {@code true} if the {@link Object} can potentially be equal to "this"
+     */
+    protected boolean canEqual(final Object obj) {
+        return obj instanceof OverriddenBindingsVerifier;
+    }
+
+    /**
+     * Indicates whether some other object is "equal to" this one.
+     *
+     * @param obj the reference object with which to compare
+     * @return {@code true} if this object is the same as the {@code obj} argument; {@code false}
+     * otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof OverriddenBindingsVerifier) {
+            final OverriddenBindingsVerifier rhs = (OverriddenBindingsVerifier) obj;
+            return rhs.canEqual(this) && new EqualsBuilder()
+                    .append(getOverriddenKeys(), rhs.getOverriddenKeys())
+                    .append(getAddedKeys(), rhs.getAddedKeys())
+                    .isEquals();
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(getOverriddenKeys()).append(getAddedKeys())
+                .toHashCode();
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.firststraw.guice;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Append-only history of {@link PerformanceRun}s in a local tab-separated file, serving as the
+ * baseline of a performance regression gate. Each line holds the time of the run in milliseconds
+ * since the epoch, the fingerprint, the metric name and its value. Runs of different
+ * {@link com.google.inject.Module}s share a file without affecting each other, since baselines are
+ * only taken from runs with the same fingerprint.
+ */
+public class PerformanceHistory {
+
+    private static final String SEPARATOR = "\t";
+
+    private final Path file;
+
+    /**
+     * @param file the history file, which is created on first append
+     * @throws NullPointerException if the file is {@code null}
+     */
+    public PerformanceHistory(final Path file) {
+        this.file = Objects.requireNonNull(file, "File must not be null.");
+    }
+
+    /**
+     * Appends the {@link PerformanceRun} to the history.
+     *
+     * @param run the {@link PerformanceRun}
+     * @throws NullPointerException if the {@link PerformanceRun} is {@code null}
+     * @throws IOException if the history could not be written
+     */
+    public void append(final PerformanceRun run) throws IOException {
+        Objects.requireNonNull(run, "Run must not be null.");
+
+        final String prefix = System.currentTimeMillis() + SEPARATOR + run.getFingerprint()
+                + SEPARATOR;
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (final Map.Entry<String, Long> metric : run.getMetrics().entrySet()) {
+                writer.append(prefix).append(sanitize(metric.getKey())).append(SEPARATOR)
+                        .append(metric.getValue().toString()).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Returns the baseline of every metric recorded for the fingerprint: the median of its values
+     * in the most recent runs.
+     *
+     * @param fingerprint the fingerprint
+     * @param baselineRuns the maximum number of recent runs to take the median of
+     * @return the baseline of every metric recorded for the fingerprint
+     * @throws NullPointerException if the fingerprint is {@code null}
+     * @throws IllegalArgumentException if the number of baseline runs is not positive
+     * @throws IOException if the history could not be read
+     */
+    public Map<String, Long> getBaselines(final String fingerprint, final int baselineRuns)
+            throws IOException {
+        Objects.requireNonNull(fingerprint, "Fingerprint must not be null.");
+        if (baselineRuns < 1) {
+            throw new IllegalArgumentException("Baseline runs must be positive.");
+        }
+
+        final Map<String, Deque<Long>> recent = new HashMap<>();
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final String[] fields = line.split(SEPARATOR, -1);
+                    if (fields.length == 4 && fields[1].equals(fingerprint)) {
+                        final Deque<Long> values =
+                                recent.computeIfAbsent(fields[2], metric -> new ArrayDeque<>());
+                        if (values.size() == baselineRuns) {
+                            values.removeFirst();
+                        }
+                        values.addLast(Long.parseLong(fields[3]));
+                    }
+                }
+            }
+        }
+
+        final Map<String, Long> baselines = new HashMap<>();
+        for (final Map.Entry<String, Deque<Long>> entry : recent.entrySet()) {
+            final long[] values = new long[entry.getValue().size()];
+            int index = 0;
+            for (final Long value : entry.getValue()) {
+                values[index++] = value;
+            }
+            baselines.put(entry.getKey(), Statistics.median(values));
+        }
+        return baselines;
+    }
+
+    /**
+     * Verifies that no metric of the {@link PerformanceRun} regressed compared with its baseline,
+     * the median of the metric in the most recent runs with the same fingerprint. A metric has
+     * regressed when it exceeds its baseline both by more than the tolerance, relative to the
+     * baseline, and by more than the minimum increase, which keeps tiny, noisy metrics from failing
+     * the gate. Metrics without a baseline never regress. The {@link PerformanceRun} is not
+     * appended.
+     *
+     * @param run the {@link PerformanceRun}
+     * @param tolerance the allowed relative increase, such as 0.2 for 20%
+     * @param minimumIncrease the allowed absolute increase
+     * @param baselineRuns the maximum number of recent runs to take the median of
+     * @throws NullPointerException if the {@link PerformanceRun} is {@code null}
+     * @throws IllegalArgumentException if the tolerance or minimum increase is negative, or the
+     * number of baseline runs is not positive
+     * @throws IOException if the history could not be read
+     * @throws PerformanceRegressionException if any metric regressed
+     */
+    public void verifyNoRegression(final PerformanceRun run, final double tolerance,
+            final long minimumIncrease, final int baselineRuns) throws IOException {
+        Objects.requireNonNull(run, "Run must not be null.");
+        if (!(tolerance >= 0.0) || minimumIncrease < 0L) {
+            throw new IllegalArgumentException("Tolerance and minimum increase must not be"
+                    + " negative.");
+        }
+
+        final Map<String, Long> baselines = getBaselines(run.getFingerprint(), baselineRuns);
+        final List<String> regressions = new ArrayList<>();
+        for (final Map.Entry<String, Long> metric : run.getMetrics().entrySet()) {
+            final Long baseline = baselines.get(sanitize(metric.getKey()));
+            if (baseline != null) {
+                final long increase = metric.getValue() - baseline;
+                if (increase > minimumIncrease && increase > tolerance * baseline) {
+                    final double percent =
+                            baseline == 0L ? Double.POSITIVE_INFINITY : 100.0 * increase / baseline;
+                    regressions.add(String.format("%s: %d, baseline %d (+%.1f%%)",
+                            metric.getKey(), metric.getValue(), baseline, percent));
+                }
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new PerformanceRegressionException(regressions);
+        }
+    }
+
+    /**
+     * Replaces the characters that would break the file format.
+     *
+     * @param metric the metric name
+     * @return the metric name without tabs or line breaks
+     */
+    private static String sanitize(final String metric) {
+        return metric.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
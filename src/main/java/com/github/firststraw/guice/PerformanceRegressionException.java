@@ -0,0 +1,34 @@
+package com.github.firststraw.guice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when performance metrics regress beyond the configured threshold compared with their
+ * baseline in a {@link PerformanceHistory}.
+ */
+public class PerformanceRegressionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> regressions;
+
+    /**
+     * @param regressions a description of each regressed metric
+     */
+    PerformanceRegressionException(final List<String> regressions) {
+        super("Performance regressed:" + System.lineSeparator()
+                + String.join(System.lineSeparator(), regressions));
+        this.regressions = Collections.unmodifiableList(new ArrayList<>(regressions));
+    }
+
+    /**
+     * Returns a description of each regressed metric.
+     *
+     * @return a description of each regressed metric
+     */
+    public List<String> getRegressions() {
+        return regressions;
+    }
+}
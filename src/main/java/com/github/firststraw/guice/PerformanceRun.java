@@ -0,0 +1,85 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.Module;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Performance metrics of one measurement of a set of {@link Module}s, identified by a fingerprint
+ * of their bindings. Metrics are named and hold non-negative whole numbers.
+ */
+@Immutable
+public class PerformanceRun {
+
+    /**
+     * The time taken to create the {@link com.google.inject.Injector}, in nanoseconds.
+     */
+    public static final String INJECTOR_CREATION_NANOS = "injector.creation.nanos";
+
+    /**
+     * The bytes allocated while creating the {@link com.google.inject.Injector} and provisioning
+     * every binding once.
+     */
+    public static final String ALLOCATED_BYTES = "injector.allocated.bytes";
+
+    /**
+     * The prefix of the time spent in the constructor or provider of a {@link Key}, excluding its
+     * dependencies, in nanoseconds. The prefix is followed by the {@link Key}.
+     */
+    public static final String PROVISION_NANOS_PREFIX = "provision.self.nanos ";
+
+    private final String fingerprint;
+    private final Map<String, Long> metrics;
+
+    /**
+     * @param fingerprint the fingerprint of the {@link Module}s
+     * @param metrics the value of each metric
+     */
+    PerformanceRun(final String fingerprint, final Map<String, Long> metrics) {
+        this.fingerprint = Objects.requireNonNull(fingerprint, "Fingerprint must not be null.");
+        this.metrics = Collections.unmodifiableMap(
+                new TreeMap<>(Objects.requireNonNull(metrics, "Metrics must not be null.")));
+    }
+
+    /**
+     * Returns the name of the metric holding the provisioning time of the {@link Key}.
+     *
+     * @param key the {@link Key}
+     * @return the name of the metric
+     */
+    public static String provisionNanos(final Key<?> key) {
+        return PROVISION_NANOS_PREFIX + key;
+    }
+
+    /**
+     * Returns the fingerprint of the {@link Module}s.
+     *
+     * @return the fingerprint of the {@link Module}s
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the value of each metric, sorted by name.
+     *
+     * @return the value of each metric, sorted by name
+     */
+    public Map<String, Long> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns a human-readable summary of the run.
+     *
+     * @return a human-readable summary of the run
+     */
+    @Override
+    public String toString() {
+        return fingerprint + " " + metrics;
+    }
+}
@@ -1,6 +1,9 @@
 package com.github.firststraw.guice;
 
+import com.google.inject.Provides;
 import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProvidesMethodBinding;
+import java.lang.reflect.Method;
 import java.util.Objects;
 import javax.annotation.concurrent.Immutable;
 import javax.inject.Provider;
@@ -68,6 +71,103 @@ public class ProviderInstanceBindingVerifier<T> implements BindingVerifier<T> {
         }
     }
 
+    /**
+     * Verifies that the {@link ProviderInstanceBinding} is bound to a {@link Provider} that is
+     * structurally equal to the expected one, comparing their fields instead of relying on
+     * {@code equals()}.
+     *
+     * @param expectedProvider the expected {@link Provider}
+     * @return "this" {@link ProviderInstanceBindingVerifier}
+     * @throws IncorrectBindingTargetException if the {@link ProviderInstanceBinding} is bound to a
+     * {@link Provider} that is not structurally equal to the expected one, naming the path to the
+     * first difference
+     */
+    public ProviderInstanceBindingVerifier<T> withStructurallyEqualProvider(
+            final Provider<? extends T> expectedProvider) {
+        Objects.requireNonNull(expectedProvider, NULL_EXPECTED_PROVIDER_ERROR);
+
+        final String difference = StructuralEquality.findDifference("provider", expectedProvider,
+                binding.getUserSuppliedProvider());
+        if (difference == null) {
+            return this;
+        } else {
+            throw new IncorrectBindingTargetException(difference);
+        }
+    }
+
+    /**
+     * Verifies that the {@link ProviderInstanceBinding} is bound to a {@link Provider} of exactly
+     * the expected class.
+     *
+     * @param expectedType the expected class of the {@link Provider}
+     * @return "this" {@link ProviderInstanceBindingVerifier}
+     * @throws NullPointerException if the expected class is {@code null}
+     * @throws IncorrectBindingTargetException if the {@link Provider} is of another class
+     */
+    public ProviderInstanceBindingVerifier<T> withProviderOfType(final Class<?> expectedType) {
+        Objects.requireNonNull(expectedType, "Expected type must not be null.");
+
+        final Class<?> type = binding.getUserSuppliedProvider().getClass();
+        if (expectedType.equals(type)) {
+            return this;
+        } else {
+            throw new IncorrectBindingTargetException(expectedType, type);
+        }
+    }
+
+    /**
+     * Verifies that the {@link ProviderInstanceBinding} was created from the expected
+     * {@link Provides} method.
+     *
+     * @param expectedMethod the expected {@link Provides} method
+     * @return "this" {@link ProviderInstanceBindingVerifier}
+     * @throws NullPointerException if the expected method is {@code null}
+     * @throws IncorrectBindingTargetException if the {@link ProviderInstanceBinding} was not
+     * created from the expected method
+     */
+    public ProviderInstanceBindingVerifier<T> withProviderMethod(final Method expectedMethod) {
+        Objects.requireNonNull(expectedMethod, "Expected method must not be null.");
+
+        final Provider<? extends T> provider = binding.getUserSuppliedProvider();
+        final Object method = provider instanceof ProvidesMethodBinding
+                ? ((ProvidesMethodBinding<?>) provider).getMethod() : provider;
+        if (expectedMethod.equals(method)) {
+            return this;
+        } else {
+            throw new IncorrectBindingTargetException(expectedMethod, method);
+        }
+    }
+
+    /**
+     * Verifies that the {@link ProviderInstanceBinding} was created from a {@link Provides} method
+     * with the expected name declared by the expected class.
+     *
+     * @param declaringClass the class expected to declare the {@link Provides} method
+     * @param methodName the expected name of the {@link Provides} method
+     * @return "this" {@link ProviderInstanceBindingVerifier}
+     * @throws NullPointerException if the declaring class or method name is {@code null}
+     * @throws IncorrectBindingTargetException if the {@link ProviderInstanceBinding} was not
+     * created from such a method
+     */
+    public ProviderInstanceBindingVerifier<T> withProviderMethod(final Class<?> declaringClass,
+            final String methodName) {
+        Objects.requireNonNull(declaringClass, "Declaring class must not be null.");
+        Objects.requireNonNull(methodName, "Method name must not be null.");
+
+        final Provider<? extends T> provider = binding.getUserSuppliedProvider();
+        if (provider instanceof ProvidesMethodBinding) {
+            final Method method = ((ProvidesMethodBinding<?>) provider).getMethod();
+            if (method.getDeclaringClass().equals(declaringClass)
+                    && method.getName().equals(methodName)) {
+                return this;
+            }
+            throw new IncorrectBindingTargetException(
+                    declaringClass.getName() + "#" + methodName, method);
+        }
+        throw new IncorrectBindingTargetException(declaringClass.getName() + "#" + methodName,
+                provider);
+    }
+
     /**
      * Returns the {@link ProviderInstanceBinding} to verify.
      *
@@ -42,7 +42,7 @@ public class ProviderKeyBindingVerifier<T> implements BindingVerifier<T> {
             final Class<? extends Provider<? extends T>> expectedType) {
         Objects.requireNonNull(expectedType, NULL_EXPECTED_TYPE_ERROR);
 
-        return withKey(Key.get(expectedType));
+        return withKey(ReflectionCache.key(expectedType));
     }
 
     /**
@@ -57,7 +57,7 @@ public class ProviderKeyBindingVerifier<T> implements BindingVerifier<T> {
             final TypeLiteral<? extends Provider<? extends T>> expectedType) {
         Objects.requireNonNull(expectedType, NULL_EXPECTED_TYPE_ERROR);
 
-        return withKey(Key.get(expectedType));
+        return withKey(ReflectionCache.key(expectedType));
     }
 
     /**
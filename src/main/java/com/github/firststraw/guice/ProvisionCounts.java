@@ -0,0 +1,93 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Provisioning counters of a single {@link Key}, as recorded by a
+ * {@link ProvisionMetricsRecorder}.
+ */
+@Immutable
+public class ProvisionCounts {
+
+    private final Key<?> key;
+    private final long provisionCount;
+    private final long instanceCount;
+    private final long totalNanos;
+    private final LatencyDistribution latencies;
+
+    /**
+     * @param key the {@link Key}
+     * @param provisionCount the number of times the {@link Key} was provisioned
+     * @param instanceCount the number of provisions that produced a non-{@code null} instance
+     * @param totalNanos the total time spent provisioning, including dependencies, in nanoseconds
+     * @param latencies the {@link LatencyDistribution} of the individual provisions
+     */
+    ProvisionCounts(final Key<?> key, final long provisionCount, final long instanceCount,
+            final long totalNanos, final LatencyDistribution latencies) {
+        this.key = Objects.requireNonNull(key, "Key must not be null.");
+        this.provisionCount = provisionCount;
+        this.instanceCount = instanceCount;
+        this.totalNanos = totalNanos;
+        this.latencies = Objects.requireNonNull(latencies, "Latencies must not be null.");
+    }
+
+    /**
+     * Returns the {@link Key}.
+     *
+     * @return the {@link Key}
+     */
+    public Key<?> getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the number of times the {@link Key} was provisioned. Lookups answered from a scope,
+     * such as repeated lookups of a singleton, are not provisions.
+     *
+     * @return the number of times the {@link Key} was provisioned
+     */
+    public long getProvisionCount() {
+        return provisionCount;
+    }
+
+    /**
+     * Returns the number of provisions that produced a non-{@code null} instance.
+     *
+     * @return the number of provisions that produced a non-{@code null} instance
+     */
+    public long getInstanceCount() {
+        return instanceCount;
+    }
+
+    /**
+     * Returns the total time spent provisioning, including dependencies, in nanoseconds.
+     *
+     * @return the total time spent provisioning, including dependencies, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the {@link LatencyDistribution} of the individual provisions, including
+     * dependencies.
+     *
+     * @return the {@link LatencyDistribution} of the individual provisions
+     */
+    public LatencyDistribution getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns a human-readable summary of the counters.
+     *
+     * @return a human-readable summary of the counters
+     */
+    @Override
+    public String toString() {
+        return String.format("%d provision(s), %d instance(s), %.3f ms (%s): %s",
+                provisionCount, instanceCount, totalNanos / 1e6, latencies, key);
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Snapshot of the {@link ProvisionCounts} recorded by a {@link ProvisionMetricsRecorder}.
+ */
+@Immutable
+public class ProvisionMetrics {
+
+    private static final String NULL_KEY_ERROR = "Key must not be null.";
+
+    private final Map<Key<?>, ProvisionCounts> counts;
+
+    /**
+     * @param counts the {@link ProvisionCounts} of every provisioned {@link Key}
+     */
+    ProvisionMetrics(final Collection<ProvisionCounts> counts) {
+        Objects.requireNonNull(counts, "Counts must not be null.");
+
+        final Map<Key<?>, ProvisionCounts> byKey = new LinkedHashMap<>();
+        for (final ProvisionCounts keyCounts : counts) {
+            byKey.put(keyCounts.getKey(), keyCounts);
+        }
+        this.counts = Collections.unmodifiableMap(byKey);
+    }
+
+    /**
+     * Returns the {@link ProvisionCounts} of every provisioned {@link Key}.
+     *
+     * @return the {@link ProvisionCounts} of every provisioned {@link Key}
+     */
+    public Collection<ProvisionCounts> getAllCounts() {
+        return counts.values();
+    }
+
+    /**
+     * Returns the {@link ProvisionCounts} of the {@link Key}. A {@link Key} that was never
+     * provisioned has counts of zero.
+     *
+     * @param key the {@link Key}
+     * @return the {@link ProvisionCounts} of the {@link Key}
+     * @throws NullPointerException if the {@link Key} is {@code null}
+     */
+    public ProvisionCounts getCounts(final Key<?> key) {
+        Objects.requireNonNull(key, NULL_KEY_ERROR);
+
+        final ProvisionCounts keyCounts = counts.get(key);
+        if (keyCounts == null) {
+            return new ProvisionCounts(key, 0L, 0L, 0L, LatencyDistribution.empty());
+        }
+        return keyCounts;
+    }
+
+    /**
+     * Verifies that the {@link Key} was provisioned exactly the expected number of times.
+     *
+     * @param key the {@link Key}
+     * @param expected the expected number of provisions
+     * @throws NullPointerException if the {@link Key} is {@code null}
+     * @throws IncorrectProvisionCountException if the {@link Key} was provisioned a different
+     * number of times
+     */
+    public void verifyProvisionCount(final Key<?> key, final long expected) {
+        Objects.requireNonNull(key, NULL_KEY_ERROR);
+
+        final long actual = getCounts(key).getProvisionCount();
+        if (actual != expected) {
+            throw new IncorrectProvisionCountException(key, expected, actual);
+        }
+    }
+
+    /**
+     * Verifies that the {@link Key} was provisioned exactly once, as expected of a singleton.
+     *
+     * @param key the {@link Key}
+     * @throws NullPointerException if the {@link Key} is {@code null}
+     * @throws IncorrectProvisionCountException if the {@link Key} was not provisioned exactly once
+     */
+    public void verifyProvisionedOnce(final Key<?> key) {
+        verifyProvisionCount(key, 1L);
+    }
+
+    /**
+     * Returns one line per provisioned {@link Key}.
+     *
+     * @return one line per provisioned {@link Key}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        for (final ProvisionCounts keyCounts : counts.values()) {
+            report.append(keyCounts).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Always-on, lock-free recorder of the provision count, instance count, cumulative provisioning
+ * time and {@link LatencyHistogram} of every {@link Key}. Install it as a module of the injector
+ * under test; it also binds itself so that {@link InjectorTester#getProvisionMetrics()} can find
+ * it. Each {@link Key} is given a compact ID whose counters are striped {@link LongAdder}s, so
+ * concurrent provisions never contend on a lock or a shared map entry. The ID is resolved once
+ * per binding and then found by binding identity, so provisions do not hash or compare the
+ * {@link Key}.
+ */
+@ThreadSafe
+public class ProvisionMetricsRecorder extends AbstractModule implements ProvisionListener {
+
+    private final KeyIndex index = new KeyIndex();
+    private final BindingIds bindingIds = new BindingIds(index);
+    private final ChunkedArray<Counters> counters = new ChunkedArray<>(id -> new Counters());
+
+    /**
+     * Binds "this" {@link ProvisionMetricsRecorder} and registers it for every binding.
+     */
+    @Override
+    protected void configure() {
+        bind(ProvisionMetricsRecorder.class).toInstance(this);
+        bindListener(Matchers.any(), this);
+    }
+
+    /**
+     * Records the provision.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision in progress
+     */
+    @Override
+    public <T> void onProvision(final ProvisionInvocation<T> provision) {
+        final Key<T> key = provision.getBinding().getKey();
+        final Counters keyCounters = counters.get(bindingIds.idOf(provision.getBinding()));
+        if (keyCounters.key == null) {
+            keyCounters.key = key;
+        }
+        final long start = System.nanoTime();
+        final T instance = provision.provision();
+        final long elapsed = System.nanoTime() - start;
+        keyCounters.totalNanos.add(elapsed);
+        keyCounters.latencies.record(elapsed);
+        keyCounters.provisions.increment();
+        if (instance != null) {
+            keyCounters.instances.increment();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the counters recorded so far.
+     *
+     * @return a snapshot of the counters recorded so far
+     */
+    public ProvisionMetrics getMetrics() {
+        final int size = index.size();
+        final List<ProvisionCounts> counts = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            final Counters keyCounters = counters.getIfPresent(id);
+            if (keyCounters != null && keyCounters.key != null) {
+                counts.add(new ProvisionCounts(keyCounters.key, keyCounters.provisions.sum(),
+                        keyCounters.instances.sum(), keyCounters.totalNanos.sum(),
+                        keyCounters.latencies.getDistribution()));
+            }
+        }
+        return new ProvisionMetrics(counts);
+    }
+
+    /**
+     * The counters of a single {@link Key}.
+     */
+    private static class Counters {
+
+        private volatile Key<?> key;
+        private final LongAdder provisions = new LongAdder();
+        private final LongAdder instances = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.firststraw.guice;
+
+import com.github.firststraw.guice.InFlightProvisions.InFlight;
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Lightweight sampling profiler attributing the state of provisioning threads to the {@link Key}
+ * being provisioned. Install it as a module of the injector under test and call {@link #start()}
+ * before the injector is created or provisioned. At every interval the innermost {@link Key} each
+ * thread is provisioning is charged with the thread's {@link Thread.State} and top stack frame,
+ * which separates bindings that stall on I/O, locks or sleeps from bindings that are CPU bound.
+ * Threads that are not provisioning are never sampled.
+ */
+@ThreadSafe
+public class ProvisionSamplingProfiler extends AbstractModule implements ProvisionListener {
+
+    private static final Thread.State[] STATES = Thread.State.values();
+
+    private final long intervalNanos;
+    private final InFlightProvisions provisioning = new InFlightProvisions();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Map<Key<?>, Samples> samples = new ConcurrentHashMap<>();
+
+    @GuardedBy("this")
+    private ScheduledExecutorService sampler;
+
+    /**
+     * @param interval the sampling interval
+     * @param unit the {@link TimeUnit} of the sampling interval
+     * @throws NullPointerException if the {@link TimeUnit} is {@code null}
+     * @throws IllegalArgumentException if the sampling interval is not positive
+     */
+    public ProvisionSamplingProfiler(final long interval, final TimeUnit unit) {
+        Objects.requireNonNull(unit, "Unit must not be null.");
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive.");
+        }
+
+        this.intervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Registers "this" {@link ProvisionSamplingProfiler} for every binding.
+     */
+    @Override
+    protected void configure() {
+        bindListener(Matchers.any(), this);
+    }
+
+    /**
+     * Tracks the {@link Key} being provisioned by the current thread for the duration of the
+     * provision.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision in progress
+     */
+    @Override
+    public <T> void onProvision(final ProvisionInvocation<T> provision) {
+        provisioning.provision(provision);
+    }
+
+    /**
+     * Starts sampling on a daemon thread.
+     *
+     * @throws IllegalStateException if sampling has already been started
+     */
+    public synchronized void start() {
+        if (sampler != null) {
+            throw new IllegalStateException("Profiler has already been started.");
+        }
+
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "provision-sampling-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, intervalNanos, intervalNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops sampling and returns the {@link ThreadStateProfile} sampled so far.
+     *
+     * @return the {@link ThreadStateProfile}
+     * @throws IllegalStateException if sampling has not been started
+     */
+    public synchronized ThreadStateProfile stop() {
+        if (sampler == null) {
+            throw new IllegalStateException("Profiler has not been started.");
+        }
+
+        sampler.shutdownNow();
+        try {
+            sampler.awaitTermination(1L, TimeUnit.MINUTES);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        sampler = null;
+        return getProfile();
+    }
+
+    /**
+     * Returns the {@link ThreadStateProfile} sampled so far.
+     *
+     * @return the {@link ThreadStateProfile}
+     */
+    public ThreadStateProfile getProfile() {
+        final List<ProvisionThreadStates> states = new ArrayList<>(samples.size());
+        for (final Map.Entry<Key<?>, Samples> entry : samples.entrySet()) {
+            states.add(entry.getValue().toStates(entry.getKey(), intervalNanos));
+        }
+        return new ThreadStateProfile(states);
+    }
+
+    /**
+     * Samples every thread that is currently provisioning.
+     */
+    private void sample() {
+        final Map<Thread, List<InFlight>> chains = provisioning.snapshot();
+        if (chains.isEmpty()) {
+            return;
+        }
+
+        final long[] ids = new long[chains.size()];
+        final Key<?>[] keys = new Key<?>[chains.size()];
+        int index = 0;
+        for (final Map.Entry<Thread, List<InFlight>> entry : chains.entrySet()) {
+            final List<InFlight> chain = entry.getValue();
+            ids[index] = entry.getKey().getId();
+            keys[index] = chain.get(chain.size() - 1).getKey();
+            index++;
+        }
+
+        final ThreadInfo[] infos = threads.getThreadInfo(ids, 1);
+        for (int thread = 0; thread < infos.length; thread++) {
+            final ThreadInfo info = infos[thread];
+            if (info != null) {
+                final StackTraceElement[] stack = info.getStackTrace();
+                samples.computeIfAbsent(keys[thread], key -> new Samples())
+                        .record(info.getThreadState(), stack.length > 0 ? stack[0] : null);
+            }
+        }
+    }
+
+    /**
+     * Samples accumulated for a single {@link Key}.
+     */
+    private static class Samples {
+
+        private final AtomicLongArray states = new AtomicLongArray(STATES.length);
+        private final Map<String, LongAdder> topFrames = new ConcurrentHashMap<>();
+
+        /**
+         * Records a sample.
+         *
+         * @param state the {@link Thread.State} of the sampled thread
+         * @param topFrame the top stack frame of the sampled thread, or {@code null} if unknown
+         */
+        void record(final Thread.State state, final StackTraceElement topFrame) {
+            states.incrementAndGet(state.ordinal());
+            if (topFrame != null) {
+                topFrames.computeIfAbsent(topFrame.toString(), frame -> new LongAdder())
+                        .increment();
+            }
+        }
+
+        /**
+         * Returns the samples as {@link ProvisionThreadStates}.
+         *
+         * @param key the {@link Key} the samples were attributed to
+         * @param intervalNanos the sampling interval, in nanoseconds
+         * @return the samples as {@link ProvisionThreadStates}
+         */
+        ProvisionThreadStates toStates(final Key<?> key, final long intervalNanos) {
+            final Map<Thread.State, Long> counts = new EnumMap<>(Thread.State.class);
+            for (final Thread.State state : STATES) {
+                counts.put(state, states.get(state.ordinal()));
+            }
+
+            final Map<String, Long> frames = new HashMap<>();
+            for (final Map.Entry<String, LongAdder> frame : topFrames.entrySet()) {
+                frames.put(frame.getKey(), frame.getValue().sum());
+            }
+            return new ProvisionThreadStates(key, intervalNanos, counts, frames);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Sampled thread states attributed to the provisioning of a single {@link Key}.
+ */
+@Immutable
+public class ProvisionThreadStates {
+
+    private final Key<?> key;
+    private final long intervalNanos;
+    private final Map<Thread.State, Long> samples;
+    private final Map<String, Long> topFrames;
+
+    /**
+     * @param key the {@link Key} being provisioned when the samples were taken
+     * @param intervalNanos the sampling interval, in nanoseconds
+     * @param samples the number of samples per {@link Thread.State}
+     * @param topFrames the number of samples per top stack frame
+     */
+    ProvisionThreadStates(final Key<?> key, final long intervalNanos,
+            final Map<Thread.State, Long> samples, final Map<String, Long> topFrames) {
+        this.key = Objects.requireNonNull(key, "Key must not be null.");
+        this.intervalNanos = intervalNanos;
+        this.samples = Collections.unmodifiableMap(new EnumMap<>(samples));
+
+        final List<Map.Entry<String, Long>> frames = new ArrayList<>(topFrames.entrySet());
+        frames.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        final Map<String, Long> sortedFrames = new LinkedHashMap<>();
+        for (final Map.Entry<String, Long> frame : frames) {
+            sortedFrames.put(frame.getKey(), frame.getValue());
+        }
+        this.topFrames = Collections.unmodifiableMap(sortedFrames);
+    }
+
+    /**
+     * Returns the {@link Key} being provisioned when the samples were taken.
+     *
+     * @return the {@link Key} being provisioned when the samples were taken
+     */
+    public Key<?> getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the number of samples taken in the {@link Thread.State}.
+     *
+     * @param state the {@link Thread.State}
+     * @return the number of samples taken in the {@link Thread.State}
+     */
+    public long getSamples(final Thread.State state) {
+        return samples.getOrDefault(state, 0L);
+    }
+
+    /**
+     * Returns the estimated time spent in the {@link Thread.State}, in nanoseconds.
+     *
+     * @param state the {@link Thread.State}
+     * @return the estimated time spent in the {@link Thread.State}, in nanoseconds
+     */
+    public long getNanos(final Thread.State state) {
+        return getSamples(state) * intervalNanos;
+    }
+
+    /**
+     * Returns the estimated time spent blocked or waiting rather than running, in nanoseconds.
+     *
+     * @return the estimated time spent blocked or waiting, in nanoseconds
+     */
+    public long getStalledNanos() {
+        return getNanos(Thread.State.BLOCKED) + getNanos(Thread.State.WAITING)
+                + getNanos(Thread.State.TIMED_WAITING);
+    }
+
+    /**
+     * Returns the number of samples per top stack frame, most frequent first. The top frame shows
+     * where the thread was running or stalled, such as a socket read or {@link Thread#sleep}.
+     *
+     * @return the number of samples per top stack frame, most frequent first
+     */
+    public Map<String, Long> getTopFrames() {
+        return topFrames;
+    }
+
+    /**
+     * Returns a human-readable summary of the samples.
+     *
+     * @return a human-readable summary of the samples
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: runnable %.3f ms, blocked %.3f ms, waiting %.3f ms,"
+                + " timed waiting %.3f ms, top frames %s", key,
+                getNanos(Thread.State.RUNNABLE) / 1e6, getNanos(Thread.State.BLOCKED) / 1e6,
+                getNanos(Thread.State.WAITING) / 1e6, getNanos(Thread.State.TIMED_WAITING) / 1e6,
+                topFrames);
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProvisionListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link ProvisionListener} that attributes provisioning time to each {@link Binding}, separating
+ * the time spent in the {@link Binding}'s own constructor or provider from the time spent
+ * provisioning its dependencies. Install it as a module of the injector to measure.
+ */
+@ThreadSafe
+public class ProvisionTimer extends AbstractModule implements ProvisionListener {
+
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<Key<?>, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+    /**
+     * Registers "this" {@link ProvisionTimer} for every {@link Binding}.
+     */
+    @Override
+    protected void configure() {
+        bindListener(Matchers.any(), this);
+    }
+
+    /**
+     * Times the provisioning of a {@link Binding}, subtracting the time spent in nested
+     * provisions of its dependencies.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision in progress
+     */
+    @Override
+    public <T> void onProvision(final ProvisionInvocation<T> provision) {
+        final Deque<Frame> stack = frames.get();
+        final Frame frame = new Frame();
+        stack.push(frame);
+        final long start = System.nanoTime();
+        try {
+            provision.provision();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            stack.pop();
+            final Frame parent = stack.peek();
+            if (parent != null) {
+                parent.childNanos += elapsed;
+            }
+
+            final Binding<T> binding = provision.getBinding();
+            accumulators.computeIfAbsent(binding.getKey(), key -> new Accumulator(binding))
+                    .add(elapsed, elapsed - frame.childNanos);
+        }
+    }
+
+    /**
+     * Returns a {@link ProvisioningReport} of the provisions timed so far.
+     *
+     * @return a {@link ProvisioningReport} of the provisions timed so far
+     */
+    public ProvisioningReport getReport() {
+        final List<ProvisionTiming> timings = new ArrayList<>(accumulators.size());
+        for (final Map.Entry<Key<?>, Accumulator> entry : accumulators.entrySet()) {
+            timings.add(entry.getValue().toTiming(entry.getKey()));
+        }
+        return new ProvisioningReport(timings);
+    }
+
+    /**
+     * Describes the constructor or provider invoked to provision the {@link Binding}.
+     *
+     * @param binding the {@link Binding}
+     * @return a description of the constructor or provider
+     */
+    private static String describeTarget(final Binding<?> binding) {
+        if (binding instanceof ConstructorBinding) {
+            return ((ConstructorBinding<?>) binding).getConstructor().getMember().toString();
+        } else if (binding instanceof ProviderInstanceBinding) {
+            return String.valueOf(
+                    ((ProviderInstanceBinding<?>) binding).getUserSuppliedProvider());
+        } else {
+            return String.valueOf(binding.getSource());
+        }
+    }
+
+    /**
+     * Accumulates the time spent in provisions nested inside the current provision.
+     */
+    private static class Frame {
+
+        private long childNanos;
+    }
+
+    /**
+     * Accumulates the timings of a single {@link Binding}.
+     */
+    private static class Accumulator {
+
+        private final BindingKind kind;
+        private final String target;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        /**
+         * @param binding the {@link Binding} being timed
+         */
+        Accumulator(final Binding<?> binding) {
+            this.kind = BindingKind.of(binding);
+            this.target = describeTarget(binding);
+        }
+
+        /**
+         * Adds a provision.
+         *
+         * @param total the time spent including dependencies, in nanoseconds
+         * @param self the time spent excluding dependencies, in nanoseconds
+         */
+        void add(final long total, final long self) {
+            count.increment();
+            totalNanos.add(total);
+            selfNanos.add(self);
+            latencies.record(total);
+        }
+
+        /**
+         * Returns the accumulated timings as a {@link ProvisionTiming}.
+         *
+         * @param key the {@link Key} of the {@link Binding}
+         * @return the accumulated timings as a {@link ProvisionTiming}
+         */
+        ProvisionTiming toTiming(final Key<?> key) {
+            return new ProvisionTiming(key, kind, target, count.sum(), totalNanos.sum(),
+                    selfNanos.sum(), latencies.getDistribution());
+        }
+    }
+}
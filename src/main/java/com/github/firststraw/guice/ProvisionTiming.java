@@ -0,0 +1,128 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Time spent provisioning a single {@link Binding}, split between the {@link Binding} itself and
+ * the dependencies it provisioned.
+ */
+@Immutable
+public class ProvisionTiming {
+
+    private final Key<?> key;
+    private final BindingKind kind;
+    private final String target;
+    private final long provisionCount;
+    private final long totalNanos;
+    private final long selfNanos;
+    private final LatencyDistribution latencies;
+
+    /**
+     * @param key the {@link Key} of the {@link Binding}
+     * @param kind the {@link BindingKind} of the {@link Binding}
+     * @param target a description of the constructor or provider that was invoked
+     * @param provisionCount the number of times the {@link Binding} was provisioned
+     * @param totalNanos the total time spent provisioning, including dependencies, in nanoseconds
+     * @param selfNanos the time spent provisioning, excluding dependencies, in nanoseconds
+     * @param latencies the {@link LatencyDistribution} of the individual provisions, including
+     * dependencies
+     */
+    ProvisionTiming(final Key<?> key, final BindingKind kind, final String target,
+            final long provisionCount, final long totalNanos, final long selfNanos,
+            final LatencyDistribution latencies) {
+        this.key = Objects.requireNonNull(key, "Key must not be null.");
+        this.kind = Objects.requireNonNull(kind, "Kind must not be null.");
+        this.target = Objects.requireNonNull(target, "Target must not be null.");
+        this.provisionCount = provisionCount;
+        this.totalNanos = totalNanos;
+        this.selfNanos = selfNanos;
+        this.latencies = Objects.requireNonNull(latencies, "Latencies must not be null.");
+    }
+
+    /**
+     * Returns the {@link Key} of the {@link Binding}.
+     *
+     * @return the {@link Key} of the {@link Binding}
+     */
+    public Key<?> getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the {@link BindingKind} of the {@link Binding}.
+     *
+     * @return the {@link BindingKind} of the {@link Binding}
+     */
+    public BindingKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns a description of the constructor or provider that was invoked.
+     *
+     * @return a description of the constructor or provider that was invoked
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of times the {@link Binding} was provisioned.
+     *
+     * @return the number of times the {@link Binding} was provisioned
+     */
+    public long getProvisionCount() {
+        return provisionCount;
+    }
+
+    /**
+     * Returns the total time spent provisioning, including dependencies, in nanoseconds.
+     *
+     * @return the total time spent provisioning, including dependencies, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the time spent in the {@link Binding}'s own constructor or provider, in nanoseconds.
+     *
+     * @return the time spent provisioning, excluding dependencies, in nanoseconds
+     */
+    public long getSelfNanos() {
+        return selfNanos;
+    }
+
+    /**
+     * Returns the time spent provisioning dependencies, in nanoseconds.
+     *
+     * @return the time spent provisioning dependencies, in nanoseconds
+     */
+    public long getDependencyNanos() {
+        return totalNanos - selfNanos;
+    }
+
+    /**
+     * Returns the {@link LatencyDistribution} of the individual provisions, including
+     * dependencies.
+     *
+     * @return the {@link LatencyDistribution} of the individual provisions
+     */
+    public LatencyDistribution getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns a human-readable summary of the timing.
+     *
+     * @return a human-readable summary of the timing
+     */
+    @Override
+    public String toString() {
+        return String.format("%.3f ms self, %.3f ms dependencies, %d provision(s): %s %s (%s)",
+                selfNanos / 1e6, getDependencyNanos() / 1e6, provisionCount, kind, key, target);
+    }
+}
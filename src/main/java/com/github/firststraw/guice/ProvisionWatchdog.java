@@ -0,0 +1,250 @@
+package com.github.firststraw.guice;
+
+import com.github.firststraw.guice.InFlightProvisions.InFlight;
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Fails provisioning fast instead of letting it hang until a CI timeout. Install the
+ * {@link ProvisionWatchdog} as a module of the injector being provisioned and run the
+ * provisioning through {@link #watch(Supplier)}. The work then runs on a separate daemon thread
+ * while the calling thread checks for deadlocks through
+ * {@link ThreadMXBean#findDeadlockedThreads()} and for individual provisions exceeding the time
+ * limit. Either condition interrupts the work and throws a {@link ProvisioningHangException}
+ * containing thread dumps and the chain of {@link Key}s each thread was provisioning.
+ */
+@ThreadSafe
+public class ProvisionWatchdog extends AbstractModule implements ProvisionListener {
+
+    private static final long MAX_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
+    private final long timeLimitNanos;
+    private final long checkIntervalNanos;
+    private final InFlightProvisions provisioning = new InFlightProvisions();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * @param timeLimit the maximum time a single provision may take
+     * @param unit the {@link TimeUnit} of the time limit
+     * @throws NullPointerException if the {@link TimeUnit} is {@code null}
+     * @throws IllegalArgumentException if the time limit is not positive
+     */
+    public ProvisionWatchdog(final long timeLimit, final TimeUnit unit) {
+        Objects.requireNonNull(unit, "Unit must not be null.");
+        if (timeLimit <= 0) {
+            throw new IllegalArgumentException("Time limit must be positive.");
+        }
+
+        this.timeLimitNanos = unit.toNanos(timeLimit);
+        this.checkIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1L),
+                Math.min(timeLimitNanos / 10, MAX_CHECK_INTERVAL_NANOS));
+    }
+
+    /**
+     * Registers "this" {@link ProvisionWatchdog} for every binding.
+     */
+    @Override
+    protected void configure() {
+        bindListener(Matchers.any(), this);
+    }
+
+    /**
+     * Tracks the {@link Key} being provisioned by the current thread for the duration of the
+     * provision.
+     *
+     * @param <T> the provisioned type
+     * @param provision the provision in progress
+     */
+    @Override
+    public <T> void onProvision(final ProvisionInvocation<T> provision) {
+        provisioning.provision(provision);
+    }
+
+    /**
+     * Runs the work under the supervision of "this" {@link ProvisionWatchdog}.
+     *
+     * @param work the work to run
+     * @throws NullPointerException if the work is {@code null}
+     * @throws ProvisioningHangException if provisioning deadlocks or a provision exceeds the time
+     * limit
+     */
+    public void watch(final Runnable work) {
+        Objects.requireNonNull(work, "Work must not be null.");
+
+        watch(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work under the supervision of "this" {@link ProvisionWatchdog} and returns its
+     * result. Exceptions thrown by the work are rethrown unchanged.
+     *
+     * @param <V> the type of the result
+     * @param work the work to run
+     * @return the result of the work
+     * @throws NullPointerException if the work is {@code null}
+     * @throws ProvisioningHangException if provisioning deadlocks or a provision exceeds the time
+     * limit
+     */
+    public <V> V watch(final Supplier<V> work) {
+        Objects.requireNonNull(work, "Work must not be null.");
+
+        final Outcome<V> outcome = new Outcome<>();
+        final Thread worker = new Thread(() -> outcome.complete(work), "provision-watchdog-work");
+        worker.setDaemon(true);
+        worker.start();
+
+        try {
+            while (worker.isAlive()) {
+                TimeUnit.NANOSECONDS.timedJoin(worker, checkIntervalNanos);
+                if (worker.isAlive()) {
+                    check(worker);
+                }
+            }
+        } catch (final InterruptedException ex) {
+            worker.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while watching provisioning.", ex);
+        }
+        return outcome.get();
+    }
+
+    /**
+     * Checks for deadlocks and overdue provisions, interrupting the worker and throwing if either
+     * is found.
+     *
+     * @param worker the thread running the supervised work
+     * @throws ProvisioningHangException if provisioning deadlocks or a provision exceeds the time
+     * limit
+     */
+    private void check(final Thread worker) {
+        final Map<Thread, List<InFlight>> chains = provisioning.snapshot();
+        final Set<Long> watched = new LinkedHashSet<>();
+        watched.add(worker.getId());
+        for (final Thread thread : chains.keySet()) {
+            watched.add(thread.getId());
+        }
+
+        final long[] deadlocked = threads.findDeadlockedThreads();
+        if (deadlocked != null) {
+            for (final long id : deadlocked) {
+                if (watched.contains(id)) {
+                    fail(worker, "Provisioning deadlocked.", chains, deadlocked);
+                }
+            }
+        }
+
+        final long now = System.nanoTime();
+        for (final Map.Entry<Thread, List<InFlight>> entry : chains.entrySet()) {
+            for (final InFlight inFlight : entry.getValue()) {
+                if (now - inFlight.getStartNanos() > timeLimitNanos) {
+                    fail(worker, "Provisioning " + inFlight.getKey() + " on thread \""
+                            + entry.getKey().getName() + "\" exceeded the time limit of "
+                            + TimeUnit.NANOSECONDS.toMillis(timeLimitNanos) + " ms.", chains,
+                            toArray(watched));
+                }
+            }
+        }
+    }
+
+    /**
+     * Interrupts the worker and throws a {@link ProvisioningHangException}.
+     *
+     * @param worker the thread running the supervised work
+     * @param reason why provisioning is considered hung
+     * @param chains the chains of provisions in progress per thread
+     * @param threadIds the IDs of the threads to include in the dump
+     * @throws ProvisioningHangException always
+     */
+    private void fail(final Thread worker, final String reason,
+            final Map<Thread, List<InFlight>> chains, final long[] threadIds) {
+        final List<String> keyChains = new ArrayList<>();
+        final long now = System.nanoTime();
+        for (final Map.Entry<Thread, List<InFlight>> entry : chains.entrySet()) {
+            final StringBuilder chain = new StringBuilder()
+                    .append('"').append(entry.getKey().getName()).append("\": ");
+            String separator = "";
+            for (final InFlight inFlight : entry.getValue()) {
+                chain.append(separator).append(inFlight.getKey()).append(" (")
+                        .append(TimeUnit.NANOSECONDS.toMillis(now - inFlight.getStartNanos()))
+                        .append(" ms)");
+                separator = " -> ";
+            }
+            keyChains.add(chain.toString());
+        }
+
+        final ThreadInfo[] dump = threads.getThreadInfo(threadIds,
+                threads.isObjectMonitorUsageSupported(), threads.isSynchronizerUsageSupported());
+        worker.interrupt();
+        throw new ProvisioningHangException(reason, keyChains, ThreadDumps.format(dump));
+    }
+
+    /**
+     * Converts the thread IDs to an array.
+     *
+     * @param ids the thread IDs
+     * @return the thread IDs as an array
+     */
+    private static long[] toArray(final Set<Long> ids) {
+        final long[] array = new long[ids.size()];
+        int index = 0;
+        for (final Long id : ids) {
+            array[index++] = id;
+        }
+        return array;
+    }
+
+    /**
+     * The result or failure of the supervised work.
+     *
+     * @param <V> the type of the result
+     */
+    private static class Outcome<V> {
+
+        private volatile V result;
+        private volatile Throwable failure;
+
+        /**
+         * Runs the work and records its outcome.
+         *
+         * @param work the work
+         */
+        void complete(final Supplier<V> work) {
+            try {
+                result = work.get();
+            } catch (final RuntimeException | Error ex) {
+                failure = ex;
+            }
+        }
+
+        /**
+         * Returns the result, or rethrows the failure.
+         *
+         * @return the result
+         */
+        V get() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when provisioning deadlocks or a single provision exceeds its time limit.
+ */
+public class ProvisioningHangException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> keyChains;
+
+    /**
+     * @param reason why provisioning is considered hung
+     * @param keyChains the chains of {@link Key}s being provisioned, one per thread
+     * @param threadDump a dump of the threads involved
+     */
+    ProvisioningHangException(final String reason, final List<String> keyChains,
+            final String threadDump) {
+        super(reason + System.lineSeparator() + "Keys being provisioned:"
+                + System.lineSeparator() + String.join(System.lineSeparator(), keyChains)
+                + System.lineSeparator() + "Threads:" + System.lineSeparator() + threadDump);
+        this.keyChains = Collections.unmodifiableList(keyChains);
+    }
+
+    /**
+     * Returns the chains of {@link Key}s that were being provisioned, one per thread.
+     *
+     * @return the chains of {@link Key}s that were being provisioned
+     */
+    public List<String> getKeyChains() {
+        return keyChains;
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Ranks the {@link ConstructorBinding}s and {@link ProviderInstanceBinding}s of an injector by the
+ * time spent in their own constructors and providers, excluding their dependencies.
+ */
+@Immutable
+public class ProvisioningReport {
+
+    private static final Comparator<ProvisionTiming> MOST_EXPENSIVE_FIRST =
+            Comparator.comparingLong(ProvisionTiming::getSelfNanos).reversed()
+                    .thenComparing(timing -> timing.getKey().toString());
+
+    private final List<ProvisionTiming> ranking;
+
+    /**
+     * @param timings the {@link ProvisionTiming}s of every provisioned binding
+     */
+    ProvisioningReport(final Collection<ProvisionTiming> timings) {
+        Objects.requireNonNull(timings, "Timings must not be null.");
+
+        final List<ProvisionTiming> ranked = new ArrayList<>();
+        for (final ProvisionTiming timing : timings) {
+            if (timing.getKind() == BindingKind.CONSTRUCTOR
+                    || timing.getKind() == BindingKind.PROVIDER_INSTANCE) {
+                ranked.add(timing);
+            }
+        }
+        ranked.sort(MOST_EXPENSIVE_FIRST);
+        this.ranking = Collections.unmodifiableList(ranked);
+    }
+
+    /**
+     * Returns every ranked {@link ProvisionTiming}, most expensive first.
+     *
+     * @return every ranked {@link ProvisionTiming}, most expensive first
+     */
+    public List<ProvisionTiming> getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Returns the most expensive {@link ProvisionTiming}s.
+     *
+     * @param limit the maximum number of {@link ProvisionTiming}s to return
+     * @return at most {@code limit} {@link ProvisionTiming}s, most expensive first
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public List<ProvisionTiming> getMostExpensive(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative.");
+        }
+
+        return ranking.subList(0, Math.min(limit, ranking.size()));
+    }
+
+    /**
+     * Returns the ranking as one line per {@link ProvisionTiming}, most expensive first.
+     *
+     * @return the ranking as one line per {@link ProvisionTiming}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            report.append(rank + 1).append(". ").append(ranking.get(rank))
+                    .append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+}
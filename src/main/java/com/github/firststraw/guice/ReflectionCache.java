@@ -0,0 +1,104 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.InjectionPoint;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Caches the reflective metadata that verifiers derive from their expectations, so that suites
+ * constructing the same expectations in thousands of test methods analyze each
+ * {@link Constructor}, method and type only once. Each kind of metadata is held in a
+ * {@link BoundedCache} of at most {@value #MAX_ENTRIES} entries, which keeps memory bounded and
+ * lets class loaders of classes that are no longer verified be collected eventually. The
+ * {@link Key}s are also interned by the {@link KeyInterner}, so that a {@link Key} computed again
+ * after its entry was evicted is still the canonical instance.
+ */
+@ThreadSafe
+final class ReflectionCache {
+
+    /**
+     * The maximum number of entries cached per kind of metadata.
+     */
+    static final int MAX_ENTRIES = 4096;
+
+    private static final BoundedCache<Constructor<?>, InjectionPoint> CONSTRUCTORS =
+            new BoundedCache<>(MAX_ENTRIES);
+    private static final BoundedCache<Map.Entry<Method, Class<?>>, List<Dependency<?>>>
+            METHOD_DEPENDENCIES = new BoundedCache<>(MAX_ENTRIES);
+    private static final BoundedCache<Object, Key<?>> KEYS = new BoundedCache<>(MAX_ENTRIES);
+
+    /**
+     * Prevents instantiation.
+     */
+    private ReflectionCache() {
+    }
+
+    /**
+     * Returns the {@link InjectionPoint} of the {@link Constructor}, like
+     * {@link InjectionPoint#forConstructor(Constructor)}.
+     *
+     * @param <T> the constructed type
+     * @param constructor the {@link Constructor}
+     * @return the {@link InjectionPoint}
+     */
+    static <T> InjectionPoint forConstructor(final Constructor<T> constructor) {
+        return CONSTRUCTORS.get(constructor, InjectionPoint::forConstructor);
+    }
+
+    /**
+     * Returns the parameters of the method as declared by the type, like the
+     * {@link Dependency}s of {@link InjectionPoint#forMethod(Method, TypeLiteral)}.
+     *
+     * @param method the method
+     * @param type the type declaring or inheriting the method
+     * @return the {@link Dependency}s of the parameters
+     */
+    static List<Dependency<?>> methodDependencies(final Method method, final Class<?> type) {
+        return METHOD_DEPENDENCIES.get(new SimpleImmutableEntry<>(method, type),
+                entry -> InjectionPoint.forMethod(entry.getKey(),
+                        TypeLiteral.get(entry.getValue())).getDependencies());
+    }
+
+    /**
+     * Returns the {@link Key} of the class without a binding annotation, like
+     * {@link Key#get(Class)}, interned by the {@link KeyInterner}.
+     *
+     * @param <T> the type
+     * @param type the class
+     * @return the {@link Key}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Key<T> key(final Class<T> type) {
+        return (Key<T>) KEYS.get(type, cached -> KeyInterner.intern(Key.get((Class<?>) cached)));
+    }
+
+    /**
+     * Returns the {@link Key} of the {@link TypeLiteral} without a binding annotation, like
+     * {@link Key#get(TypeLiteral)}, interned by the {@link KeyInterner}.
+     *
+     * @param <T> the type
+     * @param type the {@link TypeLiteral}
+     * @return the {@link Key}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Key<T> key(final TypeLiteral<T> type) {
+        return (Key<T>) KEYS.get(type,
+                cached -> KeyInterner.intern(Key.get((TypeLiteral<?>) cached)));
+    }
+
+    /**
+     * Discards every cached entry.
+     */
+    static void clear() {
+        CONSTRUCTORS.clear();
+        METHOD_DEPENDENCIES.clear();
+        KEYS.clear();
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binder;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.ProvisionException;
+import com.google.inject.Scope;
+import com.google.inject.binder.ScopedBindingBuilder;
+import com.google.inject.spi.BindingScopingVisitor;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderWithDependencies;
+import com.google.inject.spi.ProvidesMethodBinding;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Provider for a replayed {@code @Provides} method. Guice initializes the provider of a
+ * {@code @Provides} method with the {@link Injector} it is bound in, so a recorded one cannot be
+ * shared between {@link Injector}s; a {@link ReplayedProviderMethod} is created for every replay
+ * instead, and resolves the method's parameters from the {@link Injector} that injects it.
+ *
+ * @param <T> the provided type
+ */
+final class ReplayedProviderMethod<T> implements ProviderWithDependencies<T> {
+
+    private final Method method;
+    private final Object module;
+    private final List<Dependency<?>> parameters;
+    private Injector injector;
+
+    /**
+     * @param binding the recorded {@link ProvidesMethodBinding}
+     */
+    private ReplayedProviderMethod(final ProvidesMethodBinding<T> binding) {
+        this.method = binding.getMethod();
+        this.module = binding.getEnclosingInstance();
+        this.parameters = ReflectionCache.methodDependencies(method, module.getClass());
+        method.setAccessible(true);
+    }
+
+    /**
+     * Returns whether the {@link Object} is a recorded {@link ProviderInstanceBinding} of a
+     * {@code @Provides} method.
+     *
+     * @param element the {@link Object}
+     * @return {@code true} if the {@link Object} binds a {@code @Provides} method
+     */
+    static boolean isProviderMethod(final Object element) {
+        return element instanceof ProviderInstanceBinding && ((ProviderInstanceBinding<?>) element)
+                .getUserSuppliedProvider() instanceof ProvidesMethodBinding;
+    }
+
+    /**
+     * Binds the {@link ProviderInstanceBinding} of a {@code @Provides} method to a new
+     * {@link ReplayedProviderMethod}, with the same {@link com.google.inject.Key}, source and
+     * scoping.
+     *
+     * @param <T> the provided type
+     * @param binding the {@link ProviderInstanceBinding}
+     * @param binder the {@link Binder} to bind with
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void bind(final ProviderInstanceBinding<T> binding, final Binder binder) {
+        final ScopedBindingBuilder builder = binder.withSource(binding.getSource())
+                .bind(binding.getKey()).toProvider(new ReplayedProviderMethod<>(
+                        (ProvidesMethodBinding<T>) binding.getUserSuppliedProvider()));
+        binding.acceptScopingVisitor(new BindingScopingVisitor<Void>() {
+            @Override
+            public Void visitEagerSingleton() {
+                builder.asEagerSingleton();
+                return null;
+            }
+
+            @Override
+            public Void visitScope(final Scope scope) {
+                builder.in(scope);
+                return null;
+            }
+
+            @Override
+            public Void visitScopeAnnotation(final Class<? extends Annotation> scopeAnnotation) {
+                builder.in(scopeAnnotation);
+                return null;
+            }
+
+            @Override
+            public Void visitNoScoping() {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Receives the {@link Injector} to resolve parameters from.
+     *
+     * @param injector the {@link Injector}
+     */
+    @Inject
+    void setInjector(final Injector injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * Invokes the {@code @Provides} method.
+     *
+     * @return the provided instance
+     * @throws ProvisionException if the method throws a checked exception
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        final Object[] arguments = new Object[parameters.size()];
+        for (int index = 0; index < arguments.length; index++) {
+            arguments[index] = injector.getInstance(parameters.get(index).getKey());
+        }
+        try {
+            return (T) method.invoke(module, arguments);
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot invoke " + method + ".", ex);
+        } catch (final InvocationTargetException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new ProvisionException("Provider method " + method + " failed.",
+                    ex.getCause());
+        }
+    }
+
+    /**
+     * Returns the parameters of the {@code @Provides} method.
+     *
+     * @return the {@link Dependency}s of the {@code @Provides} method
+     */
+    @Override
+    public Set<Dependency<?>> getDependencies() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(parameters));
+    }
+}
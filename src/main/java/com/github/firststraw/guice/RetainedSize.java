@@ -0,0 +1,79 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The estimated retained size of the instance of a single {@link Binding}.
+ */
+@Immutable
+public class RetainedSize {
+
+    private final Key<?> key;
+    private final BindingKind kind;
+    private final long bytes;
+    private final boolean lowerBound;
+
+    /**
+     * @param key the {@link Key} of the {@link Binding}
+     * @param kind the {@link BindingKind} of the {@link Binding}
+     * @param bytes the estimated retained size of the instance in bytes
+     * @param lowerBound {@code true} if parts of the instance could not be sized
+     */
+    RetainedSize(final Key<?> key, final BindingKind kind, final long bytes,
+            final boolean lowerBound) {
+        this.key = Objects.requireNonNull(key, "Key must not be null.");
+        this.kind = Objects.requireNonNull(kind, "Kind must not be null.");
+        this.bytes = bytes;
+        this.lowerBound = lowerBound;
+    }
+
+    /**
+     * Returns the {@link Key} of the {@link Binding}.
+     *
+     * @return the {@link Key} of the {@link Binding}
+     */
+    public Key<?> getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the {@link BindingKind} of the {@link Binding}.
+     *
+     * @return the {@link BindingKind} of the {@link Binding}
+     */
+    public BindingKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the estimated number of bytes reachable from the instance.
+     *
+     * @return the estimated retained size in bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Indicates whether parts of the instance could not be sized, for example fields of JDK
+     * classes that cannot be read reflectively, so that the retained size is a lower bound.
+     *
+     * @return {@code true} if the retained size is a lower bound, otherwise {@code false}
+     */
+    public boolean isLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Returns a human-readable summary of the retained size.
+     *
+     * @return a human-readable summary of the retained size
+     */
+    @Override
+    public String toString() {
+        return (lowerBound ? "at least " : "") + bytes + " bytes: " + kind + " " + key;
+    }
+}
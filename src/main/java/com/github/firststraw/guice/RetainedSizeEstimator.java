@@ -0,0 +1,411 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Injector;
+import java.lang.ref.Reference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the memory reachable from an object by walking its object graph reflectively. Sizes
+ * assume a 64-bit JVM with compressed object pointers: 12 byte object headers, 16 byte array
+ * headers, 4 byte references and 8 byte alignment. Objects shared with the rest of the JVM,
+ * namely classes, class loaders, threads and enum constants, are neither counted nor traversed,
+ * and neither are the referents of {@link Reference}s. Every other reachable object is counted
+ * once.
+ * <p>
+ * Since Java 16, the fields of JDK classes cannot be read reflectively. The contents of such
+ * collections, maps and character sequences are sized through their public methods instead:
+ * their elements, keys and values are traversed, and their internal arrays and entries are
+ * approximated. If any other field cannot be read, the objects it references are not counted
+ * and the {@link Estimate} is marked as a lower bound.
+ */
+final class RetainedSizeEstimator {
+
+    static final int OBJECT_HEADER_BYTES = 12;
+    static final int ARRAY_HEADER_BYTES = 16;
+    static final int REFERENCE_BYTES = 4;
+    static final int ALIGNMENT = 8;
+
+    /**
+     * The approximate size of an entry of a map or set whose fields cannot be read, as in
+     * {@link java.util.HashMap}.
+     */
+    static final int ENTRY_BYTES = 32;
+
+    /**
+     * The maximum number of objects visited by one estimate, bounding the time and memory it
+     * takes on huge object graphs. The objects beyond it are not counted, and the
+     * {@link Estimate} is marked as a lower bound.
+     */
+    static final int MAX_VISITED_OBJECTS = 10_000_000;
+
+    private static final Map<Class<?>, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    /**
+     * Prevents instantiation.
+     */
+    private RetainedSizeEstimator() {
+    }
+
+    /**
+     * Estimates the number of bytes reachable from the object.
+     *
+     * @param root the object, or {@code null}
+     * @return the {@link Estimate}, of 0 bytes for {@code null} and shared objects
+     */
+    static Estimate estimate(final Object root) {
+        return estimate(root, Collections.emptySet());
+    }
+
+    /**
+     * Estimates the number of bytes reachable from the object without passing through any of the
+     * boundary objects, which are neither counted nor traversed. Sizing a singleton with its
+     * {@link com.google.inject.Injector} as a boundary, for example, keeps the {@link
+     * com.google.inject.Injector} referenced by injected {@link com.google.inject.Provider}s out of
+     * the estimate.
+     *
+     * @param root the object, or {@code null}
+     * @param boundaries the boundary objects, compared by identity
+     * @return the {@link Estimate}, of 0 bytes for {@code null}, shared and boundary objects
+     */
+    static Estimate estimate(final Object root, final Collection<?> boundaries) {
+        return estimate(root, boundaries, MAX_VISITED_OBJECTS);
+    }
+
+    /**
+     * Estimates the number of bytes reachable from the object without passing through any of the
+     * boundary objects, visiting at most the given number of objects.
+     *
+     * @param root the object, or {@code null}
+     * @param boundaries the boundary objects, compared by identity
+     * @param maxVisitedObjects the maximum number of objects to visit, including the boundary
+     * objects
+     * @return the {@link Estimate}, of 0 bytes for {@code null}, shared and boundary objects
+     */
+    static Estimate estimate(final Object root, final Collection<?> boundaries,
+            final int maxVisitedObjects) {
+        return estimate(root, boundaries, maxVisitedObjects, false);
+    }
+
+    /**
+     * Estimates the number of bytes reachable from a bound instance without passing through any
+     * {@link Injector}. Instances holding an injected {@link Injector}, or
+     * {@link com.google.inject.Provider}s that reference one, are thereby sized without the whole
+     * {@link Injector}.
+     *
+     * @param instance the instance, or {@code null}
+     * @return the {@link Estimate}, of 0 bytes for {@code null}, shared objects and
+     * {@link Injector}s
+     */
+    static Estimate estimateInstance(final Object instance) {
+        return estimate(instance, Collections.emptySet(), MAX_VISITED_OBJECTS, true);
+    }
+
+    /**
+     * Estimates the number of bytes reachable from the object.
+     *
+     * @param root the object, or {@code null}
+     * @param boundaries the boundary objects, compared by identity
+     * @param maxVisitedObjects the maximum number of objects to visit, including the boundary
+     * objects
+     * @param injectorBoundaries {@code true} to treat every {@link Injector} as a boundary
+     * @return the {@link Estimate}
+     */
+    private static Estimate estimate(final Object root, final Collection<?> boundaries,
+            final int maxVisitedObjects, final boolean injectorBoundaries) {
+        if (root == null || isShared(root) || (injectorBoundaries && root instanceof Injector)) {
+            return new Estimate(0L, false);
+        }
+
+        final Traversal traversal = new Traversal(maxVisitedObjects, injectorBoundaries);
+        traversal.visited.addAll(boundaries);
+        if (!traversal.visited.add(root)) {
+            return new Estimate(0L, false);
+        }
+        final Deque<Object> pending = traversal.pending;
+        pending.push(root);
+
+        long bytes = 0L;
+        boolean lowerBound = false;
+        while (!pending.isEmpty()) {
+            final Object object = pending.pop();
+            final Class<?> type = object.getClass();
+            if (type.isArray()) {
+                final Class<?> component = type.getComponentType();
+                final int length = Array.getLength(object);
+                bytes += align(ARRAY_HEADER_BYTES + (long) length * sizeOf(component));
+                if (!component.isPrimitive()) {
+                    for (final Object element : (Object[]) object) {
+                        traversal.visit(element);
+                    }
+                }
+            } else {
+                final Layout layout = LAYOUTS.computeIfAbsent(type, Layout::new);
+                bytes += layout.shallowBytes;
+                for (final Field field : layout.references) {
+                    try {
+                        traversal.visit(field.get(object));
+                    } catch (final IllegalAccessException ex) {
+                        throw new IllegalStateException("Cannot read " + field + ".", ex);
+                    }
+                }
+                if (layout.opaque) {
+                    final long contents = estimateContents(object, traversal);
+                    if (contents < 0L) {
+                        lowerBound = true;
+                    } else {
+                        bytes += contents;
+                    }
+                }
+            }
+        }
+        return new Estimate(bytes, lowerBound || traversal.truncated);
+    }
+
+    /**
+     * Sizes the contents of an object whose fields cannot all be read through its public
+     * methods, scheduling its elements, keys and values for counting.
+     *
+     * @param object the object
+     * @param traversal the {@link Traversal} of the estimate
+     * @return the approximate size of its internal arrays and entries in bytes, or -1 if its
+     * contents cannot be sized
+     */
+    private static long estimateContents(final Object object, final Traversal traversal) {
+        try {
+            if (object instanceof CharSequence) {
+                final CharSequence chars = (CharSequence) object;
+                final int length = chars.length();
+                int bytesPerChar = 1;
+                for (int index = 0; index < length && bytesPerChar == 1; index++) {
+                    if (chars.charAt(index) > 0xFF) {
+                        bytesPerChar = 2;
+                    }
+                }
+                return align(ARRAY_HEADER_BYTES + (long) length * bytesPerChar);
+            } else if (object instanceof Map) {
+                final Map<?, ?> map = (Map<?, ?>) object;
+                final boolean weakKeys = map instanceof WeakHashMap;
+                for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (!weakKeys) {
+                        traversal.visit(entry.getKey());
+                    }
+                    traversal.visit(entry.getValue());
+                }
+                return hashTableBytes(map.size());
+            } else if (object instanceof Collection) {
+                final Collection<?> collection = (Collection<?>) object;
+                int size = 0;
+                for (final Object element : collection) {
+                    traversal.visit(element);
+                    size++;
+                }
+                return collection instanceof Set ? hashTableBytes(size)
+                        : align(ARRAY_HEADER_BYTES + (long) size * REFERENCE_BYTES);
+            }
+        } catch (final RuntimeException ex) {
+            return -1L;
+        }
+        return -1L;
+    }
+
+    /**
+     * Approximates the size of a hash table with the number of entries, as in
+     * {@link java.util.HashMap}: a table of at least 16 buckets, at most 75% full, and one
+     * {@value #ENTRY_BYTES} byte entry per mapping.
+     *
+     * @param size the number of entries
+     * @return the approximate size in bytes
+     */
+    private static long hashTableBytes(final int size) {
+        if (size == 0) {
+            return 0L;
+        }
+        long buckets = 16L;
+        while (buckets * 3 / 4 < size) {
+            buckets *= 2;
+        }
+        return align(ARRAY_HEADER_BYTES + buckets * REFERENCE_BYTES) + (long) size * ENTRY_BYTES;
+    }
+
+    /**
+     * Returns whether the object is shared with the rest of the JVM and therefore not counted.
+     *
+     * @param object the object
+     * @return {@code true} if the object is shared
+     */
+    private static boolean isShared(final Object object) {
+        return object instanceof Class || object instanceof ClassLoader
+                || object instanceof Thread || object instanceof ThreadGroup
+                || object instanceof Enum;
+    }
+
+    /**
+     * Returns the size of a field or array element of the type.
+     *
+     * @param type the type
+     * @return the size in bytes
+     */
+    private static int sizeOf(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_BYTES;
+    }
+
+    /**
+     * Rounds the size up to the object alignment.
+     *
+     * @param bytes the size in bytes
+     * @return the aligned size in bytes
+     */
+    static long align(final long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * An estimated retained size.
+     */
+    static final class Estimate {
+
+        private final long bytes;
+        private final boolean lowerBound;
+
+        /**
+         * @param bytes the estimated number of bytes
+         * @param lowerBound {@code true} if some reachable objects could not be counted
+         */
+        Estimate(final long bytes, final boolean lowerBound) {
+            this.bytes = bytes;
+            this.lowerBound = lowerBound;
+        }
+
+        /**
+         * Returns the estimated number of bytes.
+         *
+         * @return the estimated number of bytes
+         */
+        long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Indicates whether some reachable objects could not be counted, so that the estimate
+         * is a lower bound.
+         *
+         * @return {@code true} if the estimate is a lower bound
+         */
+        boolean isLowerBound() {
+            return lowerBound;
+        }
+    }
+
+    /**
+     * The objects visited and still to count by one estimate.
+     */
+    private static final class Traversal {
+
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Deque<Object> pending = new ArrayDeque<>();
+        private final int maxVisitedObjects;
+        private final boolean injectorBoundaries;
+        private boolean truncated;
+
+        /**
+         * @param maxVisitedObjects the maximum number of objects to visit
+         * @param injectorBoundaries {@code true} to treat every {@link Injector} as a boundary
+         */
+        Traversal(final int maxVisitedObjects, final boolean injectorBoundaries) {
+            this.maxVisitedObjects = maxVisitedObjects;
+            this.injectorBoundaries = injectorBoundaries;
+        }
+
+        /**
+         * Schedules the object for counting unless it is {@code null}, shared, a boundary or
+         * already visited. Once the maximum number of objects has been visited, new objects are not
+         * counted and the traversal is marked as truncated.
+         *
+         * @param object the object
+         */
+        void visit(final Object object) {
+            if (object == null || isShared(object) || visited.contains(object)
+                    || (injectorBoundaries && object instanceof Injector)) {
+                return;
+            } else if (visited.size() >= maxVisitedObjects) {
+                truncated = true;
+                return;
+            }
+            visited.add(object);
+            pending.push(object);
+        }
+    }
+
+    /**
+     * The shallow size and traversable reference fields of a class, computed once per class.
+     */
+    private static final class Layout {
+
+        private final long shallowBytes;
+        private final List<Field> references = new ArrayList<>();
+        private final boolean opaque;
+
+        /**
+         * @param type the class
+         */
+        Layout(final Class<?> type) {
+            long bytes = OBJECT_HEADER_BYTES;
+            boolean unreadable = false;
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    bytes += sizeOf(field.getType());
+                    if (field.getType().isPrimitive() || current == Reference.class) {
+                        continue;
+                    } else if (makeAccessible(field)) {
+                        references.add(field);
+                    } else {
+                        unreadable = true;
+                    }
+                }
+            }
+            this.shallowBytes = align(bytes);
+            this.opaque = unreadable;
+        }
+
+        /**
+         * Makes the field readable.
+         *
+         * @param field the field
+         * @return {@code false} if the field cannot be made readable, as is the case for the
+         * fields of JDK classes since Java 16
+         */
+        private static boolean makeAccessible(final Field field) {
+            try {
+                field.setAccessible(true);
+                return true;
+            } catch (final RuntimeException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.firststraw.guice;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Ranks the instances bound with {@code toInstance()} and the singletons of an injector by their
+ * estimated retained size. Objects reachable from several instances are counted for each of
+ * them, so the total may exceed the memory actually used.
+ */
+@Immutable
+public class RetainedSizeReport {
+
+    private static final Comparator<RetainedSize> LARGEST_FIRST =
+            Comparator.comparingLong(RetainedSize::getBytes).reversed()
+                    .thenComparing(size -> size.getKey().toString());
+
+    private final List<RetainedSize> ranking;
+    private final long totalBytes;
+
+    /**
+     * @param sizes the {@link RetainedSize}s of every sized instance
+     */
+    RetainedSizeReport(final Collection<RetainedSize> sizes) {
+        Objects.requireNonNull(sizes, "Sizes must not be null.");
+
+        final List<RetainedSize> ranked = new ArrayList<>(sizes);
+        ranked.sort(LARGEST_FIRST);
+        long total = 0L;
+        for (final RetainedSize size : ranked) {
+            total += size.getBytes();
+        }
+        this.ranking = Collections.unmodifiableList(ranked);
+        this.totalBytes = total;
+    }
+
+    /**
+     * Returns every {@link RetainedSize}, largest first.
+     *
+     * @return every {@link RetainedSize}, largest first
+     */
+    public List<RetainedSize> getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Returns the largest {@link RetainedSize}s.
+     *
+     * @param limit the maximum number of {@link RetainedSize}s to return
+     * @return at most {@code limit} {@link RetainedSize}s, largest first
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public List<RetainedSize> getLargest(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative.");
+        }
+
+        return ranking.subList(0, Math.min(limit, ranking.size()));
+    }
+
+    /**
+     * Returns the sum of the estimated retained sizes.
+     *
+     * @return the sum of the estimated retained sizes in bytes
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Returns the ranking as one line per {@link RetainedSize}, largest first.
+     *
+     * @return the ranking as one line per {@link RetainedSize}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            report.append(rank + 1).append(". ").append(ranking.get(rank))
+                    .append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+}
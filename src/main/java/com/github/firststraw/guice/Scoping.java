@@ -1,7 +1,10 @@
 package com.github.firststraw.guice;
 
 import com.google.inject.Binding;
+import com.google.inject.Injector;
 import com.google.inject.Scope;
+import com.google.inject.Scopes;
+import com.google.inject.Singleton;
 import java.lang.annotation.Annotation;
 import java.util.Objects;
 import javax.annotation.Nullable;
@@ -129,6 +132,20 @@ public class Scoping {
         return noScoping;
     }
 
+    /**
+     * Returns {@code true} if the {@link Binding} yields a single instance per {@link Injector},
+     * either as an eager singleton, through {@link Scopes#SINGLETON} or through a singleton scope
+     * annotation, otherwise {@code false}.
+     *
+     * @return {@code true} if the {@link Binding} has any form of singleton scoping, otherwise
+     * {@code false}
+     */
+    public boolean isSingleton() {
+        return eagerSingleton || Scopes.SINGLETON.equals(scope)
+                || Singleton.class.equals(scopeAnnotation)
+                || javax.inject.Singleton.class.equals(scopeAnnotation);
+    }
+
     /**
      * Returns a text description of the scoping for the {@link Binding}.
      *
@@ -0,0 +1,100 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Creates {@link InjectorTester}s for child {@link Injector}s of one shared parent
+ * {@link Injector}. The parent is created once from the expensive, immutable infrastructure
+ * {@link Module}s, and each test gets a cheap child {@link Injector} with only its own
+ * {@link Module}s. Verifiers and queries of the resulting {@link InjectorTester}s see the
+ * {@link com.google.inject.Binding}s of both.
+ * <p>
+ * Singletons of the parent are shared by every test, and Guice creates just-in-time
+ * {@link com.google.inject.Binding}s in the parent whenever their dependencies allow it, so
+ * bind types whose state must not leak between tests explicitly in the test {@link Module}s.
+ */
+@ThreadSafe
+public class SharedParentInjector {
+
+    private static final String NULL_MODULES_ERROR = "Modules must not be null.";
+    private static final String NULL_MODULE_ERROR = "All modules must be non-null.";
+
+    private final List<Module> sharedModules;
+    private final Injector parent;
+
+    /**
+     * Creates the parent {@link Injector} in {@link Stage#TOOL}, like
+     * {@link InjectorTester#InjectorTester(Module...)}.
+     *
+     * @param sharedModules the {@link Module}s of the parent {@link Injector}
+     * @throws NullPointerException if the array or any {@link Module} is {@code null}
+     */
+    public SharedParentInjector(final Module... sharedModules) {
+        this(Stage.TOOL, Arrays.asList(Objects.requireNonNull(sharedModules,
+                NULL_MODULES_ERROR)));
+    }
+
+    /**
+     * Creates the parent {@link Injector} in the {@link Stage}, which the child
+     * {@link Injector}s inherit.
+     *
+     * @param stage the {@link Stage} of the {@link Injector}s
+     * @param sharedModules the {@link Module}s of the parent {@link Injector}
+     * @throws NullPointerException if the {@link Stage}, the {@link Iterable} or any
+     * {@link Module} is {@code null}
+     */
+    public SharedParentInjector(final Stage stage,
+            final Iterable<? extends Module> sharedModules) {
+        final InjectorTester tester = new InjectorTester(stage, sharedModules);
+        this.sharedModules = tester.requireModules();
+        this.parent = tester.getInjector();
+    }
+
+    /**
+     * Creates an {@link InjectorTester} for a new child {@link Injector} of the parent.
+     *
+     * @param testModules the {@link Module}s of the child {@link Injector}
+     * @return the {@link InjectorTester}
+     * @throws NullPointerException if the array or any {@link Module} is {@code null}
+     */
+    public InjectorTester createTester(final Module... testModules) {
+        Objects.requireNonNull(testModules, NULL_MODULES_ERROR);
+
+        return createTester(Arrays.asList(testModules));
+    }
+
+    /**
+     * Creates an {@link InjectorTester} for a new child {@link Injector} of the parent.
+     * Operations that create fresh {@link Injector}s, such as
+     * {@link InjectorTester#provisionAllBindings(Module...)}, use the shared and the test
+     * {@link Module}s together.
+     *
+     * @param testModules the {@link Module}s of the child {@link Injector}
+     * @return the {@link InjectorTester}
+     * @throws NullPointerException if the {@link Iterable} or any {@link Module} is {@code null}
+     */
+    public InjectorTester createTester(final Iterable<? extends Module> testModules) {
+        Objects.requireNonNull(testModules, NULL_MODULES_ERROR);
+        final List<Module> child = new ArrayList<>();
+        for (final Module module : testModules) {
+            child.add(Objects.requireNonNull(module, NULL_MODULE_ERROR));
+        }
+        return InjectorTester.ofChild(parent, sharedModules, child);
+    }
+
+    /**
+     * Returns the shared parent {@link Injector}.
+     *
+     * @return the parent {@link Injector}
+     */
+    public Injector getParent() {
+        return parent;
+    }
+}
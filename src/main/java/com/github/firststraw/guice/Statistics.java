@@ -0,0 +1,41 @@
+package com.github.firststraw.guice;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Noise-robust statistics over repeated measurements.
+ */
+final class Statistics {
+
+    /**
+     * Prevents instantiation.
+     */
+    private Statistics() {
+    }
+
+    /**
+     * Returns the median of the values. For an even number of values the mean of the two middle
+     * values is returned.
+     *
+     * @param values the values
+     * @return the median of the values
+     * @throws NullPointerException if the values are {@code null}
+     * @throws IllegalArgumentException if there are no values
+     */
+    static long median(final long[] values) {
+        Objects.requireNonNull(values, "Values must not be null.");
+        if (values.length == 0) {
+            throw new IllegalArgumentException("At least one value is required.");
+        }
+
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final int middle = sorted.length / 2;
+        if (sorted.length % 2 == 1) {
+            return sorted[middle];
+        } else {
+            return sorted[middle - 1] + (sorted[middle] - sorted[middle - 1]) / 2;
+        }
+    }
+}
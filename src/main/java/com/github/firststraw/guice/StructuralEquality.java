@@ -0,0 +1,781 @@
+package com.github.firststraw.guice;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Compares two object graphs field by field instead of relying on {@link Object#equals(Object)},
+ * which many bound objects do not override or implement slowly.
+ * <ul>
+ * <li>Objects of the same class are equal if all their non-static, non-transient, non-synthetic
+ * fields are, including inherited ones.</li>
+ * <li>Arrays, {@link List}s and other ordered {@link Collection}s are compared element by
+ * element.</li>
+ * <li>{@link Set}s and {@link Map}s are compared regardless of order: elements and keys are
+ * bucketed by a structural hash that is computed once per element and only compared with the
+ * candidates in the same bucket.</li>
+ * <li>JDK types that override {@link Object#equals(Object)}, such as {@link String}s, boxed
+ * primitives, and enum constants, are compared with {@link Object#equals(Object)}.</li>
+ * <li>JDK holders that do not override {@link Object#equals(Object)}, such as
+ * {@link java.util.concurrent.atomic.AtomicLong}, {@link AtomicBoolean} and
+ * {@link AtomicReference}, are compared by their value.</li>
+ * <li>Distinct objects of any other class whose fields cannot be read, such as JDK classes since
+ * Java 16, are reported as uncomparable rather than silently compared by identity.</li>
+ * </ul>
+ * Graphs are walked iteratively, so arbitrarily deep graphs with millions of objects do not
+ * overflow the stack, and each pair of objects is compared once, so cycles terminate. Candidate
+ * elements and keys are matched within the same comparison, sharing its record of compared
+ * pairs: the pairs of a failed match are rolled back, and no path or description is built for
+ * it. The fields of each class are looked up once and cached.
+ */
+@NotThreadSafe
+final class StructuralEquality {
+
+    /**
+     * The depth to which structural hashes look into an object graph.
+     */
+    static final int HASH_DEPTH = 2;
+
+    /**
+     * The number of elements of an ordered collection or array that structural hashes include.
+     */
+    static final int HASH_ELEMENTS = 16;
+
+    private static final Map<Class<?>, Shape> SHAPES = new ConcurrentHashMap<>();
+    private static final Object NO_MATCH = new Object();
+    private static final Object UNREADABLE = new Object();
+
+    /**
+     * The difference reported while matching candidates, which is never shown.
+     */
+    private static final String MISMATCH = "mismatch";
+
+    private final Map<Object, Object> compared = new IdentityHashMap<>();
+    private final List<Object> journal = new ArrayList<>();
+    private Deque<Frame> pending = new ArrayDeque<>();
+    private int trials;
+
+    /**
+     * Prevents instantiation outside {@link #findDifference(String, Object, Object)}.
+     */
+    private StructuralEquality() {
+    }
+
+    /**
+     * Finds the first difference between two object graphs in depth-first order.
+     *
+     * @param root the name of the root objects in the reported path
+     * @param expected the expected object
+     * @param actual the actual object
+     * @return {@code null} if the objects are structurally equal, otherwise the path to the first
+     * difference and a description of it, such as
+     * {@code "instance.servers[2].port: expected <80> but was <8080>"}
+     */
+    @Nullable
+    static String findDifference(final String root, @Nullable final Object expected,
+            @Nullable final Object actual) {
+        return new StructuralEquality().compare(new Frame(null, root, -1, expected, actual));
+    }
+
+    /**
+     * Compares the graphs below the root {@link Frame}.
+     *
+     * @param root the root {@link Frame}
+     * @return the first difference, or {@code null}
+     */
+    @Nullable
+    private String compare(final Frame root) {
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            final Frame frame = pending.pop();
+            final String difference = compareNode(frame);
+            if (difference != null) {
+                return difference;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compares the objects of a {@link Frame}, scheduling their children for comparison.
+     *
+     * @param frame the {@link Frame}
+     * @return the difference between the objects themselves, or {@code null}
+     */
+    @Nullable
+    private String compareNode(final Frame frame) {
+        final Object expected = frame.expected;
+        final Object actual = frame.actual;
+        if (expected == actual) {
+            return null;
+        } else if (expected == null || actual == null) {
+            return mismatch(frame, expected, actual);
+        }
+
+        final Shape shape = shapeOf(expected.getClass());
+        final Shape actualShape = shapeOf(actual.getClass());
+        if (shape.kind != actualShape.kind || (shape.kind != Kind.ORDERED
+                && shape.kind != Kind.SET && shape.kind != Kind.MAP
+                && expected.getClass() != actual.getClass())) {
+            return mismatch(frame, "instance of", expected.getClass().getName(),
+                    actual.getClass().getName());
+        }
+
+        if (shape.kind != Kind.VALUE) {
+            final Object previous = compared.put(expected, actual);
+            if (previous == actual) {
+                return null;
+            } else if (trials > 0) {
+                journal.add(expected);
+                journal.add(previous);
+            }
+        }
+
+        switch (shape.kind) {
+            case VALUE:
+                return safeEquals(expected, actual) ? null : mismatch(frame, expected, actual);
+            case ARRAY:
+                return compareArrays(frame, expected, actual);
+            case ORDERED:
+                return compareOrdered(frame, ((Collection<?>) expected).toArray(),
+                        ((Collection<?>) actual).toArray());
+            case SET:
+                return compareSets(frame, (Set<?>) expected, (Set<?>) actual);
+            case MAP:
+                return compareMaps(frame, (Map<?, ?>) expected, (Map<?, ?>) actual);
+            case OPAQUE:
+                return compareValues(frame, expected, actual);
+            default:
+                return compareFields(frame, shape, expected, actual);
+        }
+    }
+
+    /**
+     * Compares two arrays of the same class.
+     *
+     * @param frame the {@link Frame} of the arrays
+     * @param expected the expected array
+     * @param actual the actual array
+     * @return the difference between the arrays themselves, or {@code null}
+     */
+    @Nullable
+    private String compareArrays(final Frame frame, final Object expected, final Object actual) {
+        if (!expected.getClass().getComponentType().isPrimitive()) {
+            return compareOrdered(frame, (Object[]) expected, (Object[]) actual);
+        } else if (Arrays.deepEquals(new Object[] {expected}, new Object[] {actual})) {
+            return null;
+        }
+
+        final int length = Array.getLength(expected);
+        if (length != Array.getLength(actual)) {
+            return mismatch(frame, "length", length, Array.getLength(actual));
+        }
+        for (int index = 0; index < length; index++) {
+            final Object expectedElement = Array.get(expected, index);
+            final Object actualElement = Array.get(actual, index);
+            if (!expectedElement.equals(actualElement)) {
+                return mismatch(new Frame(frame, null, index, expectedElement, actualElement),
+                        expectedElement, actualElement);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compares the elements of two ordered collections or arrays by index.
+     *
+     * @param frame the {@link Frame} of the collections
+     * @param expected the expected elements
+     * @param actual the actual elements
+     * @return a difference in size, or {@code null}
+     */
+    @Nullable
+    private String compareOrdered(final Frame frame, final Object[] expected,
+            final Object[] actual) {
+        if (expected.length != actual.length) {
+            return mismatch(frame, "size", expected.length, actual.length);
+        }
+        for (int index = expected.length - 1; index >= 0; index--) {
+            pending.push(new Frame(frame, null, index, expected[index], actual[index]));
+        }
+        return null;
+    }
+
+    /**
+     * Matches the elements of two {@link Set}s regardless of order.
+     *
+     * @param frame the {@link Frame} of the {@link Set}s
+     * @param expected the expected {@link Set}
+     * @param actual the actual {@link Set}
+     * @return the difference between the {@link Set}s, or {@code null}
+     */
+    @Nullable
+    private String compareSets(final Frame frame, final Set<?> expected, final Set<?> actual) {
+        if (expected.size() != actual.size()) {
+            return mismatch(frame, "size", expected.size(), actual.size());
+        }
+
+        final Map<Integer, List<Object>> buckets = bucket(actual);
+        for (final Object element : expected) {
+            if (removeMatch(buckets, element) == NO_MATCH) {
+                return missing(frame, "an element equal to", element);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Matches the keys of two {@link Map}s regardless of order, scheduling the comparison of the
+     * values of matching keys.
+     *
+     * @param frame the {@link Frame} of the {@link Map}s
+     * @param expected the expected {@link Map}
+     * @param actual the actual {@link Map}
+     * @return the difference between the key sets, or {@code null}
+     */
+    @Nullable
+    private String compareMaps(final Frame frame, final Map<?, ?> expected,
+            final Map<?, ?> actual) {
+        if (expected.size() != actual.size()) {
+            return mismatch(frame, "size", expected.size(), actual.size());
+        }
+
+        Map<Integer, List<Object>> buckets = null;
+        final List<Frame> values = new ArrayList<>();
+        for (final Map.Entry<?, ?> entry : expected.entrySet()) {
+            final Object key = entry.getKey();
+            Object actualKey = NO_MATCH;
+            if (key == null || shapeOf(key.getClass()).kind == Kind.VALUE) {
+                if (safeContainsKey(actual, key)) {
+                    actualKey = key;
+                }
+            } else {
+                if (buckets == null) {
+                    buckets = bucket(actual.keySet());
+                }
+                actualKey = removeMatch(buckets, key);
+            }
+            if (actualKey == NO_MATCH) {
+                return missing(frame, "a key equal to", key);
+            }
+            values.add(new Frame(frame, String.valueOf(key), -1, entry.getValue(),
+                    actual.get(actualKey)));
+        }
+        for (int index = values.size() - 1; index >= 0; index--) {
+            pending.push(values.get(index));
+        }
+        return null;
+    }
+
+    /**
+     * Compares the primitive fields of two objects of the same class, scheduling the comparison
+     * of their reference fields.
+     *
+     * @param frame the {@link Frame} of the objects
+     * @param shape the {@link Shape} of their class
+     * @param expected the expected object
+     * @param actual the actual object
+     * @return the first difference between primitive fields, or {@code null}
+     */
+    @Nullable
+    private String compareFields(final Frame frame, final Shape shape, final Object expected,
+            final Object actual) {
+        for (final Field field : shape.primitives) {
+            final Object expectedValue = read(field, expected);
+            final Object actualValue = read(field, actual);
+            if (!expectedValue.equals(actualValue)) {
+                return mismatch(new Frame(frame, field.getName(), -1, expectedValue,
+                        actualValue), expectedValue, actualValue);
+            }
+        }
+        for (int index = shape.references.length - 1; index >= 0; index--) {
+            final Field field = shape.references[index];
+            pending.push(new Frame(frame, field.getName(), -1, read(field, expected),
+                    read(field, actual)));
+        }
+        return null;
+    }
+
+    /**
+     * Schedules the comparison of the values of two objects of the same class whose fields cannot
+     * be read, or reports the objects as uncomparable if their class has no known value accessor.
+     *
+     * @param frame the {@link Frame} of the objects
+     * @param expected the expected object
+     * @param actual the actual object
+     * @return a description of the objects as uncomparable, or {@code null}
+     */
+    @Nullable
+    private String compareValues(final Frame frame, final Object expected, final Object actual) {
+        final Object expectedValue = valueOf(expected);
+        if (expectedValue == UNREADABLE) {
+            return trials > 0 ? MISMATCH : frame.path() + ": cannot compare the fields of "
+                    + expected.getClass().getName();
+        }
+        pending.push(new Frame(frame, "value", -1, expectedValue, valueOf(actual)));
+        return null;
+    }
+
+    /**
+     * Compares two candidate objects within this comparison. The pairs of objects compared are
+     * shared with the enclosing comparison, so that a graph already matched is not compared
+     * again, and are rolled back if the candidates differ, so that they do not hide a later
+     * difference. No path or description is built for a difference.
+     *
+     * @param expected the expected object
+     * @param actual the candidate object
+     * @return {@code true} if the objects are structurally equal
+     */
+    private boolean matches(final Object expected, final Object actual) {
+        final Deque<Frame> enclosing = pending;
+        final int mark = journal.size();
+        pending = new ArrayDeque<>();
+        trials++;
+        final boolean matches;
+        try {
+            matches = compare(new Frame(null, null, -1, expected, actual)) == null;
+        } finally {
+            trials--;
+            pending = enclosing;
+        }
+
+        if (!matches) {
+            for (int index = journal.size() - 2; index >= mark; index -= 2) {
+                final Object previous = journal.get(index + 1);
+                if (previous == null) {
+                    compared.remove(journal.get(index));
+                } else {
+                    compared.put(journal.get(index), previous);
+                }
+            }
+        }
+        if (!matches || trials == 0) {
+            journal.subList(mark, journal.size()).clear();
+        }
+        return matches;
+    }
+
+    /**
+     * Describes a difference between two objects, unless candidates are being matched.
+     *
+     * @param frame the {@link Frame} of the difference
+     * @param expected the expected object
+     * @param actual the actual object
+     * @return the path and the description of the difference
+     */
+    private String mismatch(final Frame frame, @Nullable final Object expected,
+            @Nullable final Object actual) {
+        return trials > 0 ? MISMATCH : frame.differs(describe(expected), describe(actual));
+    }
+
+    /**
+     * Describes a difference in a property of two objects, unless candidates are being matched.
+     *
+     * @param frame the {@link Frame} of the difference
+     * @param property the name of the property, such as {@code "size"}
+     * @param expected the expected value of the property
+     * @param actual the actual value of the property
+     * @return the path and the description of the difference
+     */
+    private String mismatch(final Frame frame, final String property, final Object expected,
+            final Object actual) {
+        return trials > 0 ? MISMATCH
+                : frame.differs(property + " " + expected, property + " " + actual);
+    }
+
+    /**
+     * Describes an element or key without a match, unless candidates are being matched.
+     *
+     * @param frame the {@link Frame} of the collections
+     * @param what what was expected, such as {@code "an element equal to"}
+     * @param element the element or key
+     * @return the path and the description of the difference
+     */
+    private String missing(final Frame frame, final String what,
+            @Nullable final Object element) {
+        return trials > 0 ? MISMATCH : frame.differs(what + " " + describe(element), "none");
+    }
+
+    /**
+     * Buckets elements by their structural hash.
+     *
+     * @param elements the elements
+     * @return the elements per structural hash
+     */
+    private static Map<Integer, List<Object>> bucket(final Collection<?> elements) {
+        final Map<Integer, List<Object>> buckets = new HashMap<>();
+        for (final Object element : elements) {
+            buckets.computeIfAbsent(structuralHash(element, HASH_DEPTH),
+                    hash -> new ArrayList<>()).add(element);
+        }
+        return buckets;
+    }
+
+    /**
+     * Removes and returns the bucketed element that is structurally equal to the element.
+     *
+     * @param buckets the elements per structural hash
+     * @param element the element to match
+     * @return the matching element, or {@link #NO_MATCH}
+     */
+    private Object removeMatch(final Map<Integer, List<Object>> buckets, final Object element) {
+        final List<Object> candidates = buckets.get(structuralHash(element, HASH_DEPTH));
+        if (candidates != null) {
+            for (final Iterator<Object> iterator = candidates.iterator(); iterator.hasNext();) {
+                final Object candidate = iterator.next();
+                if (matches(element, candidate)) {
+                    iterator.remove();
+                    return candidate;
+                }
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Computes a hash that is equal for structurally equal objects, looking only a bounded depth
+     * into the object graph so that it terminates on cycles and stays cheap. The elements of
+     * {@link Set}s and the entries of {@link Map}s are combined regardless of their order.
+     *
+     * @param object the object
+     * @param depth the remaining depth
+     * @return the structural hash
+     */
+    static int structuralHash(@Nullable final Object object, final int depth) {
+        if (object == null) {
+            return 0;
+        }
+        final Shape shape = shapeOf(object.getClass());
+        if (shape.kind == Kind.VALUE) {
+            try {
+                return object.hashCode();
+            } catch (final RuntimeException ex) {
+                return 0;
+            }
+        } else if (depth == 0) {
+            return shape.kind == Kind.OBJECT || shape.kind == Kind.OPAQUE ? shape.nameHash
+                    : shape.kind.ordinal();
+        }
+
+        int hash;
+        if (shape.kind == Kind.OBJECT) {
+            hash = shape.nameHash;
+            for (final Field field : shape.primitives) {
+                hash = 31 * hash + read(field, object).hashCode();
+            }
+            for (final Field field : shape.references) {
+                hash = 31 * hash + structuralHash(read(field, object), depth - 1);
+            }
+        } else if (shape.kind == Kind.OPAQUE) {
+            final Object value = valueOf(object);
+            hash = 31 * shape.nameHash
+                    + (value == UNREADABLE ? 0 : structuralHash(value, depth - 1));
+        } else if (shape.kind == Kind.SET) {
+            final Set<?> set = (Set<?>) object;
+            hash = 31 * shape.kind.ordinal() + set.size();
+            for (final Object element : set) {
+                hash += structuralHash(element, depth - 1);
+            }
+        } else if (shape.kind == Kind.MAP) {
+            final Map<?, ?> map = (Map<?, ?>) object;
+            hash = 31 * shape.kind.ordinal() + map.size();
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                hash += structuralHash(entry.getKey(), depth - 1)
+                        ^ structuralHash(entry.getValue(), depth - 1);
+            }
+        } else {
+            final Object[] elements = shape.kind == Kind.ORDERED
+                    ? ((Collection<?>) object).toArray() : null;
+            final int length = elements == null ? Array.getLength(object) : elements.length;
+            hash = 31 * shape.kind.ordinal() + length;
+            for (int index = 0; index < Math.min(length, HASH_ELEMENTS); index++) {
+                hash = 31 * hash + structuralHash(elements == null ? Array.get(object, index)
+                        : elements[index], depth - 1);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the cached {@link Shape} of the class.
+     *
+     * @param type the class
+     * @return the {@link Shape}
+     */
+    private static Shape shapeOf(final Class<?> type) {
+        return SHAPES.computeIfAbsent(type, Shape::new);
+    }
+
+    /**
+     * Reads the value of a JDK holder through its accessor.
+     *
+     * @param holder the holder
+     * @return the value, or {@link #UNREADABLE} if the class of the holder has no known accessor
+     */
+    @Nullable
+    private static Object valueOf(final Object holder) {
+        if (holder instanceof AtomicBoolean) {
+            return ((AtomicBoolean) holder).get();
+        } else if (holder instanceof AtomicReference) {
+            return ((AtomicReference<?>) holder).get();
+        } else if (holder instanceof Number) {
+            final Number number = (Number) holder;
+            final long longValue = number.longValue();
+            final double doubleValue = number.doubleValue();
+            return doubleValue == longValue ? (Object) longValue : (Object) doubleValue;
+        }
+        return UNREADABLE;
+    }
+
+    /**
+     * Reads a field made accessible by {@link Shape}.
+     *
+     * @param field the field
+     * @param object the object to read it from
+     * @return the value of the field
+     */
+    private static Object read(final Field field, final Object object) {
+        try {
+            return field.get(object);
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot read " + field + ".", ex);
+        }
+    }
+
+    /**
+     * Compares with {@link Object#equals(Object)}, treating exceptions as inequality.
+     *
+     * @param expected the expected object
+     * @param actual the actual object
+     * @return {@code true} if the objects are equal
+     */
+    private static boolean safeEquals(final Object expected, final Object actual) {
+        try {
+            return expected.equals(actual);
+        } catch (final RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Looks the key up with {@link Map#containsKey(Object)}, treating exceptions, such as those
+     * of {@link Map}s that reject {@code null} keys, as absence.
+     *
+     * @param map the {@link Map}
+     * @param key the key
+     * @return {@code true} if the {@link Map} contains the key
+     */
+    private static boolean safeContainsKey(final Map<?, ?> map, @Nullable final Object key) {
+        try {
+            return map.containsKey(key);
+        } catch (final RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Describes an object in a difference.
+     *
+     * @param object the object
+     * @return the description
+     */
+    private static String describe(@Nullable final Object object) {
+        if (object == null) {
+            return "null";
+        }
+        final Kind kind = shapeOf(object.getClass()).kind;
+        return kind == Kind.VALUE ? "<" + object + ">" : object.getClass().getName();
+    }
+
+    /**
+     * How objects of a class are compared.
+     */
+    private enum Kind {
+        VALUE,
+        ARRAY,
+        ORDERED,
+        SET,
+        MAP,
+        OBJECT,
+        OPAQUE
+    }
+
+    /**
+     * The {@link Kind} and the comparable fields of a class, computed once per class.
+     */
+    private static final class Shape {
+
+        private final Kind kind;
+        private final int nameHash;
+        private final Field[] primitives;
+        private final Field[] references;
+
+        /**
+         * @param type the class
+         */
+        Shape(final Class<?> type) {
+            this.nameHash = type.getName().hashCode();
+            final List<Field> primitiveFields = new ArrayList<>();
+            final List<Field> referenceFields = new ArrayList<>();
+            Kind shapeKind = kindOf(type);
+            if (shapeKind == Kind.OBJECT) {
+                try {
+                    for (Class<?> current = type; current != null && current != Object.class;
+                            current = current.getSuperclass()) {
+                        for (final Field field : current.getDeclaredFields()) {
+                            final int modifiers = field.getModifiers();
+                            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)
+                                    && !field.isSynthetic()) {
+                                field.setAccessible(true);
+                                (field.getType().isPrimitive() ? primitiveFields
+                                        : referenceFields).add(field);
+                            }
+                        }
+                    }
+                } catch (final RuntimeException ex) {
+                    shapeKind = Kind.OPAQUE;
+                }
+            }
+            this.kind = shapeKind;
+            this.primitives = primitiveFields.toArray(new Field[0]);
+            this.references = referenceFields.toArray(new Field[0]);
+        }
+
+        /**
+         * Determines how objects of the class are compared.
+         *
+         * @param type the class
+         * @return the {@link Kind}
+         */
+        private static Kind kindOf(final Class<?> type) {
+            if (type.isArray()) {
+                return Kind.ARRAY;
+            } else if (Set.class.isAssignableFrom(type)) {
+                return Kind.SET;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                return Kind.ORDERED;
+            } else if (Map.class.isAssignableFrom(type)) {
+                return Kind.MAP;
+            } else if (Enum.class.isAssignableFrom(type) || type == Class.class
+                    || (isJdkType(type) && overridesEquals(type))) {
+                return Kind.VALUE;
+            } else if (isJdkType(type) && (Number.class.isAssignableFrom(type)
+                    || type == AtomicBoolean.class || type == AtomicReference.class)) {
+                return Kind.OPAQUE;
+            }
+            return Kind.OBJECT;
+        }
+
+        /**
+         * Indicates whether the class belongs to the JDK.
+         *
+         * @param type the class
+         * @return {@code true} if the class belongs to the JDK
+         */
+        private static boolean isJdkType(final Class<?> type) {
+            final String name = type.getName();
+            return name.startsWith("java.") || name.startsWith("javax.");
+        }
+
+        /**
+         * Indicates whether the class overrides {@link Object#equals(Object)}.
+         *
+         * @param type the class
+         * @return {@code true} if the class overrides {@link Object#equals(Object)}
+         */
+        private static boolean overridesEquals(final Class<?> type) {
+            try {
+                return type.getMethod("equals", Object.class).getDeclaringClass()
+                        != Object.class;
+            } catch (final NoSuchMethodException ex) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A pair of objects to compare and its position in the object graphs.
+     */
+    private static final class Frame {
+
+        @Nullable
+        private final Frame parent;
+        @Nullable
+        private final String name;
+        private final int index;
+        @Nullable
+        private final Object expected;
+        @Nullable
+        private final Object actual;
+
+        /**
+         * @param parent the {@link Frame} of the containing objects, or {@code null} for the root
+         * @param name the name of the root, field or map key, or {@code null} for an element
+         * @param index the index of the element
+         * @param expected the expected object
+         * @param actual the actual object
+         */
+        Frame(@Nullable final Frame parent, @Nullable final String name, final int index,
+                @Nullable final Object expected, @Nullable final Object actual) {
+            this.parent = parent;
+            this.name = name;
+            this.index = index;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        /**
+         * Builds the path from the root to this {@link Frame}.
+         *
+         * @return the path
+         */
+        String path() {
+            final Deque<Frame> chain = new ArrayDeque<>();
+            for (Frame current = this; current != null; current = current.parent) {
+                chain.push(current);
+            }
+            final StringBuilder path = new StringBuilder();
+            for (final Frame frame : chain) {
+                if (frame.parent == null) {
+                    path.append(frame.name);
+                } else if (frame.name == null) {
+                    path.append('[').append(frame.index).append(']');
+                } else if (frame.parent.expected instanceof Map) {
+                    path.append('[').append(frame.name).append(']');
+                } else {
+                    path.append('.').append(frame.name);
+                }
+            }
+            return path.toString();
+        }
+
+        /**
+         * Describes a difference at this {@link Frame}.
+         *
+         * @param expectedDescription the description of what was expected
+         * @param actualDescription the description of what was found
+         * @return the path and the description of the difference
+         */
+        String differs(final String expectedDescription, final String actualDescription) {
+            return path() + ": expected " + expectedDescription + " but was "
+                    + actualDescription;
+        }
+    }
+}
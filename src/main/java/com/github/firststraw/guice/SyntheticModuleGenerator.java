@@ -0,0 +1,557 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.binder.ScopedBindingBuilder;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.ProviderWithDependencies;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Generates synthetic {@link Module}s of any size, for benchmarking {@link InjectorTester} and its
+ * analyses on realistic binding graphs. Every generated {@link com.google.inject.Binding} binds a
+ * {@link Component} annotated with {@code @Named("synthetic-<index>")}; its {@link BindingKind} and
+ * {@link Scoping} are drawn from weighted distributions, and the bindings are spread over
+ * dependency levels, bindings of each level depending on bindings of the level below. Only linked
+ * key and provider instance bindings have dependencies: constructor, provider key and instance
+ * bindings are leaves, so the depth and fan-out shape the graph in proportion to the weight of
+ * provider instance bindings. The same seed and parameters always generate the same
+ * {@link Module}.
+ * <p>
+ * Every method returns a new {@link SyntheticModuleGenerator}; by default 1000 bindings of every
+ * {@link BindingKind} except {@link BindingKind#OTHER} are generated, equally often, over 4
+ * levels with a fan-out of 2, half of them unscoped and the rest singletons or eager singletons.
+ */
+@Immutable
+public class SyntheticModuleGenerator {
+
+    private static final Constructor<Component> COMPONENT_CONSTRUCTOR = findConstructor();
+
+    private final long seed;
+    private final int bindingCount;
+    private final int depth;
+    private final int fanOut;
+    private final Map<BindingKind, Integer> kindWeights;
+    private final Map<Scoping, Integer> scopingWeights;
+
+    /**
+     * @param seed the seed of the random choices
+     */
+    public SyntheticModuleGenerator(final long seed) {
+        this(seed, 1000, 4, 2, defaultKindWeights(), defaultScopingWeights());
+    }
+
+    /**
+     * @param seed the seed of the random choices
+     * @param bindingCount the number of {@link com.google.inject.Binding}s to generate
+     * @param depth the number of dependency levels
+     * @param fanOut the number of dependencies of each provider instance binding
+     * @param kindWeights the relative frequencies of the {@link BindingKind}s
+     * @param scopingWeights the relative frequencies of the {@link Scoping}s
+     */
+    private SyntheticModuleGenerator(final long seed, final int bindingCount, final int depth,
+            final int fanOut, final Map<BindingKind, Integer> kindWeights,
+            final Map<Scoping, Integer> scopingWeights) {
+        this.seed = seed;
+        this.bindingCount = bindingCount;
+        this.depth = depth;
+        this.fanOut = fanOut;
+        this.kindWeights = kindWeights;
+        this.scopingWeights = scopingWeights;
+    }
+
+    /**
+     * Sets the number of {@link com.google.inject.Binding}s to generate.
+     *
+     * @param count the number of {@link com.google.inject.Binding}s
+     * @return the updated {@link SyntheticModuleGenerator}
+     * @throws IllegalArgumentException if the count is not positive
+     */
+    public SyntheticModuleGenerator withBindingCount(final int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Binding count must be positive.");
+        }
+
+        return new SyntheticModuleGenerator(seed, count, depth, fanOut, kindWeights,
+                scopingWeights);
+    }
+
+    /**
+     * Sets the number of dependency levels. Linked key bindings link to, and provider instance
+     * bindings depend on, bindings of the level below, so the longest dependency chain has one
+     * {@link com.google.inject.Binding} per level. Bindings of the other kinds have no
+     * dependencies and end every chain they are on.
+     *
+     * @param levels the number of levels, at most the number of bindings
+     * @return the updated {@link SyntheticModuleGenerator}
+     * @throws IllegalArgumentException if the number of levels is not positive
+     */
+    public SyntheticModuleGenerator withDepth(final int levels) {
+        if (levels < 1) {
+            throw new IllegalArgumentException("Depth must be positive.");
+        }
+
+        return new SyntheticModuleGenerator(seed, bindingCount, levels, fanOut, kindWeights,
+                scopingWeights);
+    }
+
+    /**
+     * Sets the number of dependencies of each provider instance binding above the lowest level.
+     * Dependencies are drawn with replacement, so a binding may depend on fewer distinct keys.
+     * Linked key bindings always have a single target, and bindings of the other kinds none.
+     *
+     * @param dependencies the number of dependencies
+     * @return the updated {@link SyntheticModuleGenerator}
+     * @throws IllegalArgumentException if the number of dependencies is negative
+     */
+    public SyntheticModuleGenerator withFanOut(final int dependencies) {
+        if (dependencies < 0) {
+            throw new IllegalArgumentException("Fan-out must not be negative.");
+        }
+
+        return new SyntheticModuleGenerator(seed, bindingCount, depth, dependencies, kindWeights,
+                scopingWeights);
+    }
+
+    /**
+     * Sets the relative frequency of a {@link BindingKind}. A weight of 0 excludes the
+     * {@link BindingKind}.
+     *
+     * @param kind the {@link BindingKind}, other than {@link BindingKind#OTHER}
+     * @param weight the relative frequency
+     * @return the updated {@link SyntheticModuleGenerator}
+     * @throws NullPointerException if the {@link BindingKind} is {@code null}
+     * @throws IllegalArgumentException if the {@link BindingKind} is {@link BindingKind#OTHER} or
+     * the weight is negative
+     */
+    public SyntheticModuleGenerator withKindWeight(final BindingKind kind, final int weight) {
+        Objects.requireNonNull(kind, "Kind must not be null.");
+        if (kind == BindingKind.OTHER) {
+            throw new IllegalArgumentException("Kind must not be OTHER.");
+        } else if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative.");
+        }
+
+        final Map<BindingKind, Integer> weights = new EnumMap<>(kindWeights);
+        weights.put(kind, weight);
+        return new SyntheticModuleGenerator(seed, bindingCount, depth, fanOut,
+                Collections.unmodifiableMap(weights), scopingWeights);
+    }
+
+    /**
+     * Sets the relative frequency of a {@link Scoping}. Instance bindings cannot be scoped and are
+     * always left unscoped. A weight of 0 excludes the {@link Scoping}.
+     *
+     * @param scoping the {@link Scoping}
+     * @param weight the relative frequency
+     * @return the updated {@link SyntheticModuleGenerator}
+     * @throws NullPointerException if the {@link Scoping} is {@code null}
+     * @throws IllegalArgumentException if the weight is negative
+     */
+    public SyntheticModuleGenerator withScopingWeight(final Scoping scoping, final int weight) {
+        Objects.requireNonNull(scoping, "Scoping must not be null.");
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative.");
+        }
+
+        final Map<Scoping, Integer> weights = new LinkedHashMap<>(scopingWeights);
+        weights.put(scoping, weight);
+        return new SyntheticModuleGenerator(seed, bindingCount, depth, fanOut, kindWeights,
+                Collections.unmodifiableMap(weights));
+    }
+
+    /**
+     * Returns the key of a generated {@link com.google.inject.Binding}.
+     *
+     * @param index the index of the {@link com.google.inject.Binding}
+     * @return the {@link Key}
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the number of
+     * bindings
+     */
+    public Key<Component> getKey(final int index) {
+        if (index < 0 || index >= bindingCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        }
+
+        return keyOf(index);
+    }
+
+    /**
+     * Returns the keys of all generated {@link com.google.inject.Binding}s, in index order.
+     *
+     * @return the {@link Key}s
+     */
+    public List<Key<Component>> getKeys() {
+        final List<Key<Component>> keys = new ArrayList<>(bindingCount);
+        for (int index = 0; index < bindingCount; index++) {
+            keys.add(keyOf(index));
+        }
+        return keys;
+    }
+
+    /**
+     * Generates the {@link Module}. The random choices are made here, so configuring the
+     * {@link Module} repeatedly binds the same {@link com.google.inject.Binding}s, with the same
+     * instances. Each configuration creates new providers, which are injected by the
+     * {@link Injector} they are bound in, so the {@link Module} may be installed in several
+     * {@link Injector}s.
+     *
+     * @return the {@link Module}
+     * @throws IllegalStateException if no {@link BindingKind} or no {@link Scoping} has a positive
+     * weight, or the depth exceeds the number of bindings
+     */
+    public Module generate() {
+        final int totalKindWeight = sum(kindWeights);
+        final int totalScopingWeight = sum(scopingWeights);
+        if (totalKindWeight == 0) {
+            throw new IllegalStateException("At least one kind must have a positive weight.");
+        } else if (totalScopingWeight == 0) {
+            throw new IllegalStateException("At least one scoping must have a positive weight.");
+        } else if (depth > bindingCount) {
+            throw new IllegalStateException("Depth must not exceed the binding count.");
+        }
+
+        final Random random = new Random(seed);
+        final List<Node> nodes = new ArrayList<>(bindingCount);
+        for (int index = 0; index < bindingCount; index++) {
+            final int level = (int) ((long) index * depth / bindingCount);
+            final int lowerStart = levelStart(level - 1);
+            final int lowerSize = levelStart(level) - lowerStart;
+
+            final BindingKind kind = pick(kindWeights, totalKindWeight, random);
+            final Scoping scoping = kind == BindingKind.INSTANCE ? Scoping.noScoping()
+                    : pick(scopingWeights, totalScopingWeight, random);
+            Key<Component> target = null;
+            final List<Key<Component>> dependencies = new ArrayList<>();
+            if (kind == BindingKind.LINKED_KEY) {
+                target = level == 0 ? Key.get(Component.class)
+                        : keyOf(lowerStart + random.nextInt(lowerSize));
+            } else if (kind == BindingKind.PROVIDER_INSTANCE && level > 0) {
+                for (int dependency = 0; dependency < fanOut; dependency++) {
+                    dependencies.add(keyOf(lowerStart + random.nextInt(lowerSize)));
+                }
+            }
+            nodes.add(new Node(index, kind, scoping, target, dependencies));
+        }
+        return new SyntheticModule(nodes);
+    }
+
+    /**
+     * Returns the index of the first {@link com.google.inject.Binding} of a level.
+     *
+     * @param level the level
+     * @return the index, or 0 for levels below the lowest
+     */
+    private int levelStart(final int level) {
+        if (level <= 0) {
+            return 0;
+        }
+        return (int) (((long) level * bindingCount + depth - 1) / depth);
+    }
+
+    /**
+     * Returns the key of a generated {@link com.google.inject.Binding}.
+     *
+     * @param index the index of the {@link com.google.inject.Binding}
+     * @return the {@link Key}
+     */
+    private static Key<Component> keyOf(final int index) {
+        return Key.get(Component.class, Names.named("synthetic-" + index));
+    }
+
+    /**
+     * Draws a value with probability proportional to its weight.
+     *
+     * @param <T> the type of the values
+     * @param weights the weights of the values
+     * @param total the sum of the weights
+     * @param random the source of randomness
+     * @return the value
+     */
+    private static <T> T pick(final Map<T, Integer> weights, final int total,
+            final Random random) {
+        int remaining = random.nextInt(total);
+        for (final Map.Entry<T, Integer> weight : weights.entrySet()) {
+            remaining -= weight.getValue();
+            if (remaining < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights do not add up to " + total + ".");
+    }
+
+    /**
+     * Sums the weights.
+     *
+     * @param weights the weights
+     * @return the sum of the weights
+     */
+    private static int sum(final Map<?, Integer> weights) {
+        int total = 0;
+        for (final int weight : weights.values()) {
+            total = Math.addExact(total, weight);
+        }
+        return total;
+    }
+
+    /**
+     * Returns equal weights for every {@link BindingKind} except {@link BindingKind#OTHER}.
+     *
+     * @return the weights
+     */
+    private static Map<BindingKind, Integer> defaultKindWeights() {
+        final Map<BindingKind, Integer> weights = new EnumMap<>(BindingKind.class);
+        for (final BindingKind kind : BindingKind.values()) {
+            if (kind != BindingKind.OTHER) {
+                weights.put(kind, 1);
+            }
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    /**
+     * Returns weights leaving half of the bindings unscoped and scoping a quarter each as
+     * singletons and eager singletons.
+     *
+     * @return the weights
+     */
+    private static Map<Scoping, Integer> defaultScopingWeights() {
+        final Map<Scoping, Integer> weights = new LinkedHashMap<>();
+        weights.put(Scoping.noScoping(), 2);
+        weights.put(Scoping.scope(Scopes.SINGLETON), 1);
+        weights.put(Scoping.eagerSingleton(), 1);
+        return Collections.unmodifiableMap(weights);
+    }
+
+    /**
+     * Finds the constructor used by constructor bindings.
+     *
+     * @return the no-argument constructor of {@link Component}
+     */
+    private static Constructor<Component> findConstructor() {
+        try {
+            return Component.class.getConstructor();
+        } catch (final NoSuchMethodException ex) {
+            throw new IllegalStateException("Component has no public no-argument constructor.",
+                    ex);
+        }
+    }
+
+    /**
+     * The object bound by every generated {@link com.google.inject.Binding}.
+     */
+    @Immutable
+    public static final class Component {
+
+        private final int index;
+        private final List<Component> dependencies;
+
+        /**
+         * Creates a {@link Component} without an index or dependencies, as constructed by
+         * constructor and just-in-time bindings.
+         */
+        public Component() {
+            this(-1, Collections.emptyList());
+        }
+
+        /**
+         * @param index the index of the {@link com.google.inject.Binding} that created the
+         * {@link Component}
+         * @param dependencies the {@link Component}s it depends on
+         */
+        Component(final int index, final List<Component> dependencies) {
+            this.index = index;
+            this.dependencies = Collections.unmodifiableList(new ArrayList<>(dependencies));
+        }
+
+        /**
+         * Returns the index of the {@link com.google.inject.Binding} that created the
+         * {@link Component}.
+         *
+         * @return the index, or -1 if the {@link Component} was constructed by a constructor or
+         * just-in-time binding
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the {@link Component}s it depends on.
+         *
+         * @return the dependencies
+         */
+        public List<Component> getDependencies() {
+            return dependencies;
+        }
+    }
+
+    /**
+     * A planned {@link com.google.inject.Binding}.
+     */
+    private static final class Node {
+
+        private final int index;
+        private final BindingKind kind;
+        private final Scoping scoping;
+        private final Key<Component> target;
+        private final List<Key<Component>> dependencies;
+
+        /**
+         * @param index the index of the {@link com.google.inject.Binding}
+         * @param kind the {@link BindingKind}
+         * @param scoping the {@link Scoping}
+         * @param target the linked key of a linked key binding, otherwise {@code null}
+         * @param dependencies the dependencies of a provider instance binding
+         */
+        Node(final int index, final BindingKind kind, final Scoping scoping,
+                final Key<Component> target, final List<Key<Component>> dependencies) {
+            this.index = index;
+            this.kind = kind;
+            this.scoping = scoping;
+            this.target = target;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * Binds the planned {@link com.google.inject.Binding}s.
+     */
+    private static final class SyntheticModule extends AbstractModule {
+
+        private final List<Node> nodes;
+        private final List<Component> instances = new ArrayList<>();
+
+        /**
+         * @param nodes the planned {@link com.google.inject.Binding}s
+         */
+        SyntheticModule(final List<Node> nodes) {
+            this.nodes = nodes;
+            for (final Node node : nodes) {
+                instances.add(node.kind == BindingKind.INSTANCE
+                        ? new Component(node.index, Collections.emptyList()) : null);
+            }
+        }
+
+        @Override
+        protected void configure() {
+            for (int position = 0; position < nodes.size(); position++) {
+                final Node node = nodes.get(position);
+                final Key<Component> key = keyOf(node.index);
+                switch (node.kind) {
+                    case INSTANCE:
+                        bind(key).toInstance(instances.get(position));
+                        break;
+                    case LINKED_KEY:
+                        scope(bind(key).to(node.target), node.scoping);
+                        break;
+                    case CONSTRUCTOR:
+                        scope(bind(key).toConstructor(COMPONENT_CONSTRUCTOR), node.scoping);
+                        break;
+                    case PROVIDER_INSTANCE:
+                        scope(bind(key).toProvider(
+                                new ComponentProvider(node.index, node.dependencies)),
+                                node.scoping);
+                        break;
+                    case PROVIDER_KEY:
+                        scope(bind(key).toProvider(KeyedComponentProvider.class), node.scoping);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected kind " + node.kind + ".");
+                }
+            }
+        }
+
+        /**
+         * Applies the {@link Scoping} to a {@link com.google.inject.Binding}.
+         *
+         * @param builder the builder of the {@link com.google.inject.Binding}
+         * @param scoping the {@link Scoping}
+         */
+        private static void scope(final ScopedBindingBuilder builder, final Scoping scoping) {
+            if (scoping.isEagerSingleton()) {
+                builder.asEagerSingleton();
+            } else if (scoping.getScope() != null) {
+                builder.in(scoping.getScope());
+            } else if (scoping.getScopeAnnotation() != null) {
+                builder.in(scoping.getScopeAnnotation());
+            }
+        }
+    }
+
+    /**
+     * Provides a {@link Component} depending on the {@link Component}s of lower levels. A new
+     * {@link ComponentProvider} is bound every time the {@link Module} is configured, since it is
+     * injected with the {@link Injector} it is bound in.
+     */
+    private static final class ComponentProvider implements ProviderWithDependencies<Component> {
+
+        private final int index;
+        private final List<Key<Component>> dependencies;
+        private Injector injector;
+
+        /**
+         * @param index the index of the {@link com.google.inject.Binding}
+         * @param dependencies the keys of the {@link Component}s it depends on
+         */
+        ComponentProvider(final int index, final List<Key<Component>> dependencies) {
+            this.index = index;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * Sets the {@link Injector} the dependencies are provisioned from.
+         *
+         * @param injector the {@link Injector}
+         */
+        @Inject
+        void setInjector(final Injector injector) {
+            this.injector = injector;
+        }
+
+        @Override
+        public Component get() {
+            final List<Component> components = new ArrayList<>(dependencies.size());
+            for (final Key<Component> dependency : dependencies) {
+                components.add(injector.getInstance(dependency));
+            }
+            return new Component(index, components);
+        }
+
+        @Override
+        public Set<Dependency<?>> getDependencies() {
+            final Set<Dependency<?>> result = new LinkedHashSet<>();
+            for (final Key<Component> dependency : dependencies) {
+                result.add(Dependency.get(dependency));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Provides {@link Component}s for provider key bindings.
+     */
+    static final class KeyedComponentProvider implements Provider<Component> {
+
+        @Override
+        public Component get() {
+            return new Component();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.firststraw.guice;
+
+import java.lang.management.LockInfo;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+
+/**
+ * Formats {@link ThreadInfo}s as thread dumps. Unlike {@link ThreadInfo#toString()}, the complete
+ * stack trace is included.
+ */
+final class ThreadDumps {
+
+    /**
+     * Prevents instantiation.
+     */
+    private ThreadDumps() {
+    }
+
+    /**
+     * Formats the {@link ThreadInfo}s as a thread dump.
+     *
+     * @param threads the {@link ThreadInfo}s, which may contain {@code null} elements for threads
+     * that are no longer alive
+     * @return the thread dump
+     */
+    static String format(final ThreadInfo... threads) {
+        final StringBuilder dump = new StringBuilder();
+        for (final ThreadInfo thread : threads) {
+            if (thread != null) {
+                append(dump, thread);
+            }
+        }
+        return dump.toString();
+    }
+
+    /**
+     * Appends a single thread to the dump.
+     *
+     * @param dump the dump being built
+     * @param thread the {@link ThreadInfo}
+     */
+    private static void append(final StringBuilder dump, final ThreadInfo thread) {
+        final String newLine = System.lineSeparator();
+        dump.append('"').append(thread.getThreadName()).append("\" Id=")
+                .append(thread.getThreadId()).append(' ').append(thread.getThreadState());
+        final LockInfo lock = thread.getLockInfo();
+        if (lock != null) {
+            dump.append(" on ").append(lock);
+        }
+        if (thread.getLockOwnerName() != null) {
+            dump.append(" owned by \"").append(thread.getLockOwnerName()).append("\" Id=")
+                    .append(thread.getLockOwnerId());
+        }
+        dump.append(newLine);
+
+        final StackTraceElement[] stackTrace = thread.getStackTrace();
+        final MonitorInfo[] monitors = thread.getLockedMonitors();
+        for (int depth = 0; depth < stackTrace.length; depth++) {
+            dump.append("\tat ").append(stackTrace[depth]).append(newLine);
+            for (final MonitorInfo monitor : monitors) {
+                if (monitor.getLockedStackDepth() == depth) {
+                    dump.append("\t-  locked ").append(monitor).append(newLine);
+                }
+            }
+        }
+        for (final LockInfo synchronizer : thread.getLockedSynchronizers()) {
+            dump.append("\t- owns ").append(synchronizer).append(newLine);
+        }
+        dump.append(newLine);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Thread states sampled by a {@link ProvisionSamplingProfiler}, ranked by the time each
+ * {@link Key} spent stalled rather than running.
+ */
+@Immutable
+public class ThreadStateProfile {
+
+    private static final Comparator<ProvisionThreadStates> MOST_STALLED_FIRST =
+            Comparator.comparingLong(ProvisionThreadStates::getStalledNanos).reversed()
+                    .thenComparing(states -> states.getKey().toString());
+
+    private final List<ProvisionThreadStates> ranking;
+
+    /**
+     * @param states the sampled {@link ProvisionThreadStates} of every {@link Key}
+     */
+    ThreadStateProfile(final Collection<ProvisionThreadStates> states) {
+        Objects.requireNonNull(states, "States must not be null.");
+
+        final List<ProvisionThreadStates> ranked = new ArrayList<>(states);
+        ranked.sort(MOST_STALLED_FIRST);
+        this.ranking = Collections.unmodifiableList(ranked);
+    }
+
+    /**
+     * Returns the sampled {@link ProvisionThreadStates}, most stalled first.
+     *
+     * @return the sampled {@link ProvisionThreadStates}, most stalled first
+     */
+    public List<ProvisionThreadStates> getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Returns the sampled {@link ProvisionThreadStates} of the {@link Key}, or {@code null} if the
+     * {@link Key} was never sampled.
+     *
+     * @param key the {@link Key}
+     * @return the sampled {@link ProvisionThreadStates}, or {@code null}
+     * @throws NullPointerException if the {@link Key} is {@code null}
+     */
+    @Nullable
+    public ProvisionThreadStates getStates(final Key<?> key) {
+        Objects.requireNonNull(key, "Key must not be null.");
+
+        for (final ProvisionThreadStates states : ranking) {
+            if (states.getKey().equals(key)) {
+                return states;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the ranking as one line per {@link Key}, most stalled first.
+     *
+     * @return the ranking as one line per {@link Key}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        for (final ProvisionThreadStates states : ranking) {
+            report.append(states).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Injector;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Wall-clock comparison of sequential and parallel eager singleton initialization, as measured
+ * by {@link EagerSingletonWarmUp#compare(int)}.
+ */
+@Immutable
+public class WarmUpComparison {
+
+    private final int singletonCount;
+    private final long sequentialNanos;
+    private final long parallelNanos;
+
+    /**
+     * @param singletonCount the number of singletons that were warmed up
+     * @param sequentialNanos the median time taken to create the {@link Injector} with Guice's
+     * sequential eager initialization, in nanoseconds
+     * @param parallelNanos the median time taken to create the {@link Injector} and warm up its
+     * singletons in parallel, in nanoseconds
+     */
+    WarmUpComparison(final int singletonCount, final long sequentialNanos,
+            final long parallelNanos) {
+        this.singletonCount = singletonCount;
+        this.sequentialNanos = sequentialNanos;
+        this.parallelNanos = parallelNanos;
+    }
+
+    /**
+     * Returns the number of singletons that were warmed up.
+     *
+     * @return the number of singletons that were warmed up
+     */
+    public int getSingletonCount() {
+        return singletonCount;
+    }
+
+    /**
+     * Returns the median time taken by the sequential path, in nanoseconds.
+     *
+     * @return the median time taken by the sequential path, in nanoseconds
+     */
+    public long getSequentialNanos() {
+        return sequentialNanos;
+    }
+
+    /**
+     * Returns the median time taken by the parallel path, in nanoseconds.
+     *
+     * @return the median time taken by the parallel path, in nanoseconds
+     */
+    public long getParallelNanos() {
+        return parallelNanos;
+    }
+
+    /**
+     * Returns the time saved by the parallel path, in nanoseconds. The value is negative if the
+     * parallel path was slower.
+     *
+     * @return the time saved by the parallel path, in nanoseconds
+     */
+    public long getSavedNanos() {
+        return sequentialNanos - parallelNanos;
+    }
+
+    /**
+     * Returns the ratio of the sequential time to the parallel time.
+     *
+     * @return the ratio of the sequential time to the parallel time
+     */
+    public double getSpeedup() {
+        return (double) sequentialNanos / Math.max(1L, parallelNanos);
+    }
+
+    /**
+     * Returns a human-readable summary of the comparison.
+     *
+     * @return a human-readable summary of the comparison
+     */
+    @Override
+    public String toString() {
+        return String.format("Warmed up %d singletons: sequential %.3f ms, parallel %.3f ms,"
+                + " speedup %.2fx", singletonCount, toMillis(sequentialNanos),
+                toMillis(parallelNanos), getSpeedup());
+    }
+
+    /**
+     * Converts nanoseconds to fractional milliseconds.
+     *
+     * @param nanos the nanoseconds
+     * @return the fractional milliseconds
+     */
+    private static double toMillis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.firststraw.guice;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of canonical instances that holds them weakly, so that an instance is dropped from the
+ * pool once nothing else references it. The pool is split into segments guarded by their own
+ * locks, so that concurrent tests rarely contend.
+ *
+ * @param <T> the type of the interned instances
+ */
+@ThreadSafe
+final class WeakInterner<T> {
+
+    /**
+     * The number of independently locked segments.
+     */
+    static final int SEGMENTS = 16;
+
+    private final Map<T, WeakReference<T>>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates an empty pool.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    WeakInterner() {
+        segments = new Map[SEGMENTS];
+        for (int index = 0; index < SEGMENTS; index++) {
+            segments[index] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the canonical instance equal to the value, making the value canonical if the pool
+     * holds no equal instance.
+     *
+     * @param value the value
+     * @return the canonical instance
+     * @throws NullPointerException if the value is {@code null}
+     */
+    T intern(final T value) {
+        Objects.requireNonNull(value, "Value must not be null.");
+
+        final int hash = value.hashCode();
+        final Map<T, WeakReference<T>> segment = segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+        synchronized (segment) {
+            final WeakReference<T> reference = segment.get(value);
+            final T canonical = reference == null ? null : reference.get();
+            if (canonical != null) {
+                hits.increment();
+                return canonical;
+            }
+            segment.put(value, new WeakReference<>(value));
+        }
+        misses.increment();
+        return value;
+    }
+
+    /**
+     * Returns how many lookups found a canonical instance.
+     *
+     * @return the number of hits
+     */
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many lookups made their value canonical.
+     *
+     * @return the number of misses
+     */
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of canonical instances that have not been garbage collected yet.
+     *
+     * @return the number of canonical instances
+     */
+    int size() {
+        int size = 0;
+        for (final Map<T, WeakReference<T>> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingCoverage} class.
+ */
+public class BindingCoverageTest {
+
+    private static final Key<String> ASSERTED = Key.get(String.class, Names.named("asserted"));
+    private static final Key<String> LOOKED_UP = Key.get(String.class, Names.named("lookedUp"));
+    private static final Key<String> UNVERIFIED = Key.get(String.class, Names.named("unverified"));
+
+    private static final Module MODULE = new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(ASSERTED).toInstance("asserted");
+            bind(LOOKED_UP).toInstance("lookedUp");
+            bind(UNVERIFIED).toInstance("unverified");
+        }
+    };
+
+    /**
+     * Enables coverage.
+     */
+    @Before
+    public void setUp() {
+        BindingCoverage.enable();
+    }
+
+    /**
+     * Disables coverage again so that other tests are unaffected.
+     */
+    @After
+    public void tearDown() {
+        BindingCoverage.disable();
+    }
+
+    /**
+     * Tests the {@link BindingCoverage#getReport()} method. Checks that registered bindings are
+     * reported by module according to whether they were asserted on, only looked up or never
+     * looked up.
+     */
+    @Test
+    public void testGetReport() {
+        final InjectorTester tester = new InjectorTester(MODULE);
+        tester.verifyBindingFor(ASSERTED).asInstanceBinding().withScoping().eagerSingleton();
+        tester.verifyBindingFor(LOOKED_UP);
+
+        final BindingCoverageReport report = BindingCoverage.getReport();
+        final String source = MODULE.getClass().getName();
+        assertFalse(contains(report.getNeverLookedUp(), source, ASSERTED));
+        assertFalse(contains(report.getLookedUpOnly(), source, ASSERTED));
+        assertTrue(contains(report.getLookedUpOnly(), source, LOOKED_UP));
+        assertTrue(contains(report.getNeverLookedUp(), source, UNVERIFIED));
+        assertTrue(report.getVerifiedCount() >= 1);
+        assertTrue(report.toString().contains("Never looked up in " + source + ":"));
+    }
+
+    /**
+     * Tests the {@link BindingCoverage#disable()} method. Checks that nothing is recorded while
+     * coverage is disabled.
+     */
+    @Test
+    public void testDisable() {
+        BindingCoverage.disable();
+        final Key<String> key = Key.get(String.class, Names.named("disabled"));
+        new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(key).toInstance("disabled");
+            }
+        }).verifyBindingFor(key);
+
+        assertFalse(BindingCoverage.getReport().toString().contains(key.toString()));
+    }
+
+    /**
+     * Indicates whether the {@link Key} is listed for the source.
+     *
+     * @param bySource the {@link Key}s per source
+     * @param source the source
+     * @param key the {@link Key}
+     * @return {@code true} if the {@link Key} is listed for the source, otherwise {@code false}
+     */
+    private static boolean contains(final Map<String, List<Key<?>>> bySource,
+            final String source, final Key<?> key) {
+        return bySource.containsKey(source) && bySource.get(source).contains(key);
+    }
+}
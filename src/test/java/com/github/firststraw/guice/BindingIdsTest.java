@@ -0,0 +1,59 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingIds} class.
+ */
+public class BindingIdsTest {
+
+    private static final int BINDINGS = 500;
+
+    /**
+     * Tests the {@link BindingIds#idOf(Binding)} method. Checks that every {@link Binding} gets the
+     * {@link KeyIndex} ID of its {@link Key}, also after the table has grown, and that bindings of
+     * equal keys in different injectors share an ID.
+     */
+    @Test
+    public void testIdOf() {
+        final KeyIndex index = new KeyIndex();
+        final BindingIds ids = new BindingIds(index);
+        final Injector first = Guice.createInjector(new NamedStringsModule());
+        final Injector second = Guice.createInjector(new NamedStringsModule());
+
+        final List<Binding<String>> bindings = new ArrayList<>();
+        for (int binding = 0; binding < BINDINGS; binding++) {
+            bindings.add(first.getBinding(Key.get(String.class, Names.named("s" + binding))));
+        }
+        for (final Binding<String> binding : bindings) {
+            assertEquals(index.idOf(binding.getKey()), ids.idOf(binding));
+        }
+        for (final Binding<String> binding : bindings) {
+            assertEquals(index.idOf(binding.getKey()), ids.idOf(binding));
+            assertEquals(ids.idOf(binding), ids.idOf(second.getBinding(binding.getKey())));
+        }
+        assertEquals(BINDINGS, index.size());
+    }
+
+    /**
+     * Binds many named strings.
+     */
+    private static class NamedStringsModule extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            for (int binding = 0; binding < BINDINGS; binding++) {
+                bind(String.class).annotatedWith(Names.named("s" + binding)).toInstance("");
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Stage;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingIndex} class.
+ */
+public class BindingIndexTest {
+
+    /**
+     * Tests the {@link BindingIndex#packageOf(Class)} method. Checks that nested classes, arrays
+     * and primitives are handled.
+     */
+    @Test
+    public void testPackageOf() {
+        assertEquals("java.lang", BindingIndex.packageOf(String.class));
+        assertEquals("java.util", BindingIndex.packageOf(Map.Entry.class));
+        assertEquals("java.lang", BindingIndex.packageOf(String[][].class));
+        assertEquals("", BindingIndex.packageOf(int.class));
+    }
+
+    /**
+     * Tests the {@link BindingIndex#of(Injector)} method. Checks that the {@link Binding}s of
+     * parent {@link Injector}s are indexed, and that a child's own {@link Binding} is preferred
+     * for built-in {@link Key}s.
+     */
+    @Test
+    public void testOf_ChildInjector() {
+        final Injector parent = Guice.createInjector(Stage.TOOL, new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(String.class).toInstance("parent");
+            }
+        });
+        final Injector child = parent.createChildInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Integer.class).toInstance(1);
+            }
+        });
+
+        final Set<Key<?>> keys = new HashSet<>();
+        Binding<?> injectorBinding = null;
+        for (final Binding<?> binding : BindingIndex.of(child).all()) {
+            assertTrue(keys.add(binding.getKey()));
+            if (binding.getKey().equals(Key.get(Injector.class))) {
+                injectorBinding = binding;
+            }
+        }
+        assertTrue(keys.contains(Key.get(String.class)));
+        assertTrue(keys.contains(Key.get(Integer.class)));
+        assertSame(child.getBinding(Injector.class), injectorBinding);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.UntargettedBinding;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the {@link BindingKind} enum.
+ */
+public class BindingKindTest {
+
+    /**
+     * Tests the {@link BindingKind#of(Binding)} method. Checks that a {@link NullPointerException}
+     * is thrown when the {@link Binding} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testOf_NullBinding() {
+        BindingKind.of(null);
+    }
+
+    /**
+     * Tests the {@link BindingKind#of(Binding)} method. Checks that every {@link Binding} type is
+     * mapped to the correct kind.
+     */
+    @Test
+    public void testOf() {
+        assertSame(BindingKind.LINKED_KEY, BindingKind.of(mock(LinkedKeyBinding.class)));
+        assertSame(BindingKind.CONSTRUCTOR, BindingKind.of(mock(ConstructorBinding.class)));
+        assertSame(BindingKind.INSTANCE, BindingKind.of(mock(InstanceBinding.class)));
+        assertSame(BindingKind.PROVIDER_INSTANCE,
+                BindingKind.of(mock(ProviderInstanceBinding.class)));
+        assertSame(BindingKind.PROVIDER_KEY, BindingKind.of(mock(ProviderKeyBinding.class)));
+        assertSame(BindingKind.OTHER, BindingKind.of(mock(UntargettedBinding.class)));
+    }
+
+    /**
+     * Tests the {@link BindingKind#getBindingType()} method.
+     */
+    @Test
+    public void testGetBindingType() {
+        assertEquals(ConstructorBinding.class, BindingKind.CONSTRUCTOR.getBindingType());
+        assertEquals(Binding.class, BindingKind.OTHER.getBindingType());
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingQuery} class.
+ */
+public class BindingQueryTest {
+
+    private static final Key<List> LIST = Key.get(List.class);
+    private static final Key<AbstractList> ABSTRACT_LIST = Key.get(AbstractList.class);
+    private static final Key<String> NAMED = Key.get(String.class, Names.named("name"));
+
+    private final BindingQuery query = new InjectorTester(new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(LIST).to(ArrayList.class).in(Singleton.class);
+            bind(ABSTRACT_LIST).to(LinkedList.class);
+            bind(NAMED).toInstance("named");
+        }
+    }).queryBindings();
+
+    /**
+     * Returns the {@link Key}s of the {@link com.google.inject.Binding}s matching the
+     * {@link BindingQuery}.
+     *
+     * @param matching the {@link BindingQuery}
+     * @return the {@link Key}s of the matching {@link com.google.inject.Binding}s
+     */
+    private static Set<Key<?>> keys(final BindingQuery matching) {
+        return matching.stream().map(verifier -> verifier.getBinding().getKey())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Tests the {@link BindingQuery#inPackage(String)} method. Checks that only
+     * {@link com.google.inject.Binding}s whose raw type is in the package itself match.
+     */
+    @Test
+    public void testInPackage() {
+        assertEquals(2L, query.inPackage("java.util").ofKind(BindingKind.LINKED_KEY).count());
+        assertEquals(0L, query.inPackage("java").count());
+    }
+
+    /**
+     * Tests the {@link BindingQuery#inPackageTree(String)} method. Checks that
+     * {@link com.google.inject.Binding}s in subpackages match as well.
+     */
+    @Test
+    public void testInPackageTree() {
+        final Set<Key<?>> expected = keys(query.inPackage("java.util"));
+        expected.addAll(keys(query.inPackage("java.util.logging")));
+        expected.addAll(keys(query.inPackage("java.lang")));
+
+        assertEquals(expected, keys(query.inPackageTree("java")));
+        assertEquals(0L, query.inPackageTree("java.ut").count());
+    }
+
+    /**
+     * Tests the {@link BindingQuery#annotatedWith(Class)} method. Checks that only
+     * {@link com.google.inject.Binding}s with the binding annotation type match.
+     */
+    @Test
+    public void testAnnotatedWith() {
+        assertEquals(NAMED, query.annotatedWith(Named.class).stream().findFirst().get()
+                .getBinding().getKey());
+        assertEquals(0L, query.annotatedWith(Singleton.class).count());
+    }
+
+    /**
+     * Tests the {@link BindingQuery#withScoping(Scoping)} and
+     * {@link BindingQuery#matching(java.util.function.Predicate)} methods. Checks that the
+     * filters are combined.
+     */
+    @Test
+    public void testWithScoping() {
+        final BindingQuery singletons =
+                query.withScoping(Scoping.scope(Scopes.SINGLETON));
+
+        assertEquals(1L, singletons.count());
+        assertEquals(0L, singletons.matching(binding -> binding.getKey() != LIST).count());
+    }
+
+    /**
+     * Tests the {@link BindingQuery#verifyEach(java.util.function.Consumer)} method. Checks that
+     * every failure is reported, also when evaluated in parallel.
+     */
+    @Test
+    public void testVerifyEach() {
+        query.inPackage("java.util").ofKind(BindingKind.LINKED_KEY).matching(
+                binding -> binding.getKey().equals(LIST))
+                .verifyEach(verifier -> verifier.withScoping().singleton());
+
+        try {
+            query.ofKind(BindingKind.LINKED_KEY).parallel()
+                    .verifyEach(verifier -> verifier.asInstanceBinding());
+            fail("Should have thrown a BindingVerificationException.");
+        } catch (final BindingVerificationException expected) {
+            assertEquals(2, expected.getFailures().size());
+            assertEquals(2, expected.getSuppressed().length);
+        }
+    }
+
+    /**
+     * Tests the {@link BindingQuery#matching(java.util.function.Predicate)} method. Checks that a
+     * {@link NullPointerException} is thrown when the {@link java.util.function.Predicate} is
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testMatching_NullPredicate() {
+        query.matching(null);
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingRule} class.
+ */
+public class BindingRuleTest {
+
+    private static final Key<List> LIST = Key.get(List.class);
+    private static final Key<AbstractList> ABSTRACT_LIST = Key.get(AbstractList.class);
+    private static final Key<String> NAMED = Key.get(String.class, Names.named("name"));
+
+    private final Injector injector = new InjectorTester(new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(LIST).to(ArrayList.class).in(Singleton.class);
+            bind(ABSTRACT_LIST).to(LinkedList.class);
+            bind(NAMED).toInstance("named");
+        }
+    }).getInjector();
+
+    /**
+     * Returns whether the {@link BindingRule} applies to the {@link Binding} for the {@link Key}.
+     *
+     * @param rule the {@link BindingRule}
+     * @param key the {@link Key}
+     * @return {@code true} if the {@link BindingRule} applies
+     */
+    private boolean appliesTo(final BindingRule rule, final Key<?> key) {
+        final Binding<?> binding = injector.getBinding(key);
+        return rule.appliesTo(binding,
+                BindingIndex.packageOf(key.getTypeLiteral().getRawType()));
+    }
+
+    /**
+     * Returns the violations of the {@link BindingRule} by the {@link Binding} for the
+     * {@link Key}.
+     *
+     * @param rule the {@link BindingRule}
+     * @param key the {@link Key}
+     * @return the violations
+     */
+    private List<BindingRuleViolation> check(final BindingRule rule, final Key<?> key) {
+        final List<BindingRuleViolation> violations = new ArrayList<>();
+        rule.check(injector.getBinding(key), violations);
+        return violations;
+    }
+
+    /**
+     * Tests the {@link BindingRule#named(String)} method. Checks that the rule applies to every
+     * {@link Binding} and has no requirements.
+     */
+    @Test
+    public void testNamed() {
+        final BindingRule rule = BindingRule.named("rule");
+
+        assertEquals("rule", rule.getName());
+        assertEquals("rule", rule.toString());
+        assertTrue(appliesTo(rule, LIST));
+        assertTrue(appliesTo(rule, NAMED));
+        assertTrue(check(rule, LIST).isEmpty());
+    }
+
+    /**
+     * Tests the {@link BindingRule#named(String)} method. Checks that a
+     * {@link NullPointerException} is thrown when the name is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testNamed_NullName() {
+        BindingRule.named(null);
+    }
+
+    /**
+     * Tests the {@link BindingRule#inPackage(String)} and {@link BindingRule#inPackageTree(String)}
+     * methods. Checks that only subpackages of a package tree match.
+     */
+    @Test
+    public void testInPackage() {
+        assertTrue(appliesTo(BindingRule.named("rule").inPackage("java.util"), LIST));
+        assertFalse(appliesTo(BindingRule.named("rule").inPackage("java"), LIST));
+        assertTrue(appliesTo(BindingRule.named("rule").inPackageTree("java"), LIST));
+        assertFalse(appliesTo(BindingRule.named("rule").inPackageTree("java.ut"), LIST));
+        assertFalse(appliesTo(BindingRule.named("rule").inPackage("java.util"), NAMED));
+    }
+
+    /**
+     * Tests the {@link BindingRule#annotatedWith(Class)} method. Checks that only
+     * {@link Binding}s with the binding annotation type match.
+     */
+    @Test
+    public void testAnnotatedWith() {
+        final BindingRule rule = BindingRule.named("rule").annotatedWith(Named.class);
+
+        assertTrue(appliesTo(rule, NAMED));
+        assertFalse(appliesTo(rule, LIST));
+    }
+
+    /**
+     * Tests the {@link BindingRule#assignableTo(Class)} and
+     * {@link BindingRule#simpleNameMatching(String)} methods. Checks that the filters are
+     * combined.
+     */
+    @Test
+    public void testAssignableToAndSimpleNameMatching() {
+        final BindingRule collections = BindingRule.named("rule").assignableTo(Collection.class);
+
+        assertTrue(appliesTo(collections, LIST));
+        assertTrue(appliesTo(collections, ABSTRACT_LIST));
+        assertFalse(appliesTo(collections, NAMED));
+        assertFalse(appliesTo(collections.simpleNameMatching("Abstract.*"), LIST));
+        assertTrue(appliesTo(collections.simpleNameMatching("Abstract.*"), ABSTRACT_LIST));
+    }
+
+    /**
+     * Tests the {@link BindingRule#requireSingleton()} method. Checks that a
+     * {@link BindingRuleViolation} naming the rule and {@link Key} is reported for unscoped
+     * {@link Binding}s.
+     */
+    @Test
+    public void testRequireSingleton() {
+        final BindingRule rule = BindingRule.named("lists are singletons").requireSingleton();
+
+        assertTrue(check(rule, LIST).isEmpty());
+
+        final List<BindingRuleViolation> violations = check(rule, ABSTRACT_LIST);
+        assertEquals(1, violations.size());
+        assertEquals("lists are singletons", violations.get(0).getRuleName());
+        assertEquals(ABSTRACT_LIST, violations.get(0).getKey());
+        assertTrue(violations.get(0).getCause() instanceof IncorrectScopingException);
+    }
+
+    /**
+     * Tests the {@link BindingRule#requireEagerSingleton()} and
+     * {@link BindingRule#forbidKind(BindingKind)} methods. Checks that every failed requirement
+     * is reported.
+     */
+    @Test
+    public void testRequireEagerSingletonAndForbidKind() {
+        final BindingRule rule = BindingRule.named("rule").requireEagerSingleton()
+                .forbidKind(BindingKind.INSTANCE);
+
+        assertEquals(1, check(rule, LIST).size());
+
+        final List<BindingRuleViolation> violations = check(rule, NAMED);
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).getCause() instanceof IncorrectBindingTypeException);
+    }
+
+    /**
+     * Tests the {@link BindingRule#requireThat(java.util.function.Consumer)} method. Checks that
+     * assertion errors are reported as violations.
+     */
+    @Test
+    public void testRequireThat() {
+        final AssertionError failure = new AssertionError("failed");
+        final BindingRule rule = BindingRule.named("rule").requireThat(verifier -> {
+            throw failure;
+        });
+
+        assertSame(failure, check(rule, LIST).get(0).getCause());
+    }
+
+    /**
+     * Tests the {@link BindingRule#matching(java.util.function.Predicate)} method. Checks that a
+     * {@link NullPointerException} is thrown when the {@link java.util.function.Predicate} is
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testMatching_NullPredicate() {
+        BindingRule.named("rule").matching(null);
+    }
+
+    /**
+     * Tests the {@link BindingRule#requireThat(java.util.function.Consumer)} method. Checks that a
+     * {@link NullPointerException} is thrown when the requirement is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testRequireThat_NullRequirement() {
+        BindingRule.named("rule").requireThat(null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingRuleViolation} class.
+ */
+public class BindingRuleViolationTest {
+
+    /**
+     * Checks that the {@link BindingRuleViolation} is configured correctly.
+     */
+    @Test
+    public void test() {
+        final Key<String> key = Key.get(String.class);
+        final IllegalStateException cause = new IllegalStateException("cause");
+        final BindingRuleViolation ex = new BindingRuleViolation("rule", key, cause);
+
+        assertEquals("Rule \"rule\" violated by " + key + ": cause", ex.getMessage());
+        assertEquals("rule", ex.getRuleName());
+        assertEquals(key, ex.getKey());
+        assertSame(cause, ex.getCause());
+    }
+}
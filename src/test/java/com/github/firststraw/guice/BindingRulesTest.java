@@ -0,0 +1,114 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingRules} class.
+ */
+public class BindingRulesTest {
+
+    private static final Key<List> LIST = Key.get(List.class);
+    private static final Key<AbstractList> ABSTRACT_LIST = Key.get(AbstractList.class);
+    private static final Key<String> NAMED = Key.get(String.class, Names.named("name"));
+
+    private final InjectorTester tester = new InjectorTester(new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(LIST).to(ArrayList.class).in(Singleton.class);
+            bind(ABSTRACT_LIST).to(LinkedList.class);
+            bind(NAMED).toInstance("named");
+        }
+    });
+
+    private final BindingRules rules = BindingRules.of(
+            BindingRule.named("interfaces are singletons").inPackage("java.util")
+                    .matching(binding -> binding.getKey().getTypeLiteral().getRawType()
+                            .isInterface())
+                    .requireSingleton(),
+            BindingRule.named("abstract lists are singletons").inPackageTree("java")
+                    .simpleNameMatching("Abstract.*").requireSingleton(),
+            BindingRule.named("names are not instances").annotatedWith(Named.class)
+                    .forbidKind(BindingKind.INSTANCE),
+            BindingRule.named("lists are linked").assignableTo(List.class)
+                    .matching(binding -> binding.getKey().equals(LIST)
+                            || binding.getKey().equals(ABSTRACT_LIST))
+                    .requireThat(BindingTypeVerifier::asLinkedKeyBinding));
+
+    /**
+     * Returns the rule name and {@link Key} of each {@link BindingRuleViolation}.
+     *
+     * @param violations the {@link BindingRuleViolation}s
+     * @return the rule name and {@link Key} of each {@link BindingRuleViolation}
+     */
+    private static Set<String> describe(final List<BindingRuleViolation> violations) {
+        return violations.stream().map(violation -> violation.getRuleName() + " "
+                + violation.getKey()).collect(Collectors.toSet());
+    }
+
+    /**
+     * Tests the {@link BindingRules#check(InjectorTester)} method. Checks that every
+     * {@link BindingRule} indexed by package, package tree, binding annotation or none is
+     * evaluated against exactly the {@link com.google.inject.Binding}s it applies to.
+     */
+    @Test
+    public void testCheck() {
+        final Set<String> expected = new HashSet<>(Arrays.asList(
+                "abstract lists are singletons " + ABSTRACT_LIST,
+                "names are not instances " + NAMED));
+
+        assertEquals(expected, describe(rules.check(tester)));
+        assertEquals(expected, describe(rules.parallel().check(tester)));
+        assertEquals(4, rules.getRules().size());
+    }
+
+    /**
+     * Tests the {@link BindingRules#verify(InjectorTester)} method. Checks that every violation
+     * is reported at once.
+     */
+    @Test
+    public void testVerify() {
+        BindingRules.of(rules.getRules().get(0), rules.getRules().get(3)).verify(tester);
+
+        try {
+            rules.verify(tester);
+            fail("Should have thrown a BindingVerificationException.");
+        } catch (final BindingVerificationException expected) {
+            assertEquals(2, expected.getFailures().size());
+            assertTrue(expected.getFailures().get(0) instanceof BindingRuleViolation);
+        }
+    }
+
+    /**
+     * Tests the {@link BindingRules#of(BindingRule...)} method. Checks that a
+     * {@link NullPointerException} is thrown when a {@link BindingRule} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testOf_NullRule() {
+        BindingRules.of((BindingRule) null);
+    }
+
+    /**
+     * Tests the {@link BindingRules#check(InjectorTester)} method. Checks that a
+     * {@link NullPointerException} is thrown when the {@link InjectorTester} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testCheck_NullTester() {
+        rules.check((InjectorTester) null);
+    }
+}
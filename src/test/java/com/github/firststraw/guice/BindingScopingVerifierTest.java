@@ -73,6 +73,39 @@ public class BindingScopingVerifierTest {
         }
     }
 
+    /**
+     * Tests the {@link BindingScopingVerifier#singleton()} method. Checks that an
+     * {@link IncorrectScopingException} is not thrown when the {@link Binding} has a singleton
+     * scope annotation.
+     */
+    @Test
+    public void testSingleton() {
+        when(binding.acceptScopingVisitor(any(ScopingRecorder.class)))
+                .thenReturn(Scoping.scopeAnnotation(Singleton.class));
+
+        verifier.singleton();
+
+        verify(binding).acceptScopingVisitor(any(ScopingRecorder.class));
+    }
+
+    /**
+     * Tests the {@link BindingScopingVerifier#singleton()} method. Checks that an
+     * {@link IncorrectScopingException} is thrown when the {@link Binding} does not have
+     * singleton scoping.
+     */
+    @Test
+    public void testSingleton_WrongScoping() {
+        when(binding.acceptScopingVisitor(any(ScopingRecorder.class)))
+                .thenReturn(Scoping.noScoping());
+
+        try {
+            verifier.singleton();
+            fail("Should have thrown an IncorrectScopingException.");
+        } catch (final IncorrectScopingException expected) {
+            verify(binding).acceptScopingVisitor(any(ScopingRecorder.class));
+        }
+    }
+
     /**
      * Tests the {@link BindingScopingVerifier#scope(Scope)} method. Checks that a
      * {@link NullPointerException} is thrown when the {@link Scope} is {@code null}.
@@ -0,0 +1,60 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingSpecFailures} class.
+ */
+public class BindingSpecFailuresTest {
+
+    /**
+     * Tests the {@link BindingSpecFailures#BindingSpecFailures(int)} constructor. Checks that an
+     * {@link IllegalArgumentException} is thrown when the maximum is not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NotPositive() {
+        new BindingSpecFailures(0);
+    }
+
+    /**
+     * Tests the {@link BindingSpecFailures#verify()} method. Checks that nothing is thrown when
+     * no failure was added.
+     */
+    @Test
+    public void testVerify_NoFailures() {
+        new BindingSpecFailures(1).verify();
+    }
+
+    /**
+     * Tests the {@link BindingSpecFailures#add(long, Throwable)} and
+     * {@link BindingSpecFailures#verify()} methods. Checks that every failure is counted but only
+     * the first ones are retained, with their line numbers.
+     */
+    @Test
+    public void testVerify_BoundedFailures() {
+        final BindingSpecFailures failures = new BindingSpecFailures(2);
+        final AssertionError first = new AssertionError("first");
+        failures.add(3L, first);
+        failures.add(5L, new IllegalStateException("second"));
+        failures.add(8L, new IllegalStateException("third"));
+
+        try {
+            failures.verify();
+            fail("Should have thrown a BindingVerificationException.");
+        } catch (final BindingVerificationException expected) {
+            assertEquals(2, expected.getFailures().size());
+            final BindingSpecViolation violation =
+                    (BindingSpecViolation) expected.getFailures().get(0);
+            assertEquals(3L, violation.getLineNumber());
+            assertSame(first, violation.getCause());
+            assertEquals(5L,
+                    ((BindingSpecViolation) expected.getFailures().get(1)).getLineNumber());
+            assertTrue(expected.getMessage().startsWith(
+                    "3 binding(s) failed verification, showing the first 2:"));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingSpecGenerator} class.
+ */
+public class BindingSpecGeneratorTest {
+
+    private static final String CLASS_NAME = "com.example.generated.GeneratedBindings";
+
+    private static final String SPEC = "# key\tkind\ttarget\tscoping\n"
+            + "java.util.List\tLINKED_KEY\tjava.util.ArrayList\tScopes.SINGLETON\n"
+            + "java.util.ArrayList\tCONSTRUCTOR\tjava.util.ArrayList\tnone\n"
+            + "\n"
+            + "java.util.Map<java.lang.String, java.util.List<?>>\tLINKED_KEY"
+            + "\tjava.util.TreeMap<java.lang.String, java.util.List<?>>\t-\n"
+            + "java.lang.String@com.google.inject.name.Named(\"quoted\" \\\\ name)\tINSTANCE"
+            + "\tjava.lang.String\teager-singleton\n"
+            + "java.lang.Long\tPROVIDER_INSTANCE"
+            + "\tcom.github.firststraw.guice.BindingSpecGeneratorTest$ProvidingModule#provideLong"
+            + "\t-\n";
+
+    /**
+     * Tests the {@link BindingSpecGenerator#generate(java.io.Reader, String, java.io.Writer)}
+     * method. Checks that the generated class compiles, passes against matching bindings and
+     * reports the line numbers of mismatching ones.
+     *
+     * @throws Exception never
+     */
+    @Test
+    public void testGenerate() throws Exception {
+        final StringWriter source = new StringWriter();
+        assertEquals(5,
+                BindingSpecGenerator.generate(new StringReader(SPEC), CLASS_NAME, source));
+
+        final Path directory = Files.createTempDirectory("guice-test-helper");
+        try {
+            final Method verify = compile(directory, source.toString())
+                    .getMethod("verify", InjectorTester.class, int.class);
+
+            verify.invoke(null, new InjectorTester(new ProvidingModule()), 10);
+
+            try {
+                verify.invoke(null, new InjectorTester(new MismatchingModule()), 10);
+                fail("Should have thrown a BindingVerificationException.");
+            } catch (final InvocationTargetException ex) {
+                final BindingVerificationException expected =
+                        (BindingVerificationException) ex.getCause();
+                assertEquals(2, expected.getFailures().size());
+                assertEquals(2L,
+                        ((BindingSpecViolation) expected.getFailures().get(0)).getLineNumber());
+                assertEquals(7L,
+                        ((BindingSpecViolation) expected.getFailures().get(1)).getLineNumber());
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Tests the {@link BindingSpecGenerator#generate(java.io.Reader, String, java.io.Writer)}
+     * method. Checks that large specifications are split into nested classes.
+     *
+     * @throws IOException never
+     */
+    @Test
+    public void testGenerate_Chunks() throws IOException {
+        final StringBuilder spec = new StringBuilder();
+        for (int line = 0; line <= BindingSpecGenerator.RECORDS_PER_CHUNK; line++) {
+            spec.append("java.util.List\tLINKED_KEY\tjava.util.ArrayList\t-\n");
+        }
+        final StringWriter source = new StringWriter();
+
+        assertEquals(BindingSpecGenerator.RECORDS_PER_CHUNK + 1, BindingSpecGenerator.generate(
+                new StringReader(spec.toString()), "Bindings", source));
+        assertTrue(source.toString().contains("Chunk1.verify(tester, failures);"));
+        assertFalse(source.toString().contains("Chunk2"));
+        assertFalse(source.toString().startsWith("package"));
+    }
+
+    /**
+     * Tests the {@link BindingSpecGenerator#generate(java.io.Reader, String, java.io.Writer)}
+     * method. Checks that a {@link BindingSpecViolation} with the line number is thrown when a
+     * line names a type that cannot be referenced from generated source.
+     *
+     * @throws IOException never
+     */
+    @Test
+    public void testGenerate_PrivateType() throws IOException {
+        final String spec = "java.util.List\tLINKED_KEY\tjava.util.ArrayList\t-\n"
+                + "com.github.firststraw.guice.BindingSpecGeneratorTest$Hidden\t-\t-\t-\n";
+        try {
+            BindingSpecGenerator.generate(new StringReader(spec), CLASS_NAME, new StringWriter());
+            fail("Should have thrown a BindingSpecViolation.");
+        } catch (final BindingSpecViolation expected) {
+            assertEquals(2L, expected.getLineNumber());
+        }
+    }
+
+    /**
+     * Tests the {@link BindingSpecGenerator#generate(java.io.Reader, String, java.io.Writer)}
+     * method. Checks that an {@link IllegalArgumentException} is thrown when the class name is
+     * not a valid name.
+     *
+     * @throws IOException never
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGenerate_InvalidClassName() throws IOException {
+        BindingSpecGenerator.generate(new StringReader(SPEC), "com.example.1st",
+                new StringWriter());
+    }
+
+    /**
+     * Tests the {@link BindingSpecGenerator#generate(Path, String, Path)} method. Checks that the
+     * source is written below the source root in the directory of its package.
+     *
+     * @throws IOException never
+     */
+    @Test
+    public void testGenerate_Path() throws IOException {
+        final Path spec = Files.createTempFile("guice-test-helper", ".tsv");
+        final Path directory = Files.createTempDirectory("guice-test-helper");
+        try {
+            Files.write(spec, SPEC.getBytes(StandardCharsets.UTF_8));
+
+            final Path source = BindingSpecGenerator.generate(spec, CLASS_NAME, directory);
+
+            assertEquals(directory.resolve("com/example/generated/GeneratedBindings.java"),
+                    source);
+            assertTrue(new String(Files.readAllBytes(source), StandardCharsets.UTF_8)
+                    .startsWith("package com.example.generated;"));
+        } finally {
+            Files.delete(spec);
+            delete(directory);
+        }
+    }
+
+    /**
+     * Tests the {@link BindingSpecGenerator#typeExpression(java.lang.reflect.Type)} method.
+     * Checks that nested, array, parameterized and wildcard types are referenced.
+     */
+    @Test
+    public void testTypeExpression() {
+        assertEquals("java.util.Map.Entry[].class",
+                BindingSpecGenerator.typeExpression(Map.Entry[].class));
+        assertEquals("Types.newParameterizedType(java.util.List.class, "
+                + "Types.supertypeOf(java.lang.Integer.class))",
+                BindingSpecGenerator.typeExpression(
+                        new TypeLiteral<List<? super Integer>>() { }.getType()));
+        assertEquals("Types.arrayOf(Types.newParameterizedType(java.util.List.class, "
+                + "java.lang.String.class))", BindingSpecGenerator.typeExpression(
+                        new TypeLiteral<List<String>[]>() { }.getType()));
+    }
+
+    /**
+     * Tests the {@link BindingSpecGenerator#stringLiteral(String)} method. Checks that quotes,
+     * backslashes and non-ASCII characters are escaped.
+     */
+    @Test
+    public void testStringLiteral() {
+        assertEquals("\"a\\\"b\\\\c\\u00e9\\u000a\"",
+                BindingSpecGenerator.stringLiteral("a\"b\\cé\n"));
+    }
+
+    /**
+     * Compiles the source of {@link #CLASS_NAME} and loads the class.
+     *
+     * @param directory the directory to compile in
+     * @param source the source
+     * @return the class
+     * @throws IOException if the source could not be written
+     * @throws ClassNotFoundException if the class could not be loaded
+     */
+    private static Class<?> compile(final Path directory, final String source)
+            throws IOException, ClassNotFoundException {
+        final Path file = directory.resolve(CLASS_NAME.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(source, 0, compiler.run(null, null, null, "-classpath",
+                System.getProperty("java.class.path"), "-d", directory.toString(),
+                file.toString()));
+        final URLClassLoader loader = new URLClassLoader(
+                new URL[]{directory.toUri().toURL()},
+                BindingSpecGeneratorTest.class.getClassLoader());
+        return Class.forName(CLASS_NAME, true, loader);
+    }
+
+    /**
+     * Deletes the directory and its contents.
+     *
+     * @param directory the directory
+     * @throws IOException if the directory could not be deleted
+     */
+    private static void delete(final Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())
+                    ::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Module matching {@link #SPEC}.
+     */
+    public static class ProvidingModule extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            bind(List.class).to(ArrayList.class).in(Singleton.class);
+            bind(new TypeLiteral<Map<String, List<?>>>() { })
+                    .to(new TypeLiteral<TreeMap<String, List<?>>>() { });
+            bind(String.class).annotatedWith(Names.named("\"quoted\" \\ name"))
+                    .toInstance("quoted");
+        }
+
+        @Provides
+        Long provideLong() {
+            return 1L;
+        }
+    }
+
+    /**
+     * Module mismatching lines 2 and 7 of {@link #SPEC}.
+     */
+    private static class MismatchingModule extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            bind(List.class).toInstance(new ArrayList<>());
+            bind(new TypeLiteral<Map<String, List<?>>>() { })
+                    .to(new TypeLiteral<TreeMap<String, List<?>>>() { });
+            bind(String.class).annotatedWith(Names.named("\"quoted\" \\ name"))
+                    .toInstance("quoted");
+            bind(Long.class).toInstance(1L);
+        }
+    }
+
+    /**
+     * A type that generated source cannot reference.
+     */
+    private static class Hidden {
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.Scope;
+import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Provider;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingSpecRecord} class.
+ */
+public class BindingSpecRecordTest {
+
+    private static final ClassLoader LOADER = BindingSpecRecordTest.class.getClassLoader();
+    private static final String PREFIX = BindingSpecRecordTest.class.getName() + "$";
+
+    private static final InjectorTester TESTER = new InjectorTester(new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(List.class).to(ArrayList.class).in(Singleton.class);
+            bind(String.class).annotatedWith(Names.named("url")).toInstance("jdbc:");
+            bind(Runnable.class).toProvider(TaskProvider.class);
+            bind(Number.class).toProvider(new NumberProvider());
+            bind(CharSequence.class).toProvider(new NumberProvider()::toString);
+            bind(Service.class).asEagerSingleton();
+            bindConstant().annotatedWith(Names.named("port")).to("8080");
+        }
+
+        @Provides
+        Integer provideInteger() {
+            return 1;
+        }
+    });
+
+    /**
+     * Verifies the record against the {@link InjectorTester}.
+     *
+     * @param key the textual form of the {@link com.google.inject.Key}
+     * @param kind the name of the {@link BindingKind}
+     * @param target the textual form of the target
+     * @param scoping the textual form of the scoping
+     */
+    private static void verify(final String key, final String kind, final String target,
+            final String scoping) {
+        new BindingSpecRecord(key, kind, target, scoping).verify(TESTER, LOADER);
+    }
+
+    /**
+     * Checks that the verification of the record fails.
+     *
+     * @param key the textual form of the {@link com.google.inject.Key}
+     * @param kind the name of the {@link BindingKind}
+     * @param target the textual form of the target
+     * @param scoping the textual form of the scoping
+     */
+    private static void assertFails(final String key, final String kind, final String target,
+            final String scoping) {
+        try {
+            verify(key, kind, target, scoping);
+        } catch (final RuntimeException expected) {
+            return;
+        }
+        fail("Should have failed: " + key + " " + kind + " " + target + " " + scoping);
+    }
+
+    /**
+     * Tests the {@link BindingSpecRecord#parse(String)} and {@link BindingSpecRecord#format()}
+     * methods. Checks that tabs, line breaks and backslashes in fields round trip.
+     */
+    @Test
+    public void testParseAndFormat() {
+        final BindingSpecRecord record =
+                new BindingSpecRecord("a\tb\\c\nd", "INSTANCE", "-", "none");
+        final String line = record.format();
+
+        assertEquals("a\\tb\\\\c\\nd\tINSTANCE\t-\tnone", line);
+
+        final BindingSpecRecord parsed = BindingSpecRecord.parse(line);
+        assertEquals(record.getKey(), parsed.getKey());
+        assertEquals("INSTANCE", parsed.getKind());
+        assertEquals("-", parsed.getTarget());
+        assertEquals("none", parsed.getScoping());
+    }
+
+    /**
+     * Tests the {@link BindingSpecRecord#parse(String)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when a line does not have four fields.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_WrongFieldCount() {
+        BindingSpecRecord.parse("java.lang.String\tINSTANCE\t-");
+    }
+
+    /**
+     * Tests the {@link BindingSpecRecord#verify(InjectorTester, ClassLoader)} method. Checks that
+     * the target and scoping of each {@link BindingKind} are verified.
+     */
+    @Test
+    public void testVerify() {
+        verify("java.util.List", "LINKED_KEY", "java.util.ArrayList", "Scopes.SINGLETON");
+        verify("java.util.List", "LINKED_KEY", "-", "singleton");
+        verify("java.util.ArrayList", "CONSTRUCTOR", "java.util.ArrayList", "none");
+        verify("java.lang.String@com.google.inject.name.Named(url)", "INSTANCE",
+                "java.lang.String", "-");
+        verify("java.lang.Runnable", "PROVIDER_KEY", PREFIX + "TaskProvider", "-");
+        verify("java.lang.Number", "PROVIDER_INSTANCE", PREFIX + "NumberProvider", "-");
+        verify("java.lang.Integer", "PROVIDER_INSTANCE",
+                BindingSpecRecordTest.class.getName() + "$1#provideInteger", "-");
+        verify(PREFIX + "Service", "-", "-", "eager-singleton");
+        verify("java.lang.Integer@com.google.inject.name.Named(port)", "OTHER", "-", "-");
+    }
+
+    /**
+     * Tests the {@link BindingSpecRecord#verify(InjectorTester, ClassLoader)} method. Checks that
+     * mismatches and malformed records fail.
+     */
+    @Test
+    public void testVerify_Mismatch() {
+        assertFails("java.util.List", "LINKED_KEY", "java.util.LinkedList", "-");
+        assertFails("java.util.List", "INSTANCE", "-", "-");
+        assertFails("java.util.List", "-", "-", "none");
+        assertFails("java.util.List", "-", "-", "@javax.inject.Singleton");
+        assertFails("java.util.ArrayList", "CONSTRUCTOR", "java.util.LinkedList", "-");
+        assertFails("java.lang.Number", "PROVIDER_INSTANCE", PREFIX + "TaskProvider", "-");
+        assertFails("java.lang.Integer", "PROVIDER_INSTANCE",
+                BindingSpecRecordTest.class.getName() + "$1#configure", "-");
+        assertFails("java.lang.Integer@com.google.inject.name.Named(port)", "OTHER",
+                "java.lang.Integer", "-");
+        assertFails("java.util.List", "OTHER", "-", "-");
+        assertFails("java.util.List", "SOMETHING", "-", "-");
+        assertFails("java.util.List", "-", "java.util.ArrayList", "-");
+        assertFails("java.util.List", "-", "-", "weekly");
+        assertFails("java.lang.Object@com.google.inject.name.Named(missing)", "-", "-", "-");
+    }
+
+    /**
+     * Tests the {@link BindingSpecRecord#of(com.google.inject.Binding)} method. Checks that the
+     * kind, target and scoping of each {@link BindingKind} are recorded and verify.
+     */
+    @Test
+    public void testOf() {
+        assertRecord(Key.get(List.class), "LINKED_KEY", "java.util.ArrayList",
+                "Scopes.SINGLETON");
+        assertRecord(Key.get(String.class, Names.named("url")), "INSTANCE", "java.lang.String",
+                "eager-singleton");
+        assertRecord(Key.get(Runnable.class), "PROVIDER_KEY", PREFIX + "TaskProvider", "none");
+        assertRecord(Key.get(Number.class), "PROVIDER_INSTANCE", PREFIX + "NumberProvider",
+                "none");
+        assertRecord(Key.get(CharSequence.class), "PROVIDER_INSTANCE", "-", "none");
+        assertRecord(Key.get(Integer.class), "PROVIDER_INSTANCE",
+                BindingSpecRecordTest.class.getName() + "$1#provideInteger", "none");
+        assertRecord(Key.get(Service.class), "CONSTRUCTOR", PREFIX + "Service",
+                "eager-singleton");
+    }
+
+    /**
+     * Records the {@link com.google.inject.Binding} for the {@link Key}, checks the record and
+     * verifies it against the {@link InjectorTester}.
+     *
+     * @param key the {@link Key}
+     * @param kind the expected name of the {@link BindingKind}
+     * @param target the expected textual form of the target
+     * @param scoping the expected textual form of the scoping
+     */
+    private static void assertRecord(final Key<?> key, final String kind, final String target,
+            final String scoping) {
+        final BindingSpecRecord record =
+                BindingSpecRecord.of(TESTER.getInjector().getBinding(key));
+
+        assertEquals(KeySpecs.format(key), record.getKey());
+        assertEquals(kind, record.getKind());
+        assertEquals(target, record.getTarget());
+        assertEquals(scoping, record.getScoping());
+        record.verify(TESTER, LOADER);
+    }
+
+    /**
+     * Tests the {@link BindingSpecRecord#scopingOf(Scoping)} method. Checks that custom
+     * {@link com.google.inject.Scope} instances are recorded as unchecked.
+     */
+    @Test
+    public void testScopingOf() {
+        assertEquals("@javax.inject.Singleton",
+                BindingSpecRecord.scopingOf(Scoping.scopeAnnotation(javax.inject.Singleton.class)));
+        assertEquals("Scopes.NO_SCOPE",
+                BindingSpecRecord.scopingOf(Scoping.scope(Scopes.NO_SCOPE)));
+        assertEquals("-", BindingSpecRecord.scopingOf(Scoping.scope(new Scope() {
+            @Override
+            public <T> com.google.inject.Provider<T> scope(final Key<T> key,
+                    final com.google.inject.Provider<T> unscoped) {
+                return unscoped;
+            }
+        })));
+    }
+
+    /**
+     * Eager singleton for use in unit testing.
+     */
+    static class Service {
+    }
+
+    /**
+     * {@link Provider} bound by key for use in unit testing.
+     */
+    static class TaskProvider implements Provider<Runnable> {
+
+        @Override
+        public Runnable get() {
+            return () -> { };
+        }
+    }
+
+    /**
+     * {@link Provider} bound by instance for use in unit testing.
+     */
+    static class NumberProvider implements Provider<Number> {
+
+        @Override
+        public Number get() {
+            return 1;
+        }
+    }
+}
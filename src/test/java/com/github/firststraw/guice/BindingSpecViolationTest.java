@@ -0,0 +1,24 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingSpecViolation} class.
+ */
+public class BindingSpecViolationTest {
+
+    /**
+     * Checks that the {@link BindingSpecViolation} is configured correctly.
+     */
+    @Test
+    public void test() {
+        final IllegalArgumentException cause = new IllegalArgumentException("cause");
+        final BindingSpecViolation ex = new BindingSpecViolation(12L, cause);
+
+        assertEquals("Line 12: cause", ex.getMessage());
+        assertEquals(12L, ex.getLineNumber());
+        assertSame(cause, ex.getCause());
+    }
+}
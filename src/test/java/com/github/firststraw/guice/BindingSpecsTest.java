@@ -0,0 +1,134 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import com.google.inject.name.Names;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingSpecs} class.
+ */
+public class BindingSpecsTest {
+
+    @KeySpecsTest.Valued(1)
+    private static final Object ANNOTATED = null;
+
+    private static final KeySpecsTest.Valued VALUED = valued();
+
+    private static final InjectorTester TESTER = new InjectorTester(new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(List.class).to(ArrayList.class).in(Singleton.class);
+        }
+    });
+
+    /**
+     * Returns the binding annotation with an attribute on {@link #ANNOTATED}.
+     *
+     * @return the binding annotation
+     */
+    private static KeySpecsTest.Valued valued() {
+        try {
+            return BindingSpecsTest.class.getDeclaredField("ANNOTATED")
+                    .getAnnotation(KeySpecsTest.Valued.class);
+        } catch (final NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Tests the {@link BindingSpecs#verify(InjectorTester, java.io.Reader, int)} method. Checks
+     * that comments and blank lines are skipped and matching records pass.
+     *
+     * @throws IOException never
+     */
+    @Test
+    public void testVerify() throws IOException {
+        final String spec = "# expected bindings\n"
+                + "\n"
+                + "java.util.List\tLINKED_KEY\tjava.util.ArrayList\tScopes.SINGLETON\n"
+                + "java.util.ArrayList\tCONSTRUCTOR\t-\tnone\n";
+
+        BindingSpecs.verify(TESTER, new StringReader(spec), 10);
+    }
+
+    /**
+     * Tests the {@link BindingSpecs#verify(InjectorTester, java.io.Reader, int)} method. Checks
+     * that every failure is counted but only the first ones are reported, with their line
+     * numbers.
+     *
+     * @throws IOException never
+     */
+    @Test
+    public void testVerify_BoundedFailures() throws IOException {
+        final StringBuilder spec = new StringBuilder("# header\n");
+        for (int line = 0; line < 5; line++) {
+            spec.append("java.util.List\tINSTANCE\t-\t-\n");
+        }
+
+        try {
+            BindingSpecs.verify(TESTER, new StringReader(spec.toString()), 2);
+            fail("Should have thrown a BindingVerificationException.");
+        } catch (final BindingVerificationException expected) {
+            assertEquals(2, expected.getFailures().size());
+            assertEquals(2L,
+                    ((BindingSpecViolation) expected.getFailures().get(0)).getLineNumber());
+            assertEquals(3L,
+                    ((BindingSpecViolation) expected.getFailures().get(1)).getLineNumber());
+            assertTrue(expected.getMessage().startsWith(
+                    "5 binding(s) failed verification, showing the first 2:"));
+        }
+    }
+
+    /**
+     * Tests the {@link BindingSpecs#record(com.google.inject.Injector, java.io.Writer)} method.
+     * Checks that the recording is sorted, excludes built-in bindings, lists unrepresentable
+     * {@link com.google.inject.Key}s as comments and verifies against the same
+     * {@link com.google.inject.Injector}.
+     *
+     * @throws IOException never
+     */
+    @Test
+    public void testRecord() throws IOException {
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Set.class).to(HashSet.class);
+                bind(List.class).to(ArrayList.class).in(Singleton.class);
+                bind(String.class).annotatedWith(Names.named("b")).toInstance("b");
+                bind(String.class).annotatedWith(Names.named("a")).toInstance("a");
+                bind(String.class).annotatedWith(VALUED).toInstance("valued");
+            }
+        });
+
+        final StringWriter first = new StringWriter();
+        assertEquals(4, BindingSpecs.record(tester.getInjector(), first));
+        final StringWriter second = new StringWriter();
+        BindingSpecs.record(tester.getInjector(), second);
+
+        final String[] lines = first.toString().split("\n");
+        assertEquals("# key\tkind\ttarget\tscoping", lines[0]);
+        assertEquals("java.lang.String@com.google.inject.name.Named(a)\tINSTANCE"
+                + "\tjava.lang.String\teager-singleton", lines[1]);
+        assertEquals("java.lang.String@com.google.inject.name.Named(b)\tINSTANCE"
+                + "\tjava.lang.String\teager-singleton", lines[2]);
+        assertEquals("java.util.List\tLINKED_KEY\tjava.util.ArrayList\tScopes.SINGLETON",
+                lines[3]);
+        assertEquals("java.util.Set\tLINKED_KEY\tjava.util.HashSet\tnone", lines[4]);
+        assertTrue(lines[5].startsWith("# skipped "));
+        assertEquals(6, lines.length);
+        assertEquals(first.toString(), second.toString());
+
+        BindingSpecs.verify(tester, new StringReader(first.toString()), 10);
+    }
+}
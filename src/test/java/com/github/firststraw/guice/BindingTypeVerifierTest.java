@@ -8,6 +8,7 @@ import com.google.inject.spi.ProviderInstanceBinding;
 import com.google.inject.spi.ProviderKeyBinding;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.After;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -175,6 +176,63 @@ public class BindingTypeVerifierTest {
         verifier.asProviderKeyBinding();
     }
 
+    /**
+     * Tests the {@link BindingTypeVerifier#ofKind(BindingKind)} method. Checks that "this"
+     * {@link BindingTypeVerifier} is returned when the {@link Binding} is of the
+     * {@link BindingKind}.
+     */
+    @Test
+    public void testOfKind() {
+        final BindingTypeVerifier<Integer> verifier = new BindingTypeVerifier<>(constructorBinding);
+
+        assertSame(verifier, verifier.ofKind(BindingKind.CONSTRUCTOR));
+    }
+
+    /**
+     * Tests the {@link BindingTypeVerifier#ofKind(BindingKind)} method. Checks that an
+     * {@link IncorrectBindingTypeException} is thrown when the {@link Binding} is of another
+     * {@link BindingKind}.
+     */
+    @Test(expected = IncorrectBindingTypeException.class)
+    public void testOfKind_OtherKind() {
+        final BindingTypeVerifier<Integer> verifier = new BindingTypeVerifier<>(instanceBinding);
+        verifier.ofKind(BindingKind.CONSTRUCTOR);
+    }
+
+    /**
+     * Tests the {@link BindingTypeVerifier#notOfKind(BindingKind)} method. Checks that "this"
+     * {@link BindingTypeVerifier} is returned when the {@link Binding} is of another
+     * {@link BindingKind}.
+     */
+    @Test
+    public void testNotOfKind() {
+        final BindingTypeVerifier<Integer> verifier = new BindingTypeVerifier<>(constructorBinding);
+
+        assertSame(verifier, verifier.notOfKind(BindingKind.INSTANCE));
+    }
+
+    /**
+     * Tests the {@link BindingTypeVerifier#notOfKind(BindingKind)} method. Checks that an
+     * {@link IncorrectBindingTypeException} is thrown when the {@link Binding} is of the
+     * {@link BindingKind}.
+     */
+    @Test(expected = IncorrectBindingTypeException.class)
+    public void testNotOfKind_ForbiddenKind() {
+        final BindingTypeVerifier<Integer> verifier = new BindingTypeVerifier<>(instanceBinding);
+        verifier.notOfKind(BindingKind.INSTANCE);
+    }
+
+    /**
+     * Tests the {@link BindingTypeVerifier#withScoping()} method. Checks that a
+     * {@link BindingScopingVerifier} for the {@link Binding} is returned.
+     */
+    @Test
+    public void testWithScoping() {
+        final BindingTypeVerifier<Integer> verifier = new BindingTypeVerifier<>(instanceBinding);
+
+        assertEquals(new BindingScopingVerifier(instanceBinding), verifier.withScoping());
+    }
+
     /**
      * Tests the {@link BindingTypeVerifier#equals(Object)} and
      * {@link BindingTypeVerifier#hashCode()} methods to check whether they conform to their
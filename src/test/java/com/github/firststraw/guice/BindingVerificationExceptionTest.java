@@ -0,0 +1,44 @@
+package com.github.firststraw.guice;
+
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BindingVerificationException} class.
+ */
+public class BindingVerificationExceptionTest {
+
+    /**
+     * Checks that the {@link BindingVerificationException} is configured correctly.
+     */
+    @Test
+    public void test() {
+        final List<Throwable> failures = Arrays.asList(new IllegalStateException("first"),
+                new AssertionError("second"));
+        final BindingVerificationException ex = new BindingVerificationException(failures);
+
+        final String msg = "2 binding(s) failed verification:" + System.lineSeparator() + "first"
+                + System.lineSeparator() + "second";
+        assertEquals(msg, ex.getMessage());
+        assertEquals(failures, ex.getFailures());
+        assertArrayEquals(failures.toArray(), ex.getSuppressed());
+    }
+
+    /**
+     * Checks that the {@link BindingVerificationException} reports the total number of failures
+     * when only some of them are included.
+     */
+    @Test
+    public void testTruncated() {
+        final List<Throwable> failures = Arrays.asList(new IllegalStateException("first"));
+        final BindingVerificationException ex = new BindingVerificationException(failures, 3L);
+
+        final String msg = "3 binding(s) failed verification, showing the first 1:"
+                + System.lineSeparator() + "first";
+        assertEquals(msg, ex.getMessage());
+        assertEquals(failures, ex.getFailures());
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Stage;
+import com.google.inject.name.Names;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link Bindings} class.
+ */
+public class BindingsTest {
+
+    /**
+     * Tests the {@link Bindings#isBuiltIn(Key)} method. Checks that the unannotated
+     * {@link Injector}, {@link Stage} and {@link Logger} keys are built in and other keys are not.
+     */
+    @Test
+    public void testIsBuiltIn() {
+        assertTrue(Bindings.isBuiltIn(Key.get(Injector.class)));
+        assertTrue(Bindings.isBuiltIn(Key.get(Stage.class)));
+        assertTrue(Bindings.isBuiltIn(Key.get(Logger.class)));
+        assertFalse(Bindings.isBuiltIn(Key.get(Logger.class, Names.named("audit"))));
+        assertFalse(Bindings.isBuiltIn(Key.get(String.class)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.firststraw.guice;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BoundedCache} class.
+ */
+public class BoundedCacheTest {
+
+    /**
+     * Tests the {@link BoundedCache#BoundedCache(int)} constructor. Checks that an
+     * {@link IllegalArgumentException} is thrown when the maximum size is not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NonPositiveMaxSize() {
+        new BoundedCache<>(0);
+    }
+
+    /**
+     * Tests the {@link BoundedCache#get(Object, java.util.function.Function)} method. Checks that
+     * values are computed once per key and cached.
+     */
+    @Test
+    public void testGet() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Integer.valueOf(1), cache.get("a", key -> loads.incrementAndGet()));
+        assertEquals(Integer.valueOf(1), cache.get("a", key -> loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Tests the {@link BoundedCache#get(Object, java.util.function.Function)} method. Checks that
+     * the oldest entries are evicted once the maximum size is exceeded.
+     */
+    @Test
+    public void testGet_Eviction() {
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(2);
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, key -> loads.incrementAndGet());
+        cache.get(2, key -> loads.incrementAndGet());
+        cache.get(3, key -> loads.incrementAndGet());
+        assertEquals(2, cache.size());
+
+        cache.get(3, key -> loads.incrementAndGet());
+        assertEquals(3, loads.get());
+        cache.get(1, key -> loads.incrementAndGet());
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Tests the {@link BoundedCache#get(Object, java.util.function.Function)} method. Checks that
+     * failed computations are not cached.
+     */
+    @Test
+    public void testGet_Failure() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10);
+        try {
+            cache.get("a", key -> {
+                throw new IllegalStateException();
+            });
+            fail("Should have thrown an IllegalStateException.");
+        } catch (final IllegalStateException expected) {
+            assertEquals(0, cache.size());
+        }
+        assertEquals("A", cache.get("a", String::toUpperCase));
+    }
+
+    /**
+     * Tests the {@link BoundedCache#clear()} method. Checks that every entry is removed.
+     */
+    @Test
+    public void testClear() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10);
+        cache.get("a", String::toUpperCase);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+}
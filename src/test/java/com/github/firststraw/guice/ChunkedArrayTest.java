@@ -0,0 +1,42 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ChunkedArray} class.
+ */
+public class ChunkedArrayTest {
+
+    private final ChunkedArray<StringBuilder> array =
+            new ChunkedArray<>(index -> new StringBuilder().append(index));
+
+    /**
+     * Tests the {@link ChunkedArray#get(int)} method. Checks that elements are created on first
+     * use, across chunk boundaries, and reused afterwards.
+     */
+    @Test
+    public void testGet() {
+        final StringBuilder element = array.get(5000);
+
+        assertEquals("5000", element.toString());
+        assertSame(element, array.get(5000));
+        assertEquals("0", array.get(0).toString());
+    }
+
+    /**
+     * Tests the {@link ChunkedArray#getIfPresent(int)} method. Checks that {@code null} is
+     * returned for elements that have not been created.
+     */
+    @Test
+    public void testGetIfPresent() {
+        array.get(1);
+
+        assertEquals("1", array.getIfPresent(1).toString());
+        assertNull(array.getIfPresent(2));
+        assertNull(array.getIfPresent(100000));
+        assertNull(array.getIfPresent(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ConcurrentBitSet} class.
+ */
+public class ConcurrentBitSetTest {
+
+    /**
+     * Tests the {@link ConcurrentBitSet#set(int)} and {@link ConcurrentBitSet#get(int)} methods.
+     * Checks that only the bits that were set are reported as set, across words.
+     */
+    @Test
+    public void testSet() {
+        final ConcurrentBitSet bits = new ConcurrentBitSet();
+        bits.set(0);
+        bits.set(63);
+        bits.set(64);
+        bits.set(100000);
+        bits.set(64);
+
+        assertTrue(bits.get(0));
+        assertTrue(bits.get(63));
+        assertTrue(bits.get(64));
+        assertTrue(bits.get(100000));
+        assertFalse(bits.get(1));
+        assertFalse(bits.get(65));
+        assertFalse(bits.get(200000));
+    }
+}
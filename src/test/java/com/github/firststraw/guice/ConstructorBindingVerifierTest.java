@@ -1,5 +1,6 @@
 package com.github.firststraw.guice;
 
+import com.google.inject.TypeLiteral;
 import com.google.inject.spi.ConstructorBinding;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.reflect.Constructor;
@@ -113,6 +114,33 @@ public class ConstructorBindingVerifierTest {
         }
     }
 
+    /**
+     * Tests the {@link ConstructorBindingVerifier#withDeclaringType(TypeLiteral)} method. Checks
+     * that we get back the {@link ConstructorBindingVerifier} when the constructor is declared by
+     * the expected type.
+     */
+    @Test
+    public void testWithDeclaringType() {
+        assertSame(verifier, verifier.withDeclaringType(TypeLiteral.get(Integer.class)));
+
+        verify(binding).getConstructor();
+    }
+
+    /**
+     * Tests the {@link ConstructorBindingVerifier#withDeclaringType(TypeLiteral)} method. Checks
+     * that an {@link IncorrectBindingTargetException} is thrown when the constructor is declared
+     * by another type.
+     */
+    @Test
+    public void testWithDeclaringType_WrongType() {
+        try {
+            verifier.withDeclaringType(TypeLiteral.get(Long.class));
+            fail("Should have thrown an IncorrectBindingTargetException.");
+        } catch (final IncorrectBindingTargetException ex) {
+            verify(binding).getConstructor();
+        }
+    }
+
     /**
      * Tests the {@link ConstructorBindingVerifier#equals(Object)} and
      * {@link ConstructorBindingVerifier#hashCode()} methods to check whether they conform to their
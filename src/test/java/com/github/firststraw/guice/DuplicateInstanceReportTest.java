@@ -0,0 +1,223 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.InstanceBinding;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DuplicateInstanceReport} class.
+ */
+public class DuplicateInstanceReportTest {
+
+    private static final Key<List> SHARED_A = Key.get(List.class, Names.named("sharedA"));
+    private static final Key<List> SHARED_B = Key.get(List.class, Names.named("sharedB"));
+    private static final Key<List> COPY_A = Key.get(List.class, Names.named("copyA"));
+    private static final Key<List> COPY_B = Key.get(List.class, Names.named("copyB"));
+    private static final Key<List> COPY_C = Key.get(List.class, Names.named("copyC"));
+    private static final Key<List> UNIQUE = Key.get(List.class, Names.named("unique"));
+
+    /**
+     * Tests the {@link DuplicateInstanceReport#DuplicateInstanceReport(java.util.Collection)}
+     * constructor. Checks that a {@link NullPointerException} is thrown when the duplicates are
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullDuplicates() {
+        new DuplicateInstanceReport(null);
+    }
+
+    /**
+     * Tests the {@link DuplicateInstanceReport#of(Iterable, long)} method. Checks that identical
+     * and equal instances are grouped, ranked by wasted memory, and that unique instances are not
+     * reported.
+     */
+    @Test
+    public void testOf() {
+        final List<Long> shared = values(100);
+        final DuplicateInstanceReport report = DuplicateInstanceReport.of(bindings(
+                new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(SHARED_A).toInstance(shared);
+                        bind(SHARED_B).toInstance(shared);
+                        bind(COPY_A).toInstance(values(10));
+                        bind(COPY_B).toInstance(values(10));
+                        bind(COPY_C).toInstance(values(10));
+                        bind(UNIQUE).toInstance(values(11));
+                    }
+                }), 0L);
+
+        final List<DuplicateInstances> duplicates = report.getDuplicates();
+        assertEquals(2, duplicates.size());
+        final DuplicateInstances copies = duplicates.get(0);
+        assertEquals(Arrays.asList(COPY_A, COPY_B, COPY_C), copies.getKeys());
+        assertFalse(copies.isIdentical());
+        assertEquals(3, copies.getDistinctInstanceCount());
+        assertEquals(2L * copies.getRetainedBytes(), copies.getWastedBytes());
+        final DuplicateInstances identical = duplicates.get(1);
+        assertEquals(Arrays.asList(SHARED_A, SHARED_B), identical.getKeys());
+        assertTrue(identical.isIdentical());
+        assertEquals(0L, identical.getWastedBytes());
+        assertEquals(copies.getWastedBytes(), report.getWastedBytes());
+    }
+
+    /**
+     * Tests the {@link DuplicateInstanceReport#of(Iterable, long)} method. Checks that duplicates
+     * smaller than the minimum retained size are not reported.
+     */
+    @Test
+    public void testOf_MinRetainedBytes() {
+        final DuplicateInstanceReport report = DuplicateInstanceReport.of(bindings(
+                new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(COPY_A).toInstance(values(1));
+                        bind(COPY_B).toInstance(values(1));
+                        bind(SHARED_A).toInstance(values(1000));
+                        bind(SHARED_B).toInstance(values(1000));
+                    }
+                }), 1024L);
+
+        assertEquals(1, report.getDuplicates().size());
+        assertEquals(Arrays.asList(SHARED_A, SHARED_B), report.getDuplicates().get(0).getKeys());
+    }
+
+    /**
+     * Tests the {@link DuplicateInstanceReport#of(Iterable, long)} method. Checks that the
+     * retained and wasted sizes of duplicates match the layout of their fields, and that the
+     * minimum retained size includes duplicates of exactly that size and excludes smaller ones.
+     */
+    @Test
+    public void testOf_MinRetainedBytesBoundary() {
+        // A Payload has a 12 byte header and a 4 byte reference; a long[200] has a 16 byte header
+        // and 1600 bytes of elements.
+        final long payloadBytes = 16L + 16L + 200L * 8L;
+        final Module module = new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Payload.class).annotatedWith(Names.named("a")).toInstance(new Payload(200));
+                bind(Payload.class).annotatedWith(Names.named("b")).toInstance(new Payload(200));
+                bind(Payload.class).annotatedWith(Names.named("c")).toInstance(new Payload(200));
+            }
+        };
+
+        final DuplicateInstanceReport included = DuplicateInstanceReport.of(bindings(module),
+                payloadBytes);
+        assertEquals(1, included.getDuplicates().size());
+        final DuplicateInstances copies = included.getDuplicates().get(0);
+        assertFalse(copies.isLowerBound());
+        assertEquals(payloadBytes, copies.getRetainedBytes());
+        assertEquals(2L * payloadBytes, copies.getWastedBytes());
+        assertEquals(2L * payloadBytes, included.getWastedBytes());
+
+        final DuplicateInstanceReport excluded = DuplicateInstanceReport.of(bindings(module),
+                payloadBytes + 1L);
+        assertTrue(excluded.getDuplicates().isEmpty());
+        assertEquals(0L, excluded.getWastedBytes());
+    }
+
+    /**
+     * Tests the {@link DuplicateInstanceReport#of(Iterable, long)} method. Checks that instances
+     * whose {@code hashCode()} throws are compared by identity only.
+     */
+    @Test
+    public void testOf_ThrowingHashCode() {
+        final Object unhashable = new Object() {
+            @Override
+            public int hashCode() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        final DuplicateInstanceReport report = DuplicateInstanceReport.of(bindings(
+                new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(Object.class).annotatedWith(Names.named("a")).toInstance(unhashable);
+                        bind(Object.class).annotatedWith(Names.named("b")).toInstance(unhashable);
+                    }
+                }), 0L);
+
+        assertEquals(1, report.getDuplicates().size());
+        assertTrue(report.getDuplicates().get(0).isIdentical());
+    }
+
+    /**
+     * Tests the {@link DuplicateInstanceReport#toString()} method. Checks that the duplicates are
+     * numbered.
+     */
+    @Test
+    public void testToString() {
+        final DuplicateInstances first = new DuplicateInstances(Arrays.asList(COPY_A, COPY_B),
+                2, 64L, false);
+        final DuplicateInstances second = new DuplicateInstances(Arrays.asList(SHARED_A,
+                SHARED_B), 1, 64L, false);
+
+        final String newLine = System.lineSeparator();
+        assertEquals("1. " + first + newLine + "2. " + second + newLine,
+                new DuplicateInstanceReport(Arrays.asList(second, first)).toString());
+    }
+
+    /**
+     * Returns the {@link InstanceBinding}s of the {@link Module}.
+     *
+     * @param module the {@link Module}
+     * @return the {@link InstanceBinding}s
+     */
+    private static List<InstanceBinding<?>> bindings(final Module module) {
+        final List<InstanceBinding<?>> bindings = new ArrayList<>();
+        for (final Element element : Elements.getElements(module)) {
+            bindings.add((InstanceBinding<?>) element);
+        }
+        return bindings;
+    }
+
+    /**
+     * An object of a known retained size that is equal to any {@link Payload} of the same length.
+     */
+    private static final class Payload {
+
+        private final long[] values;
+
+        /**
+         * @param length the number of values
+         */
+        Payload(final int length) {
+            this.values = new long[length];
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Payload && Arrays.equals(values, ((Payload) obj).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    /**
+     * Creates a new list of consecutive values.
+     *
+     * @param count the number of values
+     * @return the list
+     */
+    private static List<Long> values(final int count) {
+        final List<Long> values = new ArrayList<>();
+        for (long value = 0; value < count; value++) {
+            values.add(value);
+        }
+        return values;
+    }
+}
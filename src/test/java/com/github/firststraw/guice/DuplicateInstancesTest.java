@@ -0,0 +1,80 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DuplicateInstances} class.
+ */
+public class DuplicateInstancesTest {
+
+    private static final Key<String> FIRST = Key.get(String.class, Names.named("first"));
+    private static final Key<String> SECOND = Key.get(String.class, Names.named("second"));
+
+    /**
+     * Tests the
+     * {@link DuplicateInstances#DuplicateInstances(java.util.Collection, int, long, boolean)}
+     * constructor. Checks that a {@link NullPointerException} is thrown when the keys are
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullKeys() {
+        new DuplicateInstances(null, 1, 0L, false);
+    }
+
+    /**
+     * Tests the {@link DuplicateInstances#getKeys()} method. Checks that the keys are sorted.
+     */
+    @Test
+    public void testGetKeys() {
+        assertEquals(Arrays.asList(FIRST, SECOND),
+                new DuplicateInstances(Arrays.asList(SECOND, FIRST), 1, 0L, false).getKeys());
+    }
+
+    /**
+     * Tests the {@link DuplicateInstances#getWastedBytes()} method. Checks that every distinct
+     * instance but one is counted as wasted.
+     */
+    @Test
+    public void testGetWastedBytes() {
+        final DuplicateInstances copies =
+                new DuplicateInstances(Arrays.asList(FIRST, SECOND), 2, 48L, false);
+        assertFalse(copies.isIdentical());
+        assertEquals(48L, copies.getWastedBytes());
+
+        final DuplicateInstances shared =
+                new DuplicateInstances(Arrays.asList(FIRST, SECOND), 1, 48L, false);
+        assertTrue(shared.isIdentical());
+        assertEquals(0L, shared.getWastedBytes());
+    }
+
+    /**
+     * Tests the {@link DuplicateInstances#toString()} method. Checks that the summary describes
+     * the instances and keys.
+     */
+    @Test
+    public void testToString() {
+        assertEquals("2 equal instances of 48 bytes bound to [" + FIRST + ", " + SECOND + "]",
+                new DuplicateInstances(Arrays.asList(FIRST, SECOND), 2, 48L, false).toString());
+        assertEquals("same instance of 48 bytes bound to [" + FIRST + ", " + SECOND + "]",
+                new DuplicateInstances(Arrays.asList(FIRST, SECOND), 1, 48L, false).toString());
+    }
+
+    /**
+     * Tests the {@link DuplicateInstances#toString()} method. Checks that a lower bound is
+     * described as such.
+     */
+    @Test
+    public void testToString_LowerBound() {
+        final DuplicateInstances copies =
+                new DuplicateInstances(Arrays.asList(FIRST, SECOND), 2, 48L, true);
+        assertTrue(copies.isLowerBound());
+        assertEquals("2 equal instances of at least 48 bytes bound to [" + FIRST + ", " + SECOND
+                + "]", copies.toString());
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link EagerSingletonWarmUp} class.
+ */
+public class EagerSingletonWarmUpTest {
+
+    private static final AtomicInteger LEAVES = new AtomicInteger();
+    private static final AtomicInteger MIDDLES = new AtomicInteger();
+    private static final AtomicInteger TOPS = new AtomicInteger();
+
+    private static final Module MODULE = new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(Leaf.class).in(Singleton.class);
+            bind(Middle.class).asEagerSingleton();
+        }
+
+        @Provides
+        @Singleton
+        Top provideTop(final Middle middle) {
+            return new Top(middle);
+        }
+    };
+
+    private final EagerSingletonWarmUp warmUp =
+            new EagerSingletonWarmUp(Collections.singletonList(MODULE));
+
+    /**
+     * Invoked by JUnit prior to each test.
+     */
+    @Before
+    public void setUp() {
+        LEAVES.set(0);
+        MIDDLES.set(0);
+        TOPS.set(0);
+    }
+
+    /**
+     * Tests the {@link EagerSingletonWarmUp#EagerSingletonWarmUp(Iterable)} constructor. Checks
+     * that a {@link NullPointerException} is thrown when the {@link Module}s are {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullModules() {
+        new EagerSingletonWarmUp(null);
+    }
+
+    /**
+     * Tests the {@link EagerSingletonWarmUp#EagerSingletonWarmUp(Iterable)} constructor. Checks
+     * that a {@link NullPointerException} is thrown if any of the {@link Module}s are
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullModule() {
+        new EagerSingletonWarmUp(Collections.singletonList(null));
+    }
+
+    /**
+     * Tests the {@link EagerSingletonWarmUp#EagerSingletonWarmUp(Iterable, ForkJoinPool)}
+     * constructor. Checks that a {@link NullPointerException} is thrown when the
+     * {@link ForkJoinPool} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullPool() {
+        new EagerSingletonWarmUp(Collections.singletonList(MODULE), null);
+    }
+
+    /**
+     * Tests the {@link EagerSingletonWarmUp#createInjector()} method. Checks that every singleton
+     * has been provisioned exactly once and wired to the other singletons.
+     */
+    @Test
+    public void testCreateInjector() {
+        final Injector injector = warmUp.createInjector();
+
+        assertEquals(1, LEAVES.get());
+        assertEquals(1, MIDDLES.get());
+        assertEquals(1, TOPS.get());
+
+        final Top top = injector.getInstance(Top.class);
+        assertSame(top, injector.getInstance(Top.class));
+        assertSame(injector.getInstance(Middle.class), top.middle);
+        assertSame(injector.getInstance(Leaf.class), top.middle.leaf);
+        assertEquals(1, TOPS.get());
+    }
+
+    /**
+     * Tests the
+     * {@link EagerSingletonWarmUp#EagerSingletonWarmUp(Iterable, ForkJoinPool, ProvisionWatchdog)}
+     * constructor. Checks that supervised warm-up provisions every singleton exactly once.
+     */
+    @Test
+    public void testCreateInjector_WithWatchdog() {
+        final EagerSingletonWarmUp supervised = new EagerSingletonWarmUp(
+                Collections.singletonList(MODULE), ForkJoinPool.commonPool(),
+                new ProvisionWatchdog(1L, TimeUnit.MINUTES));
+        supervised.createInjector();
+
+        assertEquals(1, LEAVES.get());
+        assertEquals(1, MIDDLES.get());
+        assertEquals(1, TOPS.get());
+    }
+
+    /**
+     * Tests the {@link EagerSingletonWarmUp#compare(int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the number of rounds is not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompare_NoRounds() {
+        warmUp.compare(0);
+    }
+
+    /**
+     * Tests the {@link EagerSingletonWarmUp#compare(int)} method. Checks that both paths are
+     * measured in every round.
+     */
+    @Test
+    public void testCompare() {
+        final WarmUpComparison comparison = warmUp.compare(2);
+
+        assertEquals(3, comparison.getSingletonCount());
+        assertTrue(comparison.getSequentialNanos() > 0);
+        assertTrue(comparison.getParallelNanos() > 0);
+        assertEquals(comparison.getSequentialNanos() - comparison.getParallelNanos(),
+                comparison.getSavedNanos());
+        assertEquals(4, LEAVES.get());
+        assertEquals(4, MIDDLES.get());
+        assertEquals(4, TOPS.get());
+    }
+
+    /**
+     * Singleton without dependencies.
+     */
+    static class Leaf {
+
+        Leaf() {
+            LEAVES.incrementAndGet();
+        }
+    }
+
+    /**
+     * Eager singleton depending on {@link Leaf}.
+     */
+    static class Middle {
+
+        private final Leaf leaf;
+
+        @Inject
+        Middle(final Leaf leaf) {
+            this.leaf = leaf;
+            MIDDLES.incrementAndGet();
+        }
+    }
+
+    /**
+     * Provided singleton depending on {@link Middle}.
+     */
+    static class Top {
+
+        private final Middle middle;
+
+        Top(final Middle middle) {
+            this.middle = middle;
+            TOPS.incrementAndGet();
+        }
+    }
+}
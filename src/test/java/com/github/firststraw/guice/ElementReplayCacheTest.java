@@ -0,0 +1,269 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.PrivateModule;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.MapBinder;
+import com.google.inject.multibindings.Multibinder;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ElementReplayCache} class.
+ */
+public class ElementReplayCacheTest {
+
+    /**
+     * Tests the {@link ElementReplayCache#createTester(Stage, Iterable)} method. Checks that the
+     * {@link Module}s are configured once, while every {@link InjectorTester} gets its own
+     * singletons.
+     */
+    @Test
+    public void testCreateTester() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        final CountingModule module = new CountingModule();
+        final List<Module> modules = Collections.singletonList(module);
+
+        final Injector first = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+        final Injector second = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+
+        assertEquals(1, module.configurations.get());
+        assertNotSame(first.getInstance(Counter.class), second.getInstance(Counter.class));
+        assertSame(first.getInstance(Counter.class), first.getInstance(Counter.class));
+        assertEquals(1, cache.getRecordingCount());
+        assertEquals(1L, cache.getReplayCount());
+        assertEquals(0L, cache.getBypassCount());
+        assertTrue(cache.getRecordingNanos() > 0L);
+        assertEquals(cache.getRecordingNanos(), cache.getSavedNanos());
+    }
+
+    /**
+     * Tests the {@link ElementReplayCache#createTester(Stage, Iterable)} method. Checks that the
+     * {@code @Provides} methods of replayed {@link Injector}s, including those of private
+     * {@link Module}s, receive their dependencies from their own {@link Injector}.
+     */
+    @Test
+    public void testCreateTester_ProviderMethods() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        final List<Module> modules = Collections.singletonList(new CountingModule());
+
+        final Injector first = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+        final Injector second = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+
+        assertSame(first.getInstance(Counter.class), first.getInstance(Wrapper.class).counter);
+        assertSame(second.getInstance(Counter.class), second.getInstance(Wrapper.class).counter);
+        assertSame(second.getInstance(Wrapper.class), second.getInstance(Wrapper.class));
+        assertEquals("private 0", second.getInstance(String.class));
+    }
+
+    /**
+     * Tests the {@link ElementReplayCache#createTester(Module...)} method. Checks that different
+     * sets of {@link Module}s are recorded separately.
+     */
+    @Test
+    public void testCreateTester_DifferentModules() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        final CountingModule first = new CountingModule();
+        final CountingModule second = new CountingModule();
+
+        cache.createTester(first);
+        cache.createTester(second);
+        cache.createTester(first);
+
+        assertEquals(1, first.configurations.get());
+        assertEquals(1, second.configurations.get());
+        assertEquals(2, cache.getRecordingCount());
+        assertEquals(1L, cache.getReplayCount());
+    }
+
+    /**
+     * Tests the {@link ElementReplayCache#createTester(Module...)} method. Checks that
+     * {@link Module}s looking up providers are configured again for every
+     * {@link InjectorTester}.
+     */
+    @Test
+    public void testCreateTester_Lookup() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        final AtomicInteger configurations = new AtomicInteger();
+        final Module module = new AbstractModule() {
+            @Override
+            protected void configure() {
+                configurations.incrementAndGet();
+                final Provider<Counter> counter = getProvider(Counter.class);
+                bind(Wrapper.class).toProvider(() -> new Wrapper(counter.get()));
+            }
+        };
+
+        cache.createTester(Stage.DEVELOPMENT, Collections.singletonList(module));
+        final Injector injector =
+                cache.createTester(Stage.DEVELOPMENT, Collections.singletonList(module))
+                        .getInjector();
+
+        assertEquals(3, configurations.get());
+        assertSame(injector.getInstance(Counter.class),
+                injector.getInstance(Wrapper.class).counter);
+        assertEquals(2L, cache.getBypassCount());
+        assertEquals(0L, cache.getReplayCount());
+    }
+
+    /**
+     * Tests the {@link ElementReplayCache#createTester(Stage, Iterable)} method. Checks that
+     * {@link Module}s using a {@link Multibinder} and a {@link MapBinder} are configured again for
+     * every {@link InjectorTester}, so that every {@link Injector} gets its own elements.
+     */
+    @Test
+    public void testCreateTester_Multibindings() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        final List<Module> modules = Collections.singletonList(new AbstractModule() {
+            @Override
+            protected void configure() {
+                Multibinder.newSetBinder(binder(), Counter.class).addBinding().to(Counter.class)
+                        .in(Singleton.class);
+                MapBinder.newMapBinder(binder(), String.class, Counter.class).addBinding("counter")
+                        .to(Counter.class).in(Singleton.class);
+            }
+        });
+
+        final Injector first = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+        final Injector second = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+
+        final TypeLiteral<Set<Counter>> set = new TypeLiteral<Set<Counter>>() { };
+        final TypeLiteral<Map<String, Counter>> map = new TypeLiteral<Map<String, Counter>>() { };
+        assertNotSame(first.getInstance(Key.get(set)).iterator().next(),
+                second.getInstance(Key.get(set)).iterator().next());
+        assertNotSame(first.getInstance(Key.get(map)).get("counter"),
+                second.getInstance(Key.get(map)).get("counter"));
+        assertEquals(0L, cache.getReplayCount());
+        assertEquals(2L, cache.getBypassCount());
+    }
+
+    /**
+     * Tests the {@link ElementReplayCache#createTester(Stage, Iterable)} method. Checks that
+     * {@link Module}s binding an instance with injectable fields are configured again for every
+     * {@link InjectorTester}, so that creating a second {@link Injector} does not inject the
+     * instance of the first one again.
+     */
+    @Test
+    public void testCreateTester_InjectedInstance() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        final List<Module> modules = Collections.singletonList(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Counter.class).in(Singleton.class);
+                bind(Holder.class).toInstance(new Holder());
+            }
+        });
+
+        final Injector first = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+        final Injector second = cache.createTester(Stage.DEVELOPMENT, modules).getInjector();
+
+        assertSame(first.getInstance(Counter.class), first.getInstance(Holder.class).counter);
+        assertSame(second.getInstance(Counter.class), second.getInstance(Holder.class).counter);
+        assertEquals(0L, cache.getReplayCount());
+        assertEquals(2L, cache.getBypassCount());
+    }
+
+    /**
+     * Tests the {@link ElementReplayCache#clear()} method. Checks that the {@link Module}s are
+     * recorded again.
+     */
+    @Test
+    public void testClear() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        final CountingModule module = new CountingModule();
+
+        cache.createTester(module);
+        cache.clear();
+        cache.createTester(module);
+
+        assertEquals(2, module.configurations.get());
+    }
+
+    /**
+     * Tests the {@link ElementReplayCache#createTester(Module...)} method. Checks that a
+     * {@link NullPointerException} is thrown when a {@link Module} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testCreateTester_NullModule() {
+        new ElementReplayCache().createTester((Module) null);
+    }
+
+    /**
+     * A singleton with identity.
+     */
+    @Singleton
+    static class Counter {
+    }
+
+    /**
+     * Holds the {@link Counter} injected into its field.
+     */
+    static class Holder {
+
+        @Inject
+        private Counter counter;
+    }
+
+    /**
+     * Holds the {@link Counter} it was provided with.
+     */
+    static class Wrapper {
+
+        private final Counter counter;
+
+        /**
+         * @param counter the {@link Counter}
+         */
+        Wrapper(final Counter counter) {
+            this.counter = counter;
+        }
+    }
+
+    /**
+     * {@link Module} counting how often it is configured.
+     */
+    private static class CountingModule extends AbstractModule {
+
+        private final AtomicInteger configurations = new AtomicInteger();
+
+        @Override
+        protected void configure() {
+            configurations.incrementAndGet();
+            bind(Counter.class);
+            install(new PrivateModule() {
+                @Override
+                protected void configure() {
+                    bind(Integer.class).toInstance(0);
+                    expose(String.class);
+                }
+
+                @Provides
+                String provideString(final Integer value) {
+                    return "private " + value;
+                }
+            });
+        }
+
+        @Provides
+        @Singleton
+        Wrapper provideWrapper(final Counter counter) {
+            return new Wrapper(counter);
+        }
+    }
+}
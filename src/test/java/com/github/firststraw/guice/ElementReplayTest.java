@@ -0,0 +1,132 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.PrivateModule;
+import com.google.inject.Provides;
+import com.google.inject.ScopeAnnotation;
+import com.google.inject.Scopes;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ElementReplay} class.
+ */
+public class ElementReplayTest {
+
+    /**
+     * Tests the {@link ElementReplay#isReplayable(List)} method. Checks that injection requests,
+     * instances with injection points, provider instances and multibinders are not replayable,
+     * while {@code @Provides} methods are.
+     */
+    @Test
+    public void testIsReplayable_SharedState() {
+        assertFalse(ElementReplay.isReplayable(Elements.getElements(new AbstractModule() {
+            @Override
+            protected void configure() {
+                requestInjection(new Object());
+            }
+        })));
+        assertFalse(ElementReplay.isReplayable(Elements.getElements(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Injectable.class).toInstance(new Injectable());
+            }
+        })));
+        assertFalse(ElementReplay.isReplayable(Elements.getElements(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(String.class).toProvider(() -> "value");
+            }
+        })));
+        assertFalse(ElementReplay.isReplayable(Elements.getElements(new AbstractModule() {
+            @Override
+            protected void configure() {
+                Multibinder.newSetBinder(binder(), String.class).addBinding().toInstance("value");
+            }
+        })));
+        assertTrue(ElementReplay.isReplayable(Elements.getElements(new AbstractModule() {
+            @Provides
+            String provideString() {
+                return "value";
+            }
+        })));
+    }
+
+    /**
+     * Tests the {@link ElementReplay#isReplayable(List)} method. Checks that provider lookups are
+     * detected, including inside private modules.
+     */
+    @Test
+    public void testIsReplayable() {
+        assertTrue(ElementReplay.isReplayable(Elements.getElements(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(String.class).toInstance("value");
+            }
+        })));
+        assertFalse(ElementReplay.isReplayable(Elements.getElements(new PrivateModule() {
+            @Override
+            protected void configure() {
+                getProvider(String.class);
+            }
+        })));
+    }
+
+    /**
+     * Tests the {@link ElementReplay#replay(List, com.google.inject.Binder, java.util.Set,
+     * java.util.Set)} method. Checks that overridden {@link com.google.inject.Binding}s and scope
+     * bindings are left out.
+     */
+    @Test
+    public void testReplay_Overridden() {
+        final List<Element> elements = Elements.getElements(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(String.class).toInstance("value");
+                bind(Integer.class).toInstance(1);
+                bindScope(Marker.class, Scopes.NO_SCOPE);
+            }
+        });
+
+        final Injector injector = Guice.createInjector(binder -> {
+            ElementReplay.replay(elements, binder, Collections.singleton(Key.get(String.class)),
+                    Collections.singleton(Marker.class));
+            binder.bindScope(Marker.class, Scopes.SINGLETON);
+        });
+
+        assertNull(injector.getExistingBinding(Key.get(String.class)));
+        assertSame(injector.getInstance(Integer.class), injector.getInstance(Integer.class));
+        assertSame(Scopes.SINGLETON, injector.getScopeBindings().get(Marker.class));
+    }
+
+    /**
+     * An instance with an injectable field.
+     */
+    static class Injectable {
+
+        @Inject
+        private Injector injector;
+    }
+
+    /**
+     * A scope annotation.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @ScopeAnnotation
+    @interface Marker {
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ExcessiveRetainedSizeException} class.
+ */
+public class ExcessiveRetainedSizeExceptionTest {
+
+    /**
+     * Checks that the {@link ExcessiveRetainedSizeException} is configured correctly.
+     */
+    @Test
+    public void test() {
+        final Key<String> key = Key.get(String.class);
+        final ExcessiveRetainedSizeException ex =
+                new ExcessiveRetainedSizeException(key, 1024L, 4096L, false);
+
+        final String msg = "Expected the instance bound to " + key + " to retain at most 1024"
+                + " bytes, but it retains about 4096 bytes";
+        assertEquals(msg, ex.getMessage());
+    }
+
+    /**
+     * Checks that the {@link ExcessiveRetainedSizeException} is configured correctly for a
+     * retained size that is a lower bound.
+     */
+    @Test
+    public void test_LowerBound() {
+        final Key<String> key = Key.get(String.class);
+        final ExcessiveRetainedSizeException ex =
+                new ExcessiveRetainedSizeException(key, 1024L, 4096L, true);
+
+        final String msg = "Expected the instance bound to " + key + " to retain at most 1024"
+                + " bytes, but it retains at least 4096 bytes";
+        assertEquals(msg, ex.getMessage());
+    }
+}
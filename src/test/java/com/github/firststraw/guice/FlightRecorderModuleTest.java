@@ -0,0 +1,72 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link FlightRecorderModule} class and the events emitted by {@link InjectorTester}.
+ */
+public class FlightRecorderModuleTest {
+
+    private static final String EVENT_PREFIX = "com.github.firststraw.guice.";
+
+    /**
+     * Tests the {@link FlightRecorderModule#onProvision} method. Checks that injector creation,
+     * binding verification and provisioning are all visible in a Flight Recorder recording.
+     *
+     * @throws IOException if the recording could not be written or read
+     */
+    @Test
+    public void testOnProvision() throws IOException {
+        assumeTrue(FlightRecorderEvents.isAvailable());
+
+        final Path file = Files.createTempFile("guice-test-helper", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_PREFIX + "InjectorCreated");
+            recording.enable(EVENT_PREFIX + "BindingVerified");
+            recording.enable(EVENT_PREFIX + "BindingProvisioned");
+            recording.start();
+
+            final InjectorTester tester = new InjectorTester(new AbstractModule() {
+                @Provides
+                String provideString() {
+                    return "provided";
+                }
+            });
+            tester.verifyBindingFor(String.class);
+            tester.provisionAllBindings();
+
+            recording.stop();
+            recording.dump(file);
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            final Set<String> names = new HashSet<>();
+            boolean provisionedString = false;
+            for (final RecordedEvent event : events) {
+                names.add(event.getEventType().getName());
+                if (event.getEventType().getName().endsWith("BindingProvisioned")
+                        && event.getString("key").contains("String")) {
+                    provisionedString = true;
+                }
+            }
+
+            assertTrue(names.contains(EVENT_PREFIX + "InjectorCreated"));
+            assertTrue(names.contains(EVENT_PREFIX + "BindingVerified"));
+            assertTrue(provisionedString);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -20,4 +20,17 @@ public class IncorrectBindingTargetExceptionTest {
 
         assertEquals("Expected " + expected + ", but found " + found, ex.getMessage());
     }
+
+    /**
+     * Checks that the {@link IncorrectBindingTargetException} for a structural difference is
+     * configured correctly.
+     */
+    @Test
+    public void test_StructuralDifference() {
+        final String difference = "instance.port: expected <80> but was <8080>";
+        final IncorrectBindingTargetException ex = new IncorrectBindingTargetException(difference);
+
+        assertEquals("Expected a structurally equal target, but found a difference at "
+                + difference, ex.getMessage());
+    }
 }
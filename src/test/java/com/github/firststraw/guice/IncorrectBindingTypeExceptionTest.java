@@ -42,4 +42,18 @@ public class IncorrectBindingTypeExceptionTest {
                 + ", but found binding of type " + foundBinding.getClass();
         assertEquals(message, ex.getMessage());
     }
+
+    /**
+     * Checks that the {@link IncorrectBindingTypeException} for a forbidden {@link BindingKind} is
+     * configured correctly.
+     */
+    @Test
+    public void testForbiddenKind() {
+        final IncorrectBindingTypeException ex =
+                new IncorrectBindingTypeException(BindingKind.INSTANCE, instanceBinding);
+
+        final String message = "Expected a binding other than INSTANCE, but found binding of type "
+                + instanceBinding.getClass();
+        assertEquals(message, ex.getMessage());
+    }
 }
@@ -0,0 +1,41 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Collections;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link IncorrectOverrideException} class.
+ */
+public class IncorrectOverrideExceptionTest {
+
+    private static final Set<Key<?>> OVERRIDDEN = Collections.singleton(Key.get(String.class));
+
+    /**
+     * Checks that the {@link IncorrectOverrideException} is configured correctly for a single
+     * expected {@link Key}.
+     */
+    @Test
+    public void test() {
+        final IncorrectOverrideException ex =
+                new IncorrectOverrideException(Key.get(Long.class), OVERRIDDEN);
+
+        assertEquals("Expected " + Key.get(Long.class) + " to be overridden, but only "
+                + OVERRIDDEN + " were overridden", ex.getMessage());
+    }
+
+    /**
+     * Checks that the {@link IncorrectOverrideException} is configured correctly for an exact
+     * set of expected {@link Key}s.
+     */
+    @Test
+    public void test_Exactly() {
+        final Set<Key<?>> expected = Collections.emptySet();
+        final IncorrectOverrideException ex = new IncorrectOverrideException(expected, OVERRIDDEN);
+
+        assertEquals("Expected exactly [] to be overridden, but found " + OVERRIDDEN,
+                ex.getMessage());
+    }
+}
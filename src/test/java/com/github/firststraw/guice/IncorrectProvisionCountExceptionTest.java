@@ -0,0 +1,25 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link IncorrectProvisionCountException} class.
+ */
+public class IncorrectProvisionCountExceptionTest {
+
+    /**
+     * Checks that the {@link IncorrectProvisionCountException} is configured correctly.
+     */
+    @Test
+    public void test() {
+        final Key<String> key = Key.get(String.class);
+        final IncorrectProvisionCountException ex =
+                new IncorrectProvisionCountException(key, 1L, 3L);
+
+        final String msg = "Expected " + key + " to be provisioned 1 time(s), but it was"
+                + " provisioned 3 time(s)";
+        assertEquals(msg, ex.getMessage());
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import java.util.Collections;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link InjectorLeakDetector} class.
+ */
+public class InjectorLeakDetectorTest {
+
+    private static final Module MODULE = new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(String.class).toInstance("leaked");
+        }
+    };
+
+    /**
+     * Enables detection and forgets the {@link com.google.inject.Injector}s of other tests.
+     */
+    @Before
+    public void setUp() {
+        InjectorLeakDetector.reset();
+        InjectorLeakDetector.enable();
+    }
+
+    /**
+     * Disables detection again so that other tests are unaffected.
+     */
+    @After
+    public void tearDown() {
+        InjectorLeakDetector.disable();
+        InjectorLeakDetector.reset();
+    }
+
+    /**
+     * Tests the {@link InjectorLeakDetector#check()} method. Checks that a reachable injector is
+     * reported with its module, its creation site and a retained size, and that it is no longer
+     * reported once it is unreachable.
+     */
+    @Test
+    public void testCheck() {
+        InjectorTester tester = new InjectorTester(MODULE);
+
+        InjectorLeakReport report = InjectorLeakDetector.check();
+        assertEquals(1L, report.getTrackedCount());
+        assertEquals(1, report.getLeaks().size());
+        final InjectorLeakReport.Leak leak = report.getLeaks().get(0);
+        assertEquals(Collections.singletonList(MODULE.getClass().getName()), leak.getModules());
+        assertTrue(leak.getCreationSite(),
+                leak.getCreationSite().startsWith(getClass().getName() + ".testCheck("));
+        assertTrue(leak.getEstimatedRetainedBytes() > 0L);
+        assertEquals(leak.getEstimatedRetainedBytes(), report.getTotalRetainedBytes());
+        assertTrue(tester.getInjector() != null);
+
+        tester = null;
+        report = InjectorLeakDetector.check();
+        assertEquals(1L, report.getTrackedCount());
+        assertTrue(report.getLeaks().isEmpty());
+    }
+
+    /**
+     * Tests the {@link InjectorLeakDetector#check()} method. Checks that injectors created by
+     * replaying recorded elements are reported with the modules that were recorded.
+     */
+    @Test
+    public void testCheck_Replayed() {
+        final ElementReplayCache cache = new ElementReplayCache();
+        cache.createTester(MODULE);
+        final InjectorTester tester = cache.createTester(MODULE);
+
+        final InjectorLeakReport report = InjectorLeakDetector.check();
+        assertEquals(1, report.getLeaks().size());
+        assertEquals(Collections.singletonList(MODULE.getClass().getName()),
+                report.getLeaks().get(0).getModules());
+        assertTrue(report.getLeaks().get(0).getCreationSite(), report.getLeaks().get(0)
+                .getCreationSite().startsWith(getClass().getName() + ".testCheck_Replayed("));
+        assertTrue(tester.getInjector() != null);
+    }
+
+    /**
+     * Tests the {@link InjectorLeakDetector#disable()} method. Checks that injectors created
+     * while detection is disabled are not tracked.
+     */
+    @Test
+    public void testDisable() {
+        InjectorLeakDetector.disable();
+        assertFalse(InjectorLeakDetector.isEnabled());
+
+        final InjectorTester tester = new InjectorTester(Stage.TOOL,
+                Collections.singletonList(MODULE));
+
+        assertEquals(0L, InjectorLeakDetector.check().getTrackedCount());
+        assertTrue(tester.getInjector() != null);
+    }
+
+    /**
+     * Tests the {@link InjectorLeakDetector#reset()} method. Checks that tracked injectors are
+     * forgotten.
+     */
+    @Test
+    public void testReset() {
+        final InjectorTester tester = new InjectorTester(MODULE);
+        InjectorLeakDetector.reset();
+
+        final InjectorLeakReport report = InjectorLeakDetector.check();
+        assertEquals(0L, report.getTrackedCount());
+        assertTrue(report.getLeaks().isEmpty());
+        assertTrue(tester.getInjector() != null);
+    }
+
+    /**
+     * Tests the {@link InjectorLeakDetector#describeCreationSite(StackTraceElement[])} method.
+     * Checks that frames of this library are skipped.
+     */
+    @Test
+    public void testDescribeCreationSite() {
+        final StackTraceElement library = new StackTraceElement(
+                InjectorTester.class.getName(), "<init>", "InjectorTester.java", 1);
+        final StackTraceElement test = new StackTraceElement("com.acme.AppTest", "<clinit>",
+                "AppTest.java", 12);
+
+        assertEquals("com.acme.AppTest.<clinit>(AppTest.java:12)",
+                InjectorLeakDetector.describeCreationSite(
+                        new StackTraceElement[] {library, test}));
+        assertEquals("unknown", InjectorLeakDetector.describeCreationSite(
+                new StackTraceElement[] {library}));
+    }
+}
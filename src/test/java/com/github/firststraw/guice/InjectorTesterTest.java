@@ -2,6 +2,7 @@ package com.github.firststraw.guice;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Binding;
@@ -9,9 +10,22 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
 import com.google.inject.Stage;
 import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.Test;
 
@@ -73,6 +87,37 @@ public class InjectorTesterTest {
         new InjectorTester(Collections.singletonList(null));
     }
 
+    /**
+     * Tests the {@link InjectorTester#InjectorTester(Stage, Iterable)} constructor. Checks that a
+     * {@link NullPointerException} is thrown when the {@link Stage} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_WithStage_NullStage() {
+        new InjectorTester(null, Collections.singletonList(MODULE));
+    }
+
+    /**
+     * Tests the {@link InjectorTester#InjectorTester(Stage, Iterable)} constructor. Checks that
+     * the {@link Injector} is created in the {@link Stage} and can provide instances.
+     */
+    @Test
+    public void testConstructor_WithStage() {
+        final InjectorTester tester =
+                new InjectorTester(Stage.DEVELOPMENT, Collections.singletonList(MODULE));
+
+        assertEquals(Stage.DEVELOPMENT, tester.getInjector().getInstance(Stage.class));
+    }
+
+    /**
+     * Tests the {@link InjectorTester#verifyOverrides()} method. Checks that an
+     * {@link IllegalStateException} is thrown when the {@link InjectorTester} was not created
+     * with overrides.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testVerifyOverrides_NoOverrides() {
+        TESTER.verifyOverrides();
+    }
+
     /**
      * Tests the {@link InjectorTester#verifyBindingFor(Class)} method. Checks that a
      * {@link NullPointerException} is thrown when the type is {@code null}.
@@ -121,6 +166,352 @@ public class InjectorTesterTest {
         TESTER.verifyBindingFor((Key<?>) null);
     }
 
+    /**
+     * Tests the {@link InjectorTester#verifySpec(Path)} method. Checks that a specification file
+     * is verified.
+     *
+     * @throws IOException if the specification could not be written or read
+     */
+    @Test
+    public void testVerifySpec() throws IOException {
+        final Path file = Files.createTempFile("guice-test-helper", ".tsv");
+        try {
+            Files.write(file, Collections.singletonList(
+                    "java.util.List\tLINKED_KEY\tjava.util.ArrayList\tnone"),
+                    StandardCharsets.UTF_8);
+
+            new InjectorTester(new AbstractModule() {
+                @Override
+                protected void configure() {
+                    bind(List.class).to(ArrayList.class);
+                }
+            }).verifySpec(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests the {@link InjectorTester#recordSpec(Path)} method. Checks that the recorded
+     * specification verifies against the same {@link Injector}.
+     *
+     * @throws IOException if the specification could not be written or read
+     */
+    @Test
+    public void testRecordSpec() throws IOException {
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(List.class).to(ArrayList.class);
+            }
+        });
+        final Path file = Files.createTempFile("guice-test-helper", ".tsv");
+        try {
+            assertEquals(1, tester.recordSpec(file));
+            tester.verifySpec(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests the {@link InjectorTester#verifySpec(Reader, int)} method. Checks that a mismatching
+     * specification fails.
+     *
+     * @throws IOException never
+     */
+    @Test(expected = BindingVerificationException.class)
+    public void testVerifySpec_Mismatch() throws IOException {
+        TESTER.verifySpec(new StringReader("java.lang.Runnable\t-\t-\t-"), 1);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#verifySpec(Reader, int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the maximum number of reported failures is
+     * not positive.
+     *
+     * @throws IOException never
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testVerifySpec_NonPositiveMaxReportedFailures() throws IOException {
+        TESTER.verifySpec(new StringReader(""), 0);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#queryBindings()} method. Checks that the query covers every
+     * {@link Binding} of the {@link Injector}.
+     */
+    @Test
+    public void testQueryBindings() {
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(List.class).to(ArrayList.class);
+            }
+        });
+
+        assertEquals(tester.getInjector().getAllBindings().size(),
+                tester.queryBindings().count());
+        assertEquals(1L, tester.queryBindings().ofKind(BindingKind.LINKED_KEY).count());
+    }
+
+    /**
+     * Tests the {@link InjectorTester#verifyRules(BindingRule...)} method. Checks that a violated
+     * {@link BindingRule} is reported.
+     */
+    @Test(expected = BindingVerificationException.class)
+    public void testVerifyRules() {
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(List.class).to(ArrayList.class);
+            }
+        });
+
+        tester.verifyRules(BindingRule.named("lists are instances").assignableTo(List.class)
+                .forbidKind(BindingKind.OTHER));
+        tester.verifyRules(BindingRule.named("lists are singletons").inPackage("java.util")
+                .requireSingleton());
+    }
+
+    /**
+     * Tests the {@link InjectorTester#provisionAllBindings(Module...)} method. Checks that an
+     * {@link IllegalStateException} is thrown when the {@link InjectorTester} was created from an
+     * existing {@link Injector}.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testProvisionAllBindings_CreatedFromInjector() {
+        new InjectorTester(Guice.createInjector(Stage.TOOL, MODULE)).provisionAllBindings();
+    }
+
+    /**
+     * Tests the {@link InjectorTester#provisionAllBindings(Module...)} method. Checks that every
+     * explicit binding is provisioned and ranked.
+     */
+    @Test
+    public void testProvisionAllBindings() {
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(List.class).to(ArrayList.class);
+            }
+
+            @Provides
+            String provideString() {
+                return "provided";
+            }
+        });
+
+        final List<ProvisionTiming> ranking = tester.provisionAllBindings().getRanking();
+        assertEquals(2, ranking.size());
+        for (final ProvisionTiming timing : ranking) {
+            assertEquals(1L, timing.getProvisionCount());
+        }
+    }
+
+    /**
+     * Tests the {@link InjectorTester#estimateRetainedSizes()} method. Checks that instance
+     * bindings and singletons are ranked by retained size without counting the injector, and
+     * that unscoped bindings are not sized.
+     */
+    @Test
+    public void testEstimateRetainedSizes() {
+        final InjectorTester tester = new InjectorTester(Stage.DEVELOPMENT,
+                Collections.singletonList(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(long[].class).toInstance(new long[1024]);
+                        bind(List.class).to(ArrayList.class);
+                    }
+
+                    @Provides
+                    @Singleton
+                    String provideString(final Injector injector) {
+                        return "provided";
+                    }
+                }));
+
+        final List<RetainedSize> ranking = tester.estimateRetainedSizes().getRanking();
+        assertEquals(2, ranking.size());
+        assertEquals(Key.get(long[].class), ranking.get(0).getKey());
+        assertEquals(BindingKind.INSTANCE, ranking.get(0).getKind());
+        assertEquals(16L + 8L * 1024L, ranking.get(0).getBytes());
+        assertEquals(Key.get(String.class), ranking.get(1).getKey());
+        assertTrue(ranking.get(1).getBytes() < 1024L);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#estimateRetainedSizes()} method. Checks that singletons are
+     * not provisioned in a {@link Stage#TOOL} injector.
+     */
+    @Test
+    public void testEstimateRetainedSizes_Tool() {
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(String.class).toInstance("bound");
+            }
+
+            @Provides
+            @Singleton
+            Integer provideInteger() {
+                return 1;
+            }
+        });
+
+        final List<RetainedSize> ranking = tester.estimateRetainedSizes().getRanking();
+        assertEquals(1, ranking.size());
+        assertEquals(Key.get(String.class), ranking.get(0).getKey());
+    }
+
+    /**
+     * Tests the {@link InjectorTester#findDuplicateInstances(long)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the minimum retained size is negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindDuplicateInstances_NegativeMinRetainedBytes() {
+        TESTER.findDuplicateInstances(-1L);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#findDuplicateInstances(long)} method. Checks that equal
+     * instances bound in the injector and its parent are reported, but not the built-in
+     * bindings.
+     */
+    @Test
+    public void testFindDuplicateInstances() {
+        final Key<List> parentKey = Key.get(List.class, Names.named("parent"));
+        final Key<List> childKey = Key.get(List.class, Names.named("child"));
+        final SharedParentInjector shared = new SharedParentInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(parentKey).toInstance(new ArrayList<>(Collections.nCopies(100, "value")));
+            }
+        });
+        final InjectorTester tester = shared.createTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(childKey).toInstance(new ArrayList<>(Collections.nCopies(100, "value")));
+            }
+        });
+
+        final List<DuplicateInstances> duplicates =
+                tester.findDuplicateInstances(0L).getDuplicates();
+        assertEquals(1, duplicates.size());
+        assertEquals(Arrays.asList(childKey, parentKey), duplicates.get(0).getKeys());
+        assertEquals(2, duplicates.get(0).getDistinctInstanceCount());
+    }
+
+    /**
+     * Tests the {@link InjectorTester#provisionAllBindings(Module...)} method. Checks that a
+     * {@link NullPointerException} is thrown when the instrumentation is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testProvisionAllBindings_NullInstrumentation() {
+        TESTER.provisionAllBindings((Module[]) null);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#provisionAllBindings(Module...)} method. Checks that a
+     * {@link NullPointerException} is thrown if any of the instrumentation {@link Module}s are
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testProvisionAllBindings_NullInstrumentationModule() {
+        TESTER.provisionAllBindings((Module) null);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#provisionAllBindings(Module...)} method. Checks that
+     * provisioning supervised by a {@link ProvisionWatchdog} that completes in time is reported
+     * normally.
+     */
+    @Test
+    public void testProvisionAllBindings_WithWatchdog() {
+        final ProvisionWatchdog watchdog = new ProvisionWatchdog(1L, TimeUnit.MINUTES);
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Provides
+            String provideString() {
+                return "provided";
+            }
+        });
+
+        assertEquals(1, tester.provisionAllBindings(watchdog).getRanking().size());
+    }
+
+    /**
+     * Tests the {@link InjectorTester#measurePerformance(int)} method. Checks that injector
+     * creation and every constructor and provider are measured.
+     */
+    @Test
+    public void testMeasurePerformance() {
+        final InjectorTester tester = new InjectorTester(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(List.class).to(ArrayList.class);
+            }
+        });
+
+        final PerformanceRun run = tester.measurePerformance(3);
+        assertTrue(run.getMetrics().containsKey(PerformanceRun.INJECTOR_CREATION_NANOS));
+        assertTrue(run.getMetrics()
+                .containsKey(PerformanceRun.provisionNanos(Key.get(ArrayList.class))));
+        assertEquals(ModuleFingerprint.of(tester.getModules()), run.getFingerprint());
+    }
+
+    /**
+     * Tests the {@link InjectorTester#measurePerformance(int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the number of runs is not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMeasurePerformance_NonPositiveRuns() {
+        TESTER.measurePerformance(0);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#getProvisionMetrics()} method. Checks that the counters of
+     * the installed {@link ProvisionMetricsRecorder} are returned.
+     */
+    @Test
+    public void testGetProvisionMetrics() {
+        final ProvisionMetricsRecorder recorder = new ProvisionMetricsRecorder();
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(List.class).to(ArrayList.class);
+            }
+        }, recorder);
+        injector.getInstance(List.class);
+        injector.getInstance(List.class);
+
+        new InjectorTester(injector).getProvisionMetrics()
+                .verifyProvisionCount(Key.get(ArrayList.class), 2L);
+    }
+
+    /**
+     * Tests the {@link InjectorTester#getProvisionMetrics()} method. Checks that an
+     * {@link IllegalStateException} is thrown when no {@link ProvisionMetricsRecorder} is
+     * installed.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testGetProvisionMetrics_NoRecorder() {
+        TESTER.getProvisionMetrics();
+    }
+
+    /**
+     * Tests the {@link InjectorTester#getInjectorCreationLatencies()} method. Checks that every
+     * {@link Injector} created from {@link Module}s is recorded.
+     */
+    @Test
+    public void testGetInjectorCreationLatencies() {
+        final long before = InjectorTester.getInjectorCreationLatencies().getCount();
+        new InjectorTester(MODULE);
+
+        final LatencyDistribution latencies = InjectorTester.getInjectorCreationLatencies();
+        assertTrue(latencies.getCount() > before);
+        assertTrue(latencies.getMax() > 0L);
+    }
+
     /**
      * Tests the {@link InjectorTester#equals(Object)} and {@link InjectorTester#hashCode()} methods
      * to check whether they conform to their respective contracts.
@@ -139,7 +530,7 @@ public class InjectorTesterTest {
             }
         }
 
-        EqualsVerifier.forClass(InjectorTester.class)
+        EqualsVerifier.forClass(InjectorTester.class).withIgnoredFields("bindingIndex", "overrides")
                 .withRedefinedSubclass(ExtendedInjectorTester.class).verify();
     }
 }
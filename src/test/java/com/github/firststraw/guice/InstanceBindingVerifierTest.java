@@ -1,11 +1,13 @@
 package com.github.firststraw.guice;
 
+import com.google.inject.Guice;
 import com.google.inject.spi.InstanceBinding;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.After;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import org.junit.Before;
@@ -132,6 +134,138 @@ public class InstanceBindingVerifierTest {
         }
     }
 
+    /**
+     * Tests the {@link InstanceBindingVerifier#withStructurallyEqualInstance(Object)} method.
+     * Checks that a {@link NullPointerException} is thrown when the expected instance is
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testWithStructurallyEqualInstance_NullExpectedInstance() {
+        verifier.withStructurallyEqualInstance(null);
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withStructurallyEqualInstance(Object)} method.
+     * Checks that we get back the {@link InstanceBindingVerifier} when the instance is
+     * structurally equal, even though its elements do not override {@code equals()}.
+     */
+    @Test
+    public void testWithStructurallyEqualInstance() {
+        when(binding.getInstance()).thenReturn(Collections.singletonList(new Holder("value")));
+
+        assertSame(verifier, verifier.withStructurallyEqualInstance(
+                Collections.singletonList(new Holder("value"))));
+
+        verify(binding).getInstance();
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withStructurallyEqualInstance(Object)} method.
+     * Checks that an {@link IncorrectBindingTargetException} naming the differing path is thrown
+     * when the instance is not structurally equal.
+     */
+    @Test
+    public void testWithStructurallyEqualInstance_Different() {
+        when(binding.getInstance()).thenReturn(Collections.singletonList(new Holder("actual")));
+
+        try {
+            verifier.withStructurallyEqualInstance(
+                    Collections.singletonList(new Holder("expected")));
+            fail("Should have thrown an IncorrectBindingTargetException.");
+        } catch (final IncorrectBindingTargetException expected) {
+            assertEquals("Expected a structurally equal target, but found a difference at"
+                    + " instance[0].value: expected <expected> but was <actual>",
+                    expected.getMessage());
+            verify(binding).getInstance();
+        }
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withInstanceOfType(Class)} method. Checks that we
+     * get back the {@link InstanceBindingVerifier} when the instance is of exactly the expected
+     * class.
+     */
+    @Test
+    public void testWithInstanceOfType() {
+        when(binding.getInstance()).thenReturn(new ArrayList<>());
+
+        assertSame(verifier, verifier.withInstanceOfType(ArrayList.class));
+
+        verify(binding).getInstance();
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withInstanceOfType(Class)} method. Checks that an
+     * {@link IncorrectBindingTargetException} is thrown when the instance is of a subclass of the
+     * expected class.
+     */
+    @Test
+    public void testWithInstanceOfType_WrongType() {
+        when(binding.getInstance()).thenReturn(new ArrayList<>());
+
+        try {
+            verifier.withInstanceOfType(List.class);
+            fail("Should have thrown an IncorrectBindingTargetException.");
+        } catch (final IncorrectBindingTargetException expected) {
+            verify(binding).getInstance();
+        }
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withMaxRetainedSize(long)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the maximum is negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithMaxRetainedSize_NegativeMax() {
+        verifier.withMaxRetainedSize(-1L);
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withMaxRetainedSize(long)} method. Checks that we
+     * get back the {@link InstanceBindingVerifier} when the instance retains at most the maximum.
+     */
+    @Test
+    public void testWithMaxRetainedSize() {
+        when(binding.getInstance()).thenReturn(new ArrayList<>());
+
+        assertSame(verifier, verifier.withMaxRetainedSize(1024L));
+
+        verify(binding).getInstance();
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withMaxRetainedSize(long)} method. Checks that an
+     * {@link com.google.inject.Injector} referenced by the instance is not counted.
+     */
+    @Test
+    public void testWithMaxRetainedSize_Injector() {
+        final List<Object> instance = new ArrayList<>();
+        instance.add(Guice.createInjector());
+        when(binding.getInstance()).thenReturn(instance);
+
+        assertSame(verifier, verifier.withMaxRetainedSize(1024L));
+
+        verify(binding).getInstance();
+    }
+
+    /**
+     * Tests the {@link InstanceBindingVerifier#withMaxRetainedSize(long)} method. Checks that an
+     * {@link ExcessiveRetainedSizeException} is thrown when the instance retains more than the
+     * maximum.
+     */
+    @Test
+    public void testWithMaxRetainedSize_TooLarge() {
+        when(binding.getInstance()).thenReturn(Collections.singletonList(new long[1024]));
+
+        try {
+            verifier.withMaxRetainedSize(1024L);
+            fail("Should have thrown an ExcessiveRetainedSizeException.");
+        } catch (final ExcessiveRetainedSizeException expected) {
+            verify(binding).getInstance();
+            verify(binding).getKey();
+        }
+    }
+
     /**
      * Tests the {@link InstanceBindingVerifier#equals(Object)} and
      * {@link InstanceBindingVerifier#hashCode()} methods to check whether they conform to their
@@ -154,4 +288,19 @@ public class InstanceBindingVerifierTest {
         EqualsVerifier.forClass(InstanceBindingVerifier.class)
                 .withRedefinedSubclass(ExtendedInstanceBindingVerifier.class).verify();
     }
+
+    /**
+     * Holds a value without overriding {@code equals()}.
+     */
+    private static final class Holder {
+
+        private final Object value;
+
+        /**
+         * @param value the value
+         */
+        Holder(final Object value) {
+            this.value = value;
+        }
+    }
 }
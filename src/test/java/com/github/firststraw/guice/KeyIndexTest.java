@@ -0,0 +1,24 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link KeyIndex} class.
+ */
+public class KeyIndexTest {
+
+    /**
+     * Tests the {@link KeyIndex#idOf(Key)} method. Checks that IDs are compact and stable.
+     */
+    @Test
+    public void testIdOf() {
+        final KeyIndex index = new KeyIndex();
+
+        assertEquals(0, index.idOf(Key.get(String.class)));
+        assertEquals(1, index.idOf(Key.get(Integer.class)));
+        assertEquals(0, index.idOf(Key.get(String.class)));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link KeyInterner} class.
+ */
+public class KeyInternerTest {
+
+    /**
+     * Tests the {@link KeyInterner#intern(Key)} method. Checks that equal {@link Key}s are
+     * replaced by a canonical instance and that the lookups are counted.
+     */
+    @Test
+    public void testIntern_Key() {
+        final long hits = KeyInterner.getHitCount();
+        final long misses = KeyInterner.getMissCount();
+        final Key<String> key = Key.get(String.class, Names.named("testIntern_Key"));
+
+        assertSame(key, KeyInterner.intern(key));
+        assertSame(key, KeyInterner.intern(Key.get(String.class, Names.named("testIntern_Key"))));
+        assertEquals(hits + 1L, KeyInterner.getHitCount());
+        assertEquals(misses + 1L, KeyInterner.getMissCount());
+        assertTrue(KeyInterner.size() >= 1);
+    }
+
+    /**
+     * Tests the {@link KeyInterner#intern(TypeLiteral)} method. Checks that equal
+     * {@link TypeLiteral}s are replaced by a canonical instance.
+     */
+    @Test
+    public void testIntern_TypeLiteral() {
+        final TypeLiteral<List<KeyInternerTest>> type =
+                KeyInterner.intern(new TypeLiteral<List<KeyInternerTest>>() { });
+
+        assertSame(type, KeyInterner.intern(new TypeLiteral<List<KeyInternerTest>>() { }));
+    }
+
+    /**
+     * Tests the {@link KeyInterner#intern(Key)} method. Checks that a
+     * {@link NullPointerException} is thrown when the {@link Key} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testIntern_NullKey() {
+        KeyInterner.intern((Key<?>) null);
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.BindingAnnotation;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link KeySpecs} class.
+ */
+public class KeySpecsTest {
+
+    private static final ClassLoader LOADER = KeySpecsTest.class.getClassLoader();
+
+    @Valued(1)
+    private static final Object VALUED = null;
+
+    /**
+     * Formats and parses the {@link Key}, checking that the round trip preserves it.
+     *
+     * @param key the {@link Key}
+     * @param expectedSpec the expected textual form
+     */
+    private static void assertRoundTrip(final Key<?> key, final String expectedSpec) {
+        assertEquals(expectedSpec, KeySpecs.format(key));
+        assertEquals(key, KeySpecs.parse(expectedSpec, LOADER));
+    }
+
+    /**
+     * Tests the {@link KeySpecs#format(Key)} and {@link KeySpecs#parse(String, ClassLoader)}
+     * methods. Checks that classes, primitives and arrays round trip.
+     */
+    @Test
+    public void testClasses() {
+        assertRoundTrip(Key.get(String.class), "java.lang.String");
+        assertRoundTrip(Key.get(int[].class), "int[]");
+        assertRoundTrip(Key.get(String[][].class), "java.lang.String[][]");
+        assertRoundTrip(Key.get(Map.Entry.class), "java.util.Map$Entry");
+    }
+
+    /**
+     * Tests the {@link KeySpecs#format(Key)} and {@link KeySpecs#parse(String, ClassLoader)}
+     * methods. Checks that parameterized types, wildcards, generic arrays and nested
+     * parameterized types round trip.
+     */
+    @Test
+    public void testParameterizedTypes() {
+        assertRoundTrip(Key.get(new TypeLiteral<Map<String, List<? extends Number>>>() { }),
+                "java.util.Map<java.lang.String, java.util.List<? extends java.lang.Number>>");
+        assertRoundTrip(Key.get(new TypeLiteral<List<? super Integer>>() { }),
+                "java.util.List<? super java.lang.Integer>");
+        assertRoundTrip(Key.get(new TypeLiteral<List<?>>() { }), "java.util.List<?>");
+        assertRoundTrip(Key.get(new TypeLiteral<List<String>[]>() { }),
+                "java.util.List<java.lang.String>[]");
+        assertRoundTrip(Key.get(new TypeLiteral<Map.Entry<String, Integer>>() { }),
+                "java.util.Map$Entry<java.lang.String, java.lang.Integer>");
+    }
+
+    /**
+     * Tests the {@link KeySpecs#format(Key)} and {@link KeySpecs#parse(String, ClassLoader)}
+     * methods. Checks that marker binding annotations and names round trip.
+     */
+    @Test
+    public void testAnnotations() {
+        assertRoundTrip(Key.get(String.class, Names.named("a@b (c)")),
+                "java.lang.String@com.google.inject.name.Named(a@b (c))");
+        assertRoundTrip(Key.get(String.class, Marker.class),
+                "java.lang.String@com.github.firststraw.guice.KeySpecsTest$Marker");
+    }
+
+    /**
+     * Tests the {@link KeySpecs#parse(String, ClassLoader)} method. Checks that the same textual
+     * form is parsed into the canonical {@link Key}.
+     */
+    @Test
+    public void testParse_Interned() {
+        final String spec = "java.lang.String@com.google.inject.name.Named(testParse_Interned)";
+        final Key<?> key = KeySpecs.parse(spec, LOADER);
+        assertSame(key, KeySpecs.parse(spec, LOADER));
+        assertSame(key, KeyInterner.intern(Key.get(String.class,
+                Names.named("testParse_Interned"))));
+    }
+
+    /**
+     * Tests the {@link KeySpecs#format(Key)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown for binding annotations with attributes.
+     *
+     * @throws NoSuchFieldException never
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFormat_AnnotationWithAttributes() throws NoSuchFieldException {
+        final Valued valued =
+                KeySpecsTest.class.getDeclaredField("VALUED").getAnnotation(Valued.class);
+        KeySpecs.format(Key.get(String.class, valued));
+    }
+
+    /**
+     * Tests the {@link KeySpecs#parse(String, ClassLoader)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown for malformed types.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_Malformed() {
+        KeySpecs.parse("java.util.List<java.lang.String", LOADER);
+    }
+
+    /**
+     * Tests the {@link KeySpecs#parse(String, ClassLoader)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown for classes that cannot be loaded.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_UnknownClass() {
+        KeySpecs.parse("com.example.Missing", LOADER);
+    }
+
+    /**
+     * Tests the {@link KeySpecs#parse(String, ClassLoader)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the annotation is not an annotation type.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_NotAnnotation() {
+        KeySpecs.parse("java.lang.String@java.lang.String", LOADER);
+    }
+
+    /**
+     * Marker binding annotation for use in unit testing.
+     */
+    @BindingAnnotation
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {
+    }
+
+    /**
+     * Binding annotation with an attribute for use in unit testing.
+     */
+    @BindingAnnotation
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Valued {
+
+        /**
+         * Returns the value.
+         *
+         * @return the value
+         */
+        int value();
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LatencyDistribution} class.
+ */
+public class LatencyDistributionTest {
+
+    /**
+     * Tests the {@link LatencyDistribution#getValueAtPercentile(double)} method. Checks that the
+     * percentiles of a uniform distribution are reported within the histogram's resolution.
+     */
+    @Test
+    public void testGetValueAtPercentile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1L; nanos <= 1_000_000L; nanos++) {
+            histogram.record(nanos);
+        }
+
+        final LatencyDistribution distribution = histogram.getDistribution();
+        assertWithin(500_000L, distribution.getP50());
+        assertWithin(900_000L, distribution.getP90());
+        assertWithin(990_000L, distribution.getP99());
+        assertEquals(1_000_000L, distribution.getValueAtPercentile(100.0));
+        assertEquals(1_000_000L, distribution.getMax());
+    }
+
+    /**
+     * Tests the {@link LatencyDistribution#getValueAtPercentile(double)} method. Checks that zero
+     * is returned when nothing was recorded.
+     */
+    @Test
+    public void testGetValueAtPercentile_Empty() {
+        assertEquals(0L, LatencyDistribution.empty().getP99());
+    }
+
+    /**
+     * Tests the {@link LatencyDistribution#getValueAtPercentile(double)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the percentile is out of range.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValueAtPercentile_OutOfRange() {
+        LatencyDistribution.empty().getValueAtPercentile(100.5);
+    }
+
+    /**
+     * Asserts that the actual value is within the resolution of the histogram of the expected
+     * value.
+     *
+     * @param expected the expected value
+     * @param actual the actual value
+     */
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(actual + " is not close to " + expected,
+                Math.abs(actual - expected) <= expected / LatencyHistogram.SUB_BUCKETS);
+    }
+}
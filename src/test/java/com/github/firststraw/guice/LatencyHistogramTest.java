@@ -0,0 +1,97 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Tests the {@link LatencyHistogram#bucketOf(long)} and
+     * {@link LatencyHistogram#highestValueIn(int)} methods. Checks that every bucket contains the
+     * values mapped to it and that the buckets are contiguous.
+     */
+    @Test
+    public void testBuckets() {
+        long lowest = 0L;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+            final long highest = LatencyHistogram.highestValueIn(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(lowest));
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest));
+            assertTrue(highest - lowest <= Math.max(0L, highest / LatencyHistogram.SUB_BUCKETS));
+            lowest = highest + 1;
+        }
+    }
+
+    /**
+     * Tests the {@link LatencyHistogram#record(long)} method. Checks that negative and very large
+     * latencies are recorded, with the maximum tracked exactly.
+     */
+    @Test
+    public void testRecord_OutOfRange() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5L);
+        histogram.record(Long.MAX_VALUE);
+
+        final LatencyDistribution distribution = histogram.getDistribution();
+        assertEquals(2L, distribution.getCount());
+        assertEquals(0L, distribution.getValueAtPercentile(0.0));
+        assertEquals(Long.MAX_VALUE, distribution.getMax());
+    }
+
+    /**
+     * Tests the {@link LatencyHistogram#getDistribution()} method. Checks that latencies many
+     * powers of two apart are reported at their buckets, and that an empty
+     * {@link LatencyHistogram} has an empty {@link LatencyDistribution}.
+     */
+    @Test
+    public void testGetDistribution() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getDistribution().getCount());
+        assertEquals(0L, histogram.getDistribution().getP99());
+
+        histogram.record(3L);
+        histogram.record(1_000L);
+        histogram.record(3_600_000_000_000L);
+
+        final LatencyDistribution distribution = histogram.getDistribution();
+        assertEquals(3L, distribution.getCount());
+        assertEquals(3L, distribution.getValueAtPercentile(0.0));
+        assertEquals(1_000L, distribution.getP50(), 1_000L / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(3_600_000_000_000L, distribution.getP99());
+        assertEquals(2L, distribution.getCountAtOrBelow(1_100L));
+    }
+
+    /**
+     * Tests the {@link LatencyHistogram#merge(LatencyHistogram)} method. Checks that the counts
+     * and maxima of both {@link LatencyHistogram}s are combined.
+     */
+    @Test
+    public void testMerge() {
+        final LatencyHistogram first = new LatencyHistogram();
+        final LatencyHistogram second = new LatencyHistogram();
+        first.record(10L);
+        second.record(1000L);
+        second.record(2000L);
+
+        first.merge(second);
+
+        final LatencyDistribution distribution = first.getDistribution();
+        assertEquals(3L, distribution.getCount());
+        assertEquals(2000L, distribution.getMax());
+        assertEquals(10L, distribution.getValueAtPercentile(1.0));
+    }
+
+    /**
+     * Tests the {@link LatencyHistogram#merge(LatencyHistogram)} method. Checks that a
+     * {@link NullPointerException} is thrown when the other {@link LatencyHistogram} is
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testMerge_NullOther() {
+        new LatencyHistogram().merge(null);
+    }
+}
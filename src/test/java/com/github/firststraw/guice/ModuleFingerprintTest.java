@@ -0,0 +1,51 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ModuleFingerprint} class.
+ */
+public class ModuleFingerprintTest {
+
+    private static final Module LIST = new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(List.class).to(ArrayList.class);
+        }
+    };
+    private static final Module STRING = new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(String.class).toInstance("value");
+        }
+    };
+
+    /**
+     * Tests the {@link ModuleFingerprint#of(Iterable)} method. Checks that the fingerprint does
+     * not depend on the order of the {@link Module}s but does depend on their bindings.
+     */
+    @Test
+    public void testOf() {
+        final String fingerprint = ModuleFingerprint.of(Arrays.asList(LIST, STRING));
+
+        assertEquals(64, fingerprint.length());
+        assertEquals(fingerprint, ModuleFingerprint.of(Arrays.asList(STRING, LIST)));
+        assertNotEquals(fingerprint, ModuleFingerprint.of(Arrays.asList(LIST)));
+        assertNotEquals(fingerprint, ModuleFingerprint.of(Arrays.asList(STRING,
+                new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(List.class).to(LinkedList.class).in(Singleton.class);
+                    }
+                })));
+    }
+}
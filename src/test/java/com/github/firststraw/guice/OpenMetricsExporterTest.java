@@ -0,0 +1,93 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link OpenMetricsExporter} class.
+ */
+public class OpenMetricsExporterTest {
+
+    /**
+     * Tests the {@link OpenMetricsExporter#OpenMetricsExporter(InjectorTester)} constructor.
+     * Checks that a {@link NullPointerException} is thrown when the {@link InjectorTester} is
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullTester() {
+        new OpenMetricsExporter(null);
+    }
+
+    /**
+     * Tests the {@link OpenMetricsExporter#writeTo(java.io.Writer)} method. Checks that binding
+     * counts, injector creation and per-key provisioning histograms are written.
+     *
+     * @throws IOException if the metrics could not be written
+     */
+    @Test
+    public void testWriteTo() throws IOException {
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(List.class).to(ArrayList.class).in(Singleton.class);
+            }
+        }, new ProvisionMetricsRecorder());
+        injector.getInstance(List.class);
+        final StringWriter writer = new StringWriter();
+
+        new OpenMetricsExporter(new InjectorTester(injector)).writeTo(writer);
+
+        final String metrics = writer.toString();
+        assertTrue(metrics.contains("# TYPE guice_bindings_by_scoping gauge\n"));
+        assertTrue(metrics.contains("guice_bindings_by_kind{kind=\"LINKED_KEY\"} 1\n"));
+        assertTrue(metrics.contains("# TYPE guice_injector_creation_seconds histogram\n"));
+        assertTrue(metrics.contains("guice_provision_seconds_bucket{key=\"Key[type=java.util"
+                + ".ArrayList, annotation=[none]]\",le=\"+Inf\"} 1\n"));
+        assertTrue(metrics.contains("guice_provision_instances_total{key=\"Key[type=java.util"
+                + ".ArrayList, annotation=[none]]\"} 1\n"));
+        assertTrue(metrics.endsWith("# EOF\n"));
+    }
+
+    /**
+     * Tests the {@link OpenMetricsExporter#writeTo(Path)} method. Checks that provisioning metrics
+     * are omitted when no {@link ProvisionMetricsRecorder} is installed.
+     *
+     * @throws IOException if the metrics could not be written
+     */
+    @Test
+    public void testWriteTo_File() throws IOException {
+        final Path file = Files.createTempFile("guice-test-helper", ".om");
+        try {
+            new OpenMetricsExporter(new InjectorTester(new AbstractModule() {
+            })).writeTo(file);
+
+            final String metrics = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertFalse(metrics.contains("guice_provision_seconds"));
+            assertTrue(metrics.endsWith("# EOF\n"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests the {@link OpenMetricsExporter#escape(String)} method. Checks that backslashes,
+     * quotes and line feeds are escaped.
+     */
+    @Test
+    public void testEscape() {
+        assertEquals("a\\\\b\\\"c\\nd", OpenMetricsExporter.escape("a\\b\"c\nd"));
+    }
+}
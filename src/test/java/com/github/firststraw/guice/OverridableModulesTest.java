@@ -0,0 +1,232 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.PrivateModule;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link OverridableModules} class.
+ */
+public class OverridableModulesTest {
+
+    private static final Key<String> CLOCK = Key.get(String.class, Names.named("clock"));
+    private static final Key<String> URL = Key.get(String.class, Names.named("url"));
+
+    /**
+     * Tests the {@link OverridableModules#override(Module...)} method. Checks that the base
+     * {@link Module}s are recorded once, that overridden {@link com.google.inject.Binding}s are
+     * replaced, including exposed ones, and that the overrides are reported.
+     */
+    @Test
+    public void testOverride() {
+        final ProductionModule production = new ProductionModule();
+        final OverridableModules base =
+                new OverridableModules(Stage.DEVELOPMENT, Collections.singletonList(production));
+
+        final InjectorTester first = base.override(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(CLOCK).toInstance("fake clock");
+                bind(URL).toInstance("fake url");
+                bind(Long.class).toInstance(1L);
+            }
+        });
+        final InjectorTester second = base.override();
+
+        assertEquals(1, production.configurations.get());
+        final Injector injector = first.getInjector();
+        assertEquals("fake clock", injector.getInstance(CLOCK));
+        assertEquals("fake url", injector.getInstance(URL));
+        assertEquals("fake clock and fake url", injector.getInstance(String.class));
+        assertEquals("real url", second.getInjector().getInstance(URL));
+        assertNotSame(injector.getInstance(String.class),
+                second.getInjector().getInstance(String.class));
+
+        first.verifyOverrides().overrides(CLOCK).overridesOnly(CLOCK, URL);
+        assertEquals(Collections.singleton(Key.get(Long.class)),
+                first.verifyOverrides().getAddedKeys());
+        second.verifyOverrides().overridesOnly();
+    }
+
+    /**
+     * Tests the {@link OverridableModules#override(Iterable)} method. Checks that base
+     * {@link Module}s looking up providers are merged with
+     * {@link com.google.inject.util.Modules#override(Iterable)} instead.
+     */
+    @Test
+    public void testOverride_Lookup() {
+        final OverridableModules base = new OverridableModules(Stage.DEVELOPMENT,
+                Collections.singletonList(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        final Provider<String> url = getProvider(URL);
+                        bind(URL).toInstance("real url");
+                        bind(String.class).toProvider(() -> "lookup of " + url.get());
+                    }
+                }));
+        final Module override = new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(URL).toInstance("fake url");
+            }
+        };
+
+        base.override(override);
+        final InjectorTester tester = base.override(Arrays.asList(override));
+
+        assertEquals("lookup of fake url", tester.getInjector().getInstance(String.class));
+        tester.verifyOverrides().overridesOnly(URL);
+    }
+
+    /**
+     * Tests the {@link OverridableModules#override(Module...)} method. Checks that fresh
+     * {@link Injector}s of the {@link InjectorTester} include the overrides.
+     */
+    @Test
+    public void testOverride_FreshInjectors() {
+        final InjectorTester tester = new OverridableModules(new ProductionModule())
+                .override(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(CLOCK).toInstance("fake clock");
+                    }
+                });
+
+        tester.verifyBindingFor(CLOCK).asInstanceBinding().withInstance("fake clock");
+        tester.provisionAllBindings();
+    }
+
+    /**
+     * Tests the {@link OverridableModules#override(Module...)} method. Checks that every
+     * {@link InjectorTester} of base {@link Module}s using a {@link Multibinder} gets its own set
+     * elements.
+     */
+    @Test
+    public void testOverride_Multibinder() {
+        final OverridableModules base = new OverridableModules(Stage.DEVELOPMENT,
+                Collections.singletonList(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(CLOCK).toInstance("real clock");
+                        Multibinder.newSetBinder(binder(), SetElement.class).addBinding()
+                                .to(SetElement.class).in(Singleton.class);
+                    }
+                }));
+        final Module override = new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(CLOCK).toInstance("fake clock");
+            }
+        };
+
+        final InjectorTester first = base.override(override);
+        final InjectorTester second = base.override(override);
+
+        final Key<Set<SetElement>> elements = Key.get(new TypeLiteral<Set<SetElement>>() { });
+        assertNotSame(first.getInjector().getInstance(elements).iterator().next(),
+                second.getInjector().getInstance(elements).iterator().next());
+        assertEquals("fake clock", second.getInjector().getInstance(CLOCK));
+        second.verifyOverrides().overridesOnly(CLOCK);
+    }
+
+    /**
+     * Tests the {@link OverridableModules#override(Module...)} method. Checks that overriding
+     * base {@link Module}s that bind an instance with injectable fields again does not inject the
+     * instance of the first {@link InjectorTester} with the objects of the second.
+     */
+    @Test
+    public void testOverride_InjectedInstance() {
+        final OverridableModules base = new OverridableModules(Stage.DEVELOPMENT,
+                Collections.singletonList(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(CLOCK).toInstance("real clock");
+                        bind(SetElement.class).in(Singleton.class);
+                        bind(Holder.class).toInstance(new Holder());
+                    }
+                }));
+        final Module override = new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(CLOCK).toInstance("fake clock");
+            }
+        };
+
+        final Injector first = base.override(override).getInjector();
+        final Injector second = base.override(override).getInjector();
+
+        assertSame(first.getInstance(SetElement.class), first.getInstance(Holder.class).element);
+        assertSame(second.getInstance(SetElement.class),
+                second.getInstance(Holder.class).element);
+    }
+
+    /**
+     * Tests the {@link OverridableModules#override(Module...)} method. Checks that a
+     * {@link NullPointerException} is thrown when a {@link Module} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testOverride_NullModule() {
+        new OverridableModules(new ProductionModule()).override((Module) null);
+    }
+
+    /**
+     * A set element with identity.
+     */
+    static class SetElement {
+    }
+
+    /**
+     * Holds the {@link SetElement} injected into its field.
+     */
+    static class Holder {
+
+        @Inject
+        private SetElement element;
+    }
+
+    /**
+     * Production {@link Module} counting how often it is configured.
+     */
+    private static class ProductionModule extends AbstractModule {
+
+        private final AtomicInteger configurations = new AtomicInteger();
+
+        @Override
+        protected void configure() {
+            configurations.incrementAndGet();
+            bind(CLOCK).toInstance("real clock");
+            install(new PrivateModule() {
+                @Override
+                protected void configure() {
+                    bind(URL).toInstance("real url");
+                    expose(URL);
+                }
+            });
+        }
+
+        @Provides
+        String provideDescription(@Named("clock") final String clock,
+                @Named("url") final String url) {
+            return new String(clock + " and " + url);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Collections;
+import java.util.Set;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link OverriddenBindingsVerifier} class.
+ */
+public class OverriddenBindingsVerifierTest {
+
+    private static final Set<Key<?>> OVERRIDDEN = Collections.singleton(Key.get(String.class));
+    private static final Set<Key<?>> ADDED = Collections.singleton(Key.get(Long.class));
+
+    private final OverriddenBindingsVerifier verifier =
+            new OverriddenBindingsVerifier(OVERRIDDEN, ADDED);
+
+    /**
+     * Tests the {@link OverriddenBindingsVerifier#overrides(Class)} method. Checks that "this"
+     * {@link OverriddenBindingsVerifier} is returned when the {@link Key} was overridden.
+     */
+    @Test
+    public void testOverrides() {
+        assertSame(verifier, verifier.overrides(String.class));
+    }
+
+    /**
+     * Tests the {@link OverriddenBindingsVerifier#overrides(Key)} method. Checks that an
+     * {@link IncorrectOverrideException} is thrown when the {@link Key} was only added.
+     */
+    @Test(expected = IncorrectOverrideException.class)
+    public void testOverrides_Added() {
+        verifier.overrides(Key.get(Long.class));
+    }
+
+    /**
+     * Tests the {@link OverriddenBindingsVerifier#overrides(Key)} method. Checks that a
+     * {@link NullPointerException} is thrown when the {@link Key} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testOverrides_NullKey() {
+        verifier.overrides((Key<?>) null);
+    }
+
+    /**
+     * Tests the {@link OverriddenBindingsVerifier#overridesOnly(Key...)} method. Checks that "this"
+     * {@link OverriddenBindingsVerifier} is returned when exactly the {@link Key}s were
+     * overridden.
+     */
+    @Test
+    public void testOverridesOnly() {
+        assertSame(verifier, verifier.overridesOnly(Key.get(String.class)));
+    }
+
+    /**
+     * Tests the {@link OverriddenBindingsVerifier#overridesOnly(Key...)} method. Checks that an
+     * {@link IncorrectOverrideException} is thrown when other {@link Key}s were overridden.
+     */
+    @Test(expected = IncorrectOverrideException.class)
+    public void testOverridesOnly_Unexpected() {
+        verifier.overridesOnly();
+    }
+
+    /**
+     * Tests the {@link OverriddenBindingsVerifier#getOverriddenKeys()} and
+     * {@link OverriddenBindingsVerifier#getAddedKeys()} methods.
+     */
+    @Test
+    public void testGetKeys() {
+        assertEquals(OVERRIDDEN, verifier.getOverriddenKeys());
+        assertEquals(ADDED, verifier.getAddedKeys());
+    }
+
+    /**
+     * Tests the {@link OverriddenBindingsVerifier#equals(Object)} and
+     * {@link OverriddenBindingsVerifier#hashCode()} methods to check whether they conform to their
+     * respective contracts.
+     */
+    @Test
+    public void testEqualsContract() {
+        class ExtendedOverriddenBindingsVerifier extends OverriddenBindingsVerifier {
+
+            ExtendedOverriddenBindingsVerifier(final Set<Key<?>> overridden,
+                    final Set<Key<?>> added) {
+                super(overridden, added);
+            }
+
+            @Override
+            protected boolean canEqual(final Object obj) {
+                return obj instanceof ExtendedOverriddenBindingsVerifier;
+            }
+        }
+
+        EqualsVerifier.forClass(OverriddenBindingsVerifier.class)
+                .withRedefinedSubclass(ExtendedOverriddenBindingsVerifier.class).verify();
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.firststraw.guice;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link PerformanceHistory} class.
+ */
+public class PerformanceHistoryTest {
+
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String METRIC = PerformanceRun.INJECTOR_CREATION_NANOS;
+
+    private Path file;
+    private PerformanceHistory history;
+
+    /**
+     * Creates an empty {@link PerformanceHistory}.
+     *
+     * @throws IOException if the history file could not be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("guice-test-helper", ".tsv");
+        Files.delete(file);
+        history = new PerformanceHistory(file);
+    }
+
+    /**
+     * Deletes the history file.
+     *
+     * @throws IOException if the history file could not be deleted
+     */
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Creates a {@link PerformanceRun} with a single metric.
+     *
+     * @param fingerprint the fingerprint
+     * @param value the value of the metric
+     * @return the {@link PerformanceRun}
+     */
+    private static PerformanceRun run(final String fingerprint, final long value) {
+        return new PerformanceRun(fingerprint, Collections.singletonMap(METRIC, value));
+    }
+
+    /**
+     * Tests the {@link PerformanceHistory#getBaselines(String, int)} method. Checks that the
+     * baseline is the median of the most recent runs with the same fingerprint.
+     *
+     * @throws IOException if the history could not be read or written
+     */
+    @Test
+    public void testGetBaselines() throws IOException {
+        history.append(run(FINGERPRINT, 1000L));
+        history.append(run(FINGERPRINT, 100L));
+        history.append(run("other", 5L));
+        history.append(run(FINGERPRINT, 300L));
+        history.append(run(FINGERPRINT, 200L));
+
+        final Map<String, Long> baselines = history.getBaselines(FINGERPRINT, 3);
+        assertEquals(Collections.singletonMap(METRIC, 200L), baselines);
+    }
+
+    /**
+     * Tests the {@link PerformanceHistory#getBaselines(String, int)} method. Checks that there are
+     * no baselines before the history file exists.
+     *
+     * @throws IOException if the history could not be read
+     */
+    @Test
+    public void testGetBaselines_NoHistory() throws IOException {
+        assertTrue(history.getBaselines(FINGERPRINT, 3).isEmpty());
+    }
+
+    /**
+     * Tests the {@link PerformanceHistory#getBaselines(String, int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the number of baseline runs is not positive.
+     *
+     * @throws IOException if the history could not be read
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetBaselines_NonPositiveRuns() throws IOException {
+        history.getBaselines(FINGERPRINT, 0);
+    }
+
+    /**
+     * Tests the
+     * {@link PerformanceHistory#verifyNoRegression(PerformanceRun, double, long, int)} method.
+     * Checks that increases within the tolerance or the minimum increase pass.
+     *
+     * @throws IOException if the history could not be read or written
+     */
+    @Test
+    public void testVerifyNoRegression() throws IOException {
+        history.append(run(FINGERPRINT, 1000L));
+
+        history.verifyNoRegression(run(FINGERPRINT, 1100L), 0.2, 0L, 5);
+        history.verifyNoRegression(run(FINGERPRINT, 1500L), 0.2, 500L, 5);
+        history.verifyNoRegression(run("other", 1_000_000L), 0.2, 0L, 5);
+    }
+
+    /**
+     * Tests the
+     * {@link PerformanceHistory#verifyNoRegression(PerformanceRun, double, long, int)} method.
+     * Checks that a {@link PerformanceRegressionException} naming the metric is thrown when a
+     * metric exceeds the tolerance.
+     *
+     * @throws IOException if the history could not be read or written
+     */
+    @Test
+    public void testVerifyNoRegression_Regressed() throws IOException {
+        history.append(run(FINGERPRINT, 1000L));
+
+        try {
+            history.verifyNoRegression(run(FINGERPRINT, 1500L), 0.2, 0L, 5);
+            fail("Expected a PerformanceRegressionException.");
+        } catch (final PerformanceRegressionException ex) {
+            assertEquals(1, ex.getRegressions().size());
+            assertTrue(ex.getRegressions().get(0).startsWith(METRIC));
+        }
+    }
+
+    /**
+     * Tests the
+     * {@link PerformanceHistory#verifyNoRegression(PerformanceRun, double, long, int)} method.
+     * Checks that an {@link IllegalArgumentException} is thrown when the tolerance is negative.
+     *
+     * @throws IOException if the history could not be read
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testVerifyNoRegression_NegativeTolerance() throws IOException {
+        history.verifyNoRegression(run(FINGERPRINT, 1L), -0.1, 0L, 5);
+    }
+}
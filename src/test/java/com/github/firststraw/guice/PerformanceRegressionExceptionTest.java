@@ -0,0 +1,26 @@
+package com.github.firststraw.guice;
+
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link PerformanceRegressionException} class.
+ */
+public class PerformanceRegressionExceptionTest {
+
+    /**
+     * Checks that the {@link PerformanceRegressionException} is configured correctly.
+     */
+    @Test
+    public void test() {
+        final List<String> regressions = Arrays.asList("a: 2, baseline 1", "b: 4, baseline 2");
+        final PerformanceRegressionException ex = new PerformanceRegressionException(regressions);
+
+        final String msg = "Performance regressed:" + System.lineSeparator() + regressions.get(0)
+                + System.lineSeparator() + regressions.get(1);
+        assertEquals(msg, ex.getMessage());
+        assertEquals(regressions, ex.getRegressions());
+    }
+}
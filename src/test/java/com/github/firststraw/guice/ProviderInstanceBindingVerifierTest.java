@@ -1,9 +1,13 @@
 package com.github.firststraw.guice;
 
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.spi.ProviderInstanceBinding;
+import java.lang.reflect.Method;
 import javax.inject.Provider;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.After;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import org.junit.Before;
@@ -127,6 +131,141 @@ public class ProviderInstanceBindingVerifierTest {
         }
     }
 
+    /**
+     * Tests the
+     * {@link ProviderInstanceBindingVerifier#withStructurallyEqualProvider(Provider)} method.
+     * Checks that a {@link NullPointerException} is thrown when the expected {@link Provider} is
+     * {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testWithStructurallyEqualProvider_NullProvider() {
+        verifier.withStructurallyEqualProvider(null);
+    }
+
+    /**
+     * Tests the
+     * {@link ProviderInstanceBindingVerifier#withStructurallyEqualProvider(Provider)} method.
+     * Checks that we get back the {@link ProviderInstanceBindingVerifier}.
+     */
+    @Test
+    public void testWithStructurallyEqualProvider() {
+        assertSame(verifier, verifier.withStructurallyEqualProvider(new MyProvider(1)));
+
+        verify(binding).getUserSuppliedProvider();
+    }
+
+    /**
+     * Tests the
+     * {@link ProviderInstanceBindingVerifier#withStructurallyEqualProvider(Provider)} method.
+     * Checks that a {@link IncorrectBindingTargetException} naming the differing field is thrown
+     * when the {@link Provider} is not structurally equal to the expected one.
+     */
+    @Test
+    public void testWithStructurallyEqualProvider_WrongProvider() {
+        try {
+            verifier.withStructurallyEqualProvider(new MyProvider(2));
+            fail("Should have thrown an IncorrectBindingTargetException.");
+        } catch (final IncorrectBindingTargetException expected) {
+            assertEquals("Expected a structurally equal target, but found a difference at"
+                    + " provider.id: expected <2> but was <1>", expected.getMessage());
+            verify(binding).getUserSuppliedProvider();
+        }
+    }
+
+    /**
+     * Tests the {@link ProviderInstanceBindingVerifier#withProviderOfType(Class)} method. Checks
+     * that we get back the {@link ProviderInstanceBindingVerifier} when the {@link Provider} is of
+     * exactly the expected class.
+     */
+    @Test
+    public void testWithProviderOfType() {
+        assertSame(verifier, verifier.withProviderOfType(MyProvider.class));
+
+        verify(binding).getUserSuppliedProvider();
+    }
+
+    /**
+     * Tests the {@link ProviderInstanceBindingVerifier#withProviderOfType(Class)} method. Checks
+     * that an {@link IncorrectBindingTargetException} is thrown when the {@link Provider} is of
+     * another class.
+     */
+    @Test
+    public void testWithProviderOfType_WrongType() {
+        try {
+            verifier.withProviderOfType(Provider.class);
+            fail("Should have thrown an IncorrectBindingTargetException.");
+        } catch (final IncorrectBindingTargetException expected) {
+            verify(binding).getUserSuppliedProvider();
+        }
+    }
+
+    /**
+     * Tests the {@link ProviderInstanceBindingVerifier#withProviderMethod(Method)} method. Checks
+     * that the {@link Provides} method of a {@link ProviderInstanceBinding} is recognized.
+     *
+     * @throws NoSuchMethodException never
+     */
+    @Test
+    public void testWithProviderMethod() throws NoSuchMethodException {
+        final Method method = ProvidingModule.class.getDeclaredMethod("provideString");
+        final ProviderInstanceBindingVerifier<String> stringVerifier =
+                new InjectorTester(new ProvidingModule()).verifyBindingFor(String.class)
+                        .asProviderInstanceBinding();
+
+        assertSame(stringVerifier, stringVerifier.withProviderMethod(method));
+    }
+
+    /**
+     * Tests the {@link ProviderInstanceBindingVerifier#withProviderMethod(Method)} method. Checks
+     * that an {@link IncorrectBindingTargetException} is thrown when the {@link Provider} is not
+     * a {@link Provides} method.
+     *
+     * @throws NoSuchMethodException never
+     */
+    @Test
+    public void testWithProviderMethod_NotProviderMethod() throws NoSuchMethodException {
+        try {
+            verifier.withProviderMethod(ProvidingModule.class.getDeclaredMethod("provideString"));
+            fail("Should have thrown an IncorrectBindingTargetException.");
+        } catch (final IncorrectBindingTargetException expected) {
+            verify(binding).getUserSuppliedProvider();
+        }
+    }
+
+    /**
+     * Tests the {@link ProviderInstanceBindingVerifier#withProviderMethod(Class, String)} method.
+     * Checks that the {@link Provides} method is recognized by its declaring class and name.
+     */
+    @Test
+    public void testWithProviderMethod_ByName() {
+        final ProviderInstanceBindingVerifier<String> stringVerifier =
+                new InjectorTester(new ProvidingModule()).verifyBindingFor(String.class)
+                        .asProviderInstanceBinding();
+
+        assertSame(stringVerifier,
+                stringVerifier.withProviderMethod(ProvidingModule.class, "provideString"));
+    }
+
+    /**
+     * Tests the {@link ProviderInstanceBindingVerifier#withProviderMethod(Class, String)} method.
+     * Checks that an {@link IncorrectBindingTargetException} is thrown when the name of the
+     * {@link Provides} method differs.
+     */
+    @Test(expected = IncorrectBindingTargetException.class)
+    public void testWithProviderMethod_ByNameDifferentName() {
+        new InjectorTester(new ProvidingModule()).verifyBindingFor(String.class)
+                .asProviderInstanceBinding().withProviderMethod(ProvidingModule.class, "other");
+    }
+
+    /**
+     * Tests the {@link ProviderInstanceBindingVerifier#withProviderMethod(Class, String)} method.
+     * Checks that a {@link NullPointerException} is thrown when the method name is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testWithProviderMethod_ByNameNullName() {
+        verifier.withProviderMethod(ProvidingModule.class, null);
+    }
+
     /**
      * Tests the {@link ProviderInstanceBindingVerifier#equals(Object)} and
      * {@link ProviderInstanceBindingVerifier#hashCode()} methods to check whether they conform to
@@ -150,6 +289,17 @@ public class ProviderInstanceBindingVerifierTest {
                 .withRedefinedSubclass(ExtendedProviderInstanceBindingVerifier.class).verify();
     }
 
+    /**
+     * Module with a {@link Provides} method for use in unit testing.
+     */
+    private static class ProvidingModule extends AbstractModule {
+
+        @Provides
+        String provideString() {
+            return "provided";
+        }
+    }
+
     /**
      * {@link Provider} implementation for use in unit testing.
      */
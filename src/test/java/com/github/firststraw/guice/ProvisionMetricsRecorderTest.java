@@ -0,0 +1,72 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ProvisionMetricsRecorder} class.
+ */
+public class ProvisionMetricsRecorderTest {
+
+    private static final int THREADS = 4;
+    private static final int LOOKUPS = 1000;
+
+    private final ProvisionMetricsRecorder recorder = new ProvisionMetricsRecorder();
+    private final Injector injector = Guice.createInjector(new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(Object.class).in(Singleton.class);
+            bind(StringBuilder.class);
+        }
+    }, recorder);
+
+    /**
+     * Tests the {@link ProvisionMetricsRecorder#configure()} method. Checks that the
+     * {@link ProvisionMetricsRecorder} binds itself.
+     */
+    @Test
+    public void testConfigure() {
+        assertSame(recorder, injector.getInstance(ProvisionMetricsRecorder.class));
+    }
+
+    /**
+     * Tests the {@link ProvisionMetricsRecorder#getMetrics()} method. Checks that a singleton
+     * looked up concurrently is provisioned once while an unscoped binding is provisioned on
+     * every lookup.
+     *
+     * @throws InterruptedException if interrupted while waiting for the lookups
+     */
+    @Test
+    public void testGetMetrics() throws InterruptedException {
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            threads.add(new Thread(() -> {
+                for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+                    injector.getInstance(Object.class);
+                    injector.getInstance(StringBuilder.class);
+                }
+            }));
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        final ProvisionMetrics metrics = recorder.getMetrics();
+        metrics.verifyProvisionedOnce(Key.get(Object.class));
+        final ProvisionCounts builders = metrics.getCounts(Key.get(StringBuilder.class));
+        assertEquals((long) THREADS * LOOKUPS, builders.getProvisionCount());
+        assertEquals((long) THREADS * LOOKUPS, builders.getInstanceCount());
+        assertEquals((long) THREADS * LOOKUPS, builders.getLatencies().getCount());
+    }
+}
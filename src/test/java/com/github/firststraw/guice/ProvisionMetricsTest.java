@@ -0,0 +1,67 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Collections;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ProvisionMetrics} class.
+ */
+public class ProvisionMetricsTest {
+
+    private static final Key<String> KEY = Key.get(String.class);
+    private static final ProvisionMetrics METRICS = new ProvisionMetrics(
+            Collections.singletonList(new ProvisionCounts(KEY, 2L, 2L, 100L,
+                    LatencyDistribution.empty())));
+
+    /**
+     * Tests the {@link ProvisionMetrics#ProvisionMetrics(java.util.Collection)} constructor.
+     * Checks that a {@link NullPointerException} is thrown when the counts are {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullCounts() {
+        new ProvisionMetrics(null);
+    }
+
+    /**
+     * Tests the {@link ProvisionMetrics#getCounts(Key)} method. Checks that a {@link Key} that was
+     * never provisioned has counts of zero.
+     */
+    @Test
+    public void testGetCounts_NeverProvisioned() {
+        final ProvisionCounts counts = METRICS.getCounts(Key.get(Integer.class));
+
+        assertEquals(0L, counts.getProvisionCount());
+        assertEquals(0L, counts.getInstanceCount());
+        assertEquals(0L, counts.getTotalNanos());
+    }
+
+    /**
+     * Tests the {@link ProvisionMetrics#getCounts(Key)} method. Checks that a
+     * {@link NullPointerException} is thrown when the {@link Key} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testGetCounts_NullKey() {
+        METRICS.getCounts(null);
+    }
+
+    /**
+     * Tests the {@link ProvisionMetrics#verifyProvisionCount(Key, long)} method. Checks that no
+     * exception is thrown when the provision count matches.
+     */
+    @Test
+    public void testVerifyProvisionCount() {
+        METRICS.verifyProvisionCount(KEY, 2L);
+    }
+
+    /**
+     * Tests the {@link ProvisionMetrics#verifyProvisionedOnce(Key)} method. Checks that an
+     * {@link IncorrectProvisionCountException} is thrown when the {@link Key} was provisioned
+     * more than once.
+     */
+    @Test(expected = IncorrectProvisionCountException.class)
+    public void testVerifyProvisionedOnce_ProvisionedTwice() {
+        METRICS.verifyProvisionedOnce(KEY);
+    }
+}
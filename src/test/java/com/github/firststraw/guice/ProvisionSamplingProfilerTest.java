@@ -0,0 +1,116 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ProvisionSamplingProfiler} class.
+ */
+public class ProvisionSamplingProfilerTest {
+
+    private static final long PROVISION_MILLIS = 300L;
+
+    private final ProvisionSamplingProfiler profiler =
+            new ProvisionSamplingProfiler(5L, TimeUnit.MILLISECONDS);
+
+    /**
+     * Tests the {@link ProvisionSamplingProfiler#ProvisionSamplingProfiler(long, TimeUnit)}
+     * constructor. Checks that a {@link NullPointerException} is thrown when the {@link TimeUnit}
+     * is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullUnit() {
+        new ProvisionSamplingProfiler(1L, null);
+    }
+
+    /**
+     * Tests the {@link ProvisionSamplingProfiler#ProvisionSamplingProfiler(long, TimeUnit)}
+     * constructor. Checks that an {@link IllegalArgumentException} is thrown when the interval is
+     * not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NonPositiveInterval() {
+        new ProvisionSamplingProfiler(0L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tests the {@link ProvisionSamplingProfiler#start()} method. Checks that an
+     * {@link IllegalStateException} is thrown when sampling has already been started.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testStart_AlreadyStarted() {
+        profiler.start();
+        try {
+            profiler.start();
+        } finally {
+            profiler.stop();
+        }
+    }
+
+    /**
+     * Tests the {@link ProvisionSamplingProfiler#stop()} method. Checks that an
+     * {@link IllegalStateException} is thrown when sampling has not been started.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testStop_NotStarted() {
+        profiler.stop();
+    }
+
+    /**
+     * Tests the {@link ProvisionSamplingProfiler#stop()} method. Checks that a provider that
+     * sleeps is sampled as timed waiting in {@link Thread#sleep(long)}, while a provider that
+     * spins is sampled as runnable.
+     */
+    @Test
+    public void testStop() {
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+            @Provides
+            @Named("sleeping")
+            String provideSleeping() throws InterruptedException {
+                Thread.sleep(PROVISION_MILLIS);
+                return "sleeping";
+            }
+
+            @Provides
+            @Named("spinning")
+            String provideSpinning() {
+                final long end =
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PROVISION_MILLIS);
+                long spins = 0L;
+                while (System.nanoTime() < end) {
+                    spins++;
+                }
+                return "spinning" + spins;
+            }
+        }, profiler);
+
+        profiler.start();
+        injector.getInstance(Key.get(String.class, Names.named("sleeping")));
+        injector.getInstance(Key.get(String.class, Names.named("spinning")));
+        final ThreadStateProfile profile = profiler.stop();
+
+        final ProvisionThreadStates sleeping =
+                profile.getStates(Key.get(String.class, Names.named("sleeping")));
+        assertNotNull(sleeping);
+        assertTrue(sleeping.getSamples(Thread.State.TIMED_WAITING) > 0L);
+        assertTrue(sleeping.getTopFrames().keySet().stream()
+                .anyMatch(frame -> frame.contains("sleep")));
+
+        final ProvisionThreadStates spinning =
+                profile.getStates(Key.get(String.class, Names.named("spinning")));
+        assertNotNull(spinning);
+        assertTrue(spinning.getSamples(Thread.State.RUNNABLE) > 0L);
+        assertTrue(sleeping.getStalledNanos() > spinning.getStalledNanos());
+        assertSame(sleeping, profile.getRanking().get(0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ProvisionTimer} class.
+ */
+public class ProvisionTimerTest {
+
+    private static final long SLEEP_MILLIS = 20L;
+
+    /**
+     * Tests the {@link ProvisionTimer#getReport()} method. Checks that time spent in a dependency
+     * is attributed to the dependency rather than to the binding depending on it.
+     */
+    @Test
+    public void testGetReport() {
+        final ProvisionTimer timer = new ProvisionTimer();
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+            @Provides
+            Wrapper provideWrapper(final Slow slow) {
+                return new Wrapper();
+            }
+        }, timer);
+        injector.getInstance(Wrapper.class);
+
+        final List<ProvisionTiming> ranking = timer.getReport().getRanking();
+        assertEquals(2, ranking.size());
+
+        final ProvisionTiming slow = ranking.get(0);
+        assertEquals(Key.get(Slow.class), slow.getKey());
+        assertSame(BindingKind.CONSTRUCTOR, slow.getKind());
+        assertEquals(1L, slow.getProvisionCount());
+        assertTrue(slow.getSelfNanos() >= TimeUnit.MILLISECONDS.toNanos(SLEEP_MILLIS));
+
+        final ProvisionTiming wrapper = ranking.get(1);
+        assertEquals(Key.get(Wrapper.class), wrapper.getKey());
+        assertSame(BindingKind.PROVIDER_INSTANCE, wrapper.getKind());
+        assertTrue(wrapper.getDependencyNanos() >= slow.getTotalNanos());
+        assertTrue(wrapper.getSelfNanos() < slow.getSelfNanos());
+    }
+
+    /**
+     * Binding whose constructor is slow.
+     */
+    static class Slow {
+
+        @Inject
+        Slow() throws InterruptedException {
+            Thread.sleep(SLEEP_MILLIS);
+        }
+    }
+
+    /**
+     * Binding provided from a {@link Slow} dependency.
+     */
+    static class Wrapper {
+    }
+}
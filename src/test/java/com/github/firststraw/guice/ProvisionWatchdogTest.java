@@ -0,0 +1,159 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ProvisionWatchdog} class.
+ */
+public class ProvisionWatchdogTest {
+
+    private static final long TIME_LIMIT_MILLIS = 200L;
+
+    private final ProvisionWatchdog watchdog =
+            new ProvisionWatchdog(TIME_LIMIT_MILLIS, TimeUnit.MILLISECONDS);
+
+    /**
+     * Tests the {@link ProvisionWatchdog#ProvisionWatchdog(long, TimeUnit)} constructor. Checks
+     * that a {@link NullPointerException} is thrown when the {@link TimeUnit} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullUnit() {
+        new ProvisionWatchdog(1L, null);
+    }
+
+    /**
+     * Tests the {@link ProvisionWatchdog#ProvisionWatchdog(long, TimeUnit)} constructor. Checks
+     * that an {@link IllegalArgumentException} is thrown when the time limit is not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NonPositiveTimeLimit() {
+        new ProvisionWatchdog(0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Tests the {@link ProvisionWatchdog#watch(java.util.function.Supplier)} method. Checks that
+     * the result of the work is returned when provisioning completes in time.
+     */
+    @Test
+    public void testWatch() {
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+            @Provides
+            String provideString() {
+                return "provided";
+            }
+        }, watchdog);
+
+        assertEquals("provided", watchdog.watch(() -> injector.getInstance(String.class)));
+    }
+
+    /**
+     * Tests the {@link ProvisionWatchdog#watch(Runnable)} method. Checks that exceptions thrown by
+     * the work are rethrown unchanged.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWatch_WorkFails() {
+        watchdog.watch(() -> {
+            throw new UnsupportedOperationException();
+        });
+    }
+
+    /**
+     * Tests the {@link ProvisionWatchdog#watch(java.util.function.Supplier)} method. Checks that
+     * a provision exceeding the time limit fails fast with the {@link Key} being provisioned.
+     */
+    @Test(timeout = 10000L)
+    public void testWatch_SlowProvision() {
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+            @Provides
+            String provideString() throws InterruptedException {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1L));
+                return "too late";
+            }
+        }, watchdog);
+
+        try {
+            watchdog.watch(() -> injector.getInstance(String.class));
+            fail("Should have thrown a ProvisioningHangException.");
+        } catch (final ProvisioningHangException expected) {
+            assertEquals(1, expected.getKeyChains().size());
+            assertTrue(expected.getKeyChains().get(0).contains(Key.get(String.class).toString()));
+            assertTrue(expected.getMessage().contains("exceeded the time limit"));
+            assertTrue(expected.getMessage().contains("provideString"));
+        }
+    }
+
+    /**
+     * Tests the {@link ProvisionWatchdog#watch(Runnable)} method. Checks that two provisions
+     * deadlocking each other fail fast.
+     */
+    @Test(timeout = 10000L)
+    public void testWatch_Deadlock() {
+        final ProvisionWatchdog patient = new ProvisionWatchdog(1L, TimeUnit.MINUTES);
+        final ReentrantLock first = new ReentrantLock();
+        final ReentrantLock second = new ReentrantLock();
+        final CountDownLatch bothLocked = new CountDownLatch(2);
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+            @Provides
+            @Named("first")
+            String provideFirst() throws InterruptedException {
+                return lockBoth(first, second, bothLocked);
+            }
+
+            @Provides
+            @Named("second")
+            String provideSecond() throws InterruptedException {
+                return lockBoth(second, first, bothLocked);
+            }
+        }, patient);
+
+        final Thread other = new Thread(
+                () -> injector.getInstance(Key.get(String.class, Names.named("second"))));
+        other.setDaemon(true);
+        other.start();
+        try {
+            patient.watch(() -> {
+                injector.getInstance(Key.get(String.class, Names.named("first")));
+            });
+            fail("Should have thrown a ProvisioningHangException.");
+        } catch (final ProvisioningHangException expected) {
+            assertTrue(expected.getMessage().startsWith("Provisioning deadlocked."));
+            assertEquals(2, expected.getKeyChains().size());
+        }
+    }
+
+    /**
+     * Locks two locks in order, waiting in between until both threads hold their first lock.
+     *
+     * @param outer the lock to acquire first
+     * @param inner the lock to acquire second
+     * @param bothLocked latch released once both threads hold their first lock
+     * @return a dummy value
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static String lockBoth(final ReentrantLock outer, final ReentrantLock inner,
+            final CountDownLatch bothLocked) throws InterruptedException {
+        outer.lockInterruptibly();
+        try {
+            bothLocked.countDown();
+            bothLocked.await();
+            inner.lockInterruptibly();
+            inner.unlock();
+            return "locked";
+        } finally {
+            outer.unlock();
+        }
+    }
+}
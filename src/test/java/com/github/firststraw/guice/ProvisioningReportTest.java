@@ -0,0 +1,90 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ProvisioningReport} class.
+ */
+public class ProvisioningReportTest {
+
+    private static final ProvisionTiming CHEAP = timing("cheap", BindingKind.CONSTRUCTOR, 10L);
+    private static final ProvisionTiming EXPENSIVE =
+            timing("expensive", BindingKind.PROVIDER_INSTANCE, 30L);
+    private static final ProvisionTiming MEDIUM = timing("medium", BindingKind.CONSTRUCTOR, 20L);
+    private static final ProvisionTiming PROVIDER_KEY =
+            timing("provider key", BindingKind.PROVIDER_KEY, 40L);
+
+    private final ProvisioningReport report =
+            new ProvisioningReport(Arrays.asList(CHEAP, EXPENSIVE, PROVIDER_KEY, MEDIUM));
+
+    /**
+     * Tests the {@link ProvisioningReport#ProvisioningReport(java.util.Collection)} constructor.
+     * Checks that a {@link NullPointerException} is thrown when the timings are {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullTimings() {
+        new ProvisioningReport(null);
+    }
+
+    /**
+     * Tests the {@link ProvisioningReport#getRanking()} method. Checks that only constructor and
+     * provider instance bindings are ranked, most expensive first.
+     */
+    @Test
+    public void testGetRanking() {
+        assertEquals(Arrays.asList(EXPENSIVE, MEDIUM, CHEAP), report.getRanking());
+    }
+
+    /**
+     * Tests the {@link ProvisioningReport#getMostExpensive(int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the limit is negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetMostExpensive_NegativeLimit() {
+        report.getMostExpensive(-1);
+    }
+
+    /**
+     * Tests the {@link ProvisioningReport#getMostExpensive(int)} method. Checks that the ranking
+     * is truncated to the limit.
+     */
+    @Test
+    public void testGetMostExpensive() {
+        assertEquals(Arrays.asList(EXPENSIVE, MEDIUM), report.getMostExpensive(2));
+        assertEquals(report.getRanking(), report.getMostExpensive(10));
+    }
+
+    /**
+     * Tests the {@link ProvisioningReport#toString()} method. Checks that every ranked timing is
+     * listed with its rank.
+     */
+    @Test
+    public void testToString() {
+        final List<String> lines = Arrays.asList(report.toString().split(System.lineSeparator()));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("1. "));
+        assertTrue(lines.get(0).contains("expensive"));
+        assertTrue(new ProvisioningReport(Collections.emptyList()).toString().isEmpty());
+    }
+
+    /**
+     * Creates a {@link ProvisionTiming} spending all of its time in the binding itself.
+     *
+     * @param name the name of the bound key
+     * @param kind the {@link BindingKind}
+     * @param nanos the time spent
+     * @return the {@link ProvisionTiming}
+     */
+    private static ProvisionTiming timing(final String name, final BindingKind kind,
+            final long nanos) {
+        return new ProvisionTiming(Key.get(String.class, Names.named(name)), kind, name, 1L, nanos,
+                nanos, LatencyDistribution.empty());
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.TypeLiteral;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.InjectionPoint;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ReflectionCache} class.
+ */
+public class ReflectionCacheTest {
+
+    /**
+     * Tests the {@link ReflectionCache#forConstructor(Constructor)} method. Checks that the
+     * {@link InjectionPoint} equals Guice's and is reused.
+     */
+    @Test
+    public void testForConstructor() throws NoSuchMethodException {
+        final Constructor<ArrayList> constructor = ArrayList.class.getConstructor();
+
+        final InjectionPoint injectionPoint = ReflectionCache.forConstructor(constructor);
+
+        assertEquals(InjectionPoint.forConstructor(constructor), injectionPoint);
+        assertSame(injectionPoint, ReflectionCache.forConstructor(constructor));
+    }
+
+    /**
+     * Tests the {@link ReflectionCache#methodDependencies(Method, Class)} method. Checks that the
+     * parameters of the method are resolved and reused.
+     */
+    @Test
+    public void testMethodDependencies() throws NoSuchMethodException {
+        final Method method = Module.class.getDeclaredMethod("provide", List.class);
+
+        final List<Dependency<?>> dependencies =
+                ReflectionCache.methodDependencies(method, Module.class);
+
+        assertEquals(1, dependencies.size());
+        assertEquals(new Key<List<String>>() { }, dependencies.get(0).getKey());
+        assertSame(dependencies, ReflectionCache.methodDependencies(method, Module.class));
+    }
+
+    /**
+     * Tests the {@link ReflectionCache#key(Class)} and {@link ReflectionCache#key(TypeLiteral)}
+     * methods. Checks that the {@link Key}s equal Guice's and are reused.
+     */
+    @Test
+    public void testKey() {
+        assertEquals(Key.get(String.class), ReflectionCache.key(String.class));
+        assertSame(ReflectionCache.key(String.class), ReflectionCache.key(String.class));
+
+        final TypeLiteral<List<String>> type = new TypeLiteral<List<String>>() { };
+        assertEquals(Key.get(type), ReflectionCache.key(type));
+        assertSame(ReflectionCache.key(type),
+                ReflectionCache.key(new TypeLiteral<List<String>>() { }));
+    }
+
+    /**
+     * Tests the {@link ReflectionCache#clear()} method. Checks that metadata is computed again
+     * after clearing.
+     */
+    @Test
+    public void testClear() throws NoSuchMethodException {
+        final Constructor<ArrayList> constructor = ArrayList.class.getConstructor();
+        final InjectionPoint injectionPoint = ReflectionCache.forConstructor(constructor);
+
+        ReflectionCache.clear();
+
+        final InjectionPoint recomputed = ReflectionCache.forConstructor(constructor);
+        assertEquals(injectionPoint, recomputed);
+        assertNotSame(injectionPoint, recomputed);
+    }
+
+    /**
+     * Tests the {@link ReflectionCache#key(Class)} method. Checks that a {@link Key} computed
+     * again after clearing is the canonical instance of the {@link KeyInterner}.
+     */
+    @Test
+    public void testKey_Interned() {
+        final Key<Integer> key = ReflectionCache.key(Integer.class);
+        assertSame(key, KeyInterner.intern(Key.get(Integer.class)));
+
+        ReflectionCache.clear();
+
+        assertSame(key, ReflectionCache.key(Integer.class));
+    }
+
+    /**
+     * A module with a provider method.
+     */
+    private static final class Module {
+
+        /**
+         * @param values the values
+         * @return the size of the values
+         */
+        @Provides
+        Integer provide(final List<String> values) {
+            return values.size();
+        }
+    }
+}
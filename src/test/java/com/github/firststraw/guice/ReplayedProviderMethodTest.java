@@ -0,0 +1,144 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.ProvisionException;
+import com.google.inject.Provides;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.ProviderInstanceBinding;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ReplayedProviderMethod} class.
+ */
+public class ReplayedProviderMethodTest {
+
+    private static final List<Element> ELEMENTS = Elements.getElements(new ProvidingModule());
+
+    /**
+     * Tests the {@link ReplayedProviderMethod#isProviderMethod(Object)} method. Checks that only
+     * {@code @Provides} method bindings are recognized.
+     */
+    @Test
+    public void testIsProviderMethod() {
+        assertTrue(ReplayedProviderMethod.isProviderMethod(binding(Long.class)));
+        assertFalse(ReplayedProviderMethod.isProviderMethod(binding(Integer.class)));
+    }
+
+    /**
+     * Tests the {@link ReplayedProviderMethod#bind(ProviderInstanceBinding, Binder)}
+     * method. Checks that the bound provider resolves the parameters from the {@link Injector}
+     * and reports them as its dependencies.
+     */
+    @Test
+    public void testBind() {
+        final Injector injector = Guice.createInjector(replay(Long.class));
+
+        assertEquals(Long.valueOf(3L), injector.getInstance(Long.class));
+        final ProviderInstanceBinding<?> binding =
+                (ProviderInstanceBinding<?>) injector.getBinding(Long.class);
+        final Set<Dependency<?>> dependencies =
+                ((ReplayedProviderMethod<?>) binding.getUserSuppliedProvider()).getDependencies();
+        assertEquals(1, dependencies.size());
+        assertEquals(Key.get(Integer.class), dependencies.iterator().next().getKey());
+    }
+
+    /**
+     * Tests the {@link ReplayedProviderMethod#get()} method. Checks that a
+     * {@link ProvisionException} wrapping the checked exception is thrown when the method throws
+     * one.
+     */
+    @Test
+    public void testGet_CheckedException() {
+        final Injector injector = Guice.createInjector(replay(String.class));
+        try {
+            injector.getInstance(String.class);
+            fail("Should have thrown a ProvisionException.");
+        } catch (final ProvisionException expected) {
+            assertTrue(expected.getCause() instanceof IOException);
+        }
+    }
+
+    /**
+     * Tests the {@link ReplayedProviderMethod#bind(ProviderInstanceBinding, Binder)}
+     * method. Checks that the scoping of the recorded binding is kept.
+     */
+    @Test
+    public void testBind_Scoping() {
+        final Injector injector = Guice.createInjector(replay(Object.class));
+
+        assertSame(injector.getInstance(Object.class), injector.getInstance(Object.class));
+    }
+
+    /**
+     * Returns a {@link Module} binding {@link Integer} and replaying the {@code @Provides}
+     * method for the type.
+     *
+     * @param type the provided type
+     * @return the {@link Module}
+     */
+    private static Module replay(final Class<?> type) {
+        return binder -> {
+            binder.bind(Integer.class).toInstance(2);
+            ReplayedProviderMethod.bind((ProviderInstanceBinding<?>) binding(type), binder);
+        };
+    }
+
+    /**
+     * Returns the recorded {@link Binding} for the type.
+     *
+     * @param type the type
+     * @return the recorded {@link Binding}
+     */
+    private static Element binding(final Class<?> type) {
+        for (final Element element : ELEMENTS) {
+            if (element instanceof Binding
+                    && ((Binding<?>) element).getKey().equals(Key.get(type))) {
+                return element;
+            }
+        }
+        throw new IllegalArgumentException("No binding for " + type + ".");
+    }
+
+    /**
+     * {@link Module} with {@code @Provides} methods.
+     */
+    private static class ProvidingModule extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            bind(Integer.class).toInstance(1);
+        }
+
+        @Provides
+        Long provideLong(final Integer value) {
+            return value + 1L;
+        }
+
+        @Provides
+        String provideString() throws IOException {
+            throw new IOException("failed");
+        }
+
+        @Provides
+        @javax.inject.Singleton
+        Object provideObject() {
+            return new Object();
+        }
+    }
+}
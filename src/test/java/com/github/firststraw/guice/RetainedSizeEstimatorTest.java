@@ -0,0 +1,179 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link RetainedSizeEstimator} class.
+ */
+public class RetainedSizeEstimatorTest {
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimate(Object)} method. Checks that primitive
+     * fields and arrays are sized with headers, field sizes and alignment.
+     */
+    @Test
+    public void testEstimate_Primitives() {
+        assertEquals(16L, RetainedSizeEstimator.estimate(new Object()).getBytes());
+        assertEquals(16L, RetainedSizeEstimator.estimate(new IntHolder()).getBytes());
+        assertEquals(24L, RetainedSizeEstimator.estimate(new long[1]).getBytes());
+        assertEquals(24L, RetainedSizeEstimator.estimate(new byte[8]).getBytes());
+        assertEquals(0L, RetainedSizeEstimator.estimate(null).getBytes());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimate(Object)} method. Checks that every
+     * reachable object is counted once, even in cycles.
+     */
+    @Test
+    public void testEstimate_Cycle() {
+        final Node first = new Node();
+        final Node second = new Node();
+        first.next = second;
+        second.next = first;
+        first.values = new Object[] {second, first};
+
+        assertEquals(24L + 24L + 24L, RetainedSizeEstimator.estimate(first).getBytes());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimate(Object)} method. Checks that classes, enum
+     * constants and the referents of references are not counted.
+     */
+    @Test
+    public void testEstimate_Shared() {
+        final Node node = new Node();
+        node.values = new Object[] {String.class, Thread.State.NEW};
+
+        assertEquals(0L, RetainedSizeEstimator.estimate(String.class).getBytes());
+        assertEquals(24L + 24L, RetainedSizeEstimator.estimate(node).getBytes());
+        assertEquals(RetainedSizeEstimator.estimate(new WeakReference<>(null)).getBytes(),
+                RetainedSizeEstimator.estimate(new WeakReference<>(new long[100])).getBytes());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimate(Object, java.util.Collection)} method.
+     * Checks that boundary objects are neither counted nor traversed.
+     */
+    @Test
+    public void testEstimate_Boundaries() {
+        final Node node = new Node();
+        node.next = new Node();
+        node.next.values = new Object[8];
+
+        assertEquals(24L, RetainedSizeEstimator.estimate(node,
+                Collections.singleton(node.next)).getBytes());
+        assertEquals(0L,
+                RetainedSizeEstimator.estimate(node, Collections.singleton(node)).getBytes());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimateInstance(Object)} method. Checks that
+     * {@link Injector}s are neither counted nor traversed.
+     */
+    @Test
+    public void testEstimateInstance() {
+        final Injector injector = Guice.createInjector();
+        final Object[] instance = new Object[] {injector};
+
+        assertEquals(24L, RetainedSizeEstimator.estimateInstance(instance).getBytes());
+        assertEquals(0L, RetainedSizeEstimator.estimateInstance(injector).getBytes());
+        assertTrue(RetainedSizeEstimator.estimate(instance).getBytes() > 1024L);
+    }
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimate(Object, java.util.Collection, int)} method.
+     * Checks that objects beyond the maximum number of visited objects are not counted and make
+     * the estimate a lower bound.
+     */
+    @Test
+    public void testEstimate_MaxVisitedObjects() {
+        final Node node = new Node();
+        node.next = new Node();
+        node.next.next = new Node();
+
+        final RetainedSizeEstimator.Estimate complete =
+                RetainedSizeEstimator.estimate(node, Collections.emptySet(), 3);
+        assertEquals(72L, complete.getBytes());
+        assertFalse(complete.isLowerBound());
+
+        final RetainedSizeEstimator.Estimate truncated =
+                RetainedSizeEstimator.estimate(node, Collections.emptySet(), 2);
+        assertEquals(48L, truncated.getBytes());
+        assertTrue(truncated.isLowerBound());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimate(Object)} method. Checks that the contents of
+     * JDK collections, maps and strings are counted, whether or not their fields can be read.
+     */
+    @Test
+    public void testEstimate_JdkTypes() {
+        final List<Long> list = new ArrayList<>();
+        final Map<Long, Long> map = new HashMap<>();
+        for (long value = 1000L; value < 2000L; value++) {
+            list.add(value);
+            map.put(value, value);
+        }
+
+        final RetainedSizeEstimator.Estimate listEstimate = RetainedSizeEstimator.estimate(list);
+        assertFalse(listEstimate.isLowerBound());
+        assertTrue(listEstimate.getBytes() >= 1000L * (16L + 4L));
+        assertTrue(RetainedSizeEstimator.estimate(map).getBytes() >= 1000L * (16L + 32L + 4L));
+        assertTrue(RetainedSizeEstimator.estimate(Collections.singletonList(new long[1024]))
+                .getBytes() > 8192L);
+        assertEquals(24L + 24L, RetainedSizeEstimator.estimate("abc").getBytes());
+        assertEquals(24L + 24L, RetainedSizeEstimator.estimate(new String("\u00e9t\u00e9"))
+                .getBytes());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeEstimator#estimate(Object)} method. Checks that the estimate is
+     * marked as a lower bound exactly when a referenced object cannot be reached.
+     *
+     * @throws NoSuchFieldException if {@link Optional} has no value field
+     */
+    @Test
+    public void testEstimate_LowerBound() throws NoSuchFieldException {
+        boolean readable;
+        try {
+            Optional.class.getDeclaredField("value").setAccessible(true);
+            readable = true;
+        } catch (final RuntimeException ex) {
+            readable = false;
+        }
+
+        final RetainedSizeEstimator.Estimate estimate =
+                RetainedSizeEstimator.estimate(Optional.of(new long[1024]));
+        assertEquals(!readable, estimate.isLowerBound());
+        assertEquals(readable, estimate.getBytes() > 8192L);
+    }
+
+    /**
+     * An object with a single {@code int} field.
+     */
+    private static final class IntHolder {
+
+        private int value;
+    }
+
+    /**
+     * An object with two reference fields.
+     */
+    private static final class Node {
+
+        private Node next;
+        private Object[] values;
+    }
+}
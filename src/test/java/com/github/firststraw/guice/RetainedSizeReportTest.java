@@ -0,0 +1,103 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link RetainedSizeReport} class.
+ */
+public class RetainedSizeReportTest {
+
+    private static final RetainedSize SMALL = size("small", 16L);
+    private static final RetainedSize LARGE = size("large", 4096L);
+    private static final RetainedSize MEDIUM = size("medium", 256L);
+
+    private final RetainedSizeReport report =
+            new RetainedSizeReport(Arrays.asList(SMALL, LARGE, MEDIUM));
+
+    /**
+     * Tests the {@link RetainedSizeReport#RetainedSizeReport(java.util.Collection)} constructor.
+     * Checks that a {@link NullPointerException} is thrown when the sizes are {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullSizes() {
+        new RetainedSizeReport(null);
+    }
+
+    /**
+     * Tests the {@link RetainedSizeReport#getRanking()} method. Checks that the sizes are ranked
+     * largest first.
+     */
+    @Test
+    public void testGetRanking() {
+        assertEquals(Arrays.asList(LARGE, MEDIUM, SMALL), report.getRanking());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeReport#getLargest(int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the limit is negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetLargest_NegativeLimit() {
+        report.getLargest(-1);
+    }
+
+    /**
+     * Tests the {@link RetainedSizeReport#getLargest(int)} method. Checks that the ranking is
+     * truncated to the limit.
+     */
+    @Test
+    public void testGetLargest() {
+        assertEquals(Arrays.asList(LARGE, MEDIUM), report.getLargest(2));
+        assertEquals(Arrays.asList(LARGE, MEDIUM, SMALL), report.getLargest(5));
+    }
+
+    /**
+     * Tests the {@link RetainedSizeReport#getTotalBytes()} method. Checks that the sizes are
+     * summed.
+     */
+    @Test
+    public void testGetTotalBytes() {
+        assertEquals(4368L, report.getTotalBytes());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeReport#toString()} method. Checks that the ranking is
+     * numbered.
+     */
+    @Test
+    public void testToString() {
+        final String newLine = System.lineSeparator();
+        assertEquals("1. " + LARGE + newLine + "2. " + MEDIUM + newLine + "3. " + SMALL
+                + newLine, report.toString());
+    }
+
+    /**
+     * Tests the {@link RetainedSizeReport#toString()} method. Checks that lower bounds are marked
+     * as such.
+     */
+    @Test
+    public void testToString_LowerBound() {
+        final RetainedSize lowerBound = new RetainedSize(Key.get(Object.class),
+                BindingKind.INSTANCE, 64L, true);
+
+        assertEquals("1. at least 64 bytes: INSTANCE " + Key.get(Object.class)
+                + System.lineSeparator(),
+                new RetainedSizeReport(Arrays.asList(lowerBound)).toString());
+    }
+
+    /**
+     * Creates a {@link RetainedSize} of an instance binding.
+     *
+     * @param name the name of the {@link Key}
+     * @param bytes the retained size in bytes
+     * @return the {@link RetainedSize}
+     */
+    private static RetainedSize size(final String name, final long bytes) {
+        return new RetainedSize(Key.get(Object.class, Names.named(name)), BindingKind.INSTANCE,
+                bytes, false);
+    }
+}
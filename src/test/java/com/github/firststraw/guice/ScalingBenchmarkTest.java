@@ -0,0 +1,158 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+/**
+ * Benchmarks {@link InjectorTester} and its analyses on {@link Module}s generated by
+ * {@link SyntheticModuleGenerator}. Skipped unless the system property {@value #SIZES_PROPERTY}
+ * lists the binding counts to benchmark, for example:
+ * <pre>
+ * mvn test -Dtest=ScalingBenchmarkTest -Dguice-test-helper.benchmark.sizes=1000,10000,100000
+ * </pre>
+ * The timings are written to {@value #REPORT_FILE}.
+ */
+public class ScalingBenchmarkTest {
+
+    /**
+     * The system property listing the binding counts to benchmark, separated by commas.
+     */
+    static final String SIZES_PROPERTY = "guice-test-helper.benchmark.sizes";
+
+    /**
+     * The file the timings are written to.
+     */
+    static final String REPORT_FILE = "target/scaling-benchmark.txt";
+
+    private static final long SEED = 42L;
+
+    /**
+     * Benchmarks creating {@link InjectorTester}s and every analysis at each binding count. Checks
+     * that every analysis sees every generated binding.
+     *
+     * @throws IOException if the timings cannot be written
+     */
+    @Test
+    public void testScaling() throws IOException {
+        final String sizes = System.getProperty(SIZES_PROPERTY, "");
+        assumeTrue(!sizes.trim().isEmpty());
+
+        // Warms up class loading and the JIT compiler so that the first size is not penalized.
+        benchmark(1000);
+        final List<String> report = new ArrayList<>();
+        for (final String size : sizes.split(",")) {
+            final int bindingCount = Integer.parseInt(size.trim());
+            for (final String timing : benchmark(bindingCount)) {
+                report.add(String.format("%,9d bindings  %s", bindingCount, timing));
+            }
+        }
+        final Path file = Paths.get(REPORT_FILE);
+        Files.createDirectories(file.getParent());
+        Files.write(file, report, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Benchmarks one binding count.
+     *
+     * @param bindingCount the number of bindings
+     * @return the timings
+     */
+    private static List<String> benchmark(final int bindingCount) {
+        final SyntheticModuleGenerator generator = new SyntheticModuleGenerator(SEED)
+                .withBindingCount(bindingCount)
+                .withDepth(Math.max(1, Math.min(bindingCount, 8)))
+                .withFanOut(3);
+        final Module module = generator.generate();
+        final List<Key<SyntheticModuleGenerator.Component>> keys = generator.getKeys();
+        final List<String> timings = new ArrayList<>();
+
+        final InjectorTester tool = time(timings, "create tool tester",
+                () -> new InjectorTester(module));
+        time(timings, "verify binding for every key", () -> {
+            for (final Key<SyntheticModuleGenerator.Component> key : keys) {
+                tool.verifyBindingFor(key);
+            }
+            return null;
+        });
+        final long count = time(timings, "query bindings", () -> tool.queryBindings()
+                .matching(binding -> binding.getKey().getAnnotation() != null).count());
+        assertEquals(bindingCount, count);
+        time(timings, "verify rules", () -> {
+            tool.verifyRules(BindingRule.named("no other kinds").forbidKind(BindingKind.OTHER));
+            return null;
+        });
+        final String spec = time(timings, "record spec", () -> {
+            final StringWriter writer = new StringWriter();
+            try {
+                assertTrue(tool.recordSpec(writer) >= bindingCount);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return writer.toString();
+        });
+        time(timings, "verify spec", () -> {
+            try {
+                tool.verifySpec(new StringReader(spec), 10);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return null;
+        });
+
+        final InjectorTester production = time(timings, "create production tester",
+                () -> new InjectorTester(Stage.PRODUCTION, Collections.singletonList(module)));
+        time(timings, "provision all bindings",
+                () -> production.provisionAllBindings().toString());
+        time(timings, "estimate retained sizes",
+                () -> production.estimateRetainedSizes().getTotalBytes());
+        time(timings, "find duplicate instances",
+                () -> production.findDuplicateInstances(0L).getWastedBytes());
+
+        final ElementReplayCache cache = new ElementReplayCache();
+        time(timings, "record elements", () -> cache.createTester(module));
+        time(timings, "replay elements", () -> cache.createTester(module));
+        final OverridableModules overridable = time(timings, "record overridable modules",
+                () -> new OverridableModules(module));
+        time(timings, "override modules", () -> overridable.override());
+        final SharedParentInjector shared = time(timings, "create shared parent",
+                () -> new SharedParentInjector(module));
+        time(timings, "create child tester", () -> shared.createTester());
+        return timings;
+    }
+
+    /**
+     * Times an action.
+     *
+     * @param <T> the type of the result
+     * @param timings the timings to add to
+     * @param name the name of the action
+     * @param action the action
+     * @return the result of the action
+     */
+    private static <T> T time(final List<String> timings, final String name,
+            final Supplier<T> action) {
+        final long start = System.nanoTime();
+        final T result = action.get();
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        timings.add(String.format("%-30s %,8d ms", name, millis));
+        return result;
+    }
+}
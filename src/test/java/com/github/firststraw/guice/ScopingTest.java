@@ -98,6 +98,20 @@ public class ScopingTest {
         assertEquals(NO_SCOPING, scoping.getDescription());
     }
 
+    /**
+     * Tests the {@link Scoping#isSingleton()} method. Checks that every form of singleton scoping
+     * is recognized and that other scopings are not.
+     */
+    @Test
+    public void testIsSingleton() {
+        assertTrue(Scoping.eagerSingleton().isSingleton());
+        assertTrue(Scoping.scope(Scopes.SINGLETON).isSingleton());
+        assertTrue(Scoping.scopeAnnotation(Singleton.class).isSingleton());
+        assertTrue(Scoping.scopeAnnotation(javax.inject.Singleton.class).isSingleton());
+        assertFalse(Scoping.scope(Scopes.NO_SCOPE).isSingleton());
+        assertFalse(Scoping.noScoping().isSingleton());
+    }
+
     /**
      * Tests the {@link Scoping#equals(Object)} and {@link Scoping#hashCode()} methods to check
      * whether they conform to their respective contracts.
@@ -0,0 +1,109 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link SharedParentInjector} class.
+ */
+public class SharedParentInjectorTest {
+
+    private static final Module SHARED_MODULE = new AbstractModule() {
+        @Override
+        protected void configure() {
+            bind(Infrastructure.class).in(Singleton.class);
+        }
+    };
+
+    /**
+     * Tests the {@link SharedParentInjector#createTester(Module...)} method. Checks that every
+     * {@link InjectorTester} gets its own child {@link Injector} of the same parent, sharing the
+     * parent's singletons only.
+     */
+    @Test
+    public void testCreateTester() {
+        final SharedParentInjector shared =
+                new SharedParentInjector(Stage.DEVELOPMENT, Arrays.asList(SHARED_MODULE));
+
+        final Injector first = shared.createTester(new TestModule()).getInjector();
+        final Injector second = shared.createTester(new TestModule()).getInjector();
+
+        assertSame(shared.getParent(), first.getParent());
+        assertSame(shared.getParent(), second.getParent());
+        assertSame(first.getInstance(Infrastructure.class),
+                second.getInstance(Infrastructure.class));
+        assertNotSame(first.getInstance(TestState.class), second.getInstance(TestState.class));
+    }
+
+    /**
+     * Tests the {@link SharedParentInjector#createTester(Module...)} method. Checks that
+     * verifiers and queries see the {@link com.google.inject.Binding}s of both {@link Injector}s.
+     */
+    @Test
+    public void testCreateTester_Verification() {
+        final InjectorTester tester =
+                new SharedParentInjector(SHARED_MODULE).createTester(new TestModule());
+
+        tester.verifyBindingFor(Infrastructure.class).asConstructorBinding()
+                .withScoping().singleton();
+        tester.verifyBindingFor(TestState.class).asConstructorBinding()
+                .withScoping().singleton();
+        assertEquals(2L, tester.queryBindings()
+                .inPackage(SharedParentInjectorTest.class.getPackage().getName())
+                .ofKind(BindingKind.CONSTRUCTOR).count());
+    }
+
+    /**
+     * Tests the {@link SharedParentInjector#createTester(Iterable)} method. Checks that operations
+     * creating fresh {@link Injector}s use the shared and the test {@link Module}s together.
+     */
+    @Test
+    public void testCreateTester_FreshInjectors() {
+        final TestModule testModule = new TestModule();
+        final InjectorTester tester = new SharedParentInjector(SHARED_MODULE)
+                .createTester(Arrays.asList(testModule));
+
+        assertEquals(Arrays.asList(SHARED_MODULE, testModule), tester.getModules());
+        tester.provisionAllBindings();
+    }
+
+    /**
+     * Tests the {@link SharedParentInjector#createTester(Module...)} method. Checks that a
+     * {@link NullPointerException} is thrown when a {@link Module} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testCreateTester_NullModule() {
+        new SharedParentInjector(SHARED_MODULE).createTester((Module) null);
+    }
+
+    /**
+     * Shared, immutable infrastructure.
+     */
+    static class Infrastructure {
+    }
+
+    /**
+     * State that must not leak between tests.
+     */
+    static class TestState {
+    }
+
+    /**
+     * {@link Module} of a single test.
+     */
+    private static class TestModule extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            bind(TestState.class).in(Singleton.class);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests the {@link Statistics} class.
+ */
+public class StatisticsTest {
+
+    /**
+     * Tests the {@link Statistics#median(long[])} method. Checks that a
+     * {@link NullPointerException} is thrown when the values are {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testMedian_NullValues() {
+        Statistics.median(null);
+    }
+
+    /**
+     * Tests the {@link Statistics#median(long[])} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when there are no values.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMedian_NoValues() {
+        Statistics.median(new long[0]);
+    }
+
+    /**
+     * Tests the {@link Statistics#median(long[])} method. Checks the median of an odd number of
+     * values.
+     */
+    @Test
+    public void testMedian_OddCount() {
+        assertEquals(5L, Statistics.median(new long[]{9L, 1L, 5L}));
+    }
+
+    /**
+     * Tests the {@link Statistics#median(long[])} method. Checks that the median of an even number
+     * of values is the mean of the two middle values.
+     */
+    @Test
+    public void testMedian_EvenCount() {
+        assertEquals(4L, Statistics.median(new long[]{10L, 2L, 6L, 1L}));
+    }
+}
@@ -0,0 +1,359 @@
+package com.github.firststraw.guice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StructuralEquality} class.
+ */
+public class StructuralEqualityTest {
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that objects without {@code equals()} are compared field by field, including inherited and
+     * primitive fields.
+     */
+    @Test
+    public void testFindDifference_Fields() {
+        assertNull(StructuralEquality.findDifference("root", new Server("host", 80),
+                new Server("host", 80)));
+        assertEquals("root.port: expected <80> but was <8080>", StructuralEquality
+                .findDifference("root", new Server("host", 80), new Server("host", 8080)));
+        assertEquals("root.name: expected <a> but was <b>", StructuralEquality
+                .findDifference("root", new Server("a", 80), new Server("b", 80)));
+        assertEquals("root.name: expected <a> but was null", StructuralEquality
+                .findDifference("root", new Server("a", 80), new Server(null, 80)));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that objects of different classes differ.
+     */
+    @Test
+    public void testFindDifference_Classes() {
+        assertEquals("root: expected instance of " + Server.class.getName()
+                + " but was instance of " + Node.class.getName(),
+                StructuralEquality.findDifference("root", new Server("a", 1), new Node(1)));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that ordered collections and arrays are compared by index and size.
+     */
+    @Test
+    public void testFindDifference_Ordered() {
+        final List<Server> expected = Arrays.asList(new Server("a", 1), new Server("b", 2));
+        assertNull(StructuralEquality.findDifference("root", expected,
+                new ArrayList<>(Arrays.asList(new Server("a", 1), new Server("b", 2)))));
+        assertEquals("root[1].port: expected <2> but was <3>", StructuralEquality.findDifference(
+                "root", expected, Arrays.asList(new Server("a", 1), new Server("b", 3))));
+        assertEquals("root: expected size 2 but was size 1", StructuralEquality.findDifference(
+                "root", expected, Collections.singletonList(new Server("a", 1))));
+        assertNull(StructuralEquality.findDifference("root", new int[] {1, 2}, new int[] {1, 2}));
+        assertEquals("root[1]: expected <2> but was <3>",
+                StructuralEquality.findDifference("root", new int[] {1, 2}, new int[] {1, 3}));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that sets and maps are compared regardless of order, also for elements and keys without
+     * {@code equals()}.
+     */
+    @Test
+    public void testFindDifference_Unordered() {
+        final Set<Server> expected = new LinkedHashSet<>(Arrays.asList(new Server("a", 1),
+                new Server("b", 2)));
+        assertNull(StructuralEquality.findDifference("root", expected, new HashSet<>(
+                Arrays.asList(new Server("b", 2), new Server("a", 1)))));
+        assertEquals("root: expected an element equal to " + Server.class.getName()
+                + " but was none", StructuralEquality.findDifference("root", expected,
+                        new HashSet<>(Arrays.asList(new Server("b", 2), new Server("a", 9)))));
+
+        final Map<String, Server> byName = new HashMap<>();
+        byName.put("a", new Server("a", 1));
+        final Map<String, Server> sorted = new TreeMap<>();
+        sorted.put("a", new Server("a", 1));
+        assertNull(StructuralEquality.findDifference("root", byName, sorted));
+        sorted.put("a", new Server("a", 2));
+        assertEquals("root[a].port: expected <1> but was <2>",
+                StructuralEquality.findDifference("root", byName, sorted));
+
+        final Map<Server, String> byServer = Collections.singletonMap(new Server("a", 1), "a");
+        assertNull(StructuralEquality.findDifference("root", byServer,
+                Collections.singletonMap(new Server("a", 1), "a")));
+        assertEquals("root: expected a key equal to " + Server.class.getName()
+                + " but was none", StructuralEquality.findDifference("root", byServer,
+                        Collections.singletonMap(new Server("a", 2), "a")));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that the objects compared while trying a candidate element that turns out to differ are
+     * compared again when another candidate reaches them, rather than assumed equal.
+     */
+    @Test
+    public void testFindDifference_FailedCandidate() {
+        // Every pair has the same structural hash, since the chains only differ at their third
+        // node.
+        final Node first = chain(3);
+        final Node second = chain(3);
+        second.next.next.value = 9;
+        final Node third = chain(3);
+        third.next.next.value = 9;
+        final Set<Pair> expected = new LinkedHashSet<>(Arrays.asList(new Pair(first, chain(3)),
+                new Pair(third, third)));
+        final Set<Pair> actual = new LinkedHashSet<>(Arrays.asList(new Pair(second, second),
+                new Pair(second, chain(3))));
+
+        assertEquals("root: expected an element equal to " + Pair.class.getName()
+                + " but was none", StructuralEquality.findDifference("root", expected, actual));
+        assertNull(StructuralEquality.findDifference("root", expected, new LinkedHashSet<>(
+                Arrays.asList(new Pair(second, second), new Pair(chain(3), chain(3))))));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that large sets of sets are matched in buckets of their elements rather than their size.
+     */
+    @Test(timeout = 10000L)
+    public void testFindDifference_LargeSet() {
+        final Set<Set<Server>> expected = new HashSet<>();
+        final Set<Set<Server>> actual = new LinkedHashSet<>();
+        final Set<Set<Server>> shifted = new HashSet<>();
+        for (int port = 0; port < 50_000; port++) {
+            expected.add(Collections.singleton(new Server("host", port)));
+            actual.add(Collections.singleton(new Server("host", 49_999 - port)));
+            shifted.add(Collections.singleton(new Server("host", port + 1)));
+        }
+        assertNull(StructuralEquality.findDifference("root", expected, actual));
+        assertEquals("root: expected an element equal to "
+                + Collections.singleton(null).getClass().getName() + " but was none",
+                StructuralEquality.findDifference("root", expected, shifted));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that JDK holders without {@code equals()} are compared by their value.
+     */
+    @Test
+    public void testFindDifference_Holders() {
+        assertNull(StructuralEquality.findDifference("root", new AtomicLong(1L),
+                new AtomicLong(1L)));
+        assertEquals("root.value: expected <1> but was <2>", StructuralEquality.findDifference(
+                "root", new AtomicLong(1L), new AtomicLong(2L)));
+        assertEquals("root.value: expected <true> but was <false>", StructuralEquality
+                .findDifference("root", new AtomicBoolean(true), new AtomicBoolean(false)));
+        assertNull(StructuralEquality.findDifference("root",
+                new AtomicReference<>(new Server("a", 1)), new AtomicReference<>(
+                        new Server("a", 1))));
+        assertEquals("root.value.port: expected <1> but was <2>", StructuralEquality
+                .findDifference("root", new AtomicReference<>(new Server("a", 1)),
+                        new AtomicReference<>(new Server("a", 2))));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that distinct objects whose fields cannot be read are reported as uncomparable.
+     */
+    @Test
+    public void testFindDifference_Uncomparable() {
+        boolean readable;
+        try {
+            ReentrantLock.class.getDeclaredField("sync").setAccessible(true);
+            readable = true;
+        } catch (final NoSuchFieldException | RuntimeException ex) {
+            readable = false;
+        }
+
+        final ReentrantLock lock = new ReentrantLock();
+        assertNull(StructuralEquality.findDifference("root", lock, lock));
+        final String difference = StructuralEquality.findDifference("root", new ReentrantLock(),
+                new ReentrantLock());
+        if (readable) {
+            assertNull(difference);
+        } else {
+            assertEquals("root: cannot compare the fields of " + ReentrantLock.class.getName(),
+                    difference);
+        }
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that cyclic graphs are compared without looping.
+     */
+    @Test
+    public void testFindDifference_Cycle() {
+        final Node expected = new Node(1);
+        expected.next = new Node(2);
+        expected.next.next = expected;
+        final Node actual = new Node(1);
+        actual.next = new Node(2);
+        actual.next.next = actual;
+
+        assertNull(StructuralEquality.findDifference("root", expected, actual));
+
+        actual.next.next = new Node(1);
+        actual.next.next.next = new Node(3);
+        assertEquals("root.next.next.next.value: expected <2> but was <3>",
+                StructuralEquality.findDifference("root", expected, actual));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#findDifference(String, Object, Object)} method. Checks
+     * that graphs with millions of nodes, deeper than the call stack allows recursing, are
+     * compared.
+     */
+    @Test
+    public void testFindDifference_Deep() {
+        final Node expected = chain(1_000_000);
+        final Node actual = chain(1_000_000);
+        assertNull(StructuralEquality.findDifference("root", expected, actual));
+
+        Node last = actual;
+        while (last.next != null) {
+            last = last.next;
+        }
+        last.value = -1;
+        final String difference = StructuralEquality.findDifference("root", expected, actual);
+        assertEquals("expected <999999> but was <-1>",
+                difference.substring(difference.indexOf(": ") + 2));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#structuralHash(Object, int)} method. Checks that
+     * structurally equal objects have equal hashes.
+     */
+    @Test
+    public void testStructuralHash() {
+        assertEquals(StructuralEquality.structuralHash(new Server("a", 1), 2),
+                StructuralEquality.structuralHash(new Server("a", 1), 2));
+        assertEquals(StructuralEquality.structuralHash(chain(10), 2),
+                StructuralEquality.structuralHash(chain(10), 2));
+        assertEquals(0, StructuralEquality.structuralHash(null, 2));
+    }
+
+    /**
+     * Tests the {@link StructuralEquality#structuralHash(Object, int)} method. Checks that the
+     * hashes of sets and maps combine their elements regardless of order.
+     */
+    @Test
+    public void testStructuralHash_Unordered() {
+        final Set<Server> forward = new LinkedHashSet<>(Arrays.asList(new Server("a", 1),
+                new Server("b", 2)));
+        final Set<Server> backward = new LinkedHashSet<>(Arrays.asList(new Server("b", 2),
+                new Server("a", 1)));
+        assertEquals(StructuralEquality.structuralHash(forward, 2),
+                StructuralEquality.structuralHash(backward, 2));
+        assertNotEquals(StructuralEquality.structuralHash(forward, 2),
+                StructuralEquality.structuralHash(new HashSet<>(Arrays.asList(new Server("a", 1),
+                        new Server("c", 3))), 2));
+
+        final Map<String, Integer> first = new HashMap<>();
+        first.put("a", 1);
+        final Map<String, Integer> second = new TreeMap<>();
+        second.put("a", 2);
+        assertNotEquals(StructuralEquality.structuralHash(first, 2),
+                StructuralEquality.structuralHash(second, 2));
+        second.put("a", 1);
+        assertEquals(StructuralEquality.structuralHash(first, 2),
+                StructuralEquality.structuralHash(second, 2));
+    }
+
+    /**
+     * Creates a chain of {@link Node}s.
+     *
+     * @param length the number of {@link Node}s
+     * @return the first {@link Node}
+     */
+    private static Node chain(final int length) {
+        final Node first = new Node(0);
+        Node last = first;
+        for (int value = 1; value < length; value++) {
+            last.next = new Node(value);
+            last = last.next;
+        }
+        return first;
+    }
+
+    /**
+     * A base class with a field.
+     */
+    private static class Named {
+
+        private final String name;
+
+        /**
+         * @param name the name
+         */
+        Named(final String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * A configuration object without {@code equals()}.
+     */
+    private static final class Server extends Named {
+
+        private final int port;
+
+        /**
+         * @param name the name
+         * @param port the port
+         */
+        Server(final String name, final int port) {
+            super(name);
+            this.port = port;
+        }
+    }
+
+    /**
+     * A pair of {@link Node}s.
+     */
+    private static final class Pair {
+
+        private final Node left;
+        private final Node right;
+
+        /**
+         * @param left the left {@link Node}
+         * @param right the right {@link Node}
+         */
+        Pair(final Node left, final Node right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * A node of a linked structure.
+     */
+    private static final class Node {
+
+        private int value;
+        private Node next;
+
+        /**
+         * @param value the value
+         */
+        Node(final int value) {
+            this.value = value;
+        }
+    }
+}
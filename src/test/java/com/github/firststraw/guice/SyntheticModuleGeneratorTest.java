@@ -0,0 +1,270 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Scopes;
+import com.google.inject.Stage;
+import com.google.inject.name.Named;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.HasDependencies;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests the {@link SyntheticModuleGenerator} class.
+ */
+public class SyntheticModuleGeneratorTest {
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#generate()} method. Checks that the
+     * {@link Module} binds every key, and that an {@link Injector} can be created from it and
+     * provision every binding.
+     */
+    @Test
+    public void testGenerate() {
+        final SyntheticModuleGenerator generator = new SyntheticModuleGenerator(1L)
+                .withBindingCount(200);
+        final Injector injector = Guice.createInjector(Stage.PRODUCTION, generator.generate());
+
+        for (final Key<SyntheticModuleGenerator.Component> key : generator.getKeys()) {
+            assertTrue(injector.getExistingBinding(key) != null);
+            injector.getInstance(key);
+        }
+        assertEquals(200, new InjectorTester(injector).queryBindings()
+                .matching(binding -> binding.getKey().getAnnotation() != null).count());
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#generate()} method. Checks that installing the
+     * {@link Module} in a second {@link Injector} leaves the providers of the first one
+     * provisioning from the first {@link Injector}.
+     */
+    @Test
+    public void testGenerate_SeveralInjectors() {
+        final SyntheticModuleGenerator generator = new SyntheticModuleGenerator(9L)
+                .withBindingCount(20)
+                .withDepth(2)
+                .withKindWeight(BindingKind.LINKED_KEY, 0)
+                .withKindWeight(BindingKind.CONSTRUCTOR, 0)
+                .withKindWeight(BindingKind.INSTANCE, 0)
+                .withKindWeight(BindingKind.PROVIDER_KEY, 0)
+                .withScopingWeight(Scoping.noScoping(), 0)
+                .withScopingWeight(Scoping.eagerSingleton(), 0);
+        final Module module = generator.generate();
+        final Injector first = Guice.createInjector(Stage.DEVELOPMENT, module);
+        Guice.createInjector(Stage.DEVELOPMENT, module);
+
+        final SyntheticModuleGenerator.Component component =
+                first.getInstance(generator.getKey(19));
+        for (final SyntheticModuleGenerator.Component dependency : component.getDependencies()) {
+            assertSame(first.getInstance(generator.getKey(dependency.getIndex())), dependency);
+        }
+        assertTrue(!component.getDependencies().isEmpty());
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#generate()} method. Checks that the same seed
+     * generates the same {@link Binding}s and a different seed different ones.
+     */
+    @Test
+    public void testGenerate_Reproducible() {
+        final SyntheticModuleGenerator generator = new SyntheticModuleGenerator(7L)
+                .withBindingCount(300);
+
+        assertEquals(describe(generator.generate()), describe(generator.generate()));
+        assertEquals(describe(generator.generate()),
+                describe(new SyntheticModuleGenerator(7L).withBindingCount(300).generate()));
+        assertNotEquals(describe(generator.generate()),
+                describe(new SyntheticModuleGenerator(8L).withBindingCount(300).generate()));
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#generate()} method. Checks that the
+     * {@link BindingKind}s and {@link Scoping}s follow their weights.
+     */
+    @Test
+    public void testGenerate_Weights() {
+        final SyntheticModuleGenerator generator = new SyntheticModuleGenerator(3L)
+                .withBindingCount(1000)
+                .withKindWeight(BindingKind.LINKED_KEY, 0)
+                .withKindWeight(BindingKind.INSTANCE, 0)
+                .withKindWeight(BindingKind.PROVIDER_INSTANCE, 0)
+                .withKindWeight(BindingKind.PROVIDER_KEY, 0)
+                .withScopingWeight(Scoping.noScoping(), 0)
+                .withScopingWeight(Scoping.eagerSingleton(), 0);
+        final InjectorTester tester = new InjectorTester(generator.generate());
+
+        assertEquals(1000, tester.queryBindings().ofKind(BindingKind.CONSTRUCTOR)
+                .withScoping(Scoping.scope(Scopes.SINGLETON)).count());
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#generate()} method. Checks that provider instance
+     * bindings have the fan-out as dependencies, all on the level below, and that the longest
+     * dependency chain has one binding per level.
+     */
+    @Test
+    public void testGenerate_DepthAndFanOut() {
+        final SyntheticModuleGenerator generator = new SyntheticModuleGenerator(5L)
+                .withBindingCount(100)
+                .withDepth(5)
+                .withFanOut(3)
+                .withKindWeight(BindingKind.LINKED_KEY, 0)
+                .withKindWeight(BindingKind.CONSTRUCTOR, 0)
+                .withKindWeight(BindingKind.INSTANCE, 0)
+                .withKindWeight(BindingKind.PROVIDER_KEY, 0);
+        final Map<Key<?>, Binding<?>> bindings = Guice.createInjector(Stage.TOOL,
+                generator.generate()).getBindings();
+
+        for (int index = 0; index < 100; index++) {
+            final Binding<?> binding = bindings.get(generator.getKey(index));
+            final List<Dependency<?>> dependencies = new ArrayList<>(
+                    ((HasDependencies) binding).getDependencies());
+            if (index < 20) {
+                assertTrue(dependencies.isEmpty());
+            } else {
+                assertTrue(dependencies.size() >= 1 && dependencies.size() <= 3);
+                for (final Dependency<?> dependency : dependencies) {
+                    final int target = indexOf(dependency.getKey());
+                    assertEquals(index / 20 - 1, target / 20);
+                }
+            }
+        }
+        assertEquals(4, chainLength(Guice.createInjector(generator.generate())
+                .getInstance(generator.getKey(99))));
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#generate()} method. Checks that an
+     * {@link IllegalStateException} is thrown when the depth exceeds the number of bindings.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testGenerate_DepthExceedsBindingCount() {
+        new SyntheticModuleGenerator(1L).withBindingCount(2).withDepth(3).generate();
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#generate()} method. Checks that an
+     * {@link IllegalStateException} is thrown when no {@link BindingKind} has a positive weight.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testGenerate_NoKinds() {
+        SyntheticModuleGenerator generator = new SyntheticModuleGenerator(1L);
+        for (final BindingKind kind : BindingKind.values()) {
+            if (kind != BindingKind.OTHER) {
+                generator = generator.withKindWeight(kind, 0);
+            }
+        }
+        generator.generate();
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#withBindingCount(int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the count is not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithBindingCount_NonPositive() {
+        new SyntheticModuleGenerator(1L).withBindingCount(0);
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#withDepth(int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the depth is not positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithDepth_NonPositive() {
+        new SyntheticModuleGenerator(1L).withDepth(0);
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#withFanOut(int)} method. Checks that an
+     * {@link IllegalArgumentException} is thrown when the fan-out is negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithFanOut_Negative() {
+        new SyntheticModuleGenerator(1L).withFanOut(-1);
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#withKindWeight(BindingKind, int)} method. Checks
+     * that an {@link IllegalArgumentException} is thrown for {@link BindingKind#OTHER}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithKindWeight_Other() {
+        new SyntheticModuleGenerator(1L).withKindWeight(BindingKind.OTHER, 1);
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#withScopingWeight(Scoping, int)} method. Checks
+     * that an {@link IllegalArgumentException} is thrown when the weight is negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithScopingWeight_Negative() {
+        new SyntheticModuleGenerator(1L).withScopingWeight(Scoping.noScoping(), -1);
+    }
+
+    /**
+     * Tests the {@link SyntheticModuleGenerator#getKey(int)} method. Checks that an
+     * {@link IndexOutOfBoundsException} is thrown for an index beyond the last binding.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetKey_OutOfBounds() {
+        new SyntheticModuleGenerator(1L).withBindingCount(10).getKey(10);
+    }
+
+    /**
+     * Describes the {@link Binding}s of a {@link Module}, including their targets and scoping.
+     *
+     * @param module the {@link Module}
+     * @return the descriptions
+     */
+    private static List<String> describe(final Module module) {
+        final List<String> descriptions = new ArrayList<>();
+        for (final Element element : Elements.getElements(module)) {
+            final Binding<?> binding = (Binding<?>) element;
+            descriptions.add(binding.getKey() + " " + BindingKind.of(binding) + " "
+                    + binding.acceptScopingVisitor(new ScopingRecorder()).getDescription() + " "
+                    + (binding instanceof HasDependencies
+                            ? ((HasDependencies) binding).getDependencies() : ""));
+        }
+        return descriptions;
+    }
+
+    /**
+     * Returns the index of the binding of a generated key.
+     *
+     * @param key the {@link Key}
+     * @return the index
+     */
+    private static int indexOf(final Key<?> key) {
+        final String name = ((Named) key.getAnnotation()).value();
+        return Integer.parseInt(name.substring("synthetic-".length()));
+    }
+
+    /**
+     * Returns the length of the longest dependency chain below a
+     * {@link SyntheticModuleGenerator.Component}.
+     *
+     * @param component the {@link SyntheticModuleGenerator.Component}
+     * @return the number of {@link SyntheticModuleGenerator.Component}s on the longest chain,
+     * excluding the {@link SyntheticModuleGenerator.Component} itself
+     */
+    private static int chainLength(final SyntheticModuleGenerator.Component component) {
+        int longest = 0;
+        for (final SyntheticModuleGenerator.Component dependency : component.getDependencies()) {
+            longest = Math.max(longest, 1 + chainLength(dependency));
+        }
+        return longest;
+    }
+}
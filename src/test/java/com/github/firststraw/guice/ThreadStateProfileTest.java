@@ -0,0 +1,77 @@
+package com.github.firststraw.guice;
+
+import com.google.inject.Key;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ThreadStateProfile} class.
+ */
+public class ThreadStateProfileTest {
+
+    private static final ProvisionThreadStates RUNNING =
+            states(Key.get(String.class), Thread.State.RUNNABLE);
+    private static final ProvisionThreadStates STALLED =
+            states(Key.get(Integer.class), Thread.State.BLOCKED);
+
+    /**
+     * Creates {@link ProvisionThreadStates} with ten samples in the {@link Thread.State}.
+     *
+     * @param key the {@link Key}
+     * @param state the {@link Thread.State}
+     * @return the {@link ProvisionThreadStates}
+     */
+    private static ProvisionThreadStates states(final Key<?> key, final Thread.State state) {
+        final Map<Thread.State, Long> samples = new EnumMap<>(Thread.State.class);
+        samples.put(state, 10L);
+        return new ProvisionThreadStates(key, 1000L, samples, Collections.emptyMap());
+    }
+
+    /**
+     * Tests the {@link ThreadStateProfile#ThreadStateProfile(java.util.Collection)} constructor.
+     * Checks that a {@link NullPointerException} is thrown when the states are {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_NullStates() {
+        new ThreadStateProfile(null);
+    }
+
+    /**
+     * Tests the {@link ThreadStateProfile#getRanking()} method. Checks that the most stalled
+     * {@link Key} is ranked first.
+     */
+    @Test
+    public void testGetRanking() {
+        final ThreadStateProfile profile = new ThreadStateProfile(Arrays.asList(RUNNING, STALLED));
+
+        assertEquals(Arrays.asList(STALLED, RUNNING), profile.getRanking());
+    }
+
+    /**
+     * Tests the {@link ThreadStateProfile#getStates(Key)} method. Checks that the
+     * {@link ProvisionThreadStates} of a sampled {@link Key} are returned and {@code null} is
+     * returned for a {@link Key} that was never sampled.
+     */
+    @Test
+    public void testGetStates() {
+        final ThreadStateProfile profile = new ThreadStateProfile(Arrays.asList(RUNNING, STALLED));
+
+        assertSame(RUNNING, profile.getStates(Key.get(String.class)));
+        assertNull(profile.getStates(Key.get(Long.class)));
+    }
+
+    /**
+     * Tests the {@link ThreadStateProfile#getStates(Key)} method. Checks that a
+     * {@link NullPointerException} is thrown when the {@link Key} is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testGetStates_NullKey() {
+        new ThreadStateProfile(Collections.emptyList()).getStates(null);
+    }
+}
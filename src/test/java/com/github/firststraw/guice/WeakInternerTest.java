@@ -0,0 +1,55 @@
+package com.github.firststraw.guice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests the {@link WeakInterner} class.
+ */
+public class WeakInternerTest {
+
+    /**
+     * Tests the {@link WeakInterner#intern(Object)} method. Checks that a
+     * {@link NullPointerException} is thrown when the value is {@code null}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testIntern_NullValue() {
+        new WeakInterner<String>().intern(null);
+    }
+
+    /**
+     * Tests the {@link WeakInterner#intern(Object)} method. Checks that equal values are replaced
+     * by the first of them, and that hits and misses are counted.
+     */
+    @Test
+    public void testIntern() {
+        final WeakInterner<String> interner = new WeakInterner<>();
+        final String first = new String("value");
+        final String second = new String("value");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.intern(first));
+        assertEquals(2L, interner.getHitCount());
+        assertEquals(1L, interner.getMissCount());
+        assertEquals(1, interner.size());
+    }
+
+    /**
+     * Tests the {@link WeakInterner#intern(Object)} method. Checks that canonical instances are
+     * dropped once they are no longer referenced and the collected references were enqueued.
+     */
+    @Test
+    public void testIntern_Weak() throws InterruptedException {
+        final WeakInterner<Object> interner = new WeakInterner<>();
+        interner.intern(new Object());
+
+        InjectorLeakDetector.forceGarbageCollection();
+        for (int attempt = 0; attempt < 100 && interner.size() > 0; attempt++) {
+            Thread.sleep(10L);
+        }
+
+        assertEquals(0, interner.size());
+    }
+}